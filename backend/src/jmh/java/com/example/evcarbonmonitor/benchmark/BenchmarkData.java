@@ -0,0 +1,100 @@
+// backend/src/jmh/java/com/example/evcarbonmonitor/benchmark/BenchmarkData.java
+package com.example.evcarbonmonitor.benchmark;
+
+import com.example.evcarbonmonitor.domain.Vehicle;
+import com.example.evcarbonmonitor.domain.VehicleStats;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 基准测试使用的确定性数据，同一参数每次生成的内容相同
+ */
+final class BenchmarkData {
+
+    static final String CSV_HEADER =
+            "vin,model,licensePlate,manufacturer,productionYear,batteryCapacity,maxRange,registerDate,status\n";
+
+    private static final String VIN_CHARS = "ABCDEFGHJKLMNPRSTUVWXYZ0123456789";
+    private static final String PLATE_CHARS = "ABCDEFGHJKLMNPQRSTUVWXYZ0123456789";
+    private static final String[] STATUSES = {"online", "offline", "error"};
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * 第i辆车的VIN码，前缀区分不同批次
+     */
+    static String vin(String prefix, long i) {
+        StringBuilder sb = new StringBuilder(prefix);
+        long value = i;
+        while (sb.length() < 17) {
+            sb.append(VIN_CHARS.charAt((int) (value % VIN_CHARS.length())));
+            value /= VIN_CHARS.length();
+        }
+        return sb.toString();
+    }
+
+    static String licensePlate(long i) {
+        StringBuilder sb = new StringBuilder("京");
+        long value = i;
+        sb.append((char) ('A' + value % 26));
+        value /= 26;
+        for (int k = 0; k < 5; k++) {
+            sb.append(PLATE_CHARS.charAt((int) (value % PLATE_CHARS.length())));
+            value /= PLATE_CHARS.length();
+        }
+        return sb.toString();
+    }
+
+    static byte[] csv(String vinPrefix, int rows, boolean gzip) throws IOException {
+        StringBuilder sb = new StringBuilder(CSV_HEADER);
+        for (int i = 0; i < rows; i++) {
+            sb.append(vin(vinPrefix, i)).append(",比亚迪汉EV,").append(licensePlate(i)).append(",BYD,")
+                    .append(2018 + i % 6).append(',').append(60 + i % 40).append(".5,")
+                    .append(400 + i % 300).append(",2022-06-15,").append(STATUSES[i % 3]).append('\n');
+        }
+        byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+        if (!gzip) {
+            return bytes;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    static Vehicle vehicle(long i) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setVin(vin("LSV", i));
+        vehicle.setModel("比亚迪汉EV");
+        vehicle.setLicensePlate(licensePlate(i));
+        vehicle.setManufacturer("BYD");
+        vehicle.setProductionYear(2022);
+        vehicle.setBatteryCapacity(new BigDecimal("76.90"));
+        vehicle.setMaxRange(605);
+        vehicle.setRegisterDate(LocalDate.of(2022, 6, 15));
+        vehicle.setStatus(STATUSES[(int) (i % 3)]);
+        LocalDateTime time = LocalDateTime.of(2023, 7, 1, 12, 30, 45);
+        vehicle.setLastUpdateTime(time);
+        vehicle.setCreatedAt(time);
+        vehicle.setUpdatedAt(time);
+        return vehicle;
+    }
+
+    static VehicleStats stats(String vin) {
+        VehicleStats stats = new VehicleStats();
+        stats.setVin(vin);
+        stats.setTotalMileage(new BigDecimal("12500.00"));
+        stats.setTotalEnergy(new BigDecimal("2300.00"));
+        stats.setTotalCarbonReduction(new BigDecimal("3750.50"));
+        stats.setCarbonCredits(new BigDecimal("187.50"));
+        return stats;
+    }
+}
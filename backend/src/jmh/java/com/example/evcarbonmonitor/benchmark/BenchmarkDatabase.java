@@ -0,0 +1,40 @@
+// backend/src/jmh/java/com/example/evcarbonmonitor/benchmark/BenchmarkDatabase.java
+package com.example.evcarbonmonitor.benchmark;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+
+/**
+ * 基准测试使用的嵌入式PostgreSQL，启动后执行src/main/resources/db/migration下的全部迁移，
+ * 表结构与生产一致，仓库中PostgreSQL专有的SQL(unnest、ON CONFLICT等)可以原样执行
+ */
+final class BenchmarkDatabase implements AutoCloseable {
+
+    private final EmbeddedPostgres postgres;
+
+    private BenchmarkDatabase(EmbeddedPostgres postgres) {
+        this.postgres = postgres;
+    }
+
+    static BenchmarkDatabase start() throws IOException {
+        EmbeddedPostgres postgres = EmbeddedPostgres.start();
+        Flyway.configure()
+                .dataSource(postgres.getPostgresDatabase())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        return new BenchmarkDatabase(postgres);
+    }
+
+    DataSource getDataSource() {
+        return postgres.getPostgresDatabase();
+    }
+
+    @Override
+    public void close() throws IOException {
+        postgres.close();
+    }
+}
@@ -0,0 +1,55 @@
+// backend/src/jmh/java/com/example/evcarbonmonitor/benchmark/CsvParsingBenchmark.java
+package com.example.evcarbonmonitor.benchmark;
+
+import com.example.evcarbonmonitor.util.CsvUtil;
+import com.example.evcarbonmonitor.util.VehicleCsvReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 车辆CSV流式解析吞吐量，覆盖不同文件大小和gzip压缩
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CsvParsingBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int rows;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    private byte[] file;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = BenchmarkData.csv("LSV", rows, gzip);
+    }
+
+    @Benchmark
+    public int parse(Blackhole blackhole) throws IOException {
+        int valid = 0;
+        try (VehicleCsvReader reader = CsvUtil.openVehicleReader(new ByteArrayInputStream(file))) {
+            while (reader.hasNext()) {
+                VehicleCsvReader.Row row = reader.next();
+                if (row.isValid()) {
+                    valid++;
+                }
+                blackhole.consume(row);
+            }
+        }
+        return valid;
+    }
+}
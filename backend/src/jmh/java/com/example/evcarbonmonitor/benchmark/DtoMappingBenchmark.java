@@ -0,0 +1,66 @@
+// backend/src/jmh/java/com/example/evcarbonmonitor/benchmark/DtoMappingBenchmark.java
+package com.example.evcarbonmonitor.benchmark;
+
+import com.example.evcarbonmonitor.domain.Vehicle;
+import com.example.evcarbonmonitor.domain.VehicleStats;
+import com.example.evcarbonmonitor.dto.VehicleDTO;
+import com.example.evcarbonmonitor.util.VehicleMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.beans.BeanUtils;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 车辆实体转DTO的几种方式：原先使用的BeanUtils.copyProperties、VehicleMapper逐字段赋值和Jackson convertValue
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DtoMappingBenchmark {
+
+    private Vehicle vehicle;
+    private VehicleStats stats;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        vehicle = BenchmarkData.vehicle(1);
+        stats = BenchmarkData.stats(vehicle.getVin());
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public VehicleDTO beanUtilsCopyProperties() {
+        VehicleDTO dto = new VehicleDTO();
+        BeanUtils.copyProperties(vehicle, dto);
+        copyStats(dto);
+        return dto;
+    }
+
+    @Benchmark
+    public VehicleDTO vehicleMapper() {
+        return VehicleMapper.toDTO(vehicle, stats);
+    }
+
+    @Benchmark
+    public VehicleDTO jacksonConvertValue() {
+        VehicleDTO dto = objectMapper.convertValue(vehicle, VehicleDTO.class);
+        copyStats(dto);
+        return dto;
+    }
+
+    private void copyStats(VehicleDTO dto) {
+        dto.setTotalMileage(stats.getTotalMileage());
+        dto.setTotalEnergy(stats.getTotalEnergy());
+        dto.setTotalCarbonReduction(stats.getTotalCarbonReduction());
+        dto.setCarbonCredits(stats.getCarbonCredits());
+    }
+}
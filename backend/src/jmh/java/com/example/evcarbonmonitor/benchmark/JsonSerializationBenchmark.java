@@ -0,0 +1,64 @@
+// backend/src/jmh/java/com/example/evcarbonmonitor/benchmark/JsonSerializationBenchmark.java
+package com.example.evcarbonmonitor.benchmark;
+
+import com.example.evcarbonmonitor.domain.Vehicle;
+import com.example.evcarbonmonitor.dto.ApiResponse;
+import com.example.evcarbonmonitor.dto.PageResponse;
+import com.example.evcarbonmonitor.dto.VehicleDTO;
+import com.example.evcarbonmonitor.util.VehicleMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 车辆列表接口响应ApiResponse<PageResponse<VehicleDTO>>的JSON序列化
+ * ObjectMapper与Spring Boot默认配置一致(Jackson2ObjectMapperBuilder)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonSerializationBenchmark {
+
+    @Param({"20", "100", "1000"})
+    private int pageSize;
+
+    private ApiResponse<PageResponse<VehicleDTO>> response;
+    private ObjectMapper objectMapper;
+    private ObjectWriter typedWriter;
+
+    @Setup
+    public void setUp() {
+        List<VehicleDTO> items = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Vehicle vehicle = BenchmarkData.vehicle(i);
+            items.add(VehicleMapper.toDTO(vehicle, BenchmarkData.stats(vehicle.getVin())));
+        }
+        response = ApiResponse.success(new PageResponse<>(50_000, 1, pageSize, items));
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        typedWriter = objectMapper.writerFor(new TypeReference<ApiResponse<PageResponse<VehicleDTO>>>() {});
+    }
+
+    @Benchmark
+    public byte[] writeValueAsBytes() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] typedWriter() throws JsonProcessingException {
+        return typedWriter.writeValueAsBytes(response);
+    }
+}
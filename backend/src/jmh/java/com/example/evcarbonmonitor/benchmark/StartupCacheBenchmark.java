@@ -0,0 +1,168 @@
+// backend/src/jmh/java/com/example/evcarbonmonitor/benchmark/StartupCacheBenchmark.java
+package com.example.evcarbonmonitor.benchmark;
+
+import com.example.evcarbonmonitor.repository.FleetStateRepository;
+import com.example.evcarbonmonitor.repository.VehicleBatchRepository;
+import com.example.evcarbonmonitor.service.impl.CacheSnapshotStore;
+import com.example.evcarbonmonitor.service.impl.FleetStateServiceImpl;
+import com.example.evcarbonmonitor.service.impl.LiveEventServiceImpl;
+import com.example.evcarbonmonitor.service.impl.VehicleCache;
+import com.example.evcarbonmonitor.service.impl.VehicleVinRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 启动时缓存预热耗时：VIN码集合和车队实时状态从数据库加载，对比从磁盘快照恢复
+ * 使用PostgreSQL兼容模式的H2内存数据库，每辆车当天有5条行驶记录。
+ * H2按嵌套循环连接车队状态查询中的两个子查询，数据库加载耗时随车辆数平方增长，只用于和快照恢复对比，不代表PostgreSQL上的耗时。
+ * 快照恢复后与数据库的核对在后台线程执行，不计入耗时，每次调用结束后等待核对完成再开始下一次
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StartupCacheBenchmark {
+
+    private static final int RECORDS_PER_VEHICLE = 5;
+
+    @Param({"5000", "20000"})
+    private int vehicles;
+
+    private Path snapshotDir;
+    private JdbcTemplate jdbcTemplate;
+    private AnnotationConfigApplicationContext databaseContext;
+    private AnnotationConfigApplicationContext snapshotContext;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:startup-benchmark;MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS driving_records");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS vehicles");
+        // 只包含加载查询用到的列
+        jdbcTemplate.execute("CREATE TABLE vehicles (vin VARCHAR(17) PRIMARY KEY, status VARCHAR(20) NOT NULL, " +
+                "last_update_time TIMESTAMP NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE driving_records (vin VARCHAR(17) NOT NULL, record_time TIMESTAMP NOT NULL, " +
+                "mileage NUMERIC(10,2) NOT NULL, energy_consumption NUMERIC(10,2) NOT NULL, " +
+                "latitude NUMERIC(10,6) NOT NULL, longitude NUMERIC(10,6) NOT NULL, " +
+                "battery_level INTEGER NOT NULL, speed NUMERIC(10,2) NOT NULL)");
+        jdbcTemplate.execute("CREATE INDEX idx_driving_records_vin_time ON driving_records (vin, record_time)");
+        Timestamp today = Timestamp.valueOf(LocalDate.now().atStartOfDay());
+        jdbcTemplate.update("INSERT INTO vehicles SELECT 'LSV' || LPAD(CAST(X AS VARCHAR), 14, '0'), " +
+                "CASE MOD(X, 3) WHEN 0 THEN 'online' WHEN 1 THEN 'offline' ELSE 'error' END, ? " +
+                "FROM SYSTEM_RANGE(1, ?)", today, vehicles);
+        jdbcTemplate.update("INSERT INTO driving_records SELECT 'LSV' || LPAD(CAST(MOD(X, ?) + 1 AS VARCHAR), 14, '0'), " +
+                "DATEADD(SECOND, MOD(X, 3600), CAST(? AS TIMESTAMP)), 1.50, 0.20, 31.230000, 121.470000, 80, 40.00 " +
+                "FROM SYSTEM_RANGE(1, ?)", vehicles, today, (long) vehicles * RECORDS_PER_VEHICLE);
+
+        snapshotDir = Files.createTempDirectory("startup-benchmark");
+        databaseContext = createContext(dataSource, false);
+        snapshotContext = createContext(dataSource, true);
+
+        // 从数据库加载一次并写入快照
+        VehicleVinRegistry registry = snapshotContext.getAutowireCapableBeanFactory().createBean(VehicleVinRegistry.class);
+        registry.load();
+        registry.saveSnapshot();
+        FleetStateServiceImpl fleetState = snapshotContext.getAutowireCapableBeanFactory().createBean(FleetStateServiceImpl.class);
+        fleetState.load();
+        fleetState.shutdown();
+    }
+
+    private AnnotationConfigApplicationContext createContext(DataSource dataSource, boolean snapshotEnabled) {
+        // 只装配两个缓存及其依赖，配置项通过属性源注入
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", Map.of(
+                "startup.snapshot.enabled", snapshotEnabled,
+                "startup.snapshot.dir", snapshotDir.toString(),
+                "vehicle.cache.enabled", false,
+                "live.events.enabled", false)));
+        context.registerBean(DataSource.class, () -> dataSource);
+        context.registerBean(JdbcTemplate.class, () -> jdbcTemplate);
+        context.registerBean(ObjectMapper.class, () -> new ObjectMapper());
+        context.register(VehicleBatchRepository.class, FleetStateRepository.class, CacheSnapshotStore.class,
+                VehicleCache.class, LiveEventServiceImpl.class);
+        context.refresh();
+        return context;
+    }
+
+    @TearDown(Level.Invocation)
+    public void awaitReconcile() throws InterruptedException {
+        // 核对任务按提交顺序在同一线程执行，排在其后的任务完成时核对已经结束
+        CountDownLatch done = new CountDownLatch(1);
+        snapshotContext.getBean(CacheSnapshotStore.class).reconcile("benchmark", done::countDown);
+        done.await();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        databaseContext.close();
+        snapshotContext.close();
+        jdbcTemplate.execute("DROP TABLE IF EXISTS driving_records");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS vehicles");
+        try (Stream<Path> files = Files.walk(snapshotDir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public VehicleVinRegistry vinRegistryFromDatabase() {
+        return loadVinRegistry(databaseContext);
+    }
+
+    @Benchmark
+    public VehicleVinRegistry vinRegistryFromSnapshot() {
+        return loadVinRegistry(snapshotContext);
+    }
+
+    @Benchmark
+    public FleetStateServiceImpl fleetStateFromDatabase() {
+        return loadFleetState(databaseContext);
+    }
+
+    @Benchmark
+    public FleetStateServiceImpl fleetStateFromSnapshot() {
+        return loadFleetState(snapshotContext);
+    }
+
+    private static VehicleVinRegistry loadVinRegistry(AnnotationConfigApplicationContext context) {
+        VehicleVinRegistry registry = context.getAutowireCapableBeanFactory().createBean(VehicleVinRegistry.class);
+        registry.load();
+        return registry;
+    }
+
+    private FleetStateServiceImpl loadFleetState(AnnotationConfigApplicationContext context) {
+        FleetStateServiceImpl fleetState = context.getAutowireCapableBeanFactory().createBean(FleetStateServiceImpl.class);
+        fleetState.load();
+        if (fleetState.getSummary().getTotal() != vehicles) {
+            throw new IllegalStateException("加载车辆数" + fleetState.getSummary().getTotal() + "与车辆数" + vehicles + "不一致");
+        }
+        return fleetState;
+    }
+}
@@ -0,0 +1,67 @@
+// backend/src/jmh/java/com/example/evcarbonmonitor/benchmark/ValidationBenchmark.java
+package com.example.evcarbonmonitor.benchmark;
+
+import com.example.evcarbonmonitor.dto.VehicleDTO;
+import com.example.evcarbonmonitor.util.VehicleMapper;
+import com.example.evcarbonmonitor.util.VehicleValidationUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * VIN码和车牌号正则校验，以及导入时的整条记录校验
+ * invalid的输入在最后一个字符处才不匹配，是正则匹配的最坏情况
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ValidationBenchmark {
+
+    @Param({"valid", "invalid"})
+    private String input;
+
+    private String vin;
+    private String licensePlate;
+    private VehicleDTO vehicle;
+
+    @Setup
+    public void setUp() {
+        boolean valid = "valid".equals(input);
+        vin = BenchmarkData.vin("LSV", 42);
+        licensePlate = BenchmarkData.licensePlate(42);
+        if (!valid) {
+            vin = vin.substring(0, 16) + "I";
+            licensePlate = licensePlate.substring(0, 6) + "a";
+        }
+        vehicle = VehicleMapper.toDTO(BenchmarkData.vehicle(42), null);
+        vehicle.setVin(vin);
+        vehicle.setLicensePlate(licensePlate);
+    }
+
+    @Benchmark
+    public boolean vinPattern() {
+        return VehicleValidationUtil.VIN_PATTERN.matcher(vin).matches();
+    }
+
+    @Benchmark
+    public boolean licensePlatePattern() {
+        return VehicleValidationUtil.LICENSE_PLATE_PATTERN.matcher(licensePlate).matches();
+    }
+
+    @Benchmark
+    public boolean validateForImport() {
+        try {
+            VehicleValidationUtil.validateForImport(vehicle);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+}
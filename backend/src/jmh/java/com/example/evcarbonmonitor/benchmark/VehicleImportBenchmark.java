@@ -0,0 +1,105 @@
+// backend/src/jmh/java/com/example/evcarbonmonitor/benchmark/VehicleImportBenchmark.java
+package com.example.evcarbonmonitor.benchmark;
+
+import com.example.evcarbonmonitor.dto.BatchImportResponse;
+import com.example.evcarbonmonitor.repository.FleetStateRepository;
+import com.example.evcarbonmonitor.repository.VehicleBatchRepository;
+import com.example.evcarbonmonitor.service.impl.CacheSnapshotStore;
+import com.example.evcarbonmonitor.service.impl.FleetStateServiceImpl;
+import com.example.evcarbonmonitor.service.impl.LiveEventServiceImpl;
+import com.example.evcarbonmonitor.service.impl.VehicleCache;
+import com.example.evcarbonmonitor.service.impl.VehicleImportEngine;
+import com.example.evcarbonmonitor.service.impl.VehicleSearchServiceImpl;
+import com.example.evcarbonmonitor.service.impl.VehicleVinRegistry;
+import com.example.evcarbonmonitor.util.CsvUtil;
+import com.example.evcarbonmonitor.util.VehicleCsvReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 车辆批量导入吞吐量：CSV解析、校验、冲突查询和JDBC批量写入的完整链路
+ * 使用执行过全部迁移的嵌入式PostgreSQL，每次调用前清空vehicles表
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class VehicleImportBenchmark {
+
+    @Param({"1000", "10000"})
+    private int rows;
+
+    @Param({"1000"})
+    private int chunkSize;
+
+    private BenchmarkDatabase database;
+    private AnnotationConfigApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private VehicleImportEngine importEngine;
+    private byte[] file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        database = BenchmarkDatabase.start();
+        DataSource dataSource = database.getDataSource();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        // 只装配导入链路用到的组件，配置项通过属性源注入；实时状态、输入建议和实时推送关闭，只保留导入本身
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark",
+                Map.of("vehicle.import.chunk-size", chunkSize, "vehicle.cache.enabled", false,
+                        "fleet.state.enabled", false, "vehicle.search.enabled", false, "live.events.enabled", false)));
+        context.registerBean(DataSource.class, () -> dataSource);
+        context.registerBean(JdbcTemplate.class, () -> jdbcTemplate);
+        context.registerBean(PlatformTransactionManager.class, () -> new DataSourceTransactionManager(dataSource));
+        context.registerBean(ObjectMapper.class, () -> new ObjectMapper());
+        context.register(VehicleBatchRepository.class, CacheSnapshotStore.class, VehicleVinRegistry.class,
+                VehicleCache.class, FleetStateRepository.class, LiveEventServiceImpl.class, FleetStateServiceImpl.class,
+                VehicleSearchServiceImpl.class, VehicleImportEngine.class);
+        context.refresh();
+        importEngine = context.getBean(VehicleImportEngine.class);
+
+        file = BenchmarkData.csv("LSV", rows, false);
+    }
+
+    @Setup(Level.Invocation)
+    public void clearVehicles() {
+        jdbcTemplate.execute("TRUNCATE TABLE vehicles CASCADE");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        database.close();
+    }
+
+    @Benchmark
+    public BatchImportResponse importCsv() throws IOException {
+        try (VehicleCsvReader reader = CsvUtil.openVehicleReader(new ByteArrayInputStream(file))) {
+            BatchImportResponse response = importEngine.importVehicles(reader);
+            if (response.getSuccess() != rows) {
+                throw new IllegalStateException("导入成功数" + response.getSuccess() + "与记录数" + rows + "不一致");
+            }
+            return response;
+        }
+    }
+}
@@ -0,0 +1,299 @@
+// backend/src/jmh/java/com/example/evcarbonmonitor/benchmark/VehiclePrefixIndexBenchmark.java
+package com.example.evcarbonmonitor.benchmark;
+
+import com.example.evcarbonmonitor.dto.VehicleSearchIndexStatsDTO;
+import com.example.evcarbonmonitor.dto.VehicleSuggestionDTO;
+import com.example.evcarbonmonitor.repository.VehicleBatchRepository;
+import com.example.evcarbonmonitor.service.impl.VehicleSearchServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * 车辆输入建议(VehicleSearchServiceImpl.suggest)的延迟分位数，车辆数为10万和100万
+ * changesPerSecond大于0时后台线程持续修改车牌号、新增和删除车辆，查询与待合并集合和后台合并并发进行。
+ * 建立索引后输出估算和实测的堆内存；结束时停止修改，在合并前后各用一次暴力扫描核对查询结果
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class VehiclePrefixIndexBenchmark {
+
+    // 每个修改周期的间隔
+    private static final int WRITE_PERIOD_MS = 10;
+    // 反复新增和删除的车辆数
+    private static final int CHURN_VEHICLES = 10000;
+    private static final int QUERIES = 1024;
+    private static final int CHECKED_QUERIES = 100;
+    private static final int LIMIT = 10;
+
+    @Param({"100000", "1000000"})
+    private int vehicles;
+
+    @Param({"0", "5000"})
+    private int changesPerSecond;
+
+    // 车辆的当前状态，只由修改线程写入，修改线程停止后用于核对；车牌号为null表示车辆不存在
+    private String[] vins;
+    private String[] plates;
+    private long nextPlate;
+
+    private AnnotationConfigApplicationContext context;
+    private VehicleSearchServiceImpl searchService;
+    private ScheduledExecutorService writer;
+    private String[] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        vins = new String[vehicles + CHURN_VEHICLES];
+        plates = new String[vins.length];
+        for (int i = 0; i < vins.length; i++) {
+            vins[i] = BenchmarkData.vin(i < vehicles ? "LSV" : "LTX", i);
+            plates[i] = i < vehicles ? BenchmarkData.licensePlate(i) : null;
+        }
+        nextPlate = vins.length;
+
+        // 索引从数据库加载的数据由GeneratedVehicles按相同规则重新生成，不与核对用的数组共享字符串，实测的堆内存包括字符串本身
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark",
+                Map.of("vehicle.search.max-vehicles", vins.length, "vehicle.search.default-limit", LIMIT)));
+        context.registerBean(VehicleBatchRepository.class, () -> new GeneratedVehicles(vehicles));
+        context.registerBean(PlatformTransactionManager.class, NoOpTransactionManager::new);
+        context.register(VehicleSearchServiceImpl.class);
+        context.refresh();
+        searchService = context.getBean(VehicleSearchServiceImpl.class);
+
+        long usedBefore = usedHeap();
+        searchService.load();
+        while (!searchService.getIndexStats().isAvailable()) {
+            Thread.sleep(50);
+        }
+        long usedAfter = usedHeap();
+        VehicleSearchIndexStatsDTO stats = searchService.getIndexStats();
+        System.out.printf("%n输入建议索引: %d辆车, 估算%.1fMB(每辆%d字节), 实测堆增量%.1fMB%n",
+                stats.getVehicles(), stats.getEstimatedBytes() / 1048576.0, stats.getEstimatedBytes() / vehicles,
+                (usedAfter - usedBefore) / 1048576.0);
+
+        queries = queries(new Random(42), QUERIES);
+        check("建立索引后");
+
+        if (changesPerSecond > 0) {
+            Random random = new Random(7);
+            int perPeriod = Math.max(1, changesPerSecond * WRITE_PERIOD_MS / 1000);
+            writer = Executors.newSingleThreadScheduledExecutor();
+            writer.scheduleAtFixedRate(() -> change(random, perPeriod), WRITE_PERIOD_MS, WRITE_PERIOD_MS,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        if (writer != null) {
+            writer.shutdown();
+            writer.awaitTermination(10, TimeUnit.SECONDS);
+            VehicleSearchIndexStatsDTO stats = searchService.getIndexStats();
+            System.out.printf("%n合并%d次, 最近一次%dms, 待合并%d条%n",
+                    stats.getMerges(), stats.getLastMergeMillis(), stats.getPendingChanges());
+            // 修改线程停止后数组就是车辆的当前状态，先核对带待合并修改的查询，等合并完成后再核对一次
+            check("合并前");
+            while (searchService.getIndexStats().getPendingChanges() > 0) {
+                Thread.sleep(100);
+            }
+            check("合并后");
+        }
+        context.close();
+    }
+
+    @Benchmark
+    public List<VehicleSuggestionDTO> suggest() {
+        String query = queries[next++ & (QUERIES - 1)];
+        return searchService.suggest(query, LIMIT);
+    }
+
+    /**
+     * 修改车牌号为主，每4次修改中有一次新增或删除一辆车
+     */
+    private void change(Random random, int count) {
+        for (int n = 0; n < count; n++) {
+            if (n % 4 == 0) {
+                int i = vehicles + random.nextInt(CHURN_VEHICLES);
+                if (plates[i] == null) {
+                    plates[i] = BenchmarkData.licensePlate(nextPlate++);
+                    searchService.vehicleSaved(vins[i], plates[i]);
+                } else {
+                    plates[i] = null;
+                    searchService.vehiclesRemoved(List.of(vins[i]));
+                }
+            } else {
+                int i = random.nextInt(vehicles);
+                plates[i] = BenchmarkData.licensePlate(nextPlate++);
+                searchService.vehicleSaved(vins[i], plates[i]);
+            }
+        }
+    }
+
+    /**
+     * 查询串取自现有车辆的VIN码、车牌号、去掉省份简称的车牌号和生产序号的前缀，另有少量不存在的前缀
+     */
+    private String[] queries(Random random, int count) {
+        String[] result = new String[count];
+        for (int n = 0; n < count; n++) {
+            int i = random.nextInt(vehicles);
+            int length = 2 + random.nextInt(5);
+            switch (n % 5) {
+                case 0:
+                    result[n] = vins[i].substring(0, 3 + length);
+                    break;
+                case 1:
+                    result[n] = plates[i].substring(0, length);
+                    break;
+                case 2:
+                    result[n] = plates[i].substring(1, 1 + length);
+                    break;
+                case 3:
+                    result[n] = vins[i].substring(11, 11 + length);
+                    break;
+                default:
+                    result[n] = "Z" + vins[i].substring(3, 3 + length);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 对部分查询串暴力扫描全部车辆，结果与suggest不一致时抛出异常
+     */
+    private void check(String stage) {
+        for (int n = 0; n < CHECKED_QUERIES; n++) {
+            String query = queries[n];
+            List<String> expected = bruteForce(query);
+            List<String> actual = new ArrayList<>();
+            for (VehicleSuggestionDTO suggestion : searchService.suggest(query, LIMIT)) {
+                actual.add(suggestion.getVin() + " " + suggestion.getLicensePlate() + " " + suggestion.getMatchedField());
+            }
+            if (!expected.equals(actual)) {
+                throw new IllegalStateException(stage + "查询" + query + "的结果" + actual + "与暴力扫描的结果" + expected + "不一致");
+            }
+        }
+    }
+
+    /**
+     * 按建议的排列规则计算：先按命中的字段(VIN码、车牌号、去掉省份简称的车牌号、生产序号)，再按命中的键和VIN码排序，同一车辆只保留第一条
+     */
+    private List<String> bruteForce(String query) {
+        String[] fields = {VehicleSuggestionDTO.MATCHED_VIN, VehicleSuggestionDTO.MATCHED_LICENSE_PLATE,
+                VehicleSuggestionDTO.MATCHED_PLATE_NUMBER, VehicleSuggestionDTO.MATCHED_VIN_SERIAL};
+        List<String[]> matches = new ArrayList<>();
+        for (int i = 0; i < vins.length; i++) {
+            String vin = vins[i];
+            String plate = plates[i];
+            if (plate == null) {
+                continue;
+            }
+            if (vin.startsWith(query)) {
+                matches.add(new String[]{"0", vin, vin, plate});
+            }
+            if (plate.startsWith(query)) {
+                matches.add(new String[]{"1", plate, vin, plate});
+            }
+            if (plate.length() > 1 && plate.startsWith(query, 1)) {
+                matches.add(new String[]{"2", plate.substring(1), vin, plate});
+            }
+            if (vin.length() > 11 && vin.startsWith(query, 11)) {
+                matches.add(new String[]{"3", vin.substring(11), vin, plate});
+            }
+        }
+        matches.sort(Comparator.<String[], String>comparing(match -> match[0])
+                .thenComparing(match -> match[1])
+                .thenComparing(match -> match[2]));
+        List<String> result = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (String[] match : matches) {
+            if (result.size() == LIMIT) {
+                break;
+            }
+            if (seen.add(match[2])) {
+                result.add(match[2] + " " + match[3] + " " + fields[match[0].charAt(0) - '0']);
+            }
+        }
+        return result;
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int n = 0; n < 3; n++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * 代替数据库游标扫描，按与setUp相同的规则生成车辆
+     */
+    private static final class GeneratedVehicles extends VehicleBatchRepository {
+        private final int vehicles;
+
+        private GeneratedVehicles(int vehicles) {
+            super(new JdbcTemplate());
+            this.vehicles = vehicles;
+        }
+
+        @Override
+        public void forEachVinAndPlate(int fetchSize, BiConsumer<String, String> consumer) {
+            for (int i = 0; i < vehicles; i++) {
+                consumer.accept(BenchmarkData.vin("LSV", i), BenchmarkData.licensePlate(i));
+            }
+        }
+    }
+
+    /**
+     * 只维护事务同步状态，不连接任何资源
+     */
+    private static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
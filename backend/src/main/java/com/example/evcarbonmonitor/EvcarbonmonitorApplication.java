@@ -2,11 +2,16 @@ package com.example.evcarbonmonitor;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
 
 @SpringBootApplication
 public class EvcarbonmonitorApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(EvcarbonmonitorApplication.class, args);
+        ConfigurableApplicationContext context = SpringApplication.run(EvcarbonmonitorApplication.class, args);
+        // CDS训练运行(./gradlew cdsArchive)：启动完成后立即退出，JVM退出时写入启动期间加载的类
+        if (context.getEnvironment().getProperty("startup.cds.training-run", Boolean.class, false)) {
+            System.exit(SpringApplication.exit(context));
+        }
     }
 }
@@ -0,0 +1,58 @@
+// backend/src/main/java/com/example/evcarbonmonitor/config/JdbcLimiterConfig.java
+package com.example.evcarbonmonitor.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * 数据库并发限制(execution.jdbc-limiter)，虚拟线程模式下默认启用
+ * 在连接池前增加有界等待队列，避免大量并发请求同时阻塞在连接池上，超出排队上限时直接返回503
+ */
+@Configuration
+@ConditionalOnProperty(name = "execution.jdbc-limiter.enabled", havingValue = "true")
+public class JdbcLimiterConfig {
+
+    @Bean
+    public static BeanPostProcessor jdbcLimiterDataSourcePostProcessor(Environment environment) {
+        int maxConcurrent = environment.getProperty("execution.jdbc-limiter.max-concurrent", Integer.class, 20);
+        int maxWaiting = environment.getProperty("execution.jdbc-limiter.max-waiting", Integer.class, 200);
+        long acquireTimeoutMs = environment.getProperty("execution.jdbc-limiter.acquire-timeout-ms", Long.class, 5000L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof ConcurrencyLimitingDataSource)) {
+                    return new ConcurrencyLimitingDataSource((DataSource) bean, maxConcurrent, maxWaiting,
+                            acquireTimeoutMs);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder jdbcLimiterMetrics(DataSource dataSource) {
+        return registry -> {
+            if (!(dataSource instanceof ConcurrencyLimitingDataSource)) {
+                return;
+            }
+            ConcurrencyLimitingDataSource limiter = (ConcurrencyLimitingDataSource) dataSource;
+            Gauge.builder("jdbc.limiter.available", limiter, ConcurrencyLimitingDataSource::getAvailable)
+                    .description("剩余可借出的连接数")
+                    .register(registry);
+            Gauge.builder("jdbc.limiter.waiting", limiter, ConcurrencyLimitingDataSource::getWaiting)
+                    .description("排队等待连接的线程数")
+                    .register(registry);
+            FunctionCounter.builder("jdbc.limiter.rejected", limiter, ConcurrencyLimitingDataSource::getRejected)
+                    .description("排队已满或等待超时被拒绝的连接请求数")
+                    .register(registry);
+        };
+    }
+}
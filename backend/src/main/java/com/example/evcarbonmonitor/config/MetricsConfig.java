@@ -0,0 +1,21 @@
+// backend/src/main/java/com/example/evcarbonmonitor/config/MetricsConfig.java
+package com.example.evcarbonmonitor.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 指标配置，指标通过/actuator/prometheus暴露
+ * HTTP接口(http.server.requests)、仓库方法(spring.data.repository.invocations)和连接池(hikaricp.*)
+ * 由Spring Boot自动采集；服务方法用@Timed标注，缓存、导入和JSON-RPC指标由各组件自行注册
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
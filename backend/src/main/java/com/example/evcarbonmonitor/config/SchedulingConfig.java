@@ -0,0 +1,11 @@
+// backend/src/main/java/com/example/evcarbonmonitor/config/SchedulingConfig.java
+package com.example.evcarbonmonitor.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+    // 定时任务（碳减排计算等）使用Spring Boot默认的调度线程池
+}
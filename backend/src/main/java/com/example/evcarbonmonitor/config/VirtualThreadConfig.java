@@ -0,0 +1,50 @@
+// backend/src/main/java/com/example/evcarbonmonitor/config/VirtualThreadConfig.java
+package com.example.evcarbonmonitor.config;
+
+import com.example.evcarbonmonitor.util.VirtualThreadUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.TaskSchedulerCustomizer;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+/**
+ * 虚拟线程执行模式(execution.virtual-threads.enabled)，需要运行在Java 21及以上
+ * Tomcat请求处理、MVC异步请求(流式导出)和定时任务(上链提交、回执轮询、事件索引)改用虚拟线程，
+ * 阻塞的JDBC和JSON-RPC调用不再占用平台线程；导入任务线程见ImportJobServiceImpl
+ * 并发请求数不再受Tomcat线程数限制，数据库并发由连接池和JdbcLimiterConfig控制
+ */
+@Configuration
+@ConditionalOnProperty(name = "execution.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    public VirtualThreadConfig() {
+        if (!VirtualThreadUtil.isSupported()) {
+            throw new IllegalStateException("execution.virtual-threads.enabled需要Java 21及以上，当前为Java "
+                    + Runtime.version().feature());
+        }
+        logger.info("虚拟线程模式已启用");
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(VirtualThreadUtil.newExecutor("http-vt-"));
+    }
+
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(VirtualThreadUtil.newExecutor("task-vt-"));
+    }
+
+    @Bean
+    public TaskSchedulerCustomizer virtualThreadTaskSchedulerCustomizer() {
+        return taskScheduler -> taskScheduler.setThreadFactory(VirtualThreadUtil.threadFactory("scheduling-vt-"));
+    }
+}
@@ -1,12 +1,19 @@
 // backend/src/main/java/com/example/evcarbonmonitor/config/Web3jConfig.java
 package com.example.evcarbonmonitor.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.OkHttpClient;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.http.HttpService;
 
+/**
+ * Web3j客户端在第一次调用区块链节点时才创建
+ * 上链提交和事件索引默认关闭，节点不可用时不影响启动；使用方以@Lazy注入，拿到的是延迟解析的代理
+ */
 @Configuration
 public class Web3jConfig {
 
@@ -14,7 +21,11 @@ public class Web3jConfig {
     private String web3ProviderUrl;
 
     @Bean
-    public Web3j web3j() {
-        return Web3j.build(new HttpService(web3ProviderUrl));
+    @Lazy
+    public Web3j web3j(MeterRegistry meterRegistry) {
+        OkHttpClient httpClient = new OkHttpClient.Builder()
+                .addInterceptor(new Web3jMetricsInterceptor(meterRegistry))
+                .build();
+        return Web3j.build(new HttpService(web3ProviderUrl, httpClient));
     }
 }
@@ -0,0 +1,65 @@
+// backend/src/main/java/com/example/evcarbonmonitor/config/Web3jMetricsInterceptor.java
+package com.example.evcarbonmonitor.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okio.Buffer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 记录Web3j JSON-RPC调用耗时(web3j.rpc)
+ * 按JSON-RPC方法名打标签，批量请求的方法名为batch；outcome为success、http_error或io_error
+ */
+class Web3jMetricsInterceptor implements Interceptor {
+
+    private static final Pattern METHOD_PATTERN = Pattern.compile("\"method\"\\s*:\\s*\"([^\"]+)\"");
+
+    private final MeterRegistry meterRegistry;
+
+    Web3jMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        String method = rpcMethod(request.body());
+        long start = System.nanoTime();
+        String outcome = "io_error";
+        try {
+            Response response = chain.proceed(request);
+            outcome = response.isSuccessful() ? "success" : "http_error";
+            return response;
+        } finally {
+            Timer.builder("web3j.rpc")
+                    .description("以太坊节点JSON-RPC请求耗时")
+                    .tags("method", method, "outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static String rpcMethod(RequestBody body) throws IOException {
+        if (body == null) {
+            return "unknown";
+        }
+        Buffer buffer = new Buffer();
+        body.writeTo(buffer);
+        String json = buffer.readString(StandardCharsets.UTF_8);
+        if (json.startsWith("[")) {
+            return "batch";
+        }
+        Matcher matcher = METHOD_PATTERN.matcher(json);
+        return matcher.find() ? matcher.group(1) : "unknown";
+    }
+}
@@ -0,0 +1,65 @@
+// backend/src/main/java/com/example/evcarbonmonitor/controller/AnalyticsController.java
+package com.example.evcarbonmonitor.controller;
+
+import com.example.evcarbonmonitor.dto.ApiResponse;
+import com.example.evcarbonmonitor.dto.CarbonCalculationResult;
+import com.example.evcarbonmonitor.dto.RollupResult;
+import com.example.evcarbonmonitor.dto.TrendQueryParams;
+import com.example.evcarbonmonitor.dto.TrendResponse;
+import com.example.evcarbonmonitor.service.AnalyticsRollupService;
+import com.example.evcarbonmonitor.service.AnalyticsService;
+import com.example.evcarbonmonitor.service.CarbonCalculationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/v1/analytics")
+public class AnalyticsController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsController.class);
+
+    private final CarbonCalculationService carbonCalculationService;
+    private final AnalyticsService analyticsService;
+    private final AnalyticsRollupService analyticsRollupService;
+
+    @Autowired
+    public AnalyticsController(CarbonCalculationService carbonCalculationService,
+                               AnalyticsService analyticsService,
+                               AnalyticsRollupService analyticsRollupService) {
+        this.carbonCalculationService = carbonCalculationService;
+        this.analyticsService = analyticsService;
+        this.analyticsRollupService = analyticsRollupService;
+    }
+
+    /**
+     * 立即执行一轮碳减排增量计算
+     */
+    @PostMapping("/carbon-reduction/calculate")
+    public ApiResponse<CarbonCalculationResult> calculateCarbonReduction() {
+        logger.info("Received request to run carbon reduction calculation");
+        return ApiResponse.success("碳减排计算完成", carbonCalculationService.runIncremental());
+    }
+
+    @GetMapping("/carbon-reduction/trends")
+    public ApiResponse<TrendResponse> getCarbonReductionTrends(TrendQueryParams params) {
+        logger.debug("Received request to get carbon reduction trends with params: {}", params);
+        return ApiResponse.success(analyticsService.getCarbonReductionTrends(params));
+    }
+
+    @GetMapping("/driving-data")
+    public ApiResponse<TrendResponse> getDrivingData(TrendQueryParams params) {
+        logger.debug("Received request to get driving data with params: {}", params);
+        return ApiResponse.success(analyticsService.getDrivingData(params));
+    }
+
+    /**
+     * 立即执行一轮分析汇总
+     */
+    @PostMapping("/rollups/run")
+    public ApiResponse<RollupResult> runRollups() {
+        logger.info("Received request to run analytics rollups");
+        return ApiResponse.success("分析汇总完成", analyticsRollupService.runIncremental());
+    }
+}
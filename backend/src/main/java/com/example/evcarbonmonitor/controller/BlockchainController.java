@@ -0,0 +1,42 @@
+// backend/src/main/java/com/example/evcarbonmonitor/controller/BlockchainController.java
+package com.example.evcarbonmonitor.controller;
+
+import com.example.evcarbonmonitor.dto.ApiResponse;
+import com.example.evcarbonmonitor.dto.BlockchainIndexResult;
+import com.example.evcarbonmonitor.service.BlockchainIndexerService;
+import com.example.evcarbonmonitor.service.BlockchainSubmissionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/v1/blockchain")
+public class BlockchainController {
+
+    private final BlockchainSubmissionService blockchainSubmissionService;
+    private final BlockchainIndexerService blockchainIndexerService;
+
+    @Autowired
+    public BlockchainController(BlockchainSubmissionService blockchainSubmissionService,
+                                BlockchainIndexerService blockchainIndexerService) {
+        this.blockchainSubmissionService = blockchainSubmissionService;
+        this.blockchainIndexerService = blockchainIndexerService;
+    }
+
+    /**
+     * 上链发件箱各状态的记录数
+     */
+    @GetMapping("/outbox/summary")
+    public ApiResponse<Map<String, Long>> getOutboxSummary() {
+        return ApiResponse.success(blockchainSubmissionService.getOutboxSummary());
+    }
+
+    /**
+     * 立即执行一轮区块链事件索引
+     */
+    @PostMapping("/indexer/run")
+    public ApiResponse<BlockchainIndexResult> runIndexer() {
+        return ApiResponse.success("区块链事件索引完成", blockchainIndexerService.runIndexer());
+    }
+}
@@ -0,0 +1,65 @@
+// backend/src/main/java/com/example/evcarbonmonitor/controller/DrivingDataController.java
+package com.example.evcarbonmonitor.controller;
+
+import com.example.evcarbonmonitor.dto.ApiResponse;
+import com.example.evcarbonmonitor.dto.DrivingDataBatchRequest;
+import com.example.evcarbonmonitor.dto.DrivingDataDTO;
+import com.example.evcarbonmonitor.dto.TelemetryIngestResponse;
+import com.example.evcarbonmonitor.exception.ApiException;
+import com.example.evcarbonmonitor.service.TelemetryIngestService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * 行驶数据上报接口
+ */
+@RestController
+@RequestMapping("/v1/vehicles")
+public class DrivingDataController {
+
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    private final TelemetryIngestService telemetryIngestService;
+
+    @Autowired
+    public DrivingDataController(TelemetryIngestService telemetryIngestService) {
+        this.telemetryIngestService = telemetryIngestService;
+    }
+
+    /**
+     * 批量上报行驶数据（JSON）
+     */
+    @PostMapping(value = "/driving-data/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ApiResponse<TelemetryIngestResponse> ingestBatch(@RequestBody DrivingDataBatchRequest request) {
+        return ApiResponse.success("行驶数据已接收", telemetryIngestService.ingest(request.getRecords()));
+    }
+
+    /**
+     * 批量上报行驶数据（NDJSON，每行一个数据点）
+     */
+    @PostMapping(value = "/driving-data/batch", consumes = APPLICATION_NDJSON)
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ApiResponse<TelemetryIngestResponse> ingestNdjson(HttpServletRequest request) {
+        try {
+            return ApiResponse.success("行驶数据已接收", telemetryIngestService.ingestNdjson(request.getInputStream()));
+        } catch (IOException e) {
+            throw new ApiException(400, "读取上报数据失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 上报单个车辆的行驶数据
+     */
+    @PostMapping("/{vin}/driving-data")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ApiResponse<TelemetryIngestResponse> ingestSingle(@PathVariable String vin,
+                                                             @RequestBody DrivingDataDTO record) {
+        return ApiResponse.success("行驶数据已接收", telemetryIngestService.ingestSingle(vin, record));
+    }
+}
@@ -0,0 +1,47 @@
+// backend/src/main/java/com/example/evcarbonmonitor/controller/FleetStateController.java
+package com.example.evcarbonmonitor.controller;
+
+import com.example.evcarbonmonitor.domain.VehicleState;
+import com.example.evcarbonmonitor.dto.ApiResponse;
+import com.example.evcarbonmonitor.dto.FleetSummaryDTO;
+import com.example.evcarbonmonitor.service.FleetStateService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 车队实时状态接口，只读取内存中的状态，不访问数据库
+ */
+@RestController
+@RequestMapping("/v1/fleet")
+public class FleetStateController {
+
+    private final FleetStateService fleetStateService;
+
+    @Autowired
+    public FleetStateController(FleetStateService fleetStateService) {
+        this.fleetStateService = fleetStateService;
+    }
+
+    /**
+     * 各状态的车辆数
+     */
+    @GetMapping("/summary")
+    public ApiResponse<FleetSummaryDTO> getSummary() {
+        return ApiResponse.success(fleetStateService.getSummary());
+    }
+
+    /**
+     * 车队实时状态快照，可按状态筛选
+     */
+    @GetMapping("/states")
+    public ApiResponse<List<VehicleState>> getStates(@RequestParam(required = false) String status) {
+        return ApiResponse.success(fleetStateService.getStates(status));
+    }
+
+    @GetMapping("/states/{vin}")
+    public ApiResponse<VehicleState> getState(@PathVariable String vin) {
+        return ApiResponse.success(fleetStateService.getState(vin));
+    }
+}
@@ -0,0 +1,42 @@
+// backend/src/main/java/com/example/evcarbonmonitor/controller/LiveEventController.java
+package com.example.evcarbonmonitor.controller;
+
+import com.example.evcarbonmonitor.dto.ApiResponse;
+import com.example.evcarbonmonitor.dto.LiveEventStatsDTO;
+import com.example.evcarbonmonitor.service.LiveEventService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 实时推送接口(Server-Sent Events)
+ */
+@RestController
+@RequestMapping("/v1/events")
+public class LiveEventController {
+
+    private final LiveEventService liveEventService;
+
+    @Autowired
+    public LiveEventController(LiveEventService liveEventService) {
+        this.liveEventService = liveEventService;
+    }
+
+    /**
+     * 建立推送连接，可按事件类型和车辆筛选
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam(required = false) String types,
+                             @RequestParam(required = false) String vins) {
+        return liveEventService.subscribe(types, vins);
+    }
+
+    /**
+     * 推送连接数和事件计数
+     */
+    @GetMapping("/stats")
+    public ApiResponse<LiveEventStatsDTO> getStats() {
+        return ApiResponse.success(liveEventService.getStats());
+    }
+}
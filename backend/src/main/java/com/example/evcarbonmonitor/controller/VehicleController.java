@@ -1,23 +1,29 @@
 package com.example.evcarbonmonitor.controller;
 
-import com.example.evcarbonmonitor.domain.Vehicle;
 import com.example.evcarbonmonitor.dto.*;
-import com.example.evcarbonmonitor.repository.VehicleRepository;
+import com.example.evcarbonmonitor.exception.ApiException;
+import com.example.evcarbonmonitor.service.VehicleExportService;
+import com.example.evcarbonmonitor.service.VehicleSearchService;
 import com.example.evcarbonmonitor.service.VehicleService;
+import com.example.evcarbonmonitor.service.VehicleStatsService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.ThreadLocalRandom;
 
 @RestController
 @RequestMapping("/v1/vehicles")  
@@ -28,7 +34,17 @@ public class VehicleController {
     private final VehicleService vehicleService;
     
     @Autowired
-    private VehicleRepository vehicleRepository;
+    private VehicleStatsService vehicleStatsService;
+
+    @Autowired
+    private VehicleExportService vehicleExportService;
+
+    @Autowired
+    private VehicleSearchService vehicleSearchService;
+
+    // 列表和详情接口调试日志的采样率(0~1)，0表示不记录
+    @Value("${vehicle.logging.sample-rate:0}")
+    private double logSampleRate;
 
     @Autowired
     public VehicleController(VehicleService vehicleService) {
@@ -40,21 +56,11 @@ public class VehicleController {
      */
     @GetMapping
     public ApiResponse<PageResponse<VehicleDTO>> getVehicles(VehicleQueryParams params) {
-        logger.info("Received request to get vehicles with params: {}", params);
         PageResponse<VehicleDTO> pageResponse = vehicleService.getVehicles(params);
-        
-        // 详细日志
-        logger.info("Returning vehicles - total: {}, page: {}, size: {}, items count: {}", 
-            pageResponse.getTotal(), pageResponse.getPage(), pageResponse.getSize(), 
-            pageResponse.getItems().size());
-        
-        if (!pageResponse.getItems().isEmpty()) {
-            for (VehicleDTO vehicle : pageResponse.getItems()) {
-                logger.info("Vehicle in response: VIN={}, Model={}, Status={}", 
-                    vehicle.getVin(), vehicle.getModel(), vehicle.getStatus());
-            }
-        } else {
-            logger.warn("No vehicles found in database for the query");
+        // 高频接口，只按采样率记录调试日志
+        if (sampled()) {
+            logger.debug("Vehicles query: params={}, total={}, items={}",
+                    params, pageResponse.getTotal(), pageResponse.getItems().size());
         }
         
         return ApiResponse.success(pageResponse);
@@ -64,10 +70,15 @@ public class VehicleController {
      * 获取车辆详情
      */
     @GetMapping("/{vin}")
-    public ApiResponse<VehicleDTO> getVehicleByVin(@PathVariable String vin) {
-        logger.info("Received request to get vehicle with VIN: {}", vin);
+    public ResponseEntity<ApiResponse<VehicleDTO>> getVehicleByVin(@PathVariable String vin) {
         VehicleDTO vehicle = vehicleService.getVehicleByVin(vin);
-        return ApiResponse.success(vehicle);
+        if (sampled()) {
+            logger.debug("Vehicle detail: VIN={}, status={}", vin, vehicle.getStatus());
+        }
+        // ETag为车辆信息的版本号，修改时通过If-Match带回
+        return ResponseEntity.ok()
+                .eTag(String.valueOf(vehicle.getVersion()))
+                .body(ApiResponse.success(vehicle));
     }
 
     /**
@@ -87,19 +98,23 @@ public class VehicleController {
 
     /**
      * 更新车辆信息
+     * 带If-Match时只在版本号一致时更新，否则返回412
      */
     @PutMapping("/{vin}")
-    public ApiResponse<Map<String, String>> updateVehicle(
+    public ResponseEntity<ApiResponse<Map<String, String>>> updateVehicle(
             @PathVariable String vin,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody VehicleDTO vehicleDTO) {
         
         logger.info("Received request to update vehicle with VIN {}: {}", vin, vehicleDTO);
-        String updatedVin = vehicleService.updateVehicle(vin, vehicleDTO);
+        VehicleDTO updated = vehicleService.updateVehicle(vin, vehicleDTO, parseIfMatch(ifMatch));
         
         Map<String, String> response = new HashMap<>();
-        response.put("vin", updatedVin);
+        response.put("vin", updated.getVin());
         
-        return ApiResponse.success("更新成功", response);
+        return ResponseEntity.ok()
+                .eTag(String.valueOf(updated.getVersion()))
+                .body(ApiResponse.success("更新成功", response));
     }
 
     /**
@@ -123,37 +138,122 @@ public class VehicleController {
     }
     
     /**
-     * 调试接口：获取所有车辆
+     * 批量添加车辆，每项的校验规则与单条添加相同
      */
-    @GetMapping("/debug/all")
-    public ApiResponse<List<VehicleDTO>> getAllVehiclesDebug() {
-        logger.info("Debug: getting all vehicles directly");
-        
-        List<Vehicle> vehicles = vehicleRepository.findAllVehiclesOrdered();
-        
-        List<VehicleDTO> vehicleDTOs = vehicles.stream()
-            .map(this::convertToDTO)
-            .collect(Collectors.toList());
-        
-        logger.info("Debug: found {} vehicles", vehicleDTOs.size());
-        
-        return ApiResponse.success(vehicleDTOs);
+    @PostMapping("/bulk")
+    public ApiResponse<BulkOperationResponse> createVehicles(@RequestBody List<VehicleDTO> vehicles) {
+        logger.info("Received request to create {} vehicles", vehicles != null ? vehicles.size() : 0);
+        return ApiResponse.success("批量添加完成", vehicleService.createVehicles(vehicles));
     }
-    
+
     /**
-     * 将实体对象转换为DTO
+     * 批量更新车辆信息，每项只修改给出的字段
      */
-    private VehicleDTO convertToDTO(Vehicle vehicle) {
-        VehicleDTO dto = new VehicleDTO();
-        BeanUtils.copyProperties(vehicle, dto);
-        
-        // 设置统计数据，实际项目中可能会从其他表中查询
-        // 这里使用模拟数据
-        dto.setTotalMileage(BigDecimal.valueOf(12500));
-        dto.setTotalEnergy(BigDecimal.valueOf(2300));
-        dto.setTotalCarbonReduction(BigDecimal.valueOf(3750.5));
-        dto.setCarbonCredits(BigDecimal.valueOf(187.5));
-        
-        return dto;
+    @PatchMapping("/bulk")
+    public ApiResponse<BulkOperationResponse> updateVehicles(@RequestBody List<VehicleDTO> changes) {
+        logger.info("Received request to update {} vehicles", changes != null ? changes.size() : 0);
+        return ApiResponse.success("批量更新完成", vehicleService.updateVehicles(changes));
+    }
+
+    /**
+     * 批量修改车辆状态
+     */
+    @PostMapping("/bulk/status")
+    public ApiResponse<BulkOperationResponse> changeVehicleStatus(@RequestBody List<VehicleStatusChange> changes) {
+        logger.info("Received request to change status of {} vehicles", changes != null ? changes.size() : 0);
+        return ApiResponse.success("批量修改状态完成", vehicleService.changeVehicleStatus(changes));
+    }
+
+    /**
+     * 批量删除车辆
+     */
+    @PostMapping("/bulk/delete")
+    public ApiResponse<BulkOperationResponse> deleteVehicles(@RequestBody List<String> vins) {
+        logger.info("Received request to delete {} vehicles", vins != null ? vins.size() : 0);
+        return ApiResponse.success("批量删除完成", vehicleService.deleteVehicles(vins));
+    }
+
+    /**
+     * 流式导出车辆（NDJSON或CSV），响应边查询边写出，不在内存中组装整个结果
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportVehicles(VehicleExportParams params) {
+        logger.info("Received request to export vehicles: format={}, status={}, manufacturer={}, gzip={}",
+            params.getFormat(), params.getStatus(), params.getManufacturer(), params.isGzip());
+        vehicleExportService.validateParams(params);
+
+        MediaType contentType = params.isGzip() ? MediaType.parseMediaType("application/gzip")
+            : "csv".equalsIgnoreCase(params.getFormat()) ? MediaType.parseMediaType("text/csv;charset=UTF-8")
+            : MediaType.parseMediaType("application/x-ndjson;charset=UTF-8");
+        StreamingResponseBody body = outputStream -> vehicleExportService.exportVehicles(params, outputStream);
+
+        return ResponseEntity.ok()
+            .contentType(contentType)
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(vehicleExportService.getFileName(params)).build().toString())
+            .body(body);
+    }
+
+    /**
+     * 重建车辆统计数据
+     */
+    @PostMapping("/stats/rebuild")
+    public ApiResponse<Map<String, Integer>> rebuildStats() {
+        logger.info("Received request to rebuild vehicle stats");
+        int updated = vehicleStatsService.rebuildAll();
+
+        Map<String, Integer> response = new HashMap<>();
+        response.put("updated", updated);
+
+        return ApiResponse.success("统计数据重建成功", response);
+    }
+
+    /**
+     * 搜索框输入建议，按VIN码或车牌号片段匹配
+     */
+    @GetMapping("/suggest")
+    public ApiResponse<List<VehicleSuggestionDTO>> suggest(@RequestParam(required = false) String q,
+                                                           @RequestParam(required = false) Integer limit) {
+        return ApiResponse.success(vehicleSearchService.suggest(q, limit));
+    }
+
+    /**
+     * 获取输入建议索引的车辆数和内存占用
+     */
+    @GetMapping("/suggest/stats")
+    public ApiResponse<VehicleSearchIndexStatsDTO> getSuggestIndexStats() {
+        return ApiResponse.success(vehicleSearchService.getIndexStats());
+    }
+
+    /**
+     * 获取车辆查询缓存统计
+     */
+    @GetMapping("/cache/stats")
+    public ApiResponse<List<CacheStatsDTO>> getCacheStats() {
+        return ApiResponse.success(vehicleService.getCacheStats());
+    }
+
+    /**
+     * 解析If-Match中的版本号，未给出或为*时返回null(不比对)
+     * 弱ETag和多个ETag不会与当前版本强匹配，按条件不满足处理
+     */
+    private Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String etag = ifMatch.trim();
+        if (etag.length() > 2 && etag.startsWith("\"") && etag.endsWith("\"")) {
+            try {
+                return Long.parseLong(etag.substring(1, etag.length() - 1));
+            } catch (NumberFormatException e) {
+                // 按不匹配处理
+            }
+        }
+        throw new ApiException(412, "车辆已被修改，请刷新后重试");
+    }
+
+    private boolean sampled() {
+        return logSampleRate > 0 && logger.isDebugEnabled()
+                && ThreadLocalRandom.current().nextDouble() < logSampleRate;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,62 @@
+package com.example.evcarbonmonitor.controller;
+
+import com.example.evcarbonmonitor.dto.ApiResponse;
+import com.example.evcarbonmonitor.dto.BatchImportResponse;
+import com.example.evcarbonmonitor.dto.ImportJobDTO;
+import com.example.evcarbonmonitor.service.ImportJobService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+@RestController
+@RequestMapping("/v1/vehicles/batch/jobs")
+public class VehicleImportJobController {
+
+    private static final Logger logger = LoggerFactory.getLogger(VehicleImportJobController.class);
+
+    private final ImportJobService importJobService;
+
+    @Autowired
+    public VehicleImportJobController(ImportJobService importJobService) {
+        this.importJobService = importJobService;
+    }
+
+    /**
+     * 提交异步批量导入任务
+     */
+    @PostMapping
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ApiResponse<ImportJobDTO> submitImport(@RequestParam("file") MultipartFile file) {
+        logger.info("Received request to submit import job for file: {}", file.getOriginalFilename());
+        ImportJobDTO job = importJobService.submitImport(file);
+        return ApiResponse.success("导入任务已提交", job);
+    }
+
+    /**
+     * 获取导入任务进度
+     */
+    @GetMapping("/{jobId}")
+    public ApiResponse<ImportJobDTO> getJob(@PathVariable String jobId) {
+        return ApiResponse.success(importJobService.getJob(jobId));
+    }
+
+    /**
+     * 取消导入任务
+     */
+    @PostMapping("/{jobId}/cancel")
+    public ApiResponse<ImportJobDTO> cancelJob(@PathVariable String jobId) {
+        logger.info("Received request to cancel import job: {}", jobId);
+        return ApiResponse.success("导入任务已取消", importJobService.cancelJob(jobId));
+    }
+
+    /**
+     * 获取导入任务结果
+     */
+    @GetMapping("/{jobId}/result")
+    public ApiResponse<BatchImportResponse> getJobResult(@PathVariable String jobId) {
+        return ApiResponse.success(importJobService.getJobResult(jobId));
+    }
+}
@@ -0,0 +1,230 @@
+// backend/src/main/java/com/example/evcarbonmonitor/domain/BlockchainOutbox.java
+package com.example.evcarbonmonitor.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 待上链的合约调用
+ * 调用先写入发件箱，由后台按批签名、广播并轮询回执；签名后的原始交易一并保存，
+ * 节点丢失交易时按原nonce重新广播
+ */
+@Entity
+@Table(name = "blockchain_outbox", indexes = {
+        @Index(name = "idx_blockchain_outbox_status_id", columnList = "status, id"),
+        @Index(name = "idx_blockchain_outbox_reference", columnList = "reference_id")
+})
+public class BlockchainOutbox {
+
+    public static final String OPERATION_CALCULATE_CARBON_REDUCTION = "calculate_carbon_reduction";
+    public static final String OPERATION_VERIFY_CALCULATION = "verify_calculation";
+    public static final String OPERATION_GENERATE_CREDITS = "generate_credits";
+
+    public static final String STATUS_PENDING = "pending";
+    public static final String STATUS_SUBMITTED = "submitted";
+    public static final String STATUS_CONFIRMED = "confirmed";
+    public static final String STATUS_FAILED = "failed";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 50)
+    private String operation;
+
+    // 关联的碳减排记录ID
+    @Column(name = "reference_id", nullable = false)
+    private Long referenceId;
+
+    @Column(nullable = false, length = 17)
+    private String vin;
+
+    // calculateCarbonReduction的参数，入队时的快照
+    @Column(name = "calculation_date")
+    private LocalDate calculationDate;
+
+    @Column(name = "mileage_meters")
+    private Long mileageMeters;
+
+    @Column(name = "energy_wh")
+    private Long energyWh;
+
+    // 链上计算ID，verifyCalculation和generateCredits的参数
+    @Column(name = "calculation_id", length = 66)
+    private String calculationId;
+
+    @Column(nullable = false, length = 20)
+    private String status;
+
+    private Long nonce;
+
+    @Column(name = "tx_hash", length = 66)
+    private String txHash;
+
+    @Column(name = "raw_transaction", columnDefinition = "TEXT")
+    private String rawTransaction;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "submitted_at")
+    private LocalDateTime submittedAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // 构造函数
+    public BlockchainOutbox() {
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public Long getReferenceId() {
+        return referenceId;
+    }
+
+    public void setReferenceId(Long referenceId) {
+        this.referenceId = referenceId;
+    }
+
+    public String getVin() {
+        return vin;
+    }
+
+    public void setVin(String vin) {
+        this.vin = vin;
+    }
+
+    public LocalDate getCalculationDate() {
+        return calculationDate;
+    }
+
+    public void setCalculationDate(LocalDate calculationDate) {
+        this.calculationDate = calculationDate;
+    }
+
+    public Long getMileageMeters() {
+        return mileageMeters;
+    }
+
+    public void setMileageMeters(Long mileageMeters) {
+        this.mileageMeters = mileageMeters;
+    }
+
+    public Long getEnergyWh() {
+        return energyWh;
+    }
+
+    public void setEnergyWh(Long energyWh) {
+        this.energyWh = energyWh;
+    }
+
+    public String getCalculationId() {
+        return calculationId;
+    }
+
+    public void setCalculationId(String calculationId) {
+        this.calculationId = calculationId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getNonce() {
+        return nonce;
+    }
+
+    public void setNonce(Long nonce) {
+        this.nonce = nonce;
+    }
+
+    public String getTxHash() {
+        return txHash;
+    }
+
+    public void setTxHash(String txHash) {
+        this.txHash = txHash;
+    }
+
+    public String getRawTransaction() {
+        return rawTransaction;
+    }
+
+    public void setRawTransaction(String rawTransaction) {
+        this.rawTransaction = rawTransaction;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(LocalDateTime submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
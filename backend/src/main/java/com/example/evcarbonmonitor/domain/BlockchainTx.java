@@ -0,0 +1,158 @@
+// backend/src/main/java/com/example/evcarbonmonitor/domain/BlockchainTx.java
+package com.example.evcarbonmonitor.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * 区块链交易记录，广播时写入pending，收到回执或索引到合约事件后补全区块信息
+ */
+@Entity
+@Table(name = "blockchain_tx", indexes = {
+        @Index(name = "idx_blockchain_tx_block_number", columnList = "block_number"),
+        @Index(name = "idx_blockchain_tx_type_time", columnList = "data_type, timestamp")
+})
+public class BlockchainTx {
+
+    public static final String DATA_TYPE_CARBON_RECORD = "carbon_record";
+    public static final String DATA_TYPE_CREDIT = "credit";
+    public static final String DATA_TYPE_OTHER = "other";
+
+    public static final String STATUS_PENDING = "pending";
+    public static final String STATUS_CONFIRMED = "confirmed";
+    public static final String STATUS_FAILED = "failed";
+
+    @Id
+    @Column(name = "tx_hash", length = 66)
+    private String txHash;
+
+    // 以下区块信息在确认前为空
+    @Column(name = "block_number")
+    private Long blockNumber;
+
+    @Column(name = "block_hash", length = 66)
+    private String blockHash;
+
+    // 由事件索引发现的交易没有发送地址
+    @Column(name = "from_address", length = 42)
+    private String fromAddress;
+
+    @Column(name = "to_address", nullable = false, length = 42)
+    private String toAddress;
+
+    @Column(name = "data_type", nullable = false, length = 50)
+    private String dataType;
+
+    @Column(nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "gas_used")
+    private Long gasUsed;
+
+    @Column(nullable = false)
+    private LocalDateTime timestamp;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // 构造函数
+    public BlockchainTx() {
+    }
+
+    // Getters and Setters
+    public String getTxHash() {
+        return txHash;
+    }
+
+    public void setTxHash(String txHash) {
+        this.txHash = txHash;
+    }
+
+    public Long getBlockNumber() {
+        return blockNumber;
+    }
+
+    public void setBlockNumber(Long blockNumber) {
+        this.blockNumber = blockNumber;
+    }
+
+    public String getBlockHash() {
+        return blockHash;
+    }
+
+    public void setBlockHash(String blockHash) {
+        this.blockHash = blockHash;
+    }
+
+    public String getFromAddress() {
+        return fromAddress;
+    }
+
+    public void setFromAddress(String fromAddress) {
+        this.fromAddress = fromAddress;
+    }
+
+    public String getToAddress() {
+        return toAddress;
+    }
+
+    public void setToAddress(String toAddress) {
+        this.toAddress = toAddress;
+    }
+
+    public String getDataType() {
+        return dataType;
+    }
+
+    public void setDataType(String dataType) {
+        this.dataType = dataType;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getGasUsed() {
+        return gasUsed;
+    }
+
+    public void setGasUsed(Long gasUsed) {
+        this.gasUsed = gasUsed;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
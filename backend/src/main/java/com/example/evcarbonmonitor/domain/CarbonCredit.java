@@ -0,0 +1,131 @@
+// backend/src/main/java/com/example/evcarbonmonitor/domain/CarbonCredit.java
+package com.example.evcarbonmonitor.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 碳积分记录，generateCredits交易确认后写入
+ */
+@Entity
+@Table(name = "carbon_credits", indexes = @Index(name = "idx_carbon_credits_vin_date", columnList = "vin, credit_date"))
+public class CarbonCredit {
+
+    public static final String STATUS_ACTIVE = "active";
+    public static final String STATUS_USED = "used";
+    public static final String STATUS_EXPIRED = "expired";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "carbon_record_id")
+    private Long carbonRecordId;
+
+    @Column(nullable = false, length = 17)
+    private String vin;
+
+    @Column(name = "credit_amount", nullable = false, precision = 10, scale = 2)
+    private BigDecimal creditAmount;
+
+    @Column(name = "credit_date", nullable = false)
+    private LocalDate creditDate;
+
+    @Column(name = "blockchain_tx_hash", length = 66, unique = true)
+    private String blockchainTxHash;
+
+    @Column(nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // 构造函数
+    public CarbonCredit() {
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getCarbonRecordId() {
+        return carbonRecordId;
+    }
+
+    public void setCarbonRecordId(Long carbonRecordId) {
+        this.carbonRecordId = carbonRecordId;
+    }
+
+    public String getVin() {
+        return vin;
+    }
+
+    public void setVin(String vin) {
+        this.vin = vin;
+    }
+
+    public BigDecimal getCreditAmount() {
+        return creditAmount;
+    }
+
+    public void setCreditAmount(BigDecimal creditAmount) {
+        this.creditAmount = creditAmount;
+    }
+
+    public LocalDate getCreditDate() {
+        return creditDate;
+    }
+
+    public void setCreditDate(LocalDate creditDate) {
+        this.creditDate = creditDate;
+    }
+
+    public String getBlockchainTxHash() {
+        return blockchainTxHash;
+    }
+
+    public void setBlockchainTxHash(String blockchainTxHash) {
+        this.blockchainTxHash = blockchainTxHash;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,210 @@
+// backend/src/main/java/com/example/evcarbonmonitor/domain/CarbonRecord.java
+package com.example.evcarbonmonitor.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 碳减排记录，每辆车每天一条，由碳减排计算引擎按行驶记录汇总生成
+ */
+@Entity
+@Table(name = "carbon_records",
+        uniqueConstraints = @UniqueConstraint(name = "uk_carbon_records_vin_date", columnNames = {"vin", "calculation_date"}),
+        indexes = {
+                @Index(name = "idx_carbon_records_tx_hash", columnList = "blockchain_tx_hash"),
+                @Index(name = "idx_carbon_records_calculation_id", columnList = "calculation_id"),
+                @Index(name = "idx_carbon_records_verification_tx_hash", columnList = "verification_tx_hash")
+        })
+public class CarbonRecord {
+
+    public static final String METHOD_STANDARD_V1 = "standard-v1";
+
+    public static final String VERIFICATION_PENDING = "pending";
+    public static final String VERIFICATION_SUBMITTED = "submitted";
+    public static final String VERIFICATION_VERIFIED = "verified";
+    public static final String VERIFICATION_REJECTED = "rejected";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 17)
+    private String vin;
+
+    @Column(name = "calculation_date", nullable = false)
+    private LocalDate calculationDate;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal mileage;
+
+    @Column(name = "energy_consumption", nullable = false, precision = 10, scale = 2)
+    private BigDecimal energyConsumption;
+
+    @Column(name = "carbon_reduction", nullable = false, precision = 10, scale = 2)
+    private BigDecimal carbonReduction;
+
+    @Column(name = "equivalent_fuel", nullable = false, precision = 10, scale = 2)
+    private BigDecimal equivalentFuel;
+
+    @Column(name = "calculation_method", nullable = false, length = 50)
+    private String calculationMethod;
+
+    @Column(name = "verification_status", nullable = false, length = 20)
+    private String verificationStatus;
+
+    @Column(name = "blockchain_tx_hash", length = 66, unique = true)
+    private String blockchainTxHash;
+
+    // CarbonCalculator合约返回的计算ID
+    @Column(name = "calculation_id", length = 66)
+    private String calculationId;
+
+    // 链上验证所在交易，区块重组时据此撤销验证
+    @Column(name = "verification_tx_hash", length = 66)
+    private String verificationTxHash;
+
+    // 由事件索引补录、本地没有行驶数据的记录
+    @Column(name = "from_chain", nullable = false)
+    private boolean fromChain;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // 构造函数
+    public CarbonRecord() {
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getVin() {
+        return vin;
+    }
+
+    public void setVin(String vin) {
+        this.vin = vin;
+    }
+
+    public LocalDate getCalculationDate() {
+        return calculationDate;
+    }
+
+    public void setCalculationDate(LocalDate calculationDate) {
+        this.calculationDate = calculationDate;
+    }
+
+    public BigDecimal getMileage() {
+        return mileage;
+    }
+
+    public void setMileage(BigDecimal mileage) {
+        this.mileage = mileage;
+    }
+
+    public BigDecimal getEnergyConsumption() {
+        return energyConsumption;
+    }
+
+    public void setEnergyConsumption(BigDecimal energyConsumption) {
+        this.energyConsumption = energyConsumption;
+    }
+
+    public BigDecimal getCarbonReduction() {
+        return carbonReduction;
+    }
+
+    public void setCarbonReduction(BigDecimal carbonReduction) {
+        this.carbonReduction = carbonReduction;
+    }
+
+    public BigDecimal getEquivalentFuel() {
+        return equivalentFuel;
+    }
+
+    public void setEquivalentFuel(BigDecimal equivalentFuel) {
+        this.equivalentFuel = equivalentFuel;
+    }
+
+    public String getCalculationMethod() {
+        return calculationMethod;
+    }
+
+    public void setCalculationMethod(String calculationMethod) {
+        this.calculationMethod = calculationMethod;
+    }
+
+    public String getVerificationStatus() {
+        return verificationStatus;
+    }
+
+    public void setVerificationStatus(String verificationStatus) {
+        this.verificationStatus = verificationStatus;
+    }
+
+    public String getBlockchainTxHash() {
+        return blockchainTxHash;
+    }
+
+    public void setBlockchainTxHash(String blockchainTxHash) {
+        this.blockchainTxHash = blockchainTxHash;
+    }
+
+    public String getCalculationId() {
+        return calculationId;
+    }
+
+    public void setCalculationId(String calculationId) {
+        this.calculationId = calculationId;
+    }
+
+    public String getVerificationTxHash() {
+        return verificationTxHash;
+    }
+
+    public void setVerificationTxHash(String verificationTxHash) {
+        this.verificationTxHash = verificationTxHash;
+    }
+
+    public boolean isFromChain() {
+        return fromChain;
+    }
+
+    public void setFromChain(boolean fromChain) {
+        this.fromChain = fromChain;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
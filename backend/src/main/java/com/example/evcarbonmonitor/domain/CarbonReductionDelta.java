@@ -0,0 +1,33 @@
+// backend/src/main/java/com/example/evcarbonmonitor/domain/CarbonReductionDelta.java
+package com.example.evcarbonmonitor.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 车辆日碳减排量的变化，写入或重新计算碳减排记录时累加到analytics_rollups
+ */
+public class CarbonReductionDelta {
+
+    private final String vin;
+    private final LocalDate date;
+    private final BigDecimal change;
+
+    public CarbonReductionDelta(String vin, LocalDate date, BigDecimal change) {
+        this.vin = vin;
+        this.date = date;
+        this.change = change;
+    }
+
+    public String getVin() {
+        return vin;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public BigDecimal getChange() {
+        return change;
+    }
+}
@@ -0,0 +1,162 @@
+// backend/src/main/java/com/example/evcarbonmonitor/domain/DrivingRecord.java
+package com.example.evcarbonmonitor.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 行驶记录，对应driving_records表
+ * 遥测数据由批量写入器直接通过JDBC追加，实体仅用于查询
+ */
+@Entity
+@Table(name = "driving_records", indexes = @Index(name = "idx_driving_records_vin_time", columnList = "vin, record_time"))
+public class DrivingRecord {
+
+    public static final String STATUS_NORMAL = "normal";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 17)
+    private String vin;
+
+    @Column(name = "record_time", nullable = false)
+    private LocalDateTime recordTime;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal mileage;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal speed;
+
+    @Column(name = "battery_level", nullable = false)
+    private Integer batteryLevel;
+
+    @Column(name = "energy_consumption", nullable = false, precision = 10, scale = 2)
+    private BigDecimal energyConsumption;
+
+    @Column(nullable = false, precision = 10, scale = 6)
+    private BigDecimal latitude;
+
+    @Column(nullable = false, precision = 10, scale = 6)
+    private BigDecimal longitude;
+
+    @Column(name = "status_code", nullable = false, length = 20)
+    private String statusCode;
+
+    @Column(name = "is_abnormal", nullable = false)
+    private Boolean abnormal;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // 构造函数
+    public DrivingRecord() {
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getVin() {
+        return vin;
+    }
+
+    public void setVin(String vin) {
+        this.vin = vin;
+    }
+
+    public LocalDateTime getRecordTime() {
+        return recordTime;
+    }
+
+    public void setRecordTime(LocalDateTime recordTime) {
+        this.recordTime = recordTime;
+    }
+
+    public BigDecimal getMileage() {
+        return mileage;
+    }
+
+    public void setMileage(BigDecimal mileage) {
+        this.mileage = mileage;
+    }
+
+    public BigDecimal getSpeed() {
+        return speed;
+    }
+
+    public void setSpeed(BigDecimal speed) {
+        this.speed = speed;
+    }
+
+    public Integer getBatteryLevel() {
+        return batteryLevel;
+    }
+
+    public void setBatteryLevel(Integer batteryLevel) {
+        this.batteryLevel = batteryLevel;
+    }
+
+    public BigDecimal getEnergyConsumption() {
+        return energyConsumption;
+    }
+
+    public void setEnergyConsumption(BigDecimal energyConsumption) {
+        this.energyConsumption = energyConsumption;
+    }
+
+    public BigDecimal getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(BigDecimal latitude) {
+        this.latitude = latitude;
+    }
+
+    public BigDecimal getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(BigDecimal longitude) {
+        this.longitude = longitude;
+    }
+
+    public String getStatusCode() {
+        return statusCode;
+    }
+
+    public void setStatusCode(String statusCode) {
+        this.statusCode = statusCode;
+    }
+
+    public Boolean getAbnormal() {
+        return abnormal;
+    }
+
+    public void setAbnormal(Boolean abnormal) {
+        this.abnormal = abnormal;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,86 @@
+// backend/src/main/java/com/example/evcarbonmonitor/domain/ImportJobFailure.java
+package com.example.evcarbonmonitor.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * 异步导入任务的失败记录，按块追加
+ */
+@Entity
+@Table(name = "import_job_failures", indexes = @Index(name = "idx_import_job_failures_job_line", columnList = "job_id, line"))
+public class ImportJobFailure {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false, length = 36)
+    private String jobId;
+
+    @Column(nullable = false)
+    private int line;
+
+    @Column(length = 100)
+    private String vin;
+
+    @Column(length = 500)
+    private String reason;
+
+    // 构造函数
+    public ImportJobFailure() {
+    }
+
+    public ImportJobFailure(String jobId, int line, String vin, String reason) {
+        this.jobId = jobId;
+        this.line = line;
+        this.vin = vin;
+        this.reason = reason;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    public void setLine(int line) {
+        this.line = line;
+    }
+
+    public String getVin() {
+        return vin;
+    }
+
+    public void setVin(String vin) {
+        this.vin = vin;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+}
@@ -4,7 +4,9 @@ package com.example.evcarbonmonitor.domain;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 
@@ -13,9 +15,22 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "vehicles")
+@Table(name = "vehicles", indexes = {
+        // 游标分页的排序键索引
+        @Index(name = "idx_vehicles_status_vin", columnList = "status, vin"),
+        @Index(name = "idx_vehicles_last_update_time_vin", columnList = "last_update_time, vin"),
+        // 列表筛选条件的索引；VIN码、车牌号前缀和车型关键字的索引需要指定操作符类，只在V5迁移中创建
+        @Index(name = "idx_vehicles_manufacturer_year", columnList = "manufacturer, production_year"),
+        @Index(name = "idx_vehicles_production_year", columnList = "production_year"),
+        @Index(name = "idx_vehicles_battery_capacity", columnList = "battery_capacity"),
+        @Index(name = "idx_vehicles_register_date", columnList = "register_date")
+})
 public class Vehicle {
 
+    public static final String STATUS_ONLINE = "online";
+    public static final String STATUS_OFFLINE = "offline";
+    public static final String STATUS_ERROR = "error";
+
     @Id
     @Column(length = 17)
     private String vin;
@@ -55,6 +70,11 @@ public class Vehicle {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    // 乐观锁版本号，修改车辆信息时加1；实时状态回写不改变版本号
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     // 构造函数
     public Vehicle() {
     }
@@ -155,4 +175,12 @@ public class Vehicle {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,141 @@
+// backend/src/main/java/com/example/evcarbonmonitor/domain/VehicleState.java
+package com.example.evcarbonmonitor.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 车辆实时状态快照，不可变
+ * 每次上报生成新的快照替换旧快照，读取方拿到的始终是一致的一份
+ */
+public class VehicleState {
+
+    private final String vin;
+    private final String status;
+    // 最近一次收到上报的时间，用于判断离线
+    private final LocalDateTime lastUpdateTime;
+    // 最新数据点的采集时间及当时的位置、电量和速度
+    private final LocalDateTime recordTime;
+    private final BigDecimal latitude;
+    private final BigDecimal longitude;
+    private final Integer batteryLevel;
+    private final BigDecimal speed;
+    // 最新采集日期的当日累计
+    private final LocalDate day;
+    private final long dayRecords;
+    private final BigDecimal dayMileage;
+    private final BigDecimal dayEnergyConsumption;
+
+    public VehicleState(String vin, String status, LocalDateTime lastUpdateTime,
+                        LocalDateTime recordTime, BigDecimal latitude, BigDecimal longitude,
+                        Integer batteryLevel, BigDecimal speed,
+                        LocalDate day, long dayRecords, BigDecimal dayMileage, BigDecimal dayEnergyConsumption) {
+        this.vin = vin;
+        this.status = status;
+        this.lastUpdateTime = lastUpdateTime;
+        this.recordTime = recordTime;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.batteryLevel = batteryLevel;
+        this.speed = speed;
+        this.day = day;
+        this.dayRecords = dayRecords;
+        this.dayMileage = dayMileage;
+        this.dayEnergyConsumption = dayEnergyConsumption;
+    }
+
+    /**
+     * 尚未收到上报的车辆
+     */
+    public static VehicleState initial(String vin, String status, LocalDateTime lastUpdateTime) {
+        return new VehicleState(vin, status, lastUpdateTime, null, null, null, null, null,
+                null, 0, BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+
+    /**
+     * 合并一个数据点：乱序到达的旧数据点不覆盖位置等最新值，只计入同一天的累计
+     */
+    public VehicleState withRecord(DrivingRecord record, LocalDateTime receivedAt) {
+        boolean latest = recordTime == null || !record.getRecordTime().isBefore(recordTime);
+        String nextStatus = Boolean.TRUE.equals(record.getAbnormal()) ? Vehicle.STATUS_ERROR : Vehicle.STATUS_ONLINE;
+
+        LocalDate recordDay = record.getRecordTime().toLocalDate();
+        LocalDate nextDay = day;
+        long nextRecords = dayRecords;
+        BigDecimal nextMileage = dayMileage;
+        BigDecimal nextEnergy = dayEnergyConsumption;
+        if (day == null || recordDay.isAfter(day)) {
+            nextDay = recordDay;
+            nextRecords = 1;
+            nextMileage = record.getMileage();
+            nextEnergy = record.getEnergyConsumption();
+        } else if (recordDay.equals(day)) {
+            nextRecords++;
+            nextMileage = nextMileage.add(record.getMileage());
+            nextEnergy = nextEnergy.add(record.getEnergyConsumption());
+        }
+
+        LocalDateTime nextUpdateTime = lastUpdateTime == null || receivedAt.isAfter(lastUpdateTime) ? receivedAt : lastUpdateTime;
+        if (!latest) {
+            return new VehicleState(vin, status, nextUpdateTime, recordTime, latitude, longitude, batteryLevel, speed,
+                    nextDay, nextRecords, nextMileage, nextEnergy);
+        }
+        return new VehicleState(vin, nextStatus, nextUpdateTime, record.getRecordTime(),
+                record.getLatitude(), record.getLongitude(), record.getBatteryLevel(), record.getSpeed(),
+                nextDay, nextRecords, nextMileage, nextEnergy);
+    }
+
+    public VehicleState withStatus(String nextStatus, LocalDateTime nextUpdateTime) {
+        return new VehicleState(vin, nextStatus, nextUpdateTime, recordTime, latitude, longitude, batteryLevel, speed,
+                day, dayRecords, dayMileage, dayEnergyConsumption);
+    }
+
+    public String getVin() {
+        return vin;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getLastUpdateTime() {
+        return lastUpdateTime;
+    }
+
+    public LocalDateTime getRecordTime() {
+        return recordTime;
+    }
+
+    public BigDecimal getLatitude() {
+        return latitude;
+    }
+
+    public BigDecimal getLongitude() {
+        return longitude;
+    }
+
+    public Integer getBatteryLevel() {
+        return batteryLevel;
+    }
+
+    public BigDecimal getSpeed() {
+        return speed;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public long getDayRecords() {
+        return dayRecords;
+    }
+
+    public BigDecimal getDayMileage() {
+        return dayMileage;
+    }
+
+    public BigDecimal getDayEnergyConsumption() {
+        return dayEnergyConsumption;
+    }
+}
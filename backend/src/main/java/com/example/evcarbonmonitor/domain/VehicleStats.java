@@ -0,0 +1,91 @@
+// backend/src/main/java/com/example/evcarbonmonitor/domain/VehicleStats.java
+package com.example.evcarbonmonitor.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 车辆累计统计汇总表
+ * 由行驶记录、碳减排记录和碳积分写入时增量维护，列表查询直接读取，不再聚合原始数据
+ */
+@Entity
+@Table(name = "vehicle_stats")
+public class VehicleStats {
+
+    @Id
+    @Column(length = 17)
+    private String vin;
+
+    @Column(name = "total_mileage", nullable = false, precision = 16, scale = 2)
+    private BigDecimal totalMileage;
+
+    @Column(name = "total_energy", nullable = false, precision = 16, scale = 2)
+    private BigDecimal totalEnergy;
+
+    @Column(name = "total_carbon_reduction", nullable = false, precision = 16, scale = 2)
+    private BigDecimal totalCarbonReduction;
+
+    @Column(name = "carbon_credits", nullable = false, precision = 16, scale = 2)
+    private BigDecimal carbonCredits;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // 构造函数
+    public VehicleStats() {
+    }
+
+    // Getters and Setters
+    public String getVin() {
+        return vin;
+    }
+
+    public void setVin(String vin) {
+        this.vin = vin;
+    }
+
+    public BigDecimal getTotalMileage() {
+        return totalMileage;
+    }
+
+    public void setTotalMileage(BigDecimal totalMileage) {
+        this.totalMileage = totalMileage;
+    }
+
+    public BigDecimal getTotalEnergy() {
+        return totalEnergy;
+    }
+
+    public void setTotalEnergy(BigDecimal totalEnergy) {
+        this.totalEnergy = totalEnergy;
+    }
+
+    public BigDecimal getTotalCarbonReduction() {
+        return totalCarbonReduction;
+    }
+
+    public void setTotalCarbonReduction(BigDecimal totalCarbonReduction) {
+        this.totalCarbonReduction = totalCarbonReduction;
+    }
+
+    public BigDecimal getCarbonCredits() {
+        return carbonCredits;
+    }
+
+    public void setCarbonCredits(BigDecimal carbonCredits) {
+        this.carbonCredits = carbonCredits;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
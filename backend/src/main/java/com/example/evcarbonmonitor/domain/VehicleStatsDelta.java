@@ -0,0 +1,79 @@
+// backend/src/main/java/com/example/evcarbonmonitor/domain/VehicleStatsDelta.java
+package com.example.evcarbonmonitor.domain;
+
+import java.math.BigDecimal;
+
+/**
+ * 车辆统计增量，写入原始数据时累加到vehicle_stats
+ */
+public class VehicleStatsDelta {
+
+    private final String vin;
+    private BigDecimal mileage = BigDecimal.ZERO;
+    private BigDecimal energy = BigDecimal.ZERO;
+    private BigDecimal carbonReduction = BigDecimal.ZERO;
+    private BigDecimal carbonCredits = BigDecimal.ZERO;
+
+    public VehicleStatsDelta(String vin) {
+        this.vin = vin;
+    }
+
+    public static VehicleStatsDelta driving(String vin, BigDecimal mileage, BigDecimal energy) {
+        return new VehicleStatsDelta(vin).addDriving(mileage, energy);
+    }
+
+    public static VehicleStatsDelta carbonReduction(String vin, BigDecimal carbonReduction) {
+        return new VehicleStatsDelta(vin).addCarbonReduction(carbonReduction);
+    }
+
+    public static VehicleStatsDelta carbonCredits(String vin, BigDecimal carbonCredits) {
+        return new VehicleStatsDelta(vin).addCarbonCredits(carbonCredits);
+    }
+
+    public VehicleStatsDelta addDriving(BigDecimal mileage, BigDecimal energy) {
+        this.mileage = this.mileage.add(mileage);
+        this.energy = this.energy.add(energy);
+        return this;
+    }
+
+    public VehicleStatsDelta addCarbonReduction(BigDecimal carbonReduction) {
+        this.carbonReduction = this.carbonReduction.add(carbonReduction);
+        return this;
+    }
+
+    public VehicleStatsDelta addCarbonCredits(BigDecimal carbonCredits) {
+        this.carbonCredits = this.carbonCredits.add(carbonCredits);
+        return this;
+    }
+
+    /**
+     * 合并同一车辆的另一个增量
+     */
+    public VehicleStatsDelta merge(VehicleStatsDelta other) {
+        this.mileage = this.mileage.add(other.mileage);
+        this.energy = this.energy.add(other.energy);
+        this.carbonReduction = this.carbonReduction.add(other.carbonReduction);
+        this.carbonCredits = this.carbonCredits.add(other.carbonCredits);
+        return this;
+    }
+
+    public String getVin() {
+        return vin;
+    }
+
+    public BigDecimal getMileage() {
+        return mileage;
+    }
+
+    public BigDecimal getEnergy() {
+        return energy;
+    }
+
+    public BigDecimal getCarbonReduction() {
+        return carbonReduction;
+    }
+
+    public BigDecimal getCarbonCredits() {
+        return carbonCredits;
+    }
+}
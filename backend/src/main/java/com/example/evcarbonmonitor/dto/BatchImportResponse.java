@@ -9,6 +9,8 @@ public class BatchImportResponse {
     private int failed;
     private List<FailureRecord> failures;
     private List<VehicleDTO> newVehicles;
+    private long elapsedMillis;
+    private double rowsPerSecond;
 
     // 失败记录内部类
     public static class FailureRecord {
@@ -102,4 +104,20 @@ public class BatchImportResponse {
     public void setNewVehicles(List<VehicleDTO> newVehicles) {
         this.newVehicles = newVehicles;
     }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
 }
@@ -0,0 +1,88 @@
+// backend/src/main/java/com/example/evcarbonmonitor/dto/BlockchainIndexResult.java
+package com.example.evcarbonmonitor.dto;
+
+/**
+ * 一轮区块链事件索引的结果
+ */
+public class BlockchainIndexResult {
+    // 本轮扫描的区块区间[fromBlock, toBlock]，包含重新扫描的确认窗口
+    private long fromBlock;
+    private long toBlock;
+    private long headBlock;
+    // 处理的合约事件数
+    private int events;
+    // eth_getLogs调用次数和其中因结果过多而缩小区间重试的次数
+    private int logRequests;
+    private int splitRetries;
+    // 因区块重组移出主链、恢复为pending的交易数
+    private int detachedTransactions;
+    private long elapsedMillis;
+
+    // Constructors, Getters and Setters
+    public BlockchainIndexResult() {
+    }
+
+    public long getFromBlock() {
+        return fromBlock;
+    }
+
+    public void setFromBlock(long fromBlock) {
+        this.fromBlock = fromBlock;
+    }
+
+    public long getToBlock() {
+        return toBlock;
+    }
+
+    public void setToBlock(long toBlock) {
+        this.toBlock = toBlock;
+    }
+
+    public long getHeadBlock() {
+        return headBlock;
+    }
+
+    public void setHeadBlock(long headBlock) {
+        this.headBlock = headBlock;
+    }
+
+    public int getEvents() {
+        return events;
+    }
+
+    public void setEvents(int events) {
+        this.events = events;
+    }
+
+    public int getLogRequests() {
+        return logRequests;
+    }
+
+    public void setLogRequests(int logRequests) {
+        this.logRequests = logRequests;
+    }
+
+    public int getSplitRetries() {
+        return splitRetries;
+    }
+
+    public void setSplitRetries(int splitRetries) {
+        this.splitRetries = splitRetries;
+    }
+
+    public int getDetachedTransactions() {
+        return detachedTransactions;
+    }
+
+    public void setDetachedTransactions(int detachedTransactions) {
+        this.detachedTransactions = detachedTransactions;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+}
@@ -0,0 +1,129 @@
+// backend/src/main/java/com/example/evcarbonmonitor/dto/BulkOperationResponse.java
+package com.example.evcarbonmonitor.dto;
+
+import java.util.List;
+
+/**
+ * 批量新增、修改、删除车辆的结果，results与请求数组一一对应
+ */
+public class BulkOperationResponse {
+
+    public static final String RESULT_CREATED = "created";
+    public static final String RESULT_UPDATED = "updated";
+    public static final String RESULT_UNCHANGED = "unchanged";
+    public static final String RESULT_DELETED = "deleted";
+    public static final String RESULT_FAILED = "failed";
+
+    private int total;
+    private int success;
+    private int failed;
+    private List<ItemResult> results;
+    private long elapsedMillis;
+
+    // 单项结果内部类
+    public static class ItemResult {
+        // 在请求数组中的下标
+        private int index;
+        private String vin;
+        private String result;
+        // 失败时的错误码和原因，与单条接口的code/message一致
+        private Integer code;
+        private String message;
+
+        // Constructors, Getters and Setters
+        public ItemResult() {
+        }
+
+        public ItemResult(int index, String vin, String result, Integer code, String message) {
+            this.index = index;
+            this.vin = vin;
+            this.result = result;
+            this.code = code;
+            this.message = message;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public void setIndex(int index) {
+            this.index = index;
+        }
+
+        public String getVin() {
+            return vin;
+        }
+
+        public void setVin(String vin) {
+            this.vin = vin;
+        }
+
+        public String getResult() {
+            return result;
+        }
+
+        public void setResult(String result) {
+            this.result = result;
+        }
+
+        public Integer getCode() {
+            return code;
+        }
+
+        public void setCode(Integer code) {
+            this.code = code;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+
+    // Constructors, Getters and Setters
+    public BulkOperationResponse() {
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getSuccess() {
+        return success;
+    }
+
+    public void setSuccess(int success) {
+        this.success = success;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<ItemResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<ItemResult> results) {
+        this.results = results;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+}
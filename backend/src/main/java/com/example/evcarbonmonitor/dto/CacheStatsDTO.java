@@ -0,0 +1,111 @@
+// backend/src/main/java/com/example/evcarbonmonitor/dto/CacheStatsDTO.java
+package com.example.evcarbonmonitor.dto;
+
+/**
+ * 缓存命中统计，计数从应用启动开始累计
+ */
+public class CacheStatsDTO {
+    private String name;
+    // 当前条目数和容量上限，二级缓存为-1
+    private int size;
+    private int maxSize;
+    private long hits;
+    private long misses;
+    // 因容量淘汰、过期和数据变更失效的条目数
+    private long evictions;
+    private long expirations;
+    private long invalidations;
+    // 读取期间数据发生变更而放弃写回的次数
+    private long rejectedPuts;
+    // 二级缓存访问失败次数，失败时回退到数据库
+    private long errors;
+
+    // Constructors, Getters and Setters
+    public CacheStatsDTO() {
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public void setHits(long hits) {
+        this.hits = hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public void setMisses(long misses) {
+        this.misses = misses;
+    }
+
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public void setEvictions(long evictions) {
+        this.evictions = evictions;
+    }
+
+    public long getExpirations() {
+        return expirations;
+    }
+
+    public void setExpirations(long expirations) {
+        this.expirations = expirations;
+    }
+
+    public long getInvalidations() {
+        return invalidations;
+    }
+
+    public void setInvalidations(long invalidations) {
+        this.invalidations = invalidations;
+    }
+
+    public long getRejectedPuts() {
+        return rejectedPuts;
+    }
+
+    public void setRejectedPuts(long rejectedPuts) {
+        this.rejectedPuts = rejectedPuts;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public void setErrors(long errors) {
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,67 @@
+// backend/src/main/java/com/example/evcarbonmonitor/dto/CarbonCalculationResult.java
+package com.example.evcarbonmonitor.dto;
+
+/**
+ * 一轮碳减排增量计算的结果
+ */
+public class CarbonCalculationResult {
+    // 本轮处理的行驶记录ID区间(fromRecordId, toRecordId]
+    private long fromRecordId;
+    private long toRecordId;
+    // 重新计算的车辆日数
+    private int vehicleDays;
+    private int partitions;
+    private long elapsedMillis;
+
+    // Constructors, Getters and Setters
+    public CarbonCalculationResult() {
+    }
+
+    public CarbonCalculationResult(long fromRecordId, long toRecordId, int vehicleDays, int partitions, long elapsedMillis) {
+        this.fromRecordId = fromRecordId;
+        this.toRecordId = toRecordId;
+        this.vehicleDays = vehicleDays;
+        this.partitions = partitions;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getFromRecordId() {
+        return fromRecordId;
+    }
+
+    public void setFromRecordId(long fromRecordId) {
+        this.fromRecordId = fromRecordId;
+    }
+
+    public long getToRecordId() {
+        return toRecordId;
+    }
+
+    public void setToRecordId(long toRecordId) {
+        this.toRecordId = toRecordId;
+    }
+
+    public int getVehicleDays() {
+        return vehicleDays;
+    }
+
+    public void setVehicleDays(int vehicleDays) {
+        this.vehicleDays = vehicleDays;
+    }
+
+    public int getPartitions() {
+        return partitions;
+    }
+
+    public void setPartitions(int partitions) {
+        this.partitions = partitions;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+}
@@ -0,0 +1,22 @@
+// backend/src/main/java/com/example/evcarbonmonitor/dto/DrivingDataBatchRequest.java
+package com.example.evcarbonmonitor.dto;
+
+import java.util.List;
+
+/**
+ * 行驶数据批量上报请求
+ */
+public class DrivingDataBatchRequest {
+    private List<DrivingDataDTO> records;
+
+    public DrivingDataBatchRequest() {
+    }
+
+    public List<DrivingDataDTO> getRecords() {
+        return records;
+    }
+
+    public void setRecords(List<DrivingDataDTO> records) {
+        this.records = records;
+    }
+}
@@ -0,0 +1,105 @@
+// backend/src/main/java/com/example/evcarbonmonitor/dto/DrivingDataDTO.java
+package com.example.evcarbonmonitor.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * 行驶数据上报点，字段与数据生成器的提交格式一致
+ */
+public class DrivingDataDTO {
+    private String vin;
+    // ISO-8601时间，带时区偏移时转换为服务器本地时间
+    private String timestamp;
+    private BigDecimal mileage;
+    private BigDecimal energyConsumption;
+    private BigDecimal speed;
+    private Integer batteryLevel;
+    private BigDecimal latitude;
+    private BigDecimal longitude;
+    private Boolean isAbnormal;
+    private String abnormalType;
+
+    // Constructors, Getters and Setters
+    public DrivingDataDTO() {
+    }
+
+    public String getVin() {
+        return vin;
+    }
+
+    public void setVin(String vin) {
+        this.vin = vin;
+    }
+
+    public String getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(String timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public BigDecimal getMileage() {
+        return mileage;
+    }
+
+    public void setMileage(BigDecimal mileage) {
+        this.mileage = mileage;
+    }
+
+    public BigDecimal getEnergyConsumption() {
+        return energyConsumption;
+    }
+
+    public void setEnergyConsumption(BigDecimal energyConsumption) {
+        this.energyConsumption = energyConsumption;
+    }
+
+    public BigDecimal getSpeed() {
+        return speed;
+    }
+
+    public void setSpeed(BigDecimal speed) {
+        this.speed = speed;
+    }
+
+    public Integer getBatteryLevel() {
+        return batteryLevel;
+    }
+
+    public void setBatteryLevel(Integer batteryLevel) {
+        this.batteryLevel = batteryLevel;
+    }
+
+    public BigDecimal getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(BigDecimal latitude) {
+        this.latitude = latitude;
+    }
+
+    public BigDecimal getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(BigDecimal longitude) {
+        this.longitude = longitude;
+    }
+
+    public Boolean getIsAbnormal() {
+        return isAbnormal;
+    }
+
+    public void setIsAbnormal(Boolean isAbnormal) {
+        this.isAbnormal = isAbnormal;
+    }
+
+    public String getAbnormalType() {
+        return abnormalType;
+    }
+
+    public void setAbnormalType(String abnormalType) {
+        this.abnormalType = abnormalType;
+    }
+}
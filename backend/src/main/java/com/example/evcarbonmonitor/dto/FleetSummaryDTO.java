@@ -0,0 +1,53 @@
+// backend/src/main/java/com/example/evcarbonmonitor/dto/FleetSummaryDTO.java
+package com.example.evcarbonmonitor.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 车队实时状态汇总，由内存中的计数器直接读出
+ */
+public class FleetSummaryDTO {
+    private long total;
+    // 各状态(online/offline/error)的车辆数
+    private Map<String, Long> statusCounts;
+    // 尚未回写数据库的车辆数
+    private long pendingWrites;
+    private LocalDateTime timestamp;
+
+    // Constructors, Getters and Setters
+    public FleetSummaryDTO() {
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public Map<String, Long> getStatusCounts() {
+        return statusCounts;
+    }
+
+    public void setStatusCounts(Map<String, Long> statusCounts) {
+        this.statusCounts = statusCounts;
+    }
+
+    public long getPendingWrites() {
+        return pendingWrites;
+    }
+
+    public void setPendingWrites(long pendingWrites) {
+        this.pendingWrites = pendingWrites;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+}
@@ -0,0 +1,138 @@
+// backend/src/main/java/com/example/evcarbonmonitor/dto/ImportJobDTO.java
+package com.example.evcarbonmonitor.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+
+public class ImportJobDTO {
+    private String jobId;
+    private String fileName;
+    private String status;
+    private int rowsParsed;
+    private int rowsAccepted;
+    private int rowsFailed;
+    private double rowsPerSecond;
+    // 按已读取字节数估算的进度，0到1之间
+    private double progress;
+    // 预计剩余秒数，无法估算时为null
+    private Long etaSeconds;
+    private String message;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime createdAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime startedAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime finishedAt;
+
+    // Constructors, Getters and Setters
+    public ImportJobDTO() {
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public int getRowsParsed() {
+        return rowsParsed;
+    }
+
+    public void setRowsParsed(int rowsParsed) {
+        this.rowsParsed = rowsParsed;
+    }
+
+    public int getRowsAccepted() {
+        return rowsAccepted;
+    }
+
+    public void setRowsAccepted(int rowsAccepted) {
+        this.rowsAccepted = rowsAccepted;
+    }
+
+    public int getRowsFailed() {
+        return rowsFailed;
+    }
+
+    public void setRowsFailed(int rowsFailed) {
+        this.rowsFailed = rowsFailed;
+    }
+
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    public double getProgress() {
+        return progress;
+    }
+
+    public void setProgress(double progress) {
+        this.progress = progress;
+    }
+
+    public Long getEtaSeconds() {
+        return etaSeconds;
+    }
+
+    public void setEtaSeconds(Long etaSeconds) {
+        this.etaSeconds = etaSeconds;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
@@ -0,0 +1,97 @@
+// backend/src/main/java/com/example/evcarbonmonitor/dto/LiveEventDTO.java
+package com.example.evcarbonmonitor.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 实时推送事件
+ * key相同的事件在推送前合并，只保留最新的一个
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LiveEventDTO {
+
+    public static final String TYPE_VEHICLE_CREATED = "vehicle.created";
+    public static final String TYPE_VEHICLE_UPDATED = "vehicle.updated";
+    public static final String TYPE_VEHICLE_DELETED = "vehicle.deleted";
+    public static final String TYPE_VEHICLE_STATUS = "vehicle.status";
+    public static final String TYPE_CARBON_RECORD = "carbon.record";
+    public static final String TYPE_CREDIT_RECORD = "credit.record";
+
+    // 推送积压时代替被丢弃的事件发送，客户端应重新查询当前状态；不受筛选条件限制
+    public static final String TYPE_RESYNC = "resync";
+
+    public static final List<String> TYPES = List.of(TYPE_VEHICLE_CREATED, TYPE_VEHICLE_UPDATED, TYPE_VEHICLE_DELETED,
+            TYPE_VEHICLE_STATUS, TYPE_CARBON_RECORD, TYPE_CREDIT_RECORD);
+
+    private long id;
+    private String type;
+    private String vin;
+    private LocalDateTime timestamp;
+    private Object data;
+    @JsonIgnore
+    private String key;
+
+    // Constructors, Getters and Setters
+    public LiveEventDTO() {
+    }
+
+    public LiveEventDTO(String type, String vin, String key, Object data) {
+        this.type = type;
+        this.vin = vin;
+        this.key = key;
+        this.data = data;
+        this.timestamp = LocalDateTime.now();
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getVin() {
+        return vin;
+    }
+
+    public void setVin(String vin) {
+        this.vin = vin;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public Object getData() {
+        return data;
+    }
+
+    public void setData(Object data) {
+        this.data = data;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+}
@@ -0,0 +1,99 @@
+// backend/src/main/java/com/example/evcarbonmonitor/dto/LiveEventStatsDTO.java
+package com.example.evcarbonmonitor.dto;
+
+/**
+ * 实时推送统计，计数从应用启动开始累计
+ */
+public class LiveEventStatsDTO {
+    private int subscribers;
+    private int maxSubscribers;
+    private long published;
+    // 推送给各连接的事件数之和
+    private long delivered;
+    // 推送前被同key新事件合并掉的事件数
+    private long coalesced;
+    // 发布队列已满丢弃的事件数
+    private long dropped;
+    // 事件突增超过积压上限、改为推送resync的次数
+    private long resyncs;
+    // 积压超过上限被断开的连接数
+    private long overflowDisconnects;
+    // 写出超时被摘除的连接数
+    private long stalledDisconnects;
+
+    // Constructors, Getters and Setters
+    public LiveEventStatsDTO() {
+    }
+
+    public int getSubscribers() {
+        return subscribers;
+    }
+
+    public void setSubscribers(int subscribers) {
+        this.subscribers = subscribers;
+    }
+
+    public int getMaxSubscribers() {
+        return maxSubscribers;
+    }
+
+    public void setMaxSubscribers(int maxSubscribers) {
+        this.maxSubscribers = maxSubscribers;
+    }
+
+    public long getPublished() {
+        return published;
+    }
+
+    public void setPublished(long published) {
+        this.published = published;
+    }
+
+    public long getDelivered() {
+        return delivered;
+    }
+
+    public void setDelivered(long delivered) {
+        this.delivered = delivered;
+    }
+
+    public long getCoalesced() {
+        return coalesced;
+    }
+
+    public void setCoalesced(long coalesced) {
+        this.coalesced = coalesced;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+
+    public void setDropped(long dropped) {
+        this.dropped = dropped;
+    }
+
+    public long getResyncs() {
+        return resyncs;
+    }
+
+    public void setResyncs(long resyncs) {
+        this.resyncs = resyncs;
+    }
+
+    public long getOverflowDisconnects() {
+        return overflowDisconnects;
+    }
+
+    public void setOverflowDisconnects(long overflowDisconnects) {
+        this.overflowDisconnects = overflowDisconnects;
+    }
+
+    public long getStalledDisconnects() {
+        return stalledDisconnects;
+    }
+
+    public void setStalledDisconnects(long stalledDisconnects) {
+        this.stalledDisconnects = stalledDisconnects;
+    }
+}
@@ -8,6 +8,8 @@ public class PageResponse<T> {
     private int page;
     private int size;
     private List<T> items;
+    // 游标分页时下一页的游标，没有下一页时为null
+    private String nextCursor;
 
     // Constructors, Getters and Setters
     public PageResponse() {
@@ -51,4 +53,12 @@ public class PageResponse<T> {
     public void setItems(List<T> items) {
         this.items = items;
     }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
 }
@@ -0,0 +1,60 @@
+// backend/src/main/java/com/example/evcarbonmonitor/dto/PartitionMaintenanceResult.java
+package com.example.evcarbonmonitor.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 一次分区维护的结果
+ */
+public class PartitionMaintenanceResult {
+    // 新建的分区
+    private List<String> created = new ArrayList<>();
+    // 从默认分区移入新分区的行数
+    private long movedRows;
+    // 过期后分离(或删除)的分区
+    private List<String> detached = new ArrayList<>();
+    private List<String> dropped = new ArrayList<>();
+    private long elapsedMillis;
+
+    // Getters and Setters
+    public List<String> getCreated() {
+        return created;
+    }
+
+    public void setCreated(List<String> created) {
+        this.created = created;
+    }
+
+    public long getMovedRows() {
+        return movedRows;
+    }
+
+    public void setMovedRows(long movedRows) {
+        this.movedRows = movedRows;
+    }
+
+    public List<String> getDetached() {
+        return detached;
+    }
+
+    public void setDetached(List<String> detached) {
+        this.detached = detached;
+    }
+
+    public List<String> getDropped() {
+        return dropped;
+    }
+
+    public void setDropped(List<String> dropped) {
+        this.dropped = dropped;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+}
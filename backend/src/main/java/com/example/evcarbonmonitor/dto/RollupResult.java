@@ -0,0 +1,57 @@
+// backend/src/main/java/com/example/evcarbonmonitor/dto/RollupResult.java
+package com.example.evcarbonmonitor.dto;
+
+/**
+ * 一轮分析汇总的结果
+ */
+public class RollupResult {
+    // 本轮汇总的行驶记录ID区间(fromRecordId, toRecordId]
+    private long fromRecordId;
+    private long toRecordId;
+    // 写入的汇总行数
+    private int rollupRows;
+    private long elapsedMillis;
+
+    // Constructors, Getters and Setters
+    public RollupResult() {
+    }
+
+    public RollupResult(long fromRecordId, long toRecordId, int rollupRows, long elapsedMillis) {
+        this.fromRecordId = fromRecordId;
+        this.toRecordId = toRecordId;
+        this.rollupRows = rollupRows;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getFromRecordId() {
+        return fromRecordId;
+    }
+
+    public void setFromRecordId(long fromRecordId) {
+        this.fromRecordId = fromRecordId;
+    }
+
+    public long getToRecordId() {
+        return toRecordId;
+    }
+
+    public void setToRecordId(long toRecordId) {
+        this.toRecordId = toRecordId;
+    }
+
+    public int getRollupRows() {
+        return rollupRows;
+    }
+
+    public void setRollupRows(int rollupRows) {
+        this.rollupRows = rollupRows;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+}
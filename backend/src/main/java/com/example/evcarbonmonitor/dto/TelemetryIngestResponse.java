@@ -0,0 +1,61 @@
+// backend/src/main/java/com/example/evcarbonmonitor/dto/TelemetryIngestResponse.java
+package com.example.evcarbonmonitor.dto;
+
+import java.util.List;
+
+/**
+ * 行驶数据上报结果，已接收的数据点进入写入队列后异步落库
+ */
+public class TelemetryIngestResponse {
+    private int received;
+    private int accepted;
+    private int rejected;
+    // 被拒绝数据点的原因，line为数据点在请求中的序号（从1开始），最多返回前若干条
+    private List<BatchImportResponse.FailureRecord> failures;
+    // 接收后写入队列中待落库的数据点数
+    private int queuedPoints;
+
+    // Constructors, Getters and Setters
+    public TelemetryIngestResponse() {
+    }
+
+    public int getReceived() {
+        return received;
+    }
+
+    public void setReceived(int received) {
+        this.received = received;
+    }
+
+    public int getAccepted() {
+        return accepted;
+    }
+
+    public void setAccepted(int accepted) {
+        this.accepted = accepted;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<BatchImportResponse.FailureRecord> getFailures() {
+        return failures;
+    }
+
+    public void setFailures(List<BatchImportResponse.FailureRecord> failures) {
+        this.failures = failures;
+    }
+
+    public int getQueuedPoints() {
+        return queuedPoints;
+    }
+
+    public void setQueuedPoints(int queuedPoints) {
+        this.queuedPoints = queuedPoints;
+    }
+}
@@ -0,0 +1,82 @@
+// backend/src/main/java/com/example/evcarbonmonitor/dto/TrendPointDTO.java
+package com.example.evcarbonmonitor.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+
+/**
+ * 趋势中的一个时间桶，或整个时间范围的汇总
+ * 按metrics参数只返回部分指标时，未选中的指标为null，不出现在JSON中
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TrendPointDTO {
+    // 时间桶的起始日期(yyyy-MM-dd)，按小时分组时为yyyy-MM-dd HH:mm；汇总中为null
+    private String date;
+    private Long records;
+    private BigDecimal mileage;
+    private BigDecimal energy;
+    private BigDecimal avgSpeed;
+    private Long abnormal;
+    private BigDecimal reduction;
+
+    // Constructors, Getters and Setters
+    public TrendPointDTO() {
+    }
+
+    public String getDate() {
+        return date;
+    }
+
+    public void setDate(String date) {
+        this.date = date;
+    }
+
+    public Long getRecords() {
+        return records;
+    }
+
+    public void setRecords(Long records) {
+        this.records = records;
+    }
+
+    public BigDecimal getMileage() {
+        return mileage;
+    }
+
+    public void setMileage(BigDecimal mileage) {
+        this.mileage = mileage;
+    }
+
+    public BigDecimal getEnergy() {
+        return energy;
+    }
+
+    public void setEnergy(BigDecimal energy) {
+        this.energy = energy;
+    }
+
+    public BigDecimal getAvgSpeed() {
+        return avgSpeed;
+    }
+
+    public void setAvgSpeed(BigDecimal avgSpeed) {
+        this.avgSpeed = avgSpeed;
+    }
+
+    public Long getAbnormal() {
+        return abnormal;
+    }
+
+    public void setAbnormal(Long abnormal) {
+        this.abnormal = abnormal;
+    }
+
+    public BigDecimal getReduction() {
+        return reduction;
+    }
+
+    public void setReduction(BigDecimal reduction) {
+        this.reduction = reduction;
+    }
+}
@@ -0,0 +1,64 @@
+// backend/src/main/java/com/example/evcarbonmonitor/dto/TrendQueryParams.java
+package com.example.evcarbonmonitor.dto;
+
+public class TrendQueryParams {
+    // 车辆VIN码，为空时查询全车队
+    private String vin;
+    // 开始和结束时间：YYYY-MM-DD(结束日期包含当天)或YYYY-MM-DDTHH:mm(结束时间不包含)，为空时查询最近30天
+    private String startDate;
+    private String endDate;
+    // 分组方式：hour、day(默认)、week或month
+    private String groupBy = "day";
+    // 返回的指标，逗号分隔，为空时返回全部指标
+    private String metrics;
+
+    // Constructors, Getters and Setters
+    public TrendQueryParams() {
+    }
+
+    public String getVin() {
+        return vin;
+    }
+
+    public void setVin(String vin) {
+        this.vin = vin;
+    }
+
+    public String getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(String startDate) {
+        this.startDate = startDate;
+    }
+
+    public String getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(String endDate) {
+        this.endDate = endDate;
+    }
+
+    public String getGroupBy() {
+        return groupBy;
+    }
+
+    public void setGroupBy(String groupBy) {
+        this.groupBy = groupBy;
+    }
+
+    public String getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(String metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public String toString() {
+        return "TrendQueryParams{vin='" + vin + "', startDate='" + startDate + "', endDate='" + endDate +
+                "', groupBy='" + groupBy + "', metrics='" + metrics + "'}";
+    }
+}
@@ -0,0 +1,37 @@
+// backend/src/main/java/com/example/evcarbonmonitor/dto/TrendResponse.java
+package com.example.evcarbonmonitor.dto;
+
+import java.util.List;
+
+/**
+ * 趋势查询结果：整个时间范围的汇总和按分组方式排列的时间序列(没有数据的时间桶为0)
+ */
+public class TrendResponse {
+    private TrendPointDTO summary;
+    private List<TrendPointDTO> timeline;
+
+    // Constructors, Getters and Setters
+    public TrendResponse() {
+    }
+
+    public TrendResponse(TrendPointDTO summary, List<TrendPointDTO> timeline) {
+        this.summary = summary;
+        this.timeline = timeline;
+    }
+
+    public TrendPointDTO getSummary() {
+        return summary;
+    }
+
+    public void setSummary(TrendPointDTO summary) {
+        this.summary = summary;
+    }
+
+    public List<TrendPointDTO> getTimeline() {
+        return timeline;
+    }
+
+    public void setTimeline(List<TrendPointDTO> timeline) {
+        this.timeline = timeline;
+    }
+}
@@ -2,12 +2,15 @@
 package com.example.evcarbonmonitor.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
+// 按fields参数只查询部分字段时，未选中的字段为null，不出现在JSON中
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class VehicleDTO {
 
     // 用于创建和更新的字段
@@ -57,10 +60,39 @@ public class VehicleDTO {
     private BigDecimal totalCarbonReduction;
     private BigDecimal carbonCredits;
 
+    // 版本号，详情接口的ETag；批量修改时给出则作为期望的版本号
+    private Long version;
+
     // 构造函数
     public VehicleDTO() {
     }
 
+    /**
+     * 列表查询的投影构造函数，由JPQL构造表达式直接调用，不经过托管实体
+     * 统计字段来自LEFT JOIN vehicle_stats，尚无行驶数据的车辆为0
+     */
+    public VehicleDTO(String vin, String model, String licensePlate, String manufacturer,
+                      Integer productionYear, BigDecimal batteryCapacity, Integer maxRange,
+                      LocalDate registerDate, String status, LocalDateTime lastUpdateTime, Long version,
+                      BigDecimal totalMileage, BigDecimal totalEnergy,
+                      BigDecimal totalCarbonReduction, BigDecimal carbonCredits) {
+        this.vin = vin;
+        this.model = model;
+        this.licensePlate = licensePlate;
+        this.manufacturer = manufacturer;
+        this.productionYear = productionYear;
+        this.batteryCapacity = batteryCapacity;
+        this.maxRange = maxRange;
+        this.registerDate = registerDate;
+        this.status = status;
+        this.lastUpdateTime = lastUpdateTime;
+        this.version = version;
+        this.totalMileage = totalMileage != null ? totalMileage : BigDecimal.ZERO;
+        this.totalEnergy = totalEnergy != null ? totalEnergy : BigDecimal.ZERO;
+        this.totalCarbonReduction = totalCarbonReduction != null ? totalCarbonReduction : BigDecimal.ZERO;
+        this.carbonCredits = carbonCredits != null ? carbonCredits : BigDecimal.ZERO;
+    }
+
     // Getters and Setters
     public String getVin() {
         return vin;
@@ -173,4 +205,12 @@ public class VehicleDTO {
     public void setCarbonCredits(BigDecimal carbonCredits) {
         this.carbonCredits = carbonCredits;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
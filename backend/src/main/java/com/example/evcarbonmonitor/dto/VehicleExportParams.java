@@ -0,0 +1,46 @@
+// backend/src/main/java/com/example/evcarbonmonitor/dto/VehicleExportParams.java
+package com.example.evcarbonmonitor.dto;
+
+public class VehicleExportParams {
+    // 导出格式：ndjson（每行一个JSON对象，默认）或csv（与批量导入格式兼容）
+    private String format = "ndjson";
+    private String status;
+    private String manufacturer;
+    // 是否gzip压缩，压缩后的CSV可直接用于批量导入
+    private boolean gzip;
+
+    public VehicleExportParams() {
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getManufacturer() {
+        return manufacturer;
+    }
+
+    public void setManufacturer(String manufacturer) {
+        this.manufacturer = manufacturer;
+    }
+
+    public boolean isGzip() {
+        return gzip;
+    }
+
+    public void setGzip(boolean gzip) {
+        this.gzip = gzip;
+    }
+}
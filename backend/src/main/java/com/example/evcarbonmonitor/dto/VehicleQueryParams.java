@@ -1,12 +1,40 @@
 // backend/src/main/java/com/example/evcarbonmonitor/dto/VehicleQueryParams.java
 package com.example.evcarbonmonitor.dto;
 
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
 public class VehicleQueryParams {
     private Integer page = 1;
     private Integer size = 20;
     private String status;
     private String sort;
     private String order = "asc";
+    // 分页方式：offset（页码分页，默认）或keyset（游标分页）
+    private String pagination = "offset";
+    // 游标分页时上一页返回的nextCursor，为空表示第一页
+    private String cursor;
+    // 总数统计方式：exact、estimated或none，为空时页码分页用exact，游标分页用estimated
+    private String count;
+    // 需要返回的字段，逗号分隔，为空时返回全部字段
+    private String fields;
+
+    // 筛选条件，未给出的条件不参与查询；范围条件包含两端
+    private String manufacturer;
+    // 车型关键字，不区分大小写的包含匹配
+    private String model;
+    private Integer productionYearFrom;
+    private Integer productionYearTo;
+    private BigDecimal batteryCapacityMin;
+    private BigDecimal batteryCapacityMax;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate registerDateFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate registerDateTo;
+    private String vinPrefix;
+    private String platePrefix;
 
     // Constructors, Getters and Setters
     public VehicleQueryParams() {
@@ -51,4 +79,116 @@ public class VehicleQueryParams {
     public void setOrder(String order) {
         this.order = order;
     }
+
+    public String getPagination() {
+        return pagination;
+    }
+
+    public void setPagination(String pagination) {
+        this.pagination = pagination;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public String getCount() {
+        return count;
+    }
+
+    public void setCount(String count) {
+        this.count = count;
+    }
+
+    public String getFields() {
+        return fields;
+    }
+
+    public void setFields(String fields) {
+        this.fields = fields;
+    }
+
+    public String getManufacturer() {
+        return manufacturer;
+    }
+
+    public void setManufacturer(String manufacturer) {
+        this.manufacturer = manufacturer;
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    public void setModel(String model) {
+        this.model = model;
+    }
+
+    public Integer getProductionYearFrom() {
+        return productionYearFrom;
+    }
+
+    public void setProductionYearFrom(Integer productionYearFrom) {
+        this.productionYearFrom = productionYearFrom;
+    }
+
+    public Integer getProductionYearTo() {
+        return productionYearTo;
+    }
+
+    public void setProductionYearTo(Integer productionYearTo) {
+        this.productionYearTo = productionYearTo;
+    }
+
+    public BigDecimal getBatteryCapacityMin() {
+        return batteryCapacityMin;
+    }
+
+    public void setBatteryCapacityMin(BigDecimal batteryCapacityMin) {
+        this.batteryCapacityMin = batteryCapacityMin;
+    }
+
+    public BigDecimal getBatteryCapacityMax() {
+        return batteryCapacityMax;
+    }
+
+    public void setBatteryCapacityMax(BigDecimal batteryCapacityMax) {
+        this.batteryCapacityMax = batteryCapacityMax;
+    }
+
+    public LocalDate getRegisterDateFrom() {
+        return registerDateFrom;
+    }
+
+    public void setRegisterDateFrom(LocalDate registerDateFrom) {
+        this.registerDateFrom = registerDateFrom;
+    }
+
+    public LocalDate getRegisterDateTo() {
+        return registerDateTo;
+    }
+
+    public void setRegisterDateTo(LocalDate registerDateTo) {
+        this.registerDateTo = registerDateTo;
+    }
+
+    public String getVinPrefix() {
+        return vinPrefix;
+    }
+
+    public void setVinPrefix(String vinPrefix) {
+        this.vinPrefix = vinPrefix;
+    }
+
+    public String getPlatePrefix() {
+        return platePrefix;
+    }
+
+    public void setPlatePrefix(String platePrefix) {
+        this.platePrefix = platePrefix;
+    }
 }
@@ -0,0 +1,78 @@
+// backend/src/main/java/com/example/evcarbonmonitor/dto/VehicleSearchIndexStatsDTO.java
+package com.example.evcarbonmonitor.dto;
+
+/**
+ * 车辆输入建议内存索引的状态
+ */
+public class VehicleSearchIndexStatsDTO {
+    // 索引是否可用，未加载完成或超出容量时为false，输入建议改为查询数据库
+    private boolean available;
+    private long vehicles;
+    // 尚未合并进索引的车辆修改数
+    private long pendingChanges;
+    // 估算的堆内存占用(字节)，包括VIN码和车牌号字符串
+    private long estimatedBytes;
+    private long maxVehicles;
+    private long merges;
+    private long lastMergeMillis;
+
+    // Constructors, Getters and Setters
+    public VehicleSearchIndexStatsDTO() {
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public void setAvailable(boolean available) {
+        this.available = available;
+    }
+
+    public long getVehicles() {
+        return vehicles;
+    }
+
+    public void setVehicles(long vehicles) {
+        this.vehicles = vehicles;
+    }
+
+    public long getPendingChanges() {
+        return pendingChanges;
+    }
+
+    public void setPendingChanges(long pendingChanges) {
+        this.pendingChanges = pendingChanges;
+    }
+
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    public void setEstimatedBytes(long estimatedBytes) {
+        this.estimatedBytes = estimatedBytes;
+    }
+
+    public long getMaxVehicles() {
+        return maxVehicles;
+    }
+
+    public void setMaxVehicles(long maxVehicles) {
+        this.maxVehicles = maxVehicles;
+    }
+
+    public long getMerges() {
+        return merges;
+    }
+
+    public void setMerges(long merges) {
+        this.merges = merges;
+    }
+
+    public long getLastMergeMillis() {
+        return lastMergeMillis;
+    }
+
+    public void setLastMergeMillis(long lastMergeMillis) {
+        this.lastMergeMillis = lastMergeMillis;
+    }
+}
@@ -0,0 +1,35 @@
+// backend/src/main/java/com/example/evcarbonmonitor/dto/VehicleStatusChange.java
+package com.example.evcarbonmonitor.dto;
+
+/**
+ * 批量修改状态中的一项
+ */
+public class VehicleStatusChange {
+    private String vin;
+    private String status;
+
+    // Constructors, Getters and Setters
+    public VehicleStatusChange() {
+    }
+
+    public VehicleStatusChange(String vin, String status) {
+        this.vin = vin;
+        this.status = status;
+    }
+
+    public String getVin() {
+        return vin;
+    }
+
+    public void setVin(String vin) {
+        this.vin = vin;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,51 @@
+// backend/src/main/java/com/example/evcarbonmonitor/dto/VehicleSuggestionDTO.java
+package com.example.evcarbonmonitor.dto;
+
+/**
+ * 车辆搜索框的输入建议
+ */
+public class VehicleSuggestionDTO {
+    public static final String MATCHED_VIN = "vin";
+    public static final String MATCHED_VIN_SERIAL = "vinSerial";
+    public static final String MATCHED_LICENSE_PLATE = "licensePlate";
+    public static final String MATCHED_PLATE_NUMBER = "plateNumber";
+
+    private String vin;
+    private String licensePlate;
+    // 命中的字段：vin/vinSerial(VIN码后6位)/licensePlate/plateNumber(去掉省份简称的车牌号)
+    private String matchedField;
+
+    // Constructors, Getters and Setters
+    public VehicleSuggestionDTO() {
+    }
+
+    public VehicleSuggestionDTO(String vin, String licensePlate, String matchedField) {
+        this.vin = vin;
+        this.licensePlate = licensePlate;
+        this.matchedField = matchedField;
+    }
+
+    public String getVin() {
+        return vin;
+    }
+
+    public void setVin(String vin) {
+        this.vin = vin;
+    }
+
+    public String getLicensePlate() {
+        return licensePlate;
+    }
+
+    public void setLicensePlate(String licensePlate) {
+        this.licensePlate = licensePlate;
+    }
+
+    public String getMatchedField() {
+        return matchedField;
+    }
+
+    public void setMatchedField(String matchedField) {
+        this.matchedField = matchedField;
+    }
+}
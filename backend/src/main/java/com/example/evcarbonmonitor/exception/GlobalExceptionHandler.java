@@ -4,7 +4,12 @@ package com.example.evcarbonmonitor.exception;
 import com.example.evcarbonmonitor.dto.ApiResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -20,9 +25,39 @@ public class GlobalExceptionHandler {
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
     @ExceptionHandler(ApiException.class)
-    public ApiResponse<?> handleApiException(ApiException e) {
+    public ResponseEntity<ApiResponse<?>> handleApiException(ApiException e) {
         logger.error("API异常: {}", e.getMessage());
-        return ApiResponse.error(e.getCode(), e.getMessage());
+        // 限流和不可用使用对应的HTTP状态码，便于客户端退避重试；其他业务异常保持200
+        if (e.getCode() == HttpStatus.TOO_MANY_REQUESTS.value() || e.getCode() == HttpStatus.SERVICE_UNAVAILABLE.value()) {
+            return ResponseEntity.status(e.getCode())
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(ApiResponse.error(e.getCode(), e.getMessage()));
+        }
+        // If-Match与当前版本不一致时返回412，客户端重新获取后再提交
+        if (e.getCode() == HttpStatus.PRECONDITION_FAILED.value()) {
+            return ResponseEntity.status(e.getCode()).body(ApiResponse.error(e.getCode(), e.getMessage()));
+        }
+        return ResponseEntity.ok(ApiResponse.error(e.getCode(), e.getMessage()));
+    }
+
+    /**
+     * 通过JPA保存带版本号的实体时发生并发修改，按业务冲突返回409
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ApiResponse<?> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException e) {
+        logger.warn("并发修改冲突: {}", e.getMessage());
+        return ApiResponse.error(409, "数据已被修改，请刷新后重试");
+    }
+
+    /**
+     * 获取数据库连接失败(连接池或并发限制等待超时)时返回503，客户端可退避重试
+     */
+    @ExceptionHandler({DataAccessResourceFailureException.class, CannotCreateTransactionException.class})
+    public ResponseEntity<ApiResponse<?>> handleDatabaseUnavailable(Exception e) {
+        logger.warn("数据库繁忙: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ApiResponse.error(HttpStatus.SERVICE_UNAVAILABLE.value(), "数据库繁忙，请稍后重试"));
     }
 
     @ResponseStatus(HttpStatus.BAD_REQUEST)
@@ -0,0 +1,205 @@
+// backend/src/main/java/com/example/evcarbonmonitor/repository/AnalyticsRollupRepository.java
+package com.example.evcarbonmonitor.repository;
+
+import com.example.evcarbonmonitor.domain.CarbonReductionDelta;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * analytics_rollups的增量累加和查询
+ * 每车一份、全车队(vin为FLEET)一份，按granularity、vin、bucket_start排序写入，固定行锁顺序
+ */
+@Repository
+public class AnalyticsRollupRepository {
+
+    // 全车队汇总行的vin
+    public static final String FLEET = "*";
+
+    private static final String ADD_COLUMNS_SQL =
+            "ON CONFLICT (granularity, vin, bucket_start) DO UPDATE SET " +
+            "record_count = analytics_rollups.record_count + EXCLUDED.record_count, " +
+            "mileage = analytics_rollups.mileage + EXCLUDED.mileage, " +
+            "energy_consumption = analytics_rollups.energy_consumption + EXCLUDED.energy_consumption, " +
+            "speed_sum = analytics_rollups.speed_sum + EXCLUDED.speed_sum, " +
+            "abnormal_count = analytics_rollups.abnormal_count + EXCLUDED.abnormal_count, " +
+            "carbon_reduction = analytics_rollups.carbon_reduction + EXCLUDED.carbon_reduction, " +
+            "updated_at = EXCLUDED.updated_at";
+
+    // 先按车辆和小时汇总ID区间内的行驶记录，再由小时汇总得到日、月和全车队的汇总
+    private static final String ADD_DRIVING_SQL =
+            "WITH h AS (" +
+            "  SELECT vin, date_trunc('hour', record_time) AS bucket, COUNT(*) AS c, SUM(mileage) AS m, " +
+            "  SUM(energy_consumption) AS e, SUM(speed) AS s, COUNT(*) FILTER (WHERE is_abnormal) AS a " +
+            "  FROM driving_records WHERE id > ? AND id <= ? GROUP BY 1, 2), " +
+            "b AS (" +
+            "  SELECT 'hour' AS g, vin, bucket, c, m, e, s, a FROM h " +
+            "  UNION ALL SELECT 'day', vin, date_trunc('day', bucket), SUM(c), SUM(m), SUM(e), SUM(s), SUM(a) FROM h GROUP BY 2, 3 " +
+            "  UNION ALL SELECT 'month', vin, date_trunc('month', bucket), SUM(c), SUM(m), SUM(e), SUM(s), SUM(a) FROM h GROUP BY 2, 3 " +
+            "  UNION ALL SELECT 'hour', '" + FLEET + "', bucket, SUM(c), SUM(m), SUM(e), SUM(s), SUM(a) FROM h GROUP BY 3 " +
+            "  UNION ALL SELECT 'day', '" + FLEET + "', date_trunc('day', bucket), SUM(c), SUM(m), SUM(e), SUM(s), SUM(a) FROM h GROUP BY 3 " +
+            "  UNION ALL SELECT 'month', '" + FLEET + "', date_trunc('month', bucket), SUM(c), SUM(m), SUM(e), SUM(s), SUM(a) FROM h GROUP BY 3) " +
+            "INSERT INTO analytics_rollups (granularity, vin, bucket_start, record_count, mileage, energy_consumption, " +
+            "speed_sum, abnormal_count, carbon_reduction, updated_at) " +
+            "SELECT g, vin, bucket, c, m, e, s, a, 0, ? FROM b ORDER BY g, vin, bucket " +
+            ADD_COLUMNS_SQL;
+
+    private static final String ADD_CARBON_SQL =
+            "WITH d AS (" +
+            "  SELECT vin, CAST(day AS TIMESTAMP) AS bucket, SUM(change) AS r " +
+            "  FROM unnest(?::varchar[], ?::date[], ?::numeric[]) AS x(vin, day, change) GROUP BY 1, 2), " +
+            "b AS (" +
+            "  SELECT 'day' AS g, vin, bucket, r FROM d " +
+            "  UNION ALL SELECT 'month', vin, date_trunc('month', bucket), SUM(r) FROM d GROUP BY 2, 3 " +
+            "  UNION ALL SELECT 'day', '" + FLEET + "', bucket, SUM(r) FROM d GROUP BY 3 " +
+            "  UNION ALL SELECT 'month', '" + FLEET + "', date_trunc('month', bucket), SUM(r) FROM d GROUP BY 3) " +
+            "INSERT INTO analytics_rollups (granularity, vin, bucket_start, record_count, mileage, energy_consumption, " +
+            "speed_sum, abnormal_count, carbon_reduction, updated_at) " +
+            "SELECT g, vin, bucket, 0, 0, 0, 0, 0, r, ? FROM b ORDER BY g, vin, bucket " +
+            ADD_COLUMNS_SQL;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public AnalyticsRollupRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 一个时间桶的汇总值
+     */
+    public static class RollupRow {
+        private final LocalDateTime bucketStart;
+        private final long recordCount;
+        private final BigDecimal mileage;
+        private final BigDecimal energyConsumption;
+        private final BigDecimal speedSum;
+        private final long abnormalCount;
+        private final BigDecimal carbonReduction;
+
+        public RollupRow(LocalDateTime bucketStart, long recordCount, BigDecimal mileage, BigDecimal energyConsumption,
+                         BigDecimal speedSum, long abnormalCount, BigDecimal carbonReduction) {
+            this.bucketStart = bucketStart;
+            this.recordCount = recordCount;
+            this.mileage = mileage;
+            this.energyConsumption = energyConsumption;
+            this.speedSum = speedSum;
+            this.abnormalCount = abnormalCount;
+            this.carbonReduction = carbonReduction;
+        }
+
+        public LocalDateTime getBucketStart() {
+            return bucketStart;
+        }
+
+        public long getRecordCount() {
+            return recordCount;
+        }
+
+        public BigDecimal getMileage() {
+            return mileage;
+        }
+
+        public BigDecimal getEnergyConsumption() {
+            return energyConsumption;
+        }
+
+        public BigDecimal getSpeedSum() {
+            return speedSum;
+        }
+
+        public long getAbnormalCount() {
+            return abnormalCount;
+        }
+
+        public BigDecimal getCarbonReduction() {
+            return carbonReduction;
+        }
+    }
+
+    /**
+     * 查询汇总任务的水位线并加行锁，多个实例的汇总任务依次执行
+     */
+    public long lockCheckpoint(String name) {
+        jdbcTemplate.update("INSERT INTO processing_checkpoints (name, position, updated_at) VALUES (?, 0, ?) " +
+                "ON CONFLICT (name) DO NOTHING", name, Timestamp.valueOf(LocalDateTime.now()));
+        Long position = jdbcTemplate.queryForObject(
+                "SELECT position FROM processing_checkpoints WHERE name = ? FOR UPDATE", Long.class, name);
+        return position != null ? position : 0L;
+    }
+
+    public void saveCheckpoint(String name, long position) {
+        jdbcTemplate.update("UPDATE processing_checkpoints SET position = ?, updated_at = ? WHERE name = ?",
+                position, Timestamp.valueOf(LocalDateTime.now()), name);
+    }
+
+    /**
+     * 把ID区间(lowerExclusive, upperInclusive]内的行驶记录累加到各粒度的汇总
+     * @return 写入的汇总行数
+     */
+    public int addDriving(long lowerExclusive, long upperInclusive) {
+        return jdbcTemplate.update(ADD_DRIVING_SQL, lowerExclusive, upperInclusive,
+                Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    /**
+     * 累加车辆日碳减排量的变化，参与调用方的事务
+     */
+    public void addCarbonReductions(List<CarbonReductionDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(ADD_CARBON_SQL, ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("varchar",
+                    deltas.stream().map(CarbonReductionDelta::getVin).toArray()));
+            ps.setArray(2, ps.getConnection().createArrayOf("date",
+                    deltas.stream().map(delta -> Date.valueOf(delta.getDate())).toArray()));
+            ps.setArray(3, ps.getConnection().createArrayOf("numeric",
+                    deltas.stream().map(CarbonReductionDelta::getChange).toArray()));
+            ps.setTimestamp(4, Timestamp.valueOf(LocalDateTime.now()));
+        });
+    }
+
+    /**
+     * 删除早于cutoff的小时汇总
+     */
+    public int deleteHoursBefore(LocalDateTime cutoff) {
+        return jdbcTemplate.update("DELETE FROM analytics_rollups WHERE granularity = ? AND bucket_start < ?",
+                TimeBucket.HOUR.getValue(), Timestamp.valueOf(cutoff));
+    }
+
+    /**
+     * 查询一辆车或全车队在若干时间段内的汇总
+     * @param segments 每段为一种粒度的[start, end)区间，各段互不重叠
+     */
+    public List<RollupRow> find(String vin, List<RollupSegment> segments) {
+        if (segments.isEmpty()) {
+            return new ArrayList<>();
+        }
+        StringBuilder sql = new StringBuilder(
+                "SELECT bucket_start, record_count, mileage, energy_consumption, speed_sum, abnormal_count, " +
+                "carbon_reduction FROM analytics_rollups WHERE vin = ? AND (");
+        List<Object> args = new ArrayList<>();
+        args.add(vin);
+        for (int i = 0; i < segments.size(); i++) {
+            RollupSegment segment = segments.get(i);
+            sql.append(i > 0 ? " OR " : "").append("(granularity = ? AND bucket_start >= ? AND bucket_start < ?)");
+            args.add(segment.getBucket().getValue());
+            args.add(Timestamp.valueOf(segment.getStart()));
+            args.add(Timestamp.valueOf(segment.getEnd()));
+        }
+        sql.append(")");
+        return jdbcTemplate.query(sql.toString(),
+                (rs, rowNum) -> new RollupRow(rs.getTimestamp(1).toLocalDateTime(), rs.getLong(2),
+                        rs.getBigDecimal(3), rs.getBigDecimal(4), rs.getBigDecimal(5), rs.getLong(6),
+                        rs.getBigDecimal(7)),
+                args.toArray());
+    }
+}
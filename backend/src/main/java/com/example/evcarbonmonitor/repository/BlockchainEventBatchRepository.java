@@ -0,0 +1,292 @@
+// backend/src/main/java/com/example/evcarbonmonitor/repository/BlockchainEventBatchRepository.java
+package com.example.evcarbonmonitor.repository;
+
+import com.example.evcarbonmonitor.domain.BlockchainTx;
+import com.example.evcarbonmonitor.domain.CarbonCredit;
+import com.example.evcarbonmonitor.domain.CarbonRecord;
+import com.example.evcarbonmonitor.domain.CarbonReductionDelta;
+import com.example.evcarbonmonitor.domain.VehicleStatsDelta;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 区块链事件索引使用的批量写入
+ * 每类事件用一条unnest多行语句写入，重复索引同一区间时结果不变；
+ * 区块重组时按不在主链上的交易撤销这些写入
+ */
+@Repository
+public class BlockchainEventBatchRepository {
+
+    private static final String UPSERT_TX_SQL =
+            "INSERT INTO blockchain_tx (tx_hash, block_number, block_hash, to_address, data_type, status, " +
+            "timestamp, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (tx_hash) DO UPDATE SET " +
+            "block_number = EXCLUDED.block_number, " +
+            "block_hash = EXCLUDED.block_hash, " +
+            "status = EXCLUDED.status, " +
+            "timestamp = EXCLUDED.timestamp, " +
+            "updated_at = EXCLUDED.updated_at " +
+            "WHERE blockchain_tx.block_hash IS DISTINCT FROM EXCLUDED.block_hash " +
+            "OR blockchain_tx.status <> EXCLUDED.status";
+
+    // 链上计算只关联到已有记录，里程等汇总值以链下计算为准；本地没有的记录按事件补录。
+    // 分区表不能在RETURNING中读取xmax，created_at等于本次写入时间的是新插入的记录
+    private static final String UPSERT_CALCULATION_SQL =
+            "INSERT INTO carbon_records (vin, calculation_date, mileage, energy_consumption, carbon_reduction, " +
+            "equivalent_fuel, calculation_method, verification_status, blockchain_tx_hash, calculation_id, " +
+            "from_chain, created_at, updated_at) " +
+            "SELECT e.vin, e.calculation_date, e.mileage, e.energy, e.reduction, e.fuel, ?, ?, e.tx_hash, " +
+            "e.calculation_id, TRUE, ?, ? " +
+            "FROM unnest(?::varchar[], ?::date[], ?::numeric[], ?::numeric[], ?::numeric[], ?::numeric[], " +
+            "?::varchar[], ?::varchar[]) AS e(vin, calculation_date, mileage, energy, reduction, fuel, tx_hash, calculation_id) " +
+            "ON CONFLICT (vin, calculation_date) DO UPDATE SET " +
+            "blockchain_tx_hash = EXCLUDED.blockchain_tx_hash, " +
+            "calculation_id = EXCLUDED.calculation_id, " +
+            "verification_status = CASE WHEN carbon_records.verification_status = '" + CarbonRecord.VERIFICATION_PENDING + "' " +
+            "THEN EXCLUDED.verification_status ELSE carbon_records.verification_status END, " +
+            "updated_at = EXCLUDED.updated_at " +
+            "WHERE carbon_records.calculation_id IS DISTINCT FROM EXCLUDED.calculation_id " +
+            "RETURNING vin, carbon_reduction, (created_at = ?) AS inserted, calculation_date";
+
+    private static final String INSERT_CREDITS_SQL =
+            "INSERT INTO carbon_credits (carbon_record_id, vin, credit_amount, credit_date, blockchain_tx_hash, " +
+            "status, created_at, updated_at) " +
+            "SELECT c.id, e.vin, e.amount, COALESCE(c.calculation_date, e.credit_date), e.tx_hash, ?, ?, ? " +
+            "FROM unnest(?::varchar[], ?::varchar[], ?::numeric[], ?::date[], ?::varchar[]) " +
+            "AS e(calculation_id, vin, amount, credit_date, tx_hash) " +
+            "LEFT JOIN carbon_records c ON c.calculation_id = e.calculation_id " +
+            "ON CONFLICT (blockchain_tx_hash) DO NOTHING " +
+            "RETURNING id, carbon_record_id, vin, credit_amount, credit_date, blockchain_tx_hash";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public BlockchainEventBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * CreditsGenerated事件对应的积分
+     */
+    public static class IndexedCredit {
+        private final String calculationId;
+        private final String vin;
+        private final BigDecimal amount;
+        private final LocalDate blockDate;
+        private final String txHash;
+
+        public IndexedCredit(String calculationId, String vin, BigDecimal amount, LocalDate blockDate, String txHash) {
+            this.calculationId = calculationId;
+            this.vin = vin;
+            this.amount = amount;
+            this.blockDate = blockDate;
+            this.txHash = txHash;
+        }
+    }
+
+    /**
+     * 写入或更新事件所在交易，交易哈希需去重
+     */
+    public void upsertTransactions(List<BlockchainTx> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+        List<BlockchainTx> sorted = new ArrayList<>(transactions);
+        sorted.sort((a, b) -> a.getTxHash().compareTo(b.getTxHash()));
+        jdbcTemplate.batchUpdate(UPSERT_TX_SQL, sorted, sorted.size(), (ps, tx) -> {
+            ps.setString(1, tx.getTxHash());
+            ps.setLong(2, tx.getBlockNumber());
+            ps.setString(3, tx.getBlockHash());
+            ps.setString(4, tx.getToAddress());
+            ps.setString(5, tx.getDataType());
+            ps.setString(6, tx.getStatus());
+            ps.setTimestamp(7, Timestamp.valueOf(tx.getTimestamp()));
+            ps.setTimestamp(8, Timestamp.valueOf(tx.getCreatedAt()));
+            ps.setTimestamp(9, Timestamp.valueOf(tx.getUpdatedAt()));
+        });
+    }
+
+    /**
+     * 把链上计算关联到碳减排记录，(vin, calculation_date)需去重
+     * @return 补录记录的减排量，用于累加车辆统计和分析汇总
+     */
+    public List<CarbonReductionDelta> upsertCalculations(List<CarbonRecord> records) {
+        List<CarbonReductionDelta> deltas = new ArrayList<>();
+        if (records.isEmpty()) {
+            return deltas;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.query(UPSERT_CALCULATION_SQL, ps -> {
+            Connection connection = ps.getConnection();
+            ps.setString(1, CarbonRecord.METHOD_STANDARD_V1);
+            ps.setString(2, CarbonRecord.VERIFICATION_SUBMITTED);
+            ps.setTimestamp(3, Timestamp.valueOf(now));
+            ps.setTimestamp(4, Timestamp.valueOf(now));
+            ps.setArray(5, array(connection, "varchar", records.stream().map(CarbonRecord::getVin).toArray()));
+            ps.setArray(6, array(connection, "date", records.stream().map(r -> Date.valueOf(r.getCalculationDate())).toArray()));
+            ps.setArray(7, array(connection, "numeric", records.stream().map(CarbonRecord::getMileage).toArray()));
+            ps.setArray(8, array(connection, "numeric", records.stream().map(CarbonRecord::getEnergyConsumption).toArray()));
+            ps.setArray(9, array(connection, "numeric", records.stream().map(CarbonRecord::getCarbonReduction).toArray()));
+            ps.setArray(10, array(connection, "numeric", records.stream().map(CarbonRecord::getEquivalentFuel).toArray()));
+            ps.setArray(11, array(connection, "varchar", records.stream().map(CarbonRecord::getBlockchainTxHash).toArray()));
+            ps.setArray(12, array(connection, "varchar", records.stream().map(CarbonRecord::getCalculationId).toArray()));
+            ps.setTimestamp(13, Timestamp.valueOf(now));
+        }, (RowCallbackHandler) rs -> {
+            if (rs.getBoolean(3)) {
+                deltas.add(new CarbonReductionDelta(rs.getString(1), rs.getDate(4).toLocalDate(), rs.getBigDecimal(2)));
+            }
+        });
+        return deltas;
+    }
+
+    /**
+     * 标记已在链上验证的计算，并记录验证所在交易
+     * @param verifications 计算ID -> 验证交易哈希
+     */
+    public int markVerified(Map<String, String> verifications) {
+        if (verifications.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(
+                "UPDATE carbon_records c SET verification_status = ?, verification_tx_hash = e.tx_hash, updated_at = ? " +
+                "FROM unnest(?::varchar[], ?::varchar[]) AS e(calculation_id, tx_hash) " +
+                "WHERE c.calculation_id = e.calculation_id AND c.verification_tx_hash IS DISTINCT FROM e.tx_hash",
+                ps -> {
+                    Connection connection = ps.getConnection();
+                    ps.setString(1, CarbonRecord.VERIFICATION_VERIFIED);
+                    ps.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+                    ps.setArray(3, array(connection, "varchar", verifications.keySet().toArray()));
+                    ps.setArray(4, array(connection, "varchar", verifications.values().toArray()));
+                });
+    }
+
+    /**
+     * 写入链上生成的积分，按交易哈希去重
+     * @return 新写入的积分，用于累加车辆统计
+     */
+    public List<CarbonCredit> insertCredits(List<IndexedCredit> credits) {
+        List<CarbonCredit> inserted = new ArrayList<>();
+        if (credits.isEmpty()) {
+            return inserted;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.query(INSERT_CREDITS_SQL, ps -> {
+            Connection connection = ps.getConnection();
+            ps.setString(1, CarbonCredit.STATUS_ACTIVE);
+            ps.setTimestamp(2, Timestamp.valueOf(now));
+            ps.setTimestamp(3, Timestamp.valueOf(now));
+            ps.setArray(4, array(connection, "varchar", credits.stream().map(c -> c.calculationId).toArray()));
+            ps.setArray(5, array(connection, "varchar", credits.stream().map(c -> c.vin).toArray()));
+            ps.setArray(6, array(connection, "numeric", credits.stream().map(c -> c.amount).toArray()));
+            ps.setArray(7, array(connection, "date", credits.stream().map(c -> Date.valueOf(c.blockDate)).toArray()));
+            ps.setArray(8, array(connection, "varchar", credits.stream().map(c -> c.txHash).toArray()));
+        }, (RowCallbackHandler) rs -> {
+            CarbonCredit credit = new CarbonCredit();
+            credit.setId(rs.getLong(1));
+            credit.setCarbonRecordId((Long) rs.getObject(2));
+            credit.setVin(rs.getString(3));
+            credit.setCreditAmount(rs.getBigDecimal(4));
+            credit.setCreditDate(rs.getDate(5).toLocalDate());
+            credit.setBlockchainTxHash(rs.getString(6));
+            credit.setStatus(CarbonCredit.STATUS_ACTIVE);
+            credit.setCreatedAt(now);
+            credit.setUpdatedAt(now);
+            inserted.add(credit);
+        });
+        return inserted;
+    }
+
+    /**
+     * 区块重组后不在主链上的交易恢复为pending，等待重新打包后再次索引
+     * @param canonicalTxHashes 重新扫描区间内仍在主链上的事件交易
+     * @return 恢复为pending的交易哈希
+     */
+    public List<String> detachMissing(long fromBlock, long toBlock, Collection<String> canonicalTxHashes) {
+        return jdbcTemplate.query(
+                "UPDATE blockchain_tx SET status = ?, block_number = NULL, block_hash = NULL, updated_at = ? " +
+                "WHERE block_number BETWEEN ? AND ? AND status = ? AND NOT (tx_hash = ANY(?::varchar[])) " +
+                "RETURNING tx_hash",
+                ps -> {
+                    ps.setString(1, BlockchainTx.STATUS_PENDING);
+                    ps.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+                    ps.setLong(3, fromBlock);
+                    ps.setLong(4, toBlock);
+                    ps.setString(5, BlockchainTx.STATUS_CONFIRMED);
+                    ps.setArray(6, array(ps.getConnection(), "varchar", canonicalTxHashes.toArray()));
+                },
+                (rs, rowNum) -> rs.getString(1));
+    }
+
+    /**
+     * 删除不在主链上的交易生成的积分
+     * @return 删除的积分，用于扣减车辆统计
+     */
+    public List<CarbonCredit> deleteCredits(Collection<String> txHashes) {
+        return jdbcTemplate.query(
+                "DELETE FROM carbon_credits WHERE blockchain_tx_hash = ANY(?::varchar[]) RETURNING vin, credit_amount",
+                ps -> ps.setArray(1, array(ps.getConnection(), "varchar", txHashes.toArray())),
+                (rs, rowNum) -> {
+                    CarbonCredit credit = new CarbonCredit();
+                    credit.setVin(rs.getString(1));
+                    credit.setCreditAmount(rs.getBigDecimal(2));
+                    return credit;
+                });
+    }
+
+    /**
+     * 撤销不在主链上的计算：按事件补录的记录删除，其余记录解除与链上计算的关联，
+     * 交易仍在等待重新打包，状态回到submitted
+     * @return 删除记录的减排量(负值)，用于扣减车辆统计和分析汇总
+     */
+    public List<CarbonReductionDelta> revertCalculations(Collection<String> txHashes) {
+        List<CarbonReductionDelta> deltas = jdbcTemplate.query(
+                "DELETE FROM carbon_records WHERE blockchain_tx_hash = ANY(?::varchar[]) AND from_chain " +
+                "RETURNING vin, calculation_date, carbon_reduction",
+                ps -> ps.setArray(1, array(ps.getConnection(), "varchar", txHashes.toArray())),
+                (rs, rowNum) -> new CarbonReductionDelta(rs.getString(1), rs.getDate(2).toLocalDate(),
+                        rs.getBigDecimal(3).negate()));
+        jdbcTemplate.update(
+                "UPDATE carbon_records SET calculation_id = NULL, verification_tx_hash = NULL, " +
+                "verification_status = ?, updated_at = ? WHERE blockchain_tx_hash = ANY(?::varchar[])",
+                ps -> {
+                    ps.setString(1, CarbonRecord.VERIFICATION_SUBMITTED);
+                    ps.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+                    ps.setArray(3, array(ps.getConnection(), "varchar", txHashes.toArray()));
+                });
+        return deltas;
+    }
+
+    /**
+     * 撤销不在主链上的交易中的验证，计算仍有效，状态回到submitted
+     */
+    public int revertVerifications(Collection<String> txHashes) {
+        return jdbcTemplate.update(
+                "UPDATE carbon_records SET verification_status = ?, verification_tx_hash = NULL, updated_at = ? " +
+                "WHERE verification_tx_hash = ANY(?::varchar[])",
+                ps -> {
+                    ps.setString(1, CarbonRecord.VERIFICATION_SUBMITTED);
+                    ps.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+                    ps.setArray(3, array(ps.getConnection(), "varchar", txHashes.toArray()));
+                });
+    }
+
+    private static Array array(Connection connection, String type, Object[] values) throws SQLException {
+        return connection.createArrayOf(type, values);
+    }
+}
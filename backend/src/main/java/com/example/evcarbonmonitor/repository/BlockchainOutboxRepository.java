@@ -0,0 +1,19 @@
+// backend/src/main/java/com/example/evcarbonmonitor/repository/BlockchainOutboxRepository.java
+package com.example.evcarbonmonitor.repository;
+
+import com.example.evcarbonmonitor.domain.BlockchainOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BlockchainOutboxRepository extends JpaRepository<BlockchainOutbox, Long> {
+
+    List<BlockchainOutbox> findByStatusOrderById(String status, Pageable pageable);
+
+    @Query("SELECT o.status, COUNT(o) FROM BlockchainOutbox o GROUP BY o.status")
+    List<Object[]> countByStatus();
+}
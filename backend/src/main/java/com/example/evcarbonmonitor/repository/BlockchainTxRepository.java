@@ -0,0 +1,10 @@
+// backend/src/main/java/com/example/evcarbonmonitor/repository/BlockchainTxRepository.java
+package com.example.evcarbonmonitor.repository;
+
+import com.example.evcarbonmonitor.domain.BlockchainTx;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BlockchainTxRepository extends JpaRepository<BlockchainTx, String> {
+}
@@ -0,0 +1,12 @@
+// backend/src/main/java/com/example/evcarbonmonitor/repository/CarbonCreditRepository.java
+package com.example.evcarbonmonitor.repository;
+
+import com.example.evcarbonmonitor.domain.CarbonCredit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CarbonCreditRepository extends JpaRepository<CarbonCredit, Long> {
+
+    boolean existsByBlockchainTxHash(String blockchainTxHash);
+}
@@ -0,0 +1,173 @@
+// backend/src/main/java/com/example/evcarbonmonitor/repository/CarbonRecordBatchRepository.java
+package com.example.evcarbonmonitor.repository;
+
+import com.example.evcarbonmonitor.domain.CarbonRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 碳减排计算使用的批量数据访问
+ * 按行驶记录ID区间定位新增数据，按车辆和日期汇总后批量写入carbon_records
+ */
+@Repository
+public class CarbonRecordBatchRepository {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO carbon_records (vin, calculation_date, mileage, energy_consumption, carbon_reduction, " +
+            "equivalent_fuel, calculation_method, verification_status, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (vin, calculation_date) DO UPDATE SET " +
+            "mileage = EXCLUDED.mileage, " +
+            "energy_consumption = EXCLUDED.energy_consumption, " +
+            "carbon_reduction = EXCLUDED.carbon_reduction, " +
+            "equivalent_fuel = EXCLUDED.equivalent_fuel, " +
+            "calculation_method = EXCLUDED.calculation_method, " +
+            // 减排量变化后需要重新验证上链
+            "verification_status = CASE WHEN carbon_records.carbon_reduction = EXCLUDED.carbon_reduction " +
+            "THEN carbon_records.verification_status ELSE EXCLUDED.verification_status END, " +
+            // 本地有了行驶数据，区块重组时不再删除该记录
+            "from_chain = FALSE, " +
+            "updated_at = EXCLUDED.updated_at " +
+            "WHERE carbon_records.mileage <> EXCLUDED.mileage " +
+            "OR carbon_records.energy_consumption <> EXCLUDED.energy_consumption " +
+            "OR carbon_records.from_chain";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    public CarbonRecordBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    /**
+     * 车辆单日行驶汇总
+     */
+    public static class DailyDriving {
+        private final String vin;
+        private final LocalDate date;
+        private final BigDecimal mileage;
+        private final BigDecimal energyConsumption;
+
+        public DailyDriving(String vin, LocalDate date, BigDecimal mileage, BigDecimal energyConsumption) {
+            this.vin = vin;
+            this.date = date;
+            this.mileage = mileage;
+            this.energyConsumption = energyConsumption;
+        }
+
+        public String getVin() {
+            return vin;
+        }
+
+        public LocalDate getDate() {
+            return date;
+        }
+
+        public BigDecimal getMileage() {
+            return mileage;
+        }
+
+        public BigDecimal getEnergyConsumption() {
+            return energyConsumption;
+        }
+    }
+
+    /**
+     * 查询ID区间内有新增行驶记录的车辆和日期
+     * @return VIN码到日期集合的映射
+     */
+    public Map<String, Set<LocalDate>> findTouchedVehicleDays(long lowerExclusive, long upperInclusive) {
+        Map<String, Set<LocalDate>> touched = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT DISTINCT vin, CAST(record_time AS DATE) AS record_date FROM driving_records WHERE id > ? AND id <= ?",
+                (RowCallbackHandler) rs -> touched.computeIfAbsent(rs.getString(1), vin -> new TreeSet<>())
+                        .add(rs.getDate(2).toLocalDate()),
+                lowerExclusive, upperInclusive);
+        return touched;
+    }
+
+    /**
+     * 按车辆和日期汇总行驶记录，日期区间包含两端
+     */
+    public List<DailyDriving> sumDailyDriving(Collection<String> vins, LocalDate from, LocalDate to) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("vins", vins)
+                .addValue("from", Timestamp.valueOf(from.atStartOfDay()))
+                .addValue("to", Timestamp.valueOf(to.plusDays(1).atStartOfDay()));
+        return namedParameterJdbcTemplate.query(
+                "SELECT vin, CAST(record_time AS DATE) AS record_date, SUM(mileage) AS mileage, " +
+                "SUM(energy_consumption) AS energy FROM driving_records " +
+                "WHERE vin IN (:vins) AND record_time >= :from AND record_time < :to " +
+                "GROUP BY vin, CAST(record_time AS DATE)",
+                params,
+                (rs, rowNum) -> new DailyDriving(rs.getString(1), rs.getDate(2).toLocalDate(),
+                        rs.getBigDecimal(3), rs.getBigDecimal(4)));
+    }
+
+    /**
+     * 查询已有碳减排记录的减排量，键为"VIN码|日期"
+     */
+    public Map<String, BigDecimal> findReductions(Collection<String> vins, LocalDate from, LocalDate to) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("vins", vins)
+                .addValue("from", Date.valueOf(from))
+                .addValue("to", Date.valueOf(to));
+        Map<String, BigDecimal> reductions = new HashMap<>();
+        namedParameterJdbcTemplate.query(
+                "SELECT vin, calculation_date, carbon_reduction FROM carbon_records " +
+                "WHERE vin IN (:vins) AND calculation_date >= :from AND calculation_date <= :to",
+                params,
+                (RowCallbackHandler) rs -> reductions.put(
+                        vehicleDayKey(rs.getString(1), rs.getDate(2).toLocalDate()), rs.getBigDecimal(3)));
+        return reductions;
+    }
+
+    public static String vehicleDayKey(String vin, LocalDate date) {
+        return vin + "|" + date;
+    }
+
+    /**
+     * 写入或更新每车每日的碳减排记录，汇总值未变化的记录不更新
+     */
+    public void upsert(List<CarbonRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        List<CarbonRecord> sorted = new ArrayList<>(records);
+        // 按VIN码和日期排序写入，固定行锁顺序
+        sorted.sort((a, b) -> {
+            int byVin = a.getVin().compareTo(b.getVin());
+            return byVin != 0 ? byVin : a.getCalculationDate().compareTo(b.getCalculationDate());
+        });
+        jdbcTemplate.batchUpdate(UPSERT_SQL, sorted, sorted.size(), (ps, record) -> {
+            ps.setString(1, record.getVin());
+            ps.setDate(2, Date.valueOf(record.getCalculationDate()));
+            ps.setBigDecimal(3, record.getMileage());
+            ps.setBigDecimal(4, record.getEnergyConsumption());
+            ps.setBigDecimal(5, record.getCarbonReduction());
+            ps.setBigDecimal(6, record.getEquivalentFuel());
+            ps.setString(7, record.getCalculationMethod());
+            ps.setString(8, record.getVerificationStatus());
+            ps.setTimestamp(9, Timestamp.valueOf(record.getCreatedAt()));
+            ps.setTimestamp(10, Timestamp.valueOf(record.getUpdatedAt()));
+        });
+    }
+}
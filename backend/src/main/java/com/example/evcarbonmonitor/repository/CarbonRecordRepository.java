@@ -0,0 +1,36 @@
+// backend/src/main/java/com/example/evcarbonmonitor/repository/CarbonRecordRepository.java
+package com.example.evcarbonmonitor.repository;
+
+import com.example.evcarbonmonitor.domain.CarbonRecord;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CarbonRecordRepository extends JpaRepository<CarbonRecord, Long> {
+
+    /**
+     * 锁定待上链的碳减排记录，避免与碳减排计算的更新交错
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM CarbonRecord c WHERE c.verificationStatus = :status AND c.calculationDate < :before ORDER BY c.id")
+    List<CarbonRecord> findForSubmission(@Param("status") String status, @Param("before") LocalDate before, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE CarbonRecord c SET c.verificationStatus = :status, c.updatedAt = :now WHERE c.id IN :ids")
+    int updateVerificationStatus(@Param("ids") List<Long> ids, @Param("status") String status, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE CarbonRecord c SET c.blockchainTxHash = :txHash, c.calculationId = :calculationId, c.updatedAt = :now WHERE c.id = :id")
+    int updateBlockchainResult(@Param("id") Long id, @Param("txHash") String txHash,
+                               @Param("calculationId") String calculationId, @Param("now") LocalDateTime now);
+}
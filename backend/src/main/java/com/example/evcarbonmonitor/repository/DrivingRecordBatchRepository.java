@@ -0,0 +1,143 @@
+// backend/src/main/java/com/example/evcarbonmonitor/repository/DrivingRecordBatchRepository.java
+package com.example.evcarbonmonitor.repository;
+
+import com.example.evcarbonmonitor.domain.DrivingRecord;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * 行驶记录批量写入
+ * PostgreSQL下使用COPY协议追加，其他数据库退回JDBC批量语句。
+ * PostgreSQL下写入事务在分配ID之前获取共享的写入锁，增量处理任务据此确定不会被未提交事务越过的ID水位线
+ */
+@Repository
+public class DrivingRecordBatchRepository {
+
+    private static final String COLUMNS =
+            "vin, record_time, mileage, speed, battery_level, energy_consumption, " +
+            "latitude, longitude, status_code, is_abnormal, created_at";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO driving_records (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String COPY_SQL =
+            "COPY driving_records (" + COLUMNS + ") FROM STDIN WITH (FORMAT csv)";
+
+    // 写入事务以共享方式持有，读取水位线时以排他方式短暂获取
+    private static final long WRITE_LOCK_KEY = 0x64726976L;
+
+    // lock_timeout超时的SQLSTATE
+    private static final String LOCK_NOT_AVAILABLE = "55P03";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${telemetry.ingest.use-copy:true}")
+    private boolean useCopy;
+
+    @Autowired
+    public DrivingRecordBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 追加行驶记录，须在调用方的事务中执行，写入锁在事务结束时释放
+     */
+    public void insert(List<DrivingRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        Boolean copied = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                return false;
+            }
+            try (PreparedStatement ps = connection.prepareStatement("SELECT pg_advisory_xact_lock_shared(?)")) {
+                ps.setLong(1, WRITE_LOCK_KEY);
+                ps.execute();
+            }
+            if (!useCopy) {
+                return false;
+            }
+            copyIn(connection.unwrap(PGConnection.class), records);
+            return true;
+        });
+        if (!Boolean.TRUE.equals(copied)) {
+            batchInsert(records);
+        }
+    }
+
+    /**
+     * 查询本轮可处理的最大行驶记录ID，须在单独的短事务中调用，锁在事务结束时释放
+     * 以排他方式获取写入锁：获取到时已分配ID的写入事务都已提交或回滚，查询到的最大ID之前不会再出现新记录，
+     * 提交较慢的写入只会推迟水位线，不会被越过。等待期间新的写入在锁后排队，等待超过lockTimeoutMs时抛出CannotAcquireLockException
+     * @return 最大ID，没有新记录时为null
+     */
+    public Long findCommittedUpperBound(long lowerExclusive, long upperLimit, long lockTimeoutMs) {
+        jdbcTemplate.execute("SET LOCAL lock_timeout = " + lockTimeoutMs);
+        try {
+            jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(?)::text", String.class, WRITE_LOCK_KEY);
+        } catch (UncategorizedSQLException e) {
+            if (LOCK_NOT_AVAILABLE.equals(e.getSQLException().getSQLState())) {
+                throw new CannotAcquireLockException("等待行驶记录写入锁超时", e);
+            }
+            throw e;
+        }
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM driving_records WHERE id > ? AND id <= ?",
+                Long.class, lowerExclusive, upperLimit);
+    }
+
+    private void copyIn(PGConnection connection, List<DrivingRecord> records) throws SQLException {
+        StringBuilder csv = new StringBuilder(records.size() * 128);
+        for (DrivingRecord record : records) {
+            csv.append(record.getVin()).append(',')
+                    .append(Timestamp.valueOf(record.getRecordTime())).append(',')
+                    .append(record.getMileage().toPlainString()).append(',')
+                    .append(record.getSpeed().toPlainString()).append(',')
+                    .append(record.getBatteryLevel()).append(',')
+                    .append(record.getEnergyConsumption().toPlainString()).append(',')
+                    .append(record.getLatitude().toPlainString()).append(',')
+                    .append(record.getLongitude().toPlainString()).append(',');
+            appendQuoted(csv, record.getStatusCode());
+            csv.append(',')
+                    .append(record.getAbnormal()).append(',')
+                    .append(Timestamp.valueOf(record.getCreatedAt())).append('\n');
+        }
+        try {
+            connection.getCopyAPI().copyIn(COPY_SQL, new StringReader(csv.toString()));
+        } catch (IOException e) {
+            throw new SQLException("COPY写入行驶记录失败", e);
+        }
+    }
+
+    private static void appendQuoted(StringBuilder csv, String value) {
+        csv.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private void batchInsert(List<DrivingRecord> records) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, records, records.size(), (ps, record) -> {
+            ps.setString(1, record.getVin());
+            ps.setTimestamp(2, Timestamp.valueOf(record.getRecordTime()));
+            ps.setBigDecimal(3, record.getMileage());
+            ps.setBigDecimal(4, record.getSpeed());
+            ps.setInt(5, record.getBatteryLevel());
+            ps.setBigDecimal(6, record.getEnergyConsumption());
+            ps.setBigDecimal(7, record.getLatitude());
+            ps.setBigDecimal(8, record.getLongitude());
+            ps.setString(9, record.getStatusCode());
+            ps.setBoolean(10, record.getAbnormal());
+            ps.setTimestamp(11, Timestamp.valueOf(record.getCreatedAt()));
+        });
+    }
+}
@@ -0,0 +1,121 @@
+// backend/src/main/java/com/example/evcarbonmonitor/repository/FleetStateRepository.java
+package com.example.evcarbonmonitor.repository;
+
+import com.example.evcarbonmonitor.domain.VehicleState;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 车辆实时状态的加载和回写
+ */
+@Repository
+public class FleetStateRepository {
+
+    // 车辆状态加上当天的累计和最新数据点，行驶记录只扫描当天所在分区
+    private static final String LOAD_SQL =
+            "WITH t AS (" +
+            "  SELECT vin, COUNT(*) AS c, SUM(mileage) AS m, SUM(energy_consumption) AS e FROM driving_records " +
+            "  WHERE record_time >= ? AND record_time < ? GROUP BY vin), " +
+            "l AS (" +
+            "  SELECT DISTINCT ON (vin) vin, record_time, latitude, longitude, battery_level, speed " +
+            "  FROM driving_records WHERE record_time >= ? AND record_time < ? ORDER BY vin, record_time DESC) " +
+            "SELECT v.vin, v.status, v.last_update_time, t.c, t.m, t.e, " +
+            "l.record_time, l.latitude, l.longitude, l.battery_level, l.speed " +
+            "FROM vehicles v LEFT JOIN t ON t.vin = v.vin LEFT JOIN l ON l.vin = v.vin";
+
+    // 只更新确实变化的行，调用方按VIN码排序，固定行锁顺序；自连接o读到的是更新前的状态
+    // 不改变版本号：实时状态不属于车辆信息，回写不应使客户端持有的ETag失效
+    private static final String UPDATE_SQL =
+            "UPDATE vehicles v SET status = x.status, last_update_time = x.last_update_time " +
+            "FROM unnest(?::varchar[], ?::varchar[], ?::timestamp[]) AS x(vin, status, last_update_time), vehicles o " +
+            "WHERE v.vin = x.vin AND o.vin = x.vin " +
+            "AND (v.status <> x.status OR v.last_update_time < x.last_update_time) " +
+            "RETURNING v.vin, o.status";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 回写后的一行，previousStatus为回写前数据库中的状态
+     */
+    public static class UpdatedState {
+        private final String vin;
+        private final String previousStatus;
+
+        public UpdatedState(String vin, String previousStatus) {
+            this.vin = vin;
+            this.previousStatus = previousStatus;
+        }
+
+        public String getVin() {
+            return vin;
+        }
+
+        public String getPreviousStatus() {
+            return previousStatus;
+        }
+    }
+
+    @Autowired
+    public FleetStateRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 逐行读取所有车辆的状态及指定日期的累计
+     */
+    public void forEachState(LocalDate day, Consumer<VehicleState> consumer) {
+        Timestamp from = Timestamp.valueOf(day.atStartOfDay());
+        Timestamp to = Timestamp.valueOf(day.plusDays(1).atStartOfDay());
+        jdbcTemplate.query(LOAD_SQL, ps -> {
+            ps.setTimestamp(1, from);
+            ps.setTimestamp(2, to);
+            ps.setTimestamp(3, from);
+            ps.setTimestamp(4, to);
+        }, (RowCallbackHandler) rs -> {
+            Timestamp recordTime = rs.getTimestamp(7);
+            long records = rs.getLong(4);
+            consumer.accept(new VehicleState(
+                    rs.getString(1),
+                    rs.getString(2),
+                    rs.getTimestamp(3).toLocalDateTime(),
+                    recordTime != null ? recordTime.toLocalDateTime() : null,
+                    rs.getBigDecimal(8),
+                    rs.getBigDecimal(9),
+                    recordTime != null ? rs.getInt(10) : null,
+                    rs.getBigDecimal(11),
+                    records > 0 ? day : null,
+                    records,
+                    records > 0 ? rs.getBigDecimal(5) : BigDecimal.ZERO,
+                    records > 0 ? rs.getBigDecimal(6) : BigDecimal.ZERO));
+        });
+    }
+
+    /**
+     * 回写车辆状态和最后上报时间
+     * @return 实际更新的行
+     */
+    public List<UpdatedState> updateStates(List<VehicleState> states) {
+        List<UpdatedState> updated = new ArrayList<>();
+        if (states.isEmpty()) {
+            return updated;
+        }
+        jdbcTemplate.query(UPDATE_SQL, ps -> {
+            Connection connection = ps.getConnection();
+            ps.setArray(1, connection.createArrayOf("varchar", states.stream().map(VehicleState::getVin).toArray()));
+            ps.setArray(2, connection.createArrayOf("varchar", states.stream().map(VehicleState::getStatus).toArray()));
+            ps.setArray(3, connection.createArrayOf("timestamp",
+                    states.stream().map(s -> Timestamp.valueOf(s.getLastUpdateTime())).toArray()));
+        }, (RowCallbackHandler) rs -> updated.add(new UpdatedState(rs.getString(1), rs.getString(2))));
+        return updated;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.evcarbonmonitor.repository;
+
+import com.example.evcarbonmonitor.domain.ImportJobFailure;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ImportJobFailureRepository extends JpaRepository<ImportJobFailure, Long> {
+
+    List<ImportJobFailure> findByJobIdOrderByLine(String jobId);
+}
@@ -0,0 +1,14 @@
+package com.example.evcarbonmonitor.repository;
+
+import com.example.evcarbonmonitor.domain.ImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, String> {
+
+    List<ImportJob> findByStatusInOrderByCreatedAt(Collection<String> statuses);
+}
@@ -0,0 +1,92 @@
+// backend/src/main/java/com/example/evcarbonmonitor/repository/PartitionRepository.java
+package com.example.evcarbonmonitor.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * PostgreSQL范围分区的查询和DDL，需在调用方的事务中执行
+ * 表名、分区名和边界值都来自PartitionedTable，不接受外部输入
+ */
+@Repository
+public class PartitionRepository {
+
+    // 多实例同时维护分区时串行执行
+    private static final long MAINTENANCE_LOCK_KEY = 0x70617274L;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public PartitionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 获取分区维护锁，事务结束时释放
+     */
+    public void lock() {
+        jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(?)::text", String.class, MAINTENANCE_LOCK_KEY);
+    }
+
+    /**
+     * 查询表当前挂载的分区名，包括默认分区
+     */
+    public List<String> findPartitions(PartitionedTable table) {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = CAST(? AS regclass) ORDER BY c.relname",
+                String.class, table.getTableName());
+    }
+
+    /**
+     * 查询默认分区中数据所属的分区起始日期
+     */
+    public List<LocalDate> findDefaultRangeStarts(PartitionedTable table) {
+        String unit = table.getMonths() == 1 ? "month" : "quarter";
+        return jdbcTemplate.queryForList(
+                "SELECT DISTINCT CAST(date_trunc('" + unit + "', " + table.getColumn() + ") AS DATE) FROM " +
+                table.getDefaultPartition() + " ORDER BY 1",
+                LocalDate.class);
+    }
+
+    /**
+     * 创建分区
+     * 默认分区中已有属于该范围的数据时，先分离默认分区，建好分区后把这些数据移入，再重新挂载默认分区
+     * @return 从默认分区移入的行数
+     */
+    public int createPartition(PartitionedTable table, LocalDate start) {
+        String range = table.getColumn() + " >= '" + start + "' AND " + table.getColumn() + " < '" +
+                table.rangeEnd(start) + "'";
+        String create = "CREATE TABLE " + table.partitionName(start) + " PARTITION OF " + table.getTableName() +
+                " FOR VALUES FROM ('" + start + "') TO ('" + table.rangeEnd(start) + "')";
+        Boolean hasDefaultRows = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + table.getDefaultPartition() + " WHERE " + range + ")", Boolean.class);
+        if (!Boolean.TRUE.equals(hasDefaultRows)) {
+            jdbcTemplate.execute(create);
+            return 0;
+        }
+        jdbcTemplate.execute("ALTER TABLE " + table.getTableName() + " DETACH PARTITION " + table.getDefaultPartition());
+        jdbcTemplate.execute(create);
+        int moved = jdbcTemplate.update("INSERT INTO " + table.getTableName() +
+                " SELECT * FROM " + table.getDefaultPartition() + " WHERE " + range);
+        jdbcTemplate.update("DELETE FROM " + table.getDefaultPartition() + " WHERE " + range);
+        jdbcTemplate.execute("ALTER TABLE " + table.getTableName() + " ATTACH PARTITION " +
+                table.getDefaultPartition() + " DEFAULT");
+        return moved;
+    }
+
+    /**
+     * 分离分区，分离后成为同名的独立表
+     */
+    public void detachPartition(PartitionedTable table, String partitionName) {
+        jdbcTemplate.execute("ALTER TABLE " + table.getTableName() + " DETACH PARTITION " + partitionName);
+    }
+
+    public void dropTable(String tableName) {
+        jdbcTemplate.execute("DROP TABLE " + tableName);
+    }
+}
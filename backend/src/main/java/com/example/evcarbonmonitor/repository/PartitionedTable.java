@@ -0,0 +1,89 @@
+// backend/src/main/java/com/example/evcarbonmonitor/repository/PartitionedTable.java
+package com.example.evcarbonmonitor.repository;
+
+import java.time.LocalDate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 按时间范围分区的表(见db/migration/V2)
+ * 行驶记录每月一个分区，碳减排记录每季度一个分区；分区名由表名和分区起始日期组成
+ */
+public enum PartitionedTable {
+
+    DRIVING_RECORDS("driving_records", "record_time", 1),
+    CARBON_RECORDS("carbon_records", "calculation_date", 3);
+
+    private final String tableName;
+    private final String column;
+    private final int months;
+    private final Pattern namePattern;
+
+    PartitionedTable(String tableName, String column, int months) {
+        this.tableName = tableName;
+        this.column = column;
+        this.months = months;
+        this.namePattern = Pattern.compile(Pattern.quote(tableName) + (months == 1 ? "_y(\\d{4})m(\\d{2})" : "_y(\\d{4})q(\\d)"));
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * 分区键列
+     */
+    public String getColumn() {
+        return column;
+    }
+
+    /**
+     * 每个分区覆盖的月数
+     */
+    public int getMonths() {
+        return months;
+    }
+
+    /**
+     * 接收尚未建分区数据的默认分区
+     */
+    public String getDefaultPartition() {
+        return tableName + "_default";
+    }
+
+    /**
+     * 包含该日期的分区的起始日期
+     */
+    public LocalDate rangeStart(LocalDate date) {
+        int month = (date.getMonthValue() - 1) / months * months + 1;
+        return LocalDate.of(date.getYear(), month, 1);
+    }
+
+    /**
+     * 分区的结束日期(不包含)，即下一个分区的起始日期
+     */
+    public LocalDate rangeEnd(LocalDate start) {
+        return start.plusMonths(months);
+    }
+
+    public String partitionName(LocalDate start) {
+        if (months == 1) {
+            return String.format("%s_y%04dm%02d", tableName, start.getYear(), start.getMonthValue());
+        }
+        return String.format("%s_y%04dq%d", tableName, start.getYear(), (start.getMonthValue() - 1) / months + 1);
+    }
+
+    /**
+     * 从分区名解析分区起始日期
+     * @return 不是按本规则命名的分区(如默认分区)时返回null
+     */
+    public LocalDate parseRangeStart(String partitionName) {
+        Matcher matcher = namePattern.matcher(partitionName);
+        if (!matcher.matches()) {
+            return null;
+        }
+        int year = Integer.parseInt(matcher.group(1));
+        int index = Integer.parseInt(matcher.group(2));
+        return LocalDate.of(year, months == 1 ? index : (index - 1) * months + 1, 1);
+    }
+}
@@ -0,0 +1,71 @@
+// backend/src/main/java/com/example/evcarbonmonitor/repository/RollupSegment.java
+package com.example.evcarbonmonitor.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 用一种粒度的汇总覆盖的时间段[start, end)
+ */
+public class RollupSegment {
+
+    // 从粗到细尝试的汇总粒度
+    private static final TimeBucket[] STORED_COARSE_TO_FINE = {TimeBucket.MONTH, TimeBucket.DAY, TimeBucket.HOUR};
+
+    private final TimeBucket bucket;
+    private final LocalDateTime start;
+    private LocalDateTime end;
+
+    public RollupSegment(TimeBucket bucket, LocalDateTime start, LocalDateTime end) {
+        this.bucket = bucket;
+        this.start = start;
+        this.end = end;
+    }
+
+    public TimeBucket getBucket() {
+        return bucket;
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public LocalDateTime getEnd() {
+        return end;
+    }
+
+    /**
+     * 用尽量粗的汇总覆盖[from, to)，每个汇总桶都不跨越groupBy的桶边界，
+     * 这样查询结果可以按groupBy直接归并；相邻的同粒度时间段合并为一段
+     * @param from 起始时间，需与finest对齐
+     * @param to 结束时间(不包含)，需与finest对齐
+     * @param finest 可用的最细粒度
+     */
+    public static List<RollupSegment> plan(LocalDateTime from, LocalDateTime to, TimeBucket groupBy, TimeBucket finest) {
+        List<RollupSegment> segments = new ArrayList<>();
+        for (LocalDateTime group = groupBy.truncate(from); group.isBefore(to); group = groupBy.next(group)) {
+            LocalDateTime groupEnd = groupBy.next(group).isBefore(to) ? groupBy.next(group) : to;
+            LocalDateTime cursor = group.isAfter(from) ? group : from;
+            while (cursor.isBefore(groupEnd)) {
+                TimeBucket chosen = finest;
+                for (TimeBucket candidate : STORED_COARSE_TO_FINE) {
+                    if (candidate.compareTo(finest) >= 0 && candidate.truncate(cursor).equals(cursor)
+                            && !candidate.next(cursor).isAfter(groupEnd)) {
+                        chosen = candidate;
+                        break;
+                    }
+                }
+                LocalDateTime next = chosen.next(cursor);
+                RollupSegment last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+                if (last != null && last.bucket == chosen && last.end.equals(cursor)) {
+                    last.end = next;
+                } else {
+                    segments.add(new RollupSegment(chosen, cursor, next));
+                }
+                cursor = next;
+            }
+        }
+        return segments;
+    }
+}
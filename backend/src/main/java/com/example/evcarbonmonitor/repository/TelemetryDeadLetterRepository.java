@@ -0,0 +1,46 @@
+// backend/src/main/java/com/example/evcarbonmonitor/repository/TelemetryDeadLetterRepository.java
+package com.example.evcarbonmonitor.repository;
+
+import com.example.evcarbonmonitor.domain.DrivingRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * 行驶数据死信表，保存无法写入driving_records的单条数据点
+ */
+@Repository
+public class TelemetryDeadLetterRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO telemetry_dead_letters (vin, record_time, payload, reason, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private static final int MAX_REASON_LENGTH = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public TelemetryDeadLetterRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 保存一条死信
+     * @param record 写入失败的数据点
+     * @param payload 数据点的JSON
+     * @param reason 失败原因，超长时截断
+     */
+    public void insert(DrivingRecord record, String payload, String reason) {
+        String truncated = reason == null ? "未知错误"
+                : reason.length() > MAX_REASON_LENGTH ? reason.substring(0, MAX_REASON_LENGTH) : reason;
+        jdbcTemplate.update(INSERT_SQL,
+                record.getVin(),
+                record.getRecordTime() != null ? Timestamp.valueOf(record.getRecordTime()) : null,
+                payload,
+                truncated,
+                Timestamp.valueOf(LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,76 @@
+// backend/src/main/java/com/example/evcarbonmonitor/repository/TimeBucket.java
+package com.example.evcarbonmonitor.repository;
+
+import com.example.evcarbonmonitor.exception.ApiException;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * 趋势查询的时间桶
+ * hour、day、month三种粒度在analytics_rollups中有汇总，week(周一开始)由day汇总合并
+ */
+public enum TimeBucket {
+
+    HOUR("hour", true),
+    DAY("day", true),
+    WEEK("week", false),
+    MONTH("month", true);
+
+    private final String value;
+    private final boolean stored;
+
+    TimeBucket(String value, boolean stored) {
+        this.value = value;
+        this.stored = stored;
+    }
+
+    /**
+     * 请求参数和analytics_rollups.granularity中的取值
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * 是否有对应粒度的汇总
+     */
+    public boolean isStored() {
+        return stored;
+    }
+
+    /**
+     * 包含该时间的时间桶的起始时间
+     */
+    public LocalDateTime truncate(LocalDateTime time) {
+        return switch (this) {
+            case HOUR -> time.truncatedTo(ChronoUnit.HOURS);
+            case DAY -> time.truncatedTo(ChronoUnit.DAYS);
+            case WEEK -> time.truncatedTo(ChronoUnit.DAYS).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> time.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+        };
+    }
+
+    /**
+     * 下一个时间桶的起始时间
+     */
+    public LocalDateTime next(LocalDateTime bucketStart) {
+        return switch (this) {
+            case HOUR -> bucketStart.plusHours(1);
+            case DAY -> bucketStart.plusDays(1);
+            case WEEK -> bucketStart.plusWeeks(1);
+            case MONTH -> bucketStart.plusMonths(1);
+        };
+    }
+
+    public static TimeBucket fromValue(String value) {
+        for (TimeBucket bucket : values()) {
+            if (bucket.value.equalsIgnoreCase(value)) {
+                return bucket;
+            }
+        }
+        throw new ApiException(400, "不支持的分组方式: " + value);
+    }
+}
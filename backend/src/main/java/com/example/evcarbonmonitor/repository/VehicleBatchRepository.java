@@ -0,0 +1,287 @@
+// backend/src/main/java/com/example/evcarbonmonitor/repository/VehicleBatchRepository.java
+package com.example.evcarbonmonitor.repository;
+
+import com.example.evcarbonmonitor.domain.Vehicle;
+import com.example.evcarbonmonitor.dto.VehicleDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * 车辆批量数据访问
+ * 绕过JPA持久化上下文，直接使用JDBC批量语句，供批量导入、批量修改等大数据量场景使用
+ */
+@Repository
+public class VehicleBatchRepository {
+
+    // VIN码或车牌号已存在的行跳过，不抛出唯一约束异常；并发写入同一VIN码或车牌号时由唯一索引裁决
+    private static final String INSERT_SQL =
+            "INSERT INTO vehicles (vin, model, license_plate, manufacturer, production_year, battery_capacity, " +
+            "max_range, register_date, status, last_update_time, created_at, updated_at) " +
+            "SELECT * FROM unnest(?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[], ?::int[], ?::numeric[], " +
+            "?::int[], ?::date[], ?::varchar[], ?::timestamp[], ?::timestamp[], ?::timestamp[]) " +
+            "ON CONFLICT DO NOTHING " +
+            "RETURNING vin";
+
+    // 部分更新：数组中为NULL的字段保持原值；给出期望版本号时只更新版本号一致的行，每次更新版本号加1
+    // 自连接的o是更新前的行，用于返回原状态
+    private static final String UPDATE_SQL =
+            "UPDATE vehicles v SET " +
+            "model = COALESCE(u.model, v.model), " +
+            "license_plate = COALESCE(u.license_plate, v.license_plate), " +
+            "manufacturer = COALESCE(u.manufacturer, v.manufacturer), " +
+            "production_year = COALESCE(u.production_year, v.production_year), " +
+            "battery_capacity = COALESCE(u.battery_capacity, v.battery_capacity), " +
+            "max_range = COALESCE(u.max_range, v.max_range), " +
+            "register_date = COALESCE(u.register_date, v.register_date), " +
+            "status = COALESCE(u.status, v.status), " +
+            "last_update_time = ?, updated_at = ?, version = v.version + 1 " +
+            "FROM unnest(?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[], ?::int[], ?::numeric[], ?::int[], " +
+            "?::date[], ?::varchar[], ?::bigint[]) AS u(vin, model, license_plate, manufacturer, production_year, " +
+            "battery_capacity, max_range, register_date, status, version), vehicles o " +
+            "WHERE v.vin = u.vin AND o.vin = v.vin AND (u.version IS NULL OR v.version = u.version) " +
+            "RETURNING v.vin, o.status, v.status, v.version";
+
+    private static final String UPDATE_STATUS_SQL =
+            "UPDATE vehicles v SET status = ?, last_update_time = ?, updated_at = ?, version = v.version + 1 " +
+            "FROM vehicles o " +
+            "WHERE v.vin = ANY(?::varchar[]) AND v.status <> ? AND o.vin = v.vin " +
+            "RETURNING v.vin, o.status, v.version";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    public VehicleBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    /**
+     * 批量修改或删除的一辆车
+     */
+    public static class UpdatedVehicle {
+        private final String vin;
+        private final String previousStatus;
+        // 删除时为null
+        private final String status;
+        // 更新后的版本号，删除时为删除前的版本号
+        private final long version;
+
+        public UpdatedVehicle(String vin, String previousStatus, String status, long version) {
+            this.vin = vin;
+            this.previousStatus = previousStatus;
+            this.status = status;
+            this.version = version;
+        }
+
+        public String getVin() {
+            return vin;
+        }
+
+        public String getPreviousStatus() {
+            return previousStatus;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+    }
+
+    /**
+     * 查询给定VIN码中已存在的部分（一次查询）
+     */
+    public Set<String> findExistingVins(Collection<String> vins) {
+        if (vins.isEmpty()) {
+            return new HashSet<>();
+        }
+        List<String> existing = namedParameterJdbcTemplate.queryForList(
+                "SELECT vin FROM vehicles WHERE vin IN (:values)",
+                new MapSqlParameterSource("values", vins),
+                String.class);
+        return new HashSet<>(existing);
+    }
+
+    /**
+     * 逐行读取所有车辆的VIN码，不在内存中构造结果列表
+     */
+    public void forEachVin(Consumer<String> consumer) {
+        jdbcTemplate.query("SELECT vin FROM vehicles", (RowCallbackHandler) rs -> consumer.accept(rs.getString(1)));
+    }
+
+    /**
+     * 按VIN码顺序逐批读取所有车辆的VIN码和车牌号
+     * PostgreSQL驱动只在事务中才按fetchSize使用服务端游标，调用方需开启事务
+     */
+    public void forEachVinAndPlate(int fetchSize, BiConsumer<String, String> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement("SELECT vin, license_plate FROM vehicles ORDER BY vin");
+            ps.setFetchSize(fetchSize);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(rs.getString(1), rs.getString(2)));
+    }
+
+    /**
+     * 按VIN码或车牌号前缀查询车辆，使用两列的varchar_pattern_ops索引(V5迁移)
+     * @param prefix 不含LIKE通配符的前缀
+     * @return VIN码到车牌号，按VIN码排序
+     */
+    public Map<String, String> findByVinOrPlatePrefix(String prefix, int limit) {
+        Map<String, String> found = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT vin, license_plate FROM vehicles WHERE vin LIKE ? OR license_plate LIKE ? " +
+                        "ORDER BY vin LIMIT ?",
+                (RowCallbackHandler) rs -> found.put(rs.getString(1), rs.getString(2)),
+                prefix + "%", prefix + "%", limit);
+        return found;
+    }
+
+    /**
+     * 查询给定车牌号中已存在的部分（一次查询）
+     */
+    public Set<String> findExistingLicensePlates(Collection<String> licensePlates) {
+        if (licensePlates.isEmpty()) {
+            return new HashSet<>();
+        }
+        List<String> existing = namedParameterJdbcTemplate.queryForList(
+                "SELECT license_plate FROM vehicles WHERE license_plate IN (:values)",
+                new MapSqlParameterSource("values", licensePlates),
+                String.class);
+        return new HashSet<>(existing);
+    }
+
+    /**
+     * 查询给定车牌号当前所属的车辆（一次查询）
+     * @return 车牌号到VIN码的映射，不存在的车牌号不在结果中
+     */
+    public Map<String, String> findVinsByLicensePlates(Collection<String> licensePlates) {
+        Map<String, String> owners = new HashMap<>();
+        if (licensePlates.isEmpty()) {
+            return owners;
+        }
+        namedParameterJdbcTemplate.query(
+                "SELECT license_plate, vin FROM vehicles WHERE license_plate IN (:values)",
+                new MapSqlParameterSource("values", licensePlates),
+                (RowCallbackHandler) rs -> owners.put(rs.getString(1), rs.getString(2)));
+        return owners;
+    }
+
+    /**
+     * 一条语句插入多辆车，VIN码或车牌号已存在的车辆跳过
+     * @return 实际插入的车辆VIN码，跳过的车辆不在结果中
+     */
+    public Set<String> insertNew(List<Vehicle> vehicles) {
+        Set<String> inserted = new HashSet<>();
+        if (vehicles.isEmpty()) {
+            return inserted;
+        }
+        jdbcTemplate.query(INSERT_SQL, ps -> {
+            Connection connection = ps.getConnection();
+            ps.setArray(1, connection.createArrayOf("varchar", vehicles.stream().map(Vehicle::getVin).toArray()));
+            ps.setArray(2, connection.createArrayOf("varchar", vehicles.stream().map(Vehicle::getModel).toArray()));
+            ps.setArray(3, connection.createArrayOf("varchar", vehicles.stream().map(Vehicle::getLicensePlate).toArray()));
+            ps.setArray(4, connection.createArrayOf("varchar", vehicles.stream().map(Vehicle::getManufacturer).toArray()));
+            ps.setArray(5, connection.createArrayOf("int4", vehicles.stream().map(Vehicle::getProductionYear).toArray()));
+            ps.setArray(6, connection.createArrayOf("numeric", vehicles.stream().map(Vehicle::getBatteryCapacity).toArray()));
+            ps.setArray(7, connection.createArrayOf("int4", vehicles.stream().map(Vehicle::getMaxRange).toArray()));
+            ps.setArray(8, connection.createArrayOf("date", vehicles.stream()
+                    .map(v -> Date.valueOf(v.getRegisterDate())).toArray()));
+            ps.setArray(9, connection.createArrayOf("varchar", vehicles.stream().map(Vehicle::getStatus).toArray()));
+            ps.setArray(10, connection.createArrayOf("timestamp", vehicles.stream()
+                    .map(v -> Timestamp.valueOf(v.getLastUpdateTime())).toArray()));
+            ps.setArray(11, connection.createArrayOf("timestamp", vehicles.stream()
+                    .map(v -> Timestamp.valueOf(v.getCreatedAt())).toArray()));
+            ps.setArray(12, connection.createArrayOf("timestamp", vehicles.stream()
+                    .map(v -> Timestamp.valueOf(v.getUpdatedAt())).toArray()));
+        }, (RowCallbackHandler) rs -> inserted.add(rs.getString(1)));
+        return inserted;
+    }
+
+    /**
+     * 一条语句部分更新多辆车，VIN码需去重
+     * @param changes 每辆车要修改的字段，为空的字段不修改；version不为空时只在版本号一致时更新
+     * @return 实际更新的车辆，不存在或版本号不一致的车辆不在结果中
+     */
+    public List<UpdatedVehicle> batchUpdate(List<VehicleDTO> changes, LocalDateTime now) {
+        List<UpdatedVehicle> updated = new ArrayList<>();
+        if (changes.isEmpty()) {
+            return updated;
+        }
+        jdbcTemplate.query(UPDATE_SQL, ps -> {
+            Connection connection = ps.getConnection();
+            ps.setTimestamp(1, Timestamp.valueOf(now));
+            ps.setTimestamp(2, Timestamp.valueOf(now));
+            ps.setArray(3, connection.createArrayOf("varchar", changes.stream().map(VehicleDTO::getVin).toArray()));
+            ps.setArray(4, connection.createArrayOf("varchar", changes.stream().map(VehicleDTO::getModel).toArray()));
+            ps.setArray(5, connection.createArrayOf("varchar", changes.stream().map(VehicleDTO::getLicensePlate).toArray()));
+            ps.setArray(6, connection.createArrayOf("varchar", changes.stream().map(VehicleDTO::getManufacturer).toArray()));
+            ps.setArray(7, connection.createArrayOf("int4", changes.stream().map(VehicleDTO::getProductionYear).toArray()));
+            ps.setArray(8, connection.createArrayOf("numeric", changes.stream().map(VehicleDTO::getBatteryCapacity).toArray()));
+            ps.setArray(9, connection.createArrayOf("int4", changes.stream().map(VehicleDTO::getMaxRange).toArray()));
+            ps.setArray(10, connection.createArrayOf("date", changes.stream()
+                    .map(c -> c.getRegisterDate() != null ? Date.valueOf(c.getRegisterDate()) : null).toArray()));
+            ps.setArray(11, connection.createArrayOf("varchar", changes.stream().map(VehicleDTO::getStatus).toArray()));
+            ps.setArray(12, connection.createArrayOf("int8", changes.stream().map(VehicleDTO::getVersion).toArray()));
+        }, (RowCallbackHandler) rs -> updated.add(
+                new UpdatedVehicle(rs.getString(1), rs.getString(2), rs.getString(3), rs.getLong(4))));
+        return updated;
+    }
+
+    /**
+     * 把多辆车改为同一状态，状态已经相同的车辆不更新
+     * @return 实际更新的车辆及其原状态
+     */
+    public List<UpdatedVehicle> updateStatus(Collection<String> vins, String status, LocalDateTime now) {
+        List<UpdatedVehicle> updated = new ArrayList<>();
+        if (vins.isEmpty()) {
+            return updated;
+        }
+        jdbcTemplate.query(UPDATE_STATUS_SQL, ps -> {
+            ps.setString(1, status);
+            ps.setTimestamp(2, Timestamp.valueOf(now));
+            ps.setTimestamp(3, Timestamp.valueOf(now));
+            ps.setArray(4, ps.getConnection().createArrayOf("varchar", vins.toArray()));
+            ps.setString(5, status);
+        }, (RowCallbackHandler) rs -> updated.add(
+                new UpdatedVehicle(rs.getString(1), rs.getString(2), status, rs.getLong(3))));
+        return updated;
+    }
+
+    /**
+     * 一条语句删除多辆车
+     * @return 实际删除的车辆及其删除前的状态
+     */
+    public List<UpdatedVehicle> deleteAll(Collection<String> vins) {
+        List<UpdatedVehicle> deleted = new ArrayList<>();
+        if (vins.isEmpty()) {
+            return deleted;
+        }
+        jdbcTemplate.query("DELETE FROM vehicles WHERE vin = ANY(?::varchar[]) RETURNING vin, status, version",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("varchar", vins.toArray())),
+                (RowCallbackHandler) rs -> deleted.add(
+                        new UpdatedVehicle(rs.getString(1), rs.getString(2), null, rs.getLong(3))));
+        return deleted;
+    }
+}
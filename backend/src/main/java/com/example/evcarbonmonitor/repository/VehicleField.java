@@ -0,0 +1,109 @@
+// backend/src/main/java/com/example/evcarbonmonitor/repository/VehicleField.java
+package com.example.evcarbonmonitor.repository;
+
+import com.example.evcarbonmonitor.dto.VehicleDTO;
+import com.example.evcarbonmonitor.exception.ApiException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * 车辆列表可按需返回的字段(fields参数)
+ * 每个字段对应投影查询中的一个JPQL表达式，统计字段来自LEFT JOIN的vehicle_stats
+ */
+public enum VehicleField {
+
+    VIN("vin", "v.vin", (dto, value) -> dto.setVin((String) value)),
+    MODEL("model", "v.model", (dto, value) -> dto.setModel((String) value)),
+    LICENSE_PLATE("licensePlate", "v.licensePlate", (dto, value) -> dto.setLicensePlate((String) value)),
+    MANUFACTURER("manufacturer", "v.manufacturer", (dto, value) -> dto.setManufacturer((String) value)),
+    PRODUCTION_YEAR("productionYear", "v.productionYear", (dto, value) -> dto.setProductionYear((Integer) value)),
+    BATTERY_CAPACITY("batteryCapacity", "v.batteryCapacity",
+            (dto, value) -> dto.setBatteryCapacity((BigDecimal) value)),
+    MAX_RANGE("maxRange", "v.maxRange", (dto, value) -> dto.setMaxRange((Integer) value)),
+    REGISTER_DATE("registerDate", "v.registerDate", (dto, value) -> dto.setRegisterDate((LocalDate) value)),
+    STATUS("status", "v.status", (dto, value) -> dto.setStatus((String) value)),
+    LAST_UPDATE_TIME("lastUpdateTime", "v.lastUpdateTime",
+            (dto, value) -> dto.setLastUpdateTime((LocalDateTime) value)),
+    VERSION("version", "v.version", (dto, value) -> dto.setVersion((Long) value)),
+    TOTAL_MILEAGE("totalMileage", "s.totalMileage", (dto, value) -> dto.setTotalMileage(orZero(value))),
+    TOTAL_ENERGY("totalEnergy", "s.totalEnergy", (dto, value) -> dto.setTotalEnergy(orZero(value))),
+    TOTAL_CARBON_REDUCTION("totalCarbonReduction", "s.totalCarbonReduction",
+            (dto, value) -> dto.setTotalCarbonReduction(orZero(value))),
+    CARBON_CREDITS("carbonCredits", "s.carbonCredits", (dto, value) -> dto.setCarbonCredits(orZero(value)));
+
+    private final String property;
+    private final String expression;
+    private final BiConsumer<VehicleDTO, Object> setter;
+
+    VehicleField(String property, String expression, BiConsumer<VehicleDTO, Object> setter) {
+        this.property = property;
+        this.expression = expression;
+        this.setter = setter;
+    }
+
+    /**
+     * DTO属性名，即fields参数中的字段名
+     */
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * 投影查询中的JPQL表达式
+     */
+    public String getExpression() {
+        return expression;
+    }
+
+    /**
+     * 是否需要关联vehicle_stats
+     */
+    public boolean isStats() {
+        return expression.startsWith("s.");
+    }
+
+    /**
+     * 把查询结果写入DTO
+     */
+    public void set(VehicleDTO dto, Object value) {
+        setter.accept(dto, value);
+    }
+
+    /**
+     * 按属性名查找字段
+     */
+    public static VehicleField fromProperty(String property) {
+        for (VehicleField field : values()) {
+            if (field.property.equals(property)) {
+                return field;
+            }
+        }
+        throw new ApiException(400, "不支持的字段: " + property);
+    }
+
+    /**
+     * 解析逗号分隔的fields参数，VIN码总是返回
+     * @return 为空时返回null，表示返回全部字段
+     */
+    public static Set<VehicleField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<VehicleField> result = EnumSet.of(VIN);
+        for (String property : fields.split(",")) {
+            if (!property.isBlank()) {
+                result.add(fromProperty(property.trim()));
+            }
+        }
+        return result;
+    }
+
+    private static BigDecimal orZero(Object value) {
+        return value != null ? (BigDecimal) value : BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,193 @@
+// backend/src/main/java/com/example/evcarbonmonitor/repository/VehicleFilter.java
+package com.example.evcarbonmonitor.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * 车辆列表的筛选条件，为null的条件不参与查询
+ * 只拼接给出的条件，不使用(:x IS NULL OR ...)的写法，每个条件都有可用的索引(V5迁移)：
+ * 状态(status, vin)，制造商和生产年份(manufacturer, production_year)，电池容量、注册日期各自的索引，
+ * VIN码和车牌号前缀使用varchar_pattern_ops索引，车型模糊匹配使用lower(model)的三元组索引
+ */
+public class VehicleFilter {
+
+    private String status;
+    private String manufacturer;
+    // 车型关键字，不区分大小写的包含匹配
+    private String model;
+    private Integer productionYearFrom;
+    private Integer productionYearTo;
+    private BigDecimal batteryCapacityMin;
+    private BigDecimal batteryCapacityMax;
+    private LocalDate registerDateFrom;
+    private LocalDate registerDateTo;
+    // 前缀只允许字母、数字和汉字，不含LIKE通配符
+    private String vinPrefix;
+    private String platePrefix;
+
+    /**
+     * 是否只按状态筛选(或不筛选)
+     */
+    public boolean isStatusOnly() {
+        return manufacturer == null && model == null && productionYearFrom == null && productionYearTo == null
+                && batteryCapacityMin == null && batteryCapacityMax == null
+                && registerDateFrom == null && registerDateTo == null
+                && vinPrefix == null && platePrefix == null;
+    }
+
+    /**
+     * 追加筛选条件和参数，where中应已有WHERE子句
+     * @param sql true时使用数据库列名(原生SQL)，false时使用实体属性(JPQL)；两种写法的参数名相同
+     */
+    public void appendConditions(StringBuilder where, Map<String, Object> parameters, boolean sql) {
+        if (status != null) {
+            where.append(" AND ").append(column("status", "status", sql)).append(" = :status");
+            parameters.put("status", status);
+        }
+        if (manufacturer != null) {
+            where.append(" AND ").append(column("manufacturer", "manufacturer", sql)).append(" = :manufacturer");
+            parameters.put("manufacturer", manufacturer);
+        }
+        if (productionYearFrom != null) {
+            where.append(" AND ").append(column("productionYear", "production_year", sql))
+                 .append(" >= :productionYearFrom");
+            parameters.put("productionYearFrom", productionYearFrom);
+        }
+        if (productionYearTo != null) {
+            where.append(" AND ").append(column("productionYear", "production_year", sql))
+                 .append(" <= :productionYearTo");
+            parameters.put("productionYearTo", productionYearTo);
+        }
+        if (model != null) {
+            where.append(" AND LOWER(").append(column("model", "model", sql)).append(") LIKE :model ESCAPE '\\'");
+            parameters.put("model", "%" + escapeLike(model.toLowerCase()) + "%");
+        }
+        if (batteryCapacityMin != null) {
+            where.append(" AND ").append(column("batteryCapacity", "battery_capacity", sql))
+                 .append(" >= :batteryCapacityMin");
+            parameters.put("batteryCapacityMin", batteryCapacityMin);
+        }
+        if (batteryCapacityMax != null) {
+            where.append(" AND ").append(column("batteryCapacity", "battery_capacity", sql))
+                 .append(" <= :batteryCapacityMax");
+            parameters.put("batteryCapacityMax", batteryCapacityMax);
+        }
+        if (registerDateFrom != null) {
+            where.append(" AND ").append(column("registerDate", "register_date", sql))
+                 .append(" >= :registerDateFrom");
+            parameters.put("registerDateFrom", registerDateFrom);
+        }
+        if (registerDateTo != null) {
+            where.append(" AND ").append(column("registerDate", "register_date", sql))
+                 .append(" <= :registerDateTo");
+            parameters.put("registerDateTo", registerDateTo);
+        }
+        if (vinPrefix != null) {
+            where.append(" AND ").append(column("vin", "vin", sql)).append(" LIKE :vinPrefix");
+            parameters.put("vinPrefix", vinPrefix + "%");
+        }
+        if (platePrefix != null) {
+            where.append(" AND ").append(column("licensePlate", "license_plate", sql)).append(" LIKE :platePrefix");
+            parameters.put("platePrefix", platePrefix + "%");
+        }
+    }
+
+    private static String column(String property, String columnName, boolean sql) {
+        return "v." + (sql ? columnName : property);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    // Getters and Setters
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getManufacturer() {
+        return manufacturer;
+    }
+
+    public void setManufacturer(String manufacturer) {
+        this.manufacturer = manufacturer;
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    public void setModel(String model) {
+        this.model = model;
+    }
+
+    public Integer getProductionYearFrom() {
+        return productionYearFrom;
+    }
+
+    public void setProductionYearFrom(Integer productionYearFrom) {
+        this.productionYearFrom = productionYearFrom;
+    }
+
+    public Integer getProductionYearTo() {
+        return productionYearTo;
+    }
+
+    public void setProductionYearTo(Integer productionYearTo) {
+        this.productionYearTo = productionYearTo;
+    }
+
+    public BigDecimal getBatteryCapacityMin() {
+        return batteryCapacityMin;
+    }
+
+    public void setBatteryCapacityMin(BigDecimal batteryCapacityMin) {
+        this.batteryCapacityMin = batteryCapacityMin;
+    }
+
+    public BigDecimal getBatteryCapacityMax() {
+        return batteryCapacityMax;
+    }
+
+    public void setBatteryCapacityMax(BigDecimal batteryCapacityMax) {
+        this.batteryCapacityMax = batteryCapacityMax;
+    }
+
+    public LocalDate getRegisterDateFrom() {
+        return registerDateFrom;
+    }
+
+    public void setRegisterDateFrom(LocalDate registerDateFrom) {
+        this.registerDateFrom = registerDateFrom;
+    }
+
+    public LocalDate getRegisterDateTo() {
+        return registerDateTo;
+    }
+
+    public void setRegisterDateTo(LocalDate registerDateTo) {
+        this.registerDateTo = registerDateTo;
+    }
+
+    public String getVinPrefix() {
+        return vinPrefix;
+    }
+
+    public void setVinPrefix(String vinPrefix) {
+        this.vinPrefix = vinPrefix;
+    }
+
+    public String getPlatePrefix() {
+        return platePrefix;
+    }
+
+    public void setPlatePrefix(String platePrefix) {
+        this.platePrefix = platePrefix;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.evcarbonmonitor.repository;
+
+import com.example.evcarbonmonitor.dto.VehicleDTO;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * 车辆自定义查询
+ */
+public interface VehicleRepositoryCustom {
+
+    /**
+     * 车辆列表投影：车辆字段和统计汇总字段一次查出，直接构造VehicleDTO
+     */
+    String DTO_SELECT = "SELECT new com.example.evcarbonmonitor.dto.VehicleDTO("
+            + "v.vin, v.model, v.licensePlate, v.manufacturer, v.productionYear, v.batteryCapacity, "
+            + "v.maxRange, v.registerDate, v.status, v.lastUpdateTime, v.version, "
+            + "s.totalMileage, s.totalEnergy, s.totalCarbonReduction, s.carbonCredits) "
+            + "FROM Vehicle v LEFT JOIN VehicleStats s ON s.vin = v.vin";
+
+    /**
+     * 偏移分页查询，结果直接投影为DTO
+     * @param fields 需要返回的字段，为null时返回全部字段
+     * @param filter 筛选条件
+     * @param sortField 排序字段
+     * @param ascending 是否升序
+     * @param offset 跳过的记录数
+     * @param limit 最多返回的记录数
+     */
+    List<VehicleDTO> findDtoPage(Set<VehicleField> fields, VehicleFilter filter, VehicleSortField sortField,
+                                 boolean ascending, int offset, int limit);
+
+    /**
+     * 游标分页查询：返回排在(lastValue, lastVin)之后的记录，结果直接投影为DTO
+     * @param fields 需要返回的字段，为null时返回全部字段
+     * @param filter 筛选条件
+     * @param sortField 排序字段
+     * @param ascending 是否升序
+     * @param lastValue 上一页最后一条的排序键，为null时从头开始
+     * @param lastVin 上一页最后一条的VIN码
+     * @param limit 最多返回的记录数
+     */
+    List<VehicleDTO> findDtoPageAfter(Set<VehicleField> fields, VehicleFilter filter, VehicleSortField sortField,
+                                      boolean ascending, Object lastValue, String lastVin, int limit);
+
+    /**
+     * 按VIN码批量查询车辆详情，不存在的车辆不在结果中
+     */
+    List<VehicleDTO> findDtosByVins(Collection<String> vins);
+
+    /**
+     * 按VIN码顺序流式读取车辆，使用数据库游标按fetchSize逐批获取
+     * 必须在事务中调用，调用方负责关闭Stream
+     * @param status 状态过滤，为null时不过滤
+     * @param manufacturer 制造商过滤，为null时不过滤
+     * @param fetchSize 每批从数据库获取的行数
+     */
+    Stream<VehicleDTO> streamDtos(String status, String manufacturer, int fetchSize);
+
+    /**
+     * 精确统计车辆数
+     * @param filter 筛选条件
+     */
+    long countVehicles(VehicleFilter filter);
+
+    /**
+     * 根据PostgreSQL统计信息估算车辆数，统计信息不可用时退回精确统计
+     * @param filter 筛选条件
+     */
+    long estimateCount(VehicleFilter filter);
+}
@@ -0,0 +1,207 @@
+package com.example.evcarbonmonitor.repository;
+
+import com.example.evcarbonmonitor.dto.VehicleDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 车辆自定义查询实现
+ * 游标分页使用seek条件代替OFFSET，只拼接实际存在的过滤条件(VehicleFilter)，保证能走索引
+ * 列表查询通过构造表达式直接投影为VehicleDTO，并LEFT JOIN统计汇总表，不加载托管实体
+ * 列表和统计查询在只读事务中执行，Hibernate不做脏检查和flush
+ */
+public class VehicleRepositoryImpl implements VehicleRepositoryCustom {
+
+    private static final Logger logger = LoggerFactory.getLogger(VehicleRepositoryImpl.class);
+
+    private static final Pattern PLAN_ROWS_PATTERN = Pattern.compile("\"Plan Rows\":\\s*(\\d+)");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<VehicleDTO> findDtoPage(Set<VehicleField> fields, VehicleFilter filter, VehicleSortField sortField,
+                                        boolean ascending, int offset, int limit) {
+        Map<String, Object> parameters = new HashMap<>();
+        StringBuilder where = new StringBuilder(" WHERE 1 = 1");
+        filter.appendConditions(where, parameters, false);
+        appendOrderBy(where, sortField, ascending);
+        return select(fields, where, parameters, offset, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<VehicleDTO> findDtoPageAfter(Set<VehicleField> fields, VehicleFilter filter, VehicleSortField sortField,
+                                             boolean ascending, Object lastValue, String lastVin, int limit) {
+        String field = "v." + sortField.getProperty();
+        String after = ascending ? ">" : "<";
+        String afterOrEqual = ascending ? ">=" : "<=";
+
+        Map<String, Object> parameters = new HashMap<>();
+        StringBuilder where = new StringBuilder(" WHERE 1 = 1");
+        filter.appendConditions(where, parameters, false);
+        if (lastVin != null) {
+            if (sortField == VehicleSortField.VIN) {
+                where.append(" AND v.vin ").append(after).append(" :lastVin");
+            } else {
+                // 先给出排序键的范围条件，便于规划器从索引中定位起点
+                where.append(" AND ").append(field).append(' ').append(afterOrEqual).append(" :lastValue")
+                     .append(" AND (").append(field).append(' ').append(after).append(" :lastValue")
+                     .append(" OR v.vin ").append(after).append(" :lastVin)");
+                parameters.put("lastValue", lastValue);
+            }
+            parameters.put("lastVin", lastVin);
+        }
+        appendOrderBy(where, sortField, ascending);
+        return select(fields, where, parameters, 0, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<VehicleDTO> findDtosByVins(Collection<String> vins) {
+        if (vins.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return entityManager.createQuery(DTO_SELECT + " WHERE v.vin IN :vins", VehicleDTO.class)
+                .setParameter("vins", vins)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<VehicleDTO> streamDtos(String status, String manufacturer, int fetchSize) {
+        StringBuilder jpql = new StringBuilder(DTO_SELECT).append(" WHERE 1 = 1");
+        if (status != null) {
+            jpql.append(" AND v.status = :status");
+        }
+        if (manufacturer != null) {
+            jpql.append(" AND v.manufacturer = :manufacturer");
+        }
+        jpql.append(" ORDER BY v.vin");
+
+        // PostgreSQL驱动在事务中且设置了fetchSize时使用服务端游标，不会一次取回整个结果集
+        TypedQuery<VehicleDTO> query = entityManager.createQuery(jpql.toString(), VehicleDTO.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (manufacturer != null) {
+            query.setParameter("manufacturer", manufacturer);
+        }
+        return query.getResultStream();
+    }
+
+    /**
+     * 执行列表投影查询
+     * fields为null时用构造表达式取全部字段；否则只查询指定的列，统计字段未被选中时不关联vehicle_stats
+     */
+    private List<VehicleDTO> select(Set<VehicleField> fields, CharSequence where, Map<String, Object> parameters,
+                                    int offset, int limit) {
+        if (fields == null) {
+            TypedQuery<VehicleDTO> query = entityManager.createQuery(DTO_SELECT + where, VehicleDTO.class);
+            parameters.forEach(query::setParameter);
+            return query.setFirstResult(offset).setMaxResults(limit).getResultList();
+        }
+
+        List<VehicleField> columns = new ArrayList<>(fields);
+        StringJoiner select = new StringJoiner(", ", "SELECT ", " FROM Vehicle v");
+        boolean joinStats = false;
+        for (VehicleField column : columns) {
+            select.add(column.getExpression());
+            joinStats |= column.isStats();
+        }
+        String jpql = select + (joinStats ? " LEFT JOIN VehicleStats s ON s.vin = v.vin" : "") + where;
+
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql, Tuple.class);
+        parameters.forEach(query::setParameter);
+        List<Tuple> rows = query.setFirstResult(offset).setMaxResults(limit).getResultList();
+
+        List<VehicleDTO> result = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            VehicleDTO dto = new VehicleDTO();
+            for (int i = 0; i < columns.size(); i++) {
+                columns.get(i).set(dto, row.get(i));
+            }
+            result.add(dto);
+        }
+        return result;
+    }
+
+    /**
+     * 按排序字段排序，非VIN字段以VIN码作为第二排序键
+     */
+    private void appendOrderBy(StringBuilder jpql, VehicleSortField sortField, boolean ascending) {
+        String direction = ascending ? "ASC" : "DESC";
+        jpql.append(" ORDER BY v.").append(sortField.getProperty()).append(' ').append(direction);
+        if (sortField != VehicleSortField.VIN) {
+            jpql.append(", v.vin ").append(direction);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countVehicles(VehicleFilter filter) {
+        Map<String, Object> parameters = new HashMap<>();
+        StringBuilder jpql = new StringBuilder("SELECT COUNT(v) FROM Vehicle v WHERE 1 = 1");
+        filter.appendConditions(jpql, parameters, false);
+        TypedQuery<Long> query = entityManager.createQuery(jpql.toString(), Long.class);
+        parameters.forEach(query::setParameter);
+        return query.getSingleResult();
+    }
+
+    @Override
+    public long estimateCount(VehicleFilter filter) {
+        try {
+            if (filter.isStatusOnly() && filter.getStatus() == null) {
+                // reltuples在表未分析过时为-1
+                Long estimate = jdbcTemplate.queryForObject(
+                        "SELECT reltuples::bigint FROM pg_class WHERE oid = 'vehicles'::regclass", Long.class);
+                if (estimate != null && estimate >= 0) {
+                    return estimate;
+                }
+            } else {
+                // 取规划器对筛选条件的行数估计
+                Map<String, Object> parameters = new HashMap<>();
+                StringBuilder sql = new StringBuilder("EXPLAIN (FORMAT JSON) SELECT 1 FROM vehicles v WHERE 1 = 1");
+                filter.appendConditions(sql, parameters, true);
+                String plan = new NamedParameterJdbcTemplate(jdbcTemplate)
+                        .queryForObject(sql.toString(), parameters, String.class);
+                if (plan != null) {
+                    Matcher matcher = PLAN_ROWS_PATTERN.matcher(plan);
+                    if (matcher.find()) {
+                        return Long.parseLong(matcher.group(1));
+                    }
+                }
+            }
+        } catch (DataAccessException e) {
+            logger.debug("无法读取统计信息，使用精确统计: {}", e.getMessage());
+        }
+        return countVehicles(filter);
+    }
+}
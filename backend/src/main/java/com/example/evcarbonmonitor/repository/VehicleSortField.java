@@ -0,0 +1,78 @@
+// backend/src/main/java/com/example/evcarbonmonitor/repository/VehicleSortField.java
+package com.example.evcarbonmonitor.repository;
+
+import com.example.evcarbonmonitor.dto.VehicleDTO;
+import com.example.evcarbonmonitor.exception.ApiException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * 车辆列表支持的排序字段，偏移分页和游标分页共用
+ * 所有字段都是非空列，并以VIN码作为第二排序键保证顺序唯一
+ */
+public enum VehicleSortField {
+
+    VIN("vin", VehicleDTO::getVin, value -> value),
+    MODEL("model", VehicleDTO::getModel, value -> value),
+    LICENSE_PLATE("licensePlate", VehicleDTO::getLicensePlate, value -> value),
+    MANUFACTURER("manufacturer", VehicleDTO::getManufacturer, value -> value),
+    STATUS("status", VehicleDTO::getStatus, value -> value),
+    PRODUCTION_YEAR("productionYear", VehicleDTO::getProductionYear, Integer::valueOf),
+    BATTERY_CAPACITY("batteryCapacity", VehicleDTO::getBatteryCapacity, BigDecimal::new),
+    MAX_RANGE("maxRange", VehicleDTO::getMaxRange, Integer::valueOf),
+    REGISTER_DATE("registerDate", VehicleDTO::getRegisterDate, LocalDate::parse),
+    LAST_UPDATE_TIME("lastUpdateTime", VehicleDTO::getLastUpdateTime, LocalDateTime::parse);
+
+    private final String property;
+    private final Function<VehicleDTO, Object> getter;
+    private final Function<String, Object> parser;
+
+    VehicleSortField(String property, Function<VehicleDTO, Object> getter, Function<String, Object> parser) {
+        this.property = property;
+        this.getter = getter;
+        this.parser = parser;
+    }
+
+    /**
+     * 实体属性名，用于拼接JPQL
+     */
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * 读取列表结果的排序键值，用于生成下一页游标
+     */
+    public Object valueOf(VehicleDTO vehicle) {
+        return getter.apply(vehicle);
+    }
+
+    /**
+     * 解析游标中的排序键值
+     */
+    public Object parseValue(String value) {
+        try {
+            return parser.apply(value);
+        } catch (RuntimeException e) {
+            throw new ApiException(400, "分页游标无效");
+        }
+    }
+
+    /**
+     * 按属性名查找排序字段，为空时按VIN码排序
+     */
+    public static VehicleSortField fromProperty(String property) {
+        if (property == null || property.isEmpty()) {
+            return VIN;
+        }
+        for (VehicleSortField field : values()) {
+            if (field.property.equals(property)) {
+                return field;
+            }
+        }
+        throw new ApiException(400, "不支持的排序字段: " + property);
+    }
+}
@@ -0,0 +1,23 @@
+// backend/src/main/java/com/example/evcarbonmonitor/repository/VehicleStatsRepository.java
+package com.example.evcarbonmonitor.repository;
+
+import com.example.evcarbonmonitor.domain.VehicleStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface VehicleStatsRepository extends JpaRepository<VehicleStats, String>, VehicleStatsRepositoryCustom {
+
+    @Modifying
+    @Query("DELETE FROM VehicleStats s WHERE s.vin = :vin")
+    int deleteByVin(@Param("vin") String vin);
+
+    @Modifying
+    @Query("DELETE FROM VehicleStats s WHERE s.vin IN :vins")
+    int deleteByVinIn(@Param("vins") Collection<String> vins);
+}
@@ -0,0 +1,24 @@
+// backend/src/main/java/com/example/evcarbonmonitor/repository/VehicleStatsRepositoryCustom.java
+package com.example.evcarbonmonitor.repository;
+
+import com.example.evcarbonmonitor.domain.VehicleStatsDelta;
+
+import java.util.List;
+
+/**
+ * 车辆统计汇总的批量写入
+ */
+public interface VehicleStatsRepositoryCustom {
+
+    /**
+     * 批量累加统计增量，不存在的车辆自动插入
+     * @param deltas 增量，每辆车最多一条，按VIN码排序以避免并发写入死锁
+     */
+    void addDeltas(List<VehicleStatsDelta> deltas);
+
+    /**
+     * 根据原始数据表重新计算所有车辆的统计数据
+     * @return 更新的车辆数
+     */
+    int rebuildAll();
+}
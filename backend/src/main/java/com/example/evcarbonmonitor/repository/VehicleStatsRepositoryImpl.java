@@ -0,0 +1,67 @@
+// backend/src/main/java/com/example/evcarbonmonitor/repository/VehicleStatsRepositoryImpl.java
+package com.example.evcarbonmonitor.repository;
+
+import com.example.evcarbonmonitor.domain.VehicleStatsDelta;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 车辆统计汇总的批量写入实现，使用PostgreSQL的INSERT ... ON CONFLICT累加
+ */
+public class VehicleStatsRepositoryImpl implements VehicleStatsRepositoryCustom {
+
+    private static final String ADD_DELTA_SQL =
+            "INSERT INTO vehicle_stats (vin, total_mileage, total_energy, total_carbon_reduction, carbon_credits, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (vin) DO UPDATE SET " +
+            "total_mileage = vehicle_stats.total_mileage + EXCLUDED.total_mileage, " +
+            "total_energy = vehicle_stats.total_energy + EXCLUDED.total_energy, " +
+            "total_carbon_reduction = vehicle_stats.total_carbon_reduction + EXCLUDED.total_carbon_reduction, " +
+            "carbon_credits = vehicle_stats.carbon_credits + EXCLUDED.carbon_credits, " +
+            "updated_at = EXCLUDED.updated_at";
+
+    private static final String REBUILD_SQL =
+            "INSERT INTO vehicle_stats (vin, total_mileage, total_energy, total_carbon_reduction, carbon_credits, updated_at) " +
+            "SELECT v.vin, COALESCE(d.mileage, 0), COALESCE(d.energy, 0), COALESCE(c.reduction, 0), COALESCE(cc.credits, 0), now() " +
+            "FROM vehicles v " +
+            "LEFT JOIN (SELECT vin, SUM(mileage) AS mileage, SUM(energy_consumption) AS energy " +
+            "           FROM driving_records GROUP BY vin) d ON d.vin = v.vin " +
+            "LEFT JOIN (SELECT vin, SUM(carbon_reduction) AS reduction " +
+            "           FROM carbon_records GROUP BY vin) c ON c.vin = v.vin " +
+            "LEFT JOIN (SELECT vin, SUM(credit_amount) AS credits " +
+            "           FROM carbon_credits GROUP BY vin) cc ON cc.vin = v.vin " +
+            "ON CONFLICT (vin) DO UPDATE SET " +
+            "total_mileage = EXCLUDED.total_mileage, " +
+            "total_energy = EXCLUDED.total_energy, " +
+            "total_carbon_reduction = EXCLUDED.total_carbon_reduction, " +
+            "carbon_credits = EXCLUDED.carbon_credits, " +
+            "updated_at = EXCLUDED.updated_at";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void addDeltas(List<VehicleStatsDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(ADD_DELTA_SQL, deltas, deltas.size(), (ps, delta) -> {
+            ps.setString(1, delta.getVin());
+            ps.setBigDecimal(2, delta.getMileage());
+            ps.setBigDecimal(3, delta.getEnergy());
+            ps.setBigDecimal(4, delta.getCarbonReduction());
+            ps.setBigDecimal(5, delta.getCarbonCredits());
+            ps.setTimestamp(6, now);
+        });
+    }
+
+    @Override
+    public int rebuildAll() {
+        return jdbcTemplate.update(REBUILD_SQL);
+    }
+}
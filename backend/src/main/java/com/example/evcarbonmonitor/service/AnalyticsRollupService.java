@@ -0,0 +1,23 @@
+// backend/src/main/java/com/example/evcarbonmonitor/service/AnalyticsRollupService.java
+package com.example.evcarbonmonitor.service;
+
+import com.example.evcarbonmonitor.domain.CarbonReductionDelta;
+import com.example.evcarbonmonitor.dto.RollupResult;
+
+import java.util.List;
+
+public interface AnalyticsRollupService {
+
+    /**
+     * 把上次水位线之后新增的行驶记录累加到每车和全车队的小时、日、月汇总
+     * 累加和水位线在同一事务中提交，多个实例依次执行
+     * @return 本轮汇总结果
+     */
+    RollupResult runIncremental();
+
+    /**
+     * 累加车辆日碳减排量的变化到日、月汇总，写入或重新计算碳减排记录时在同一事务中调用
+     * @param deltas 碳减排量变化，同一车辆日的多条变化会先合并
+     */
+    void applyCarbonReductions(List<CarbonReductionDelta> deltas);
+}
@@ -0,0 +1,22 @@
+// backend/src/main/java/com/example/evcarbonmonitor/service/AnalyticsService.java
+package com.example.evcarbonmonitor.service;
+
+import com.example.evcarbonmonitor.dto.TrendQueryParams;
+import com.example.evcarbonmonitor.dto.TrendResponse;
+
+public interface AnalyticsService {
+
+    /**
+     * 查询碳减排趋势，按天、周或月分组
+     * @param params 查询参数，vin为空时查询全车队
+     * @return 汇总和时间序列
+     */
+    TrendResponse getCarbonReductionTrends(TrendQueryParams params);
+
+    /**
+     * 查询行驶数据趋势，按小时、天、周或月分组
+     * @param params 查询参数，vin为空时查询全车队
+     * @return 汇总和时间序列
+     */
+    TrendResponse getDrivingData(TrendQueryParams params);
+}
@@ -0,0 +1,14 @@
+// backend/src/main/java/com/example/evcarbonmonitor/service/BlockchainIndexerService.java
+package com.example.evcarbonmonitor.service;
+
+import com.example.evcarbonmonitor.dto.BlockchainIndexResult;
+
+public interface BlockchainIndexerService {
+
+    /**
+     * 从上次索引位置(回退确认窗口)扫描到最新区块，把合约事件同步到数据库
+     * 同一时间只允许一轮索引
+     * @return 本轮索引结果
+     */
+    BlockchainIndexResult runIndexer();
+}
@@ -0,0 +1,30 @@
+// backend/src/main/java/com/example/evcarbonmonitor/service/BlockchainSubmissionService.java
+package com.example.evcarbonmonitor.service;
+
+import java.util.Map;
+
+public interface BlockchainSubmissionService {
+
+    /**
+     * 把已过结算期、待验证的碳减排记录写入上链发件箱
+     * @return 新增的发件箱记录数
+     */
+    int enqueueSettledRecords();
+
+    /**
+     * 为待提交的发件箱记录分配nonce并签名，通过一次JSON-RPC批量请求广播
+     * @return 本轮广播的交易数
+     */
+    int submitPending();
+
+    /**
+     * 批量查询已广播交易的回执，更新交易、发件箱和碳减排记录状态
+     * @return 本轮确认或失败的交易数
+     */
+    int pollReceipts();
+
+    /**
+     * 按状态统计发件箱记录数
+     */
+    Map<String, Long> getOutboxSummary();
+}
@@ -0,0 +1,14 @@
+// backend/src/main/java/com/example/evcarbonmonitor/service/CarbonCalculationService.java
+package com.example.evcarbonmonitor.service;
+
+import com.example.evcarbonmonitor.dto.CarbonCalculationResult;
+
+public interface CarbonCalculationService {
+
+    /**
+     * 处理上次水位线之后新增的行驶记录，重新计算受影响车辆日的碳减排记录
+     * 同一时间只允许一轮计算
+     * @return 本轮计算结果
+     */
+    CarbonCalculationResult runIncremental();
+}
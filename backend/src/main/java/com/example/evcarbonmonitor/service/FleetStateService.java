@@ -0,0 +1,53 @@
+// backend/src/main/java/com/example/evcarbonmonitor/service/FleetStateService.java
+package com.example.evcarbonmonitor.service;
+
+import com.example.evcarbonmonitor.domain.DrivingRecord;
+import com.example.evcarbonmonitor.domain.VehicleState;
+import com.example.evcarbonmonitor.dto.FleetSummaryDTO;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface FleetStateService {
+
+    /**
+     * 合并已写入的行驶记录，更新车辆的最新位置、电量、速度、状态和当日累计
+     * @param records 行驶记录，createdAt为收到时间
+     */
+    void recordTelemetry(Collection<DrivingRecord> records);
+
+    /**
+     * 车辆新增或修改后调用，同步车辆状态
+     */
+    void vehicleSaved(String vin, String status, LocalDateTime lastUpdateTime);
+
+    /**
+     * 车辆删除后调用
+     */
+    void vehicleRemoved(String vin);
+
+    /**
+     * 获取单个车辆的实时状态
+     * @param vin 车辆VIN码
+     * @return 车辆实时状态，车辆不存在时抛出404
+     */
+    VehicleState getState(String vin);
+
+    /**
+     * 获取车队实时状态快照
+     * @param status 只返回该状态的车辆，为空时返回全部
+     */
+    List<VehicleState> getStates(String status);
+
+    /**
+     * 获取各状态的车辆数
+     */
+    FleetSummaryDTO getSummary();
+
+    /**
+     * 把离线的车辆标记为offline，并把有变化的车辆状态回写数据库
+     * @return 回写的车辆数
+     */
+    int flush();
+}
@@ -0,0 +1,37 @@
+// backend/src/main/java/com/example/evcarbonmonitor/service/ImportJobService.java
+package com.example.evcarbonmonitor.service;
+
+import com.example.evcarbonmonitor.dto.BatchImportResponse;
+import com.example.evcarbonmonitor.dto.ImportJobDTO;
+import org.springframework.web.multipart.MultipartFile;
+
+public interface ImportJobService {
+
+    /**
+     * 提交异步导入任务，上传文件先落盘，立即返回任务信息
+     * @param file CSV文件（支持gzip压缩）
+     * @return 任务信息
+     */
+    ImportJobDTO submitImport(MultipartFile file);
+
+    /**
+     * 获取导入任务进度
+     * @param jobId 任务ID
+     * @return 任务信息
+     */
+    ImportJobDTO getJob(String jobId);
+
+    /**
+     * 取消导入任务，已提交的块不会回滚
+     * @param jobId 任务ID
+     * @return 任务信息
+     */
+    ImportJobDTO cancelJob(String jobId);
+
+    /**
+     * 获取已结束任务的导入结果
+     * @param jobId 任务ID
+     * @return 导入结果
+     */
+    BatchImportResponse getJobResult(String jobId);
+}
@@ -0,0 +1,26 @@
+// backend/src/main/java/com/example/evcarbonmonitor/service/LiveEventService.java
+package com.example.evcarbonmonitor.service;
+
+import com.example.evcarbonmonitor.dto.LiveEventStatsDTO;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface LiveEventService {
+
+    /**
+     * 发布事件，在事务中调用时提交后才发布
+     * @param type 事件类型，见LiveEventDTO.TYPE_*
+     * @param vin 相关车辆，用于按车辆筛选
+     * @param key 合并键，推送前同key的事件只保留最新的一个
+     * @param data 事件内容
+     */
+    void publish(String type, String vin, String key, Object data);
+
+    /**
+     * 建立推送连接
+     * @param types 订阅的事件类型，逗号分隔，为空时订阅全部
+     * @param vins 只推送这些车辆的事件，逗号分隔，为空时推送全部车辆
+     */
+    SseEmitter subscribe(String types, String vins);
+
+    LiveEventStatsDTO getStats();
+}
@@ -0,0 +1,14 @@
+// backend/src/main/java/com/example/evcarbonmonitor/service/PartitionMaintenanceService.java
+package com.example.evcarbonmonitor.service;
+
+import com.example.evcarbonmonitor.dto.PartitionMaintenanceResult;
+
+public interface PartitionMaintenanceService {
+
+    /**
+     * 维护行驶记录和碳减排记录的分区：预建后续分区，把默认分区中的数据移入对应分区，
+     * 按保留期分离或删除过期分区
+     * @return 本次维护的结果
+     */
+    PartitionMaintenanceResult maintainPartitions();
+}
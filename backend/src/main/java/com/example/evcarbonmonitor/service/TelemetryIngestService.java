@@ -0,0 +1,34 @@
+// backend/src/main/java/com/example/evcarbonmonitor/service/TelemetryIngestService.java
+package com.example.evcarbonmonitor.service;
+
+import com.example.evcarbonmonitor.dto.DrivingDataDTO;
+import com.example.evcarbonmonitor.dto.TelemetryIngestResponse;
+
+import java.io.InputStream;
+import java.util.List;
+
+public interface TelemetryIngestService {
+
+    /**
+     * 接收一批行驶数据，校验通过的数据点进入写入队列异步落库
+     * 写入队列已满时抛出429异常，客户端应稍后重试整批数据
+     * @param records 行驶数据点
+     * @return 接收结果
+     */
+    TelemetryIngestResponse ingest(List<DrivingDataDTO> records);
+
+    /**
+     * 接收NDJSON格式的行驶数据，每行一个数据点
+     * @param inputStream 请求体
+     * @return 接收结果
+     */
+    TelemetryIngestResponse ingestNdjson(InputStream inputStream);
+
+    /**
+     * 接收单个车辆的一个行驶数据点
+     * @param vin 车辆VIN码
+     * @param record 行驶数据点，其中的VIN码以路径参数为准
+     * @return 接收结果
+     */
+    TelemetryIngestResponse ingestSingle(String vin, DrivingDataDTO record);
+}
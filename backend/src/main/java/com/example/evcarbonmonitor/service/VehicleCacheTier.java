@@ -0,0 +1,24 @@
+// backend/src/main/java/com/example/evcarbonmonitor/service/VehicleCacheTier.java
+package com.example.evcarbonmonitor.service;
+
+import com.example.evcarbonmonitor.dto.VehicleDTO;
+
+import java.util.Collection;
+
+/**
+ * 车辆详情的二级缓存，多个应用实例共享
+ * 本地缓存未命中时先查二级缓存，再查数据库；实现抛出的异常只记录日志，不影响查询
+ */
+public interface VehicleCacheTier {
+
+    /**
+     * @return 缓存的车辆详情，不存在时为null
+     */
+    VehicleDTO get(String vin);
+
+    void put(VehicleDTO vehicle);
+
+    void evictAll(Collection<String> vins);
+
+    void clear();
+}
@@ -0,0 +1,30 @@
+// backend/src/main/java/com/example/evcarbonmonitor/service/VehicleExportService.java
+package com.example.evcarbonmonitor.service;
+
+import com.example.evcarbonmonitor.dto.VehicleExportParams;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface VehicleExportService {
+
+    /**
+     * 校验导出参数，需在开始写响应之前调用
+     * @param params 导出参数
+     */
+    void validateParams(VehicleExportParams params);
+
+    /**
+     * 获取导出文件名，如vehicles.csv.gz
+     * @param params 导出参数
+     */
+    String getFileName(VehicleExportParams params);
+
+    /**
+     * 按VIN码顺序流式导出车辆，数据库游标逐批读取，内存占用与导出行数无关
+     * @param params 导出参数
+     * @param outputStream 输出流，由调用方关闭
+     * @return 导出的车辆数
+     */
+    long exportVehicles(VehicleExportParams params, OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,41 @@
+// backend/src/main/java/com/example/evcarbonmonitor/service/VehicleSearchService.java
+package com.example.evcarbonmonitor.service;
+
+import com.example.evcarbonmonitor.dto.VehicleSearchIndexStatsDTO;
+import com.example.evcarbonmonitor.dto.VehicleSuggestionDTO;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface VehicleSearchService {
+
+    /**
+     * 按输入的VIN码或车牌号片段给出建议
+     * 匹配VIN码前缀、VIN码后6位前缀、车牌号前缀(可带省份简称)和去掉省份简称的车牌号前缀，不区分大小写
+     * @param query 输入的片段
+     * @param limit 最多返回的车辆数
+     */
+    List<VehicleSuggestionDTO> suggest(String query, Integer limit);
+
+    /**
+     * 车辆新增或修改车牌号后调用
+     */
+    void vehicleSaved(String vin, String licensePlate);
+
+    /**
+     * 批量新增或修改车牌号后调用
+     * @param licensePlates VIN码到车牌号
+     */
+    void vehiclesSaved(Map<String, String> licensePlates);
+
+    /**
+     * 车辆删除后调用
+     */
+    void vehiclesRemoved(Collection<String> vins);
+
+    /**
+     * 获取索引的车辆数、内存占用和合并情况
+     */
+    VehicleSearchIndexStatsDTO getIndexStats();
+}
@@ -4,6 +4,8 @@ package com.example.evcarbonmonitor.service;
 import com.example.evcarbonmonitor.dto.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.List;
+
 public interface VehicleService {
 
     /**
@@ -31,9 +33,10 @@ public interface VehicleService {
      * 更新车辆信息
      * @param vin 车辆VIN码
      * @param vehicleDTO 要更新的车辆信息
-     * @return 更新的车辆VIN码
+     * @param expectedVersion 期望的版本号(If-Match)，为null时不比对；版本号不一致时抛出412
+     * @return 更新后的车辆信息
      */
-    String updateVehicle(String vin, VehicleDTO vehicleDTO);
+    VehicleDTO updateVehicle(String vin, VehicleDTO vehicleDTO, Long expectedVersion);
 
     /**
      * 删除车辆
@@ -47,4 +50,38 @@ public interface VehicleService {
      * @return 导入结果
      */
     BatchImportResponse importVehicles(MultipartFile file);
+
+    /**
+     * 批量创建车辆
+     * @param vehicles 车辆信息
+     * @return 每项的结果
+     */
+    BulkOperationResponse createVehicles(List<VehicleDTO> vehicles);
+
+    /**
+     * 批量部分更新车辆
+     * @param changes 每项包含VIN码和要修改的字段
+     * @return 每项的结果
+     */
+    BulkOperationResponse updateVehicles(List<VehicleDTO> changes);
+
+    /**
+     * 批量修改车辆状态
+     * @param changes VIN码和目标状态
+     * @return 每项的结果
+     */
+    BulkOperationResponse changeVehicleStatus(List<VehicleStatusChange> changes);
+
+    /**
+     * 批量删除车辆
+     * @param vins 车辆VIN码
+     * @return 每项的结果
+     */
+    BulkOperationResponse deleteVehicles(List<String> vins);
+
+    /**
+     * 获取车辆查询缓存的命中统计
+     * @return 各级缓存的统计
+     */
+    List<CacheStatsDTO> getCacheStats();
 }
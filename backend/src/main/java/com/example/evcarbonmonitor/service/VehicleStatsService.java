@@ -0,0 +1,42 @@
+// backend/src/main/java/com/example/evcarbonmonitor/service/VehicleStatsService.java
+package com.example.evcarbonmonitor.service;
+
+import com.example.evcarbonmonitor.domain.VehicleStats;
+import com.example.evcarbonmonitor.domain.VehicleStatsDelta;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface VehicleStatsService {
+
+    /**
+     * 批量获取车辆统计数据
+     * @param vins 车辆VIN码
+     * @return VIN码到统计数据的映射，没有统计数据的车辆不在结果中
+     */
+    Map<String, VehicleStats> getStats(Collection<String> vins);
+
+    /**
+     * 累加统计增量，写入行驶记录、碳减排记录或碳积分时调用
+     * @param deltas 统计增量，同一车辆的多条增量会先合并
+     */
+    void applyDeltas(Collection<VehicleStatsDelta> deltas);
+
+    /**
+     * 根据原始数据表重新计算所有车辆的统计数据
+     * @return 更新的车辆数
+     */
+    int rebuildAll();
+
+    /**
+     * 删除车辆统计数据
+     * @param vin 车辆VIN码
+     */
+    void deleteStats(String vin);
+
+    /**
+     * 批量删除车辆统计数据
+     * @param vins 车辆VIN码
+     */
+    void deleteStats(Collection<String> vins);
+}
@@ -0,0 +1,139 @@
+// backend/src/main/java/com/example/evcarbonmonitor/service/impl/AnalyticsRollupServiceImpl.java
+package com.example.evcarbonmonitor.service.impl;
+
+import com.example.evcarbonmonitor.domain.CarbonReductionDelta;
+import com.example.evcarbonmonitor.dto.RollupResult;
+import com.example.evcarbonmonitor.exception.ApiException;
+import com.example.evcarbonmonitor.repository.AnalyticsRollupRepository;
+import com.example.evcarbonmonitor.repository.DrivingRecordBatchRepository;
+import com.example.evcarbonmonitor.service.AnalyticsRollupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 分析汇总
+ * 行驶记录按ID水位线增量汇总到analytics_rollups，与碳减排计算一样在行驶记录写入锁下读取本轮上界，不越过尚未提交的写入；
+ * 水位线行在汇总事务中加锁，保证每条记录只累加一次。小时汇总只保留hour-retention-days天
+ */
+@Service
+public class AnalyticsRollupServiceImpl implements AnalyticsRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsRollupServiceImpl.class);
+
+    private static final String CHECKPOINT_NAME = "analytics-rollup";
+
+    private final AnalyticsRollupRepository analyticsRollupRepository;
+    private final DrivingRecordBatchRepository drivingRecordBatchRepository;
+    private final TransactionTemplate transactionTemplate;
+    // 读取上界的短事务，独立于汇总事务提交，写入锁不会在汇总期间一直持有
+    private final TransactionTemplate upperBoundTransaction;
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    @Value("${analytics.rollup.enabled:true}")
+    private boolean enabled;
+
+    // 等待行驶记录写入事务提交的最长时间，等待期间新的写入排队；超时时本轮跳过
+    @Value("${analytics.rollup.write-lock-timeout-ms:2000}")
+    private long writeLockTimeoutMs;
+
+    @Value("${analytics.rollup.max-records-per-run:1000000}")
+    private long maxRecordsPerRun;
+
+    @Value("${analytics.rollup.hour-retention-days:35}")
+    private int hourRetentionDays;
+
+    private volatile LocalDateTime lastPruneTime;
+
+    @Autowired
+    public AnalyticsRollupServiceImpl(AnalyticsRollupRepository analyticsRollupRepository,
+                                      DrivingRecordBatchRepository drivingRecordBatchRepository,
+                                      PlatformTransactionManager transactionManager) {
+        this.analyticsRollupRepository = analyticsRollupRepository;
+        this.drivingRecordBatchRepository = drivingRecordBatchRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.upperBoundTransaction = new TransactionTemplate(transactionManager);
+        this.upperBoundTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.rollup.interval-ms:60000}",
+            initialDelayString = "${analytics.rollup.interval-ms:60000}")
+    public void scheduledRun() {
+        if (!enabled || runLock.isLocked()) {
+            return;
+        }
+        try {
+            runIncremental();
+            pruneHours();
+        } catch (RuntimeException e) {
+            logger.error("分析汇总定时任务失败: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public RollupResult runIncremental() {
+        if (!runLock.tryLock()) {
+            throw new ApiException(409, "分析汇总正在进行");
+        }
+        try {
+            long start = System.currentTimeMillis();
+            RollupResult result = transactionTemplate.execute(status -> {
+                long lower = analyticsRollupRepository.lockCheckpoint(CHECKPOINT_NAME);
+                Long upper;
+                try {
+                    upper = upperBoundTransaction.execute(inner -> drivingRecordBatchRepository.findCommittedUpperBound(
+                            lower, lower + maxRecordsPerRun, writeLockTimeoutMs));
+                } catch (CannotAcquireLockException e) {
+                    logger.warn("行驶记录写入事务超过{}ms未提交，本轮分析汇总跳过", writeLockTimeoutMs);
+                    return new RollupResult(lower, lower, 0, 0);
+                }
+                if (upper == null) {
+                    return new RollupResult(lower, lower, 0, 0);
+                }
+                int rows = analyticsRollupRepository.addDriving(lower, upper);
+                analyticsRollupRepository.saveCheckpoint(CHECKPOINT_NAME, upper);
+                return new RollupResult(lower, upper, rows, 0);
+            });
+            result.setElapsedMillis(System.currentTimeMillis() - start);
+            if (result.getToRecordId() > result.getFromRecordId()) {
+                logger.info("分析汇总完成: 行驶记录({}, {}]，写入{}行汇总，耗时{}ms", result.getFromRecordId(),
+                        result.getToRecordId(), result.getRollupRows(), result.getElapsedMillis());
+            }
+            return result;
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    @Override
+    public void applyCarbonReductions(List<CarbonReductionDelta> deltas) {
+        analyticsRollupRepository.addCarbonReductions(deltas);
+    }
+
+    /**
+     * 每小时最多清理一次过期的小时汇总
+     */
+    private void pruneHours() {
+        LocalDateTime now = LocalDateTime.now();
+        if (lastPruneTime != null && lastPruneTime.isAfter(now.minusHours(1))) {
+            return;
+        }
+        lastPruneTime = now;
+        int deleted = analyticsRollupRepository.deleteHoursBefore(now.truncatedTo(ChronoUnit.DAYS).minusDays(hourRetentionDays));
+        if (deleted > 0) {
+            logger.info("清理过期小时汇总{}行", deleted);
+        }
+    }
+}
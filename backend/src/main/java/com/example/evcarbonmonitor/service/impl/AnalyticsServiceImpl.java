@@ -0,0 +1,202 @@
+// backend/src/main/java/com/example/evcarbonmonitor/service/impl/AnalyticsServiceImpl.java
+package com.example.evcarbonmonitor.service.impl;
+
+import com.example.evcarbonmonitor.dto.TrendPointDTO;
+import com.example.evcarbonmonitor.dto.TrendQueryParams;
+import com.example.evcarbonmonitor.dto.TrendResponse;
+import com.example.evcarbonmonitor.exception.ApiException;
+import com.example.evcarbonmonitor.repository.AnalyticsRollupRepository;
+import com.example.evcarbonmonitor.repository.RollupSegment;
+import com.example.evcarbonmonitor.repository.TimeBucket;
+import com.example.evcarbonmonitor.service.AnalyticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 趋势查询，只读取analytics_rollups
+ * 查询范围先按分组方式切成时间桶，每个时间桶用尽量粗的汇总覆盖(见RollupSegment.plan)，
+ * 例如按月分组时中间的整月读月汇总，首尾不足一月的部分读日汇总和小时汇总
+ */
+@Service
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+    private static final int DEFAULT_RANGE_DAYS = 30;
+
+    // 单次查询的时间桶数上限
+    private static final int MAX_POINTS = 2000;
+
+    private static final String METRIC_REDUCTION = "reduction";
+    private static final List<String> METRICS = List.of("records", "mileage", "energy", "speed", "abnormal", METRIC_REDUCTION);
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter HOUR_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final AnalyticsRollupRepository analyticsRollupRepository;
+
+    @Value("${analytics.rollup.hour-retention-days:35}")
+    private int hourRetentionDays;
+
+    @Autowired
+    public AnalyticsServiceImpl(AnalyticsRollupRepository analyticsRollupRepository) {
+        this.analyticsRollupRepository = analyticsRollupRepository;
+    }
+
+    @Override
+    public TrendResponse getCarbonReductionTrends(TrendQueryParams params) {
+        TimeBucket groupBy = TimeBucket.fromValue(params.getGroupBy());
+        if (groupBy == TimeBucket.HOUR) {
+            throw new ApiException(400, "碳减排量按天计算，不支持按小时分组");
+        }
+        return query(params, groupBy, TimeBucket.DAY, Set.of(METRIC_REDUCTION));
+    }
+
+    @Override
+    public TrendResponse getDrivingData(TrendQueryParams params) {
+        TimeBucket groupBy = TimeBucket.fromValue(params.getGroupBy());
+        return query(params, groupBy, TimeBucket.HOUR, parseMetrics(params.getMetrics()));
+    }
+
+    private TrendResponse query(TrendQueryParams params, TimeBucket groupBy, TimeBucket finest, Set<String> metrics) {
+        LocalDateTime to = params.getEndDate() != null && !params.getEndDate().isBlank()
+                ? parseTime(params.getEndDate(), true)
+                : LocalDate.now().plusDays(1).atStartOfDay();
+        LocalDateTime from = params.getStartDate() != null && !params.getStartDate().isBlank()
+                ? parseTime(params.getStartDate(), false)
+                : to.minusDays(DEFAULT_RANGE_DAYS);
+
+        // 小时汇总只保留hour-retention-days天，更早的时间范围按天对齐
+        LocalDateTime hourCutoff = LocalDate.now().minusDays(hourRetentionDays).atStartOfDay();
+        if (finest == TimeBucket.HOUR && from.isBefore(hourCutoff)) {
+            if (groupBy == TimeBucket.HOUR) {
+                throw new ApiException(400, "按小时分组只支持最近" + hourRetentionDays + "天");
+            }
+            finest = TimeBucket.DAY;
+        }
+        from = finest.truncate(from);
+        if (!finest.truncate(to).equals(to)) {
+            to = finest.next(finest.truncate(to));
+        }
+        if (!from.isBefore(to)) {
+            throw new ApiException(400, "开始时间必须早于结束时间");
+        }
+
+        Map<LocalDateTime, Totals> buckets = new LinkedHashMap<>();
+        for (LocalDateTime bucket = groupBy.truncate(from); bucket.isBefore(to); bucket = groupBy.next(bucket)) {
+            if (buckets.size() == MAX_POINTS) {
+                throw new ApiException(400, "时间范围过大，最多返回" + MAX_POINTS + "个时间点");
+            }
+            buckets.put(bucket, new Totals());
+        }
+
+        String vin = params.getVin() != null && !params.getVin().isBlank()
+                ? params.getVin() : AnalyticsRollupRepository.FLEET;
+        List<RollupSegment> segments = RollupSegment.plan(from, to, groupBy, finest);
+        Totals summary = new Totals();
+        for (AnalyticsRollupRepository.RollupRow row : analyticsRollupRepository.find(vin, segments)) {
+            buckets.get(groupBy.truncate(row.getBucketStart())).add(row);
+            summary.add(row);
+        }
+
+        DateTimeFormatter formatter = groupBy == TimeBucket.HOUR ? HOUR_FORMATTER : DATE_FORMATTER;
+        List<TrendPointDTO> timeline = new ArrayList<>(buckets.size());
+        for (Map.Entry<LocalDateTime, Totals> bucket : buckets.entrySet()) {
+            TrendPointDTO point = bucket.getValue().toPoint(metrics);
+            point.setDate(formatter.format(bucket.getKey()));
+            timeline.add(point);
+        }
+        return new TrendResponse(summary.toPoint(metrics), timeline);
+    }
+
+    /**
+     * 解析日期或日期时间，结束日期包含当天
+     */
+    private LocalDateTime parseTime(String value, boolean end) {
+        try {
+            if (value.length() == 10) {
+                LocalDate date = LocalDate.parse(value);
+                return end ? date.plusDays(1).atStartOfDay() : date.atStartOfDay();
+            }
+            return LocalDateTime.parse(value).truncatedTo(ChronoUnit.MINUTES);
+        } catch (DateTimeParseException e) {
+            throw new ApiException(400, "时间格式不正确: " + value);
+        }
+    }
+
+    private Set<String> parseMetrics(String metrics) {
+        if (metrics == null || metrics.isBlank()) {
+            return new LinkedHashSet<>(METRICS);
+        }
+        Set<String> result = new LinkedHashSet<>();
+        for (String metric : metrics.split(",")) {
+            String trimmed = metric.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (!METRICS.contains(trimmed)) {
+                throw new ApiException(400, "不支持的指标: " + trimmed);
+            }
+            result.add(trimmed);
+        }
+        return result;
+    }
+
+    /**
+     * 一个时间桶内各汇总行的合计
+     */
+    private static class Totals {
+        private long records;
+        private BigDecimal mileage = BigDecimal.ZERO;
+        private BigDecimal energy = BigDecimal.ZERO;
+        private BigDecimal speedSum = BigDecimal.ZERO;
+        private long abnormal;
+        private BigDecimal reduction = BigDecimal.ZERO;
+
+        void add(AnalyticsRollupRepository.RollupRow row) {
+            records += row.getRecordCount();
+            mileage = mileage.add(row.getMileage());
+            energy = energy.add(row.getEnergyConsumption());
+            speedSum = speedSum.add(row.getSpeedSum());
+            abnormal += row.getAbnormalCount();
+            reduction = reduction.add(row.getCarbonReduction());
+        }
+
+        TrendPointDTO toPoint(Set<String> metrics) {
+            TrendPointDTO point = new TrendPointDTO();
+            if (metrics.contains("records")) {
+                point.setRecords(records);
+            }
+            if (metrics.contains("mileage")) {
+                point.setMileage(mileage);
+            }
+            if (metrics.contains("energy")) {
+                point.setEnergy(energy);
+            }
+            if (metrics.contains("speed")) {
+                point.setAvgSpeed(records > 0
+                        ? speedSum.divide(BigDecimal.valueOf(records), 2, RoundingMode.HALF_UP) : BigDecimal.ZERO);
+            }
+            if (metrics.contains("abnormal")) {
+                point.setAbnormal(abnormal);
+            }
+            if (metrics.contains(METRIC_REDUCTION)) {
+                point.setReduction(reduction);
+            }
+            return point;
+        }
+    }
+}
@@ -0,0 +1,379 @@
+// backend/src/main/java/com/example/evcarbonmonitor/service/impl/BlockchainIndexerServiceImpl.java
+package com.example.evcarbonmonitor.service.impl;
+
+import com.example.evcarbonmonitor.domain.BlockchainTx;
+import com.example.evcarbonmonitor.domain.CarbonCredit;
+import com.example.evcarbonmonitor.domain.CarbonRecord;
+import com.example.evcarbonmonitor.domain.CarbonReductionDelta;
+import com.example.evcarbonmonitor.domain.ProcessingCheckpoint;
+import com.example.evcarbonmonitor.domain.VehicleStatsDelta;
+import com.example.evcarbonmonitor.dto.BlockchainIndexResult;
+import com.example.evcarbonmonitor.dto.LiveEventDTO;
+import com.example.evcarbonmonitor.exception.ApiException;
+import com.example.evcarbonmonitor.repository.BlockchainEventBatchRepository;
+import com.example.evcarbonmonitor.repository.ProcessingCheckpointRepository;
+import com.example.evcarbonmonitor.service.AnalyticsRollupService;
+import com.example.evcarbonmonitor.service.BlockchainIndexerService;
+import com.example.evcarbonmonitor.service.LiveEventService;
+import com.example.evcarbonmonitor.service.VehicleStatsService;
+import com.example.evcarbonmonitor.util.CarbonCalculator;
+import com.example.evcarbonmonitor.util.CarbonContractAbi;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.request.EthFilter;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.EthLog;
+import org.web3j.protocol.core.methods.response.Log;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 区块链事件索引
+ * 以区块号为水位线，用eth_getLogs按区块区间扫描CarbonCalculator和CreditsGenerator的事件，
+ * 同步到blockchain_tx、carbon_records和carbon_credits。区间大小随返回的日志数自适应调整，
+ * 节点因结果过多拒绝时减半重试；多个相邻区间合并为一次JSON-RPC批量请求。
+ * 每轮从水位线回退confirmations个区块重新扫描，已索引交易不在主链上时视为发生重组，恢复为pending，
+ * 并在同一事务中撤销这些交易的事件写入的记录状态、积分、车辆统计和分析汇总。
+ * 每批区间的写入和水位线在同一事务提交，重启后从水位线继续。
+ */
+@Service
+public class BlockchainIndexerServiceImpl implements BlockchainIndexerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlockchainIndexerServiceImpl.class);
+
+    private static final String CHECKPOINT_NAME = "blockchain-indexer";
+
+    private final Web3j web3j;
+    private final BlockchainEventBatchRepository blockchainEventBatchRepository;
+    private final ProcessingCheckpointRepository processingCheckpointRepository;
+    private final VehicleStatsService vehicleStatsService;
+    private final AnalyticsRollupService analyticsRollupService;
+    private final LiveEventService liveEventService;
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    @Value("${blockchain.indexer.enabled:false}")
+    private boolean enabled;
+
+    // 合约部署区块，首次索引从这里开始
+    @Value("${blockchain.indexer.start-block:0}")
+    private long startBlock;
+
+    // 每轮重新扫描的区块数，覆盖可能发生重组的范围
+    @Value("${blockchain.indexer.confirmations:12}")
+    private long confirmations;
+
+    @Value("${blockchain.indexer.initial-block-range:2000}")
+    private long initialBlockRange;
+
+    @Value("${blockchain.indexer.max-block-range:100000}")
+    private long maxBlockRange;
+
+    // 单个区间的目标日志数，超过时缩小区间，不足四分之一时扩大区间
+    @Value("${blockchain.indexer.target-logs-per-range:2000}")
+    private int targetLogsPerRange;
+
+    // 每次JSON-RPC批量请求包含的区间数
+    @Value("${blockchain.indexer.ranges-per-request:4}")
+    private int rangesPerRequest;
+
+    @Value("${blockchain.contract-addresses.carbon-calculator:}")
+    private String carbonCalculatorAddress;
+
+    @Value("${blockchain.contract-addresses.credits-generator:}")
+    private String creditsGeneratorAddress;
+
+    @Autowired
+    public BlockchainIndexerServiceImpl(@Lazy Web3j web3j,
+                                        BlockchainEventBatchRepository blockchainEventBatchRepository,
+                                        ProcessingCheckpointRepository processingCheckpointRepository,
+                                        VehicleStatsService vehicleStatsService,
+                                        AnalyticsRollupService analyticsRollupService,
+                                        LiveEventService liveEventService,
+                                        PlatformTransactionManager transactionManager) {
+        this.web3j = web3j;
+        this.blockchainEventBatchRepository = blockchainEventBatchRepository;
+        this.processingCheckpointRepository = processingCheckpointRepository;
+        this.vehicleStatsService = vehicleStatsService;
+        this.analyticsRollupService = analyticsRollupService;
+        this.liveEventService = liveEventService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${blockchain.indexer.interval-ms:5000}",
+            initialDelayString = "${blockchain.indexer.interval-ms:5000}")
+    public void scheduledRun() {
+        if (!enabled || runLock.isLocked()) {
+            return;
+        }
+        try {
+            runIndexer();
+        } catch (RuntimeException e) {
+            logger.error("区块链事件索引失败: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public BlockchainIndexResult runIndexer() {
+        if (!runLock.tryLock()) {
+            throw new ApiException(409, "区块链事件索引正在进行");
+        }
+        try {
+            return doRun();
+        } catch (IOException e) {
+            throw new ApiException(503, "区块链节点不可用: " + e.getMessage());
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    private BlockchainIndexResult doRun() throws IOException {
+        long start = System.currentTimeMillis();
+        long head = web3j.ethBlockNumber().send().getBlockNumber().longValueExact();
+        long checkpoint = processingCheckpointRepository.findById(CHECKPOINT_NAME)
+                .map(ProcessingCheckpoint::getPosition)
+                .orElse(startBlock - 1);
+        long from = Math.max(startBlock, checkpoint + 1 - confirmations);
+
+        BlockchainIndexResult result = new BlockchainIndexResult();
+        result.setFromBlock(from);
+        result.setHeadBlock(head);
+
+        long range = initialBlockRange;
+        // 节点的区间上限：比成功过的最大区间更大的区间被拒绝时，认为超出了节点限制，本轮不再超过其一半
+        long ceiling = maxBlockRange;
+        long largestSucceeded = 0;
+        long next = from;
+        while (next <= head) {
+            List<long[]> ranges = new ArrayList<>(rangesPerRequest);
+            BatchRequest batch = web3j.newBatch();
+            long cursor = next;
+            for (int i = 0; i < rangesPerRequest && cursor <= head; i++) {
+                long end = Math.min(head, cursor + range - 1);
+                ranges.add(new long[]{cursor, end});
+                batch.add(web3j.ethGetLogs(logFilter(cursor, end)));
+                cursor = end + 1;
+            }
+            List<? extends Response<?>> responses = batch.send().getResponses();
+            result.setLogRequests(result.getLogRequests() + ranges.size());
+
+            List<Log> logs = new ArrayList<>();
+            long scannedTo = next - 1;
+            for (int i = 0; i < ranges.size(); i++) {
+                Response<?> response = responses.get(i);
+                long span = ranges.get(i)[1] - ranges.get(i)[0] + 1;
+                if (response.hasError()) {
+                    if (span == 1) {
+                        throw new ApiException(500, "eth_getLogs失败: " + response.getError().getMessage());
+                    }
+                    // 之后的区间一并丢弃，从失败的区间开始缩小重试；
+                    // 不大于已成功区间的失败是事件过密所致，只缩小当前区间
+                    if (largestSucceeded > 0 && span > largestSucceeded) {
+                        ceiling = Math.max(largestSucceeded, span / 2);
+                    }
+                    range = Math.max(1, span / 2);
+                    result.setSplitRetries(result.getSplitRetries() + 1);
+                    break;
+                }
+                int rangeLogs = 0;
+                for (EthLog.LogResult<?> logResult : ((EthLog) response).getLogs()) {
+                    logs.add((Log) logResult.get());
+                    rangeLogs++;
+                }
+                scannedTo = ranges.get(i)[1];
+                largestSucceeded = Math.max(largestSucceeded, span);
+                if (rangeLogs > targetLogsPerRange) {
+                    range = Math.max(1, range / 2);
+                } else if (rangeLogs < targetLogsPerRange / 4) {
+                    range = Math.min(ceiling, range * 2);
+                }
+            }
+
+            if (scannedTo >= next) {
+                persist(next, scannedTo, logs, checkpoint, result);
+                next = scannedTo + 1;
+            }
+        }
+
+        result.setToBlock(head);
+        result.setElapsedMillis(System.currentTimeMillis() - start);
+        if (result.getEvents() > 0 || result.getDetachedTransactions() > 0) {
+            logger.info("区块链事件索引完成: 区块[{}, {}]，{}个事件，{}次eth_getLogs，{}笔交易因重组恢复为pending，耗时{}ms",
+                    from, head, result.getEvents(), result.getLogRequests(),
+                    result.getDetachedTransactions(), result.getElapsedMillis());
+        }
+        return result;
+    }
+
+    private EthFilter logFilter(long fromBlock, long toBlock) {
+        EthFilter filter = new EthFilter(
+                DefaultBlockParameter.valueOf(BigInteger.valueOf(fromBlock)),
+                DefaultBlockParameter.valueOf(BigInteger.valueOf(toBlock)),
+                Arrays.asList(carbonCalculatorAddress, creditsGeneratorAddress));
+        filter.addOptionalTopics(
+                CarbonContractAbi.CARBON_REDUCTION_CALCULATED_TOPIC,
+                CarbonContractAbi.CALCULATION_VERIFIED_TOPIC,
+                CarbonContractAbi.CREDITS_GENERATED_TOPIC);
+        return filter;
+    }
+
+    /**
+     * 解码区块区间内的事件并在一个事务中写入，同时推进水位线
+     */
+    private void persist(long fromBlock, long toBlock, List<Log> logs, long previousCheckpoint,
+                         BlockchainIndexResult result) throws IOException {
+        Map<Long, LocalDateTime> blockTimes = fetchBlockTimes(logs);
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<String, BlockchainTx> transactions = new LinkedHashMap<>();
+        // 同一车辆日有多次链上计算时以最后一次为准
+        Map<String, CarbonRecord> calculations = new LinkedHashMap<>();
+        // 计算ID -> 验证交易
+        Map<String, String> verified = new LinkedHashMap<>();
+        List<BlockchainEventBatchRepository.IndexedCredit> credits = new ArrayList<>();
+
+        for (Log log : logs) {
+            String topic = log.getTopics().get(0);
+            String dataType;
+            if (CarbonContractAbi.CARBON_REDUCTION_CALCULATED_TOPIC.equalsIgnoreCase(topic)) {
+                CarbonContractAbi.CarbonReductionCalculatedEvent event = CarbonContractAbi.decodeCarbonReductionCalculated(log);
+                CarbonRecord record = new CarbonRecord();
+                record.setVin(event.getVin());
+                record.setCalculationDate(CarbonContractAbi.fromContractDate(event.getDate()));
+                record.setMileage(CarbonCalculator.fromThousandths(event.getMileage().longValueExact()));
+                record.setEnergyConsumption(CarbonCalculator.fromThousandths(event.getEnergyConsumption().longValueExact()));
+                BigDecimal reduction = CarbonCalculator.fromThousandths(event.getCarbonReduction().longValueExact());
+                record.setCarbonReduction(reduction);
+                record.setEquivalentFuel(CarbonCalculator.calculateEquivalentFuel(reduction));
+                record.setBlockchainTxHash(log.getTransactionHash());
+                record.setCalculationId(event.getCalculationId());
+                calculations.put(record.getVin() + "|" + record.getCalculationDate(), record);
+                dataType = BlockchainTx.DATA_TYPE_CARBON_RECORD;
+            } else if (CarbonContractAbi.CALCULATION_VERIFIED_TOPIC.equalsIgnoreCase(topic)) {
+                verified.put(CarbonContractAbi.decodeCalculationVerified(log), log.getTransactionHash());
+                dataType = BlockchainTx.DATA_TYPE_CARBON_RECORD;
+            } else if (CarbonContractAbi.CREDITS_GENERATED_TOPIC.equalsIgnoreCase(topic)) {
+                CarbonContractAbi.CreditsGeneratedEvent event = CarbonContractAbi.decodeCreditsGenerated(log);
+                credits.add(new BlockchainEventBatchRepository.IndexedCredit(event.getCalculationId(), event.getVin(),
+                        CarbonCalculator.fromThousandths(event.getAmount().longValueExact()),
+                        blockTimes.get(log.getBlockNumber().longValueExact()).toLocalDate(),
+                        log.getTransactionHash()));
+                dataType = BlockchainTx.DATA_TYPE_CREDIT;
+            } else {
+                continue;
+            }
+
+            BlockchainTx tx = new BlockchainTx();
+            tx.setTxHash(log.getTransactionHash());
+            tx.setBlockNumber(log.getBlockNumber().longValueExact());
+            tx.setBlockHash(log.getBlockHash());
+            tx.setToAddress(log.getAddress());
+            tx.setDataType(dataType);
+            tx.setStatus(BlockchainTx.STATUS_CONFIRMED);
+            tx.setTimestamp(blockTimes.get(tx.getBlockNumber()));
+            tx.setCreatedAt(now);
+            tx.setUpdatedAt(now);
+            transactions.put(tx.getTxHash(), tx);
+        }
+
+        Integer detached = transactionTemplate.execute(status -> {
+            blockchainEventBatchRepository.upsertTransactions(new ArrayList<>(transactions.values()));
+            List<CarbonReductionDelta> reductions = new ArrayList<>(
+                    blockchainEventBatchRepository.upsertCalculations(new ArrayList<>(calculations.values())));
+            List<VehicleStatsDelta> deltas = new ArrayList<>();
+            for (CarbonReductionDelta reduction : reductions) {
+                deltas.add(VehicleStatsDelta.carbonReduction(reduction.getVin(), reduction.getChange()));
+            }
+            blockchainEventBatchRepository.markVerified(verified);
+            for (CarbonCredit credit : blockchainEventBatchRepository.insertCredits(credits)) {
+                deltas.add(VehicleStatsDelta.carbonCredits(credit.getVin(), credit.getCreditAmount()));
+                liveEventService.publish(LiveEventDTO.TYPE_CREDIT_RECORD, credit.getVin(),
+                        "credit:" + credit.getBlockchainTxHash(), credit);
+            }
+
+            int count = 0;
+            if (fromBlock <= previousCheckpoint) {
+                // 重新扫描的确认窗口，主链上的事件已在上面写入，再撤销不在主链上的交易的写入
+                List<String> missing = blockchainEventBatchRepository.detachMissing(
+                        fromBlock, Math.min(toBlock, previousCheckpoint), transactions.keySet());
+                if (!missing.isEmpty()) {
+                    revertDetached(missing, deltas, reductions);
+                }
+                count = missing.size();
+            }
+            vehicleStatsService.applyDeltas(deltas);
+            analyticsRollupService.applyCarbonReductions(reductions);
+            processingCheckpointRepository.save(new ProcessingCheckpoint(CHECKPOINT_NAME, toBlock));
+            return count;
+        });
+
+        result.setEvents(result.getEvents() + logs.size());
+        result.setDetachedTransactions(result.getDetachedTransactions() + (detached != null ? detached : 0));
+    }
+
+    /**
+     * 撤销重组后不在主链上的交易的事件写入，扣减量加入本批的车辆统计和分析汇总增量
+     */
+    private void revertDetached(List<String> txHashes, List<VehicleStatsDelta> deltas,
+                                List<CarbonReductionDelta> reductions) {
+        for (CarbonCredit credit : blockchainEventBatchRepository.deleteCredits(txHashes)) {
+            deltas.add(VehicleStatsDelta.carbonCredits(credit.getVin(), credit.getCreditAmount().negate()));
+        }
+        for (CarbonReductionDelta reduction : blockchainEventBatchRepository.revertCalculations(txHashes)) {
+            deltas.add(VehicleStatsDelta.carbonReduction(reduction.getVin(), reduction.getChange()));
+            reductions.add(reduction);
+        }
+        int unverified = blockchainEventBatchRepository.revertVerifications(txHashes);
+        logger.warn("区块重组: {}笔交易不在主链上，撤销{}条验证", txHashes.size(), unverified);
+    }
+
+    /**
+     * 批量查询事件所在区块的时间
+     */
+    private Map<Long, LocalDateTime> fetchBlockTimes(List<Log> logs) throws IOException {
+        Map<Long, LocalDateTime> blockTimes = new HashMap<>();
+        if (logs.isEmpty()) {
+            return blockTimes;
+        }
+        List<Long> blockNumbers = new ArrayList<>(new TreeSet<>(
+                logs.stream().map(log -> log.getBlockNumber().longValueExact()).toList()));
+        BatchRequest batch = web3j.newBatch();
+        for (Long blockNumber : blockNumbers) {
+            batch.add(web3j.ethGetBlockByNumber(DefaultBlockParameter.valueOf(BigInteger.valueOf(blockNumber)), false));
+        }
+        List<? extends Response<?>> responses = batch.send().getResponses();
+        for (int i = 0; i < blockNumbers.size(); i++) {
+            EthBlock.Block block = ((EthBlock) responses.get(i)).getBlock();
+            if (block == null) {
+                throw new IOException("区块" + blockNumbers.get(i) + "不存在");
+            }
+            blockTimes.put(blockNumbers.get(i), LocalDateTime.ofInstant(
+                    Instant.ofEpochSecond(block.getTimestamp().longValueExact()), ZoneId.systemDefault()));
+        }
+        return blockTimes;
+    }
+}
@@ -0,0 +1,646 @@
+// backend/src/main/java/com/example/evcarbonmonitor/service/impl/BlockchainSubmissionServiceImpl.java
+package com.example.evcarbonmonitor.service.impl;
+
+import com.example.evcarbonmonitor.domain.BlockchainOutbox;
+import com.example.evcarbonmonitor.domain.BlockchainTx;
+import com.example.evcarbonmonitor.domain.CarbonCredit;
+import com.example.evcarbonmonitor.domain.CarbonRecord;
+import com.example.evcarbonmonitor.domain.VehicleStatsDelta;
+import com.example.evcarbonmonitor.dto.LiveEventDTO;
+import com.example.evcarbonmonitor.repository.BlockchainOutboxRepository;
+import com.example.evcarbonmonitor.repository.BlockchainTxRepository;
+import com.example.evcarbonmonitor.repository.CarbonCreditRepository;
+import com.example.evcarbonmonitor.repository.CarbonRecordRepository;
+import com.example.evcarbonmonitor.service.BlockchainSubmissionService;
+import com.example.evcarbonmonitor.service.LiveEventService;
+import com.example.evcarbonmonitor.service.VehicleStatsService;
+import com.example.evcarbonmonitor.util.CarbonCalculator;
+import com.example.evcarbonmonitor.util.CarbonContractAbi;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.Hash;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.TransactionEncoder;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.utils.Numeric;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 碳减排记录上链
+ * 待上链的操作先写入blockchain_outbox，与业务状态变更在同一事务提交；
+ * 提交线程在本地分配nonce并签名，把签名后的交易和哈希落库后再通过一次JSON-RPC批量请求广播，
+ * 广播结果不确定时交易仍可按哈希追踪，超时未确认则用同一笔签名交易重新广播；
+ * 重新广播报告nonce已被占用时先按哈希确认原交易是否已打包，已打包则直接确认，不重新签名，避免同一计算上链两次。
+ * 回执轮询同样批量查询，确认后按操作类型推进下一步：计算 -> 验证 -> 生成积分。
+ */
+@Service
+public class BlockchainSubmissionServiceImpl implements BlockchainSubmissionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlockchainSubmissionServiceImpl.class);
+
+    // 普通转账的Gas消耗
+    private static final BigInteger TRANSFER_GAS_LIMIT = BigInteger.valueOf(21_000);
+
+    private final Web3j web3j;
+    private final BlockchainOutboxRepository blockchainOutboxRepository;
+    private final BlockchainTxRepository blockchainTxRepository;
+    private final CarbonRecordRepository carbonRecordRepository;
+    private final CarbonCreditRepository carbonCreditRepository;
+    private final VehicleStatsService vehicleStatsService;
+    private final LiveEventService liveEventService;
+    private final TransactionTemplate transactionTemplate;
+    // 提交和回执轮询共用，保证同一发件箱记录不会被两个线程同时推进
+    private final ReentrantLock pipelineLock = new ReentrantLock();
+
+    private Credentials credentials;
+    private NonceManager nonceManager;
+
+    @Value("${blockchain.submission.enabled:false}")
+    private boolean enabled;
+
+    @Value("${blockchain.submission.private-key:}")
+    private String privateKey;
+
+    @Value("${blockchain.submission.chain-id:1337}")
+    private long chainId;
+
+    @Value("${blockchain.submission.gas-price:20000000000}")
+    private BigInteger gasPrice;
+
+    @Value("${blockchain.submission.gas-limit:500000}")
+    private BigInteger gasLimit;
+
+    // 每轮签名广播和查询回执的交易数，即一次JSON-RPC批量请求的大小
+    @Value("${blockchain.submission.batch-size:50}")
+    private int batchSize;
+
+    // 广播后超过该秒数仍无回执则重新广播
+    @Value("${blockchain.submission.resubmit-after-seconds:120}")
+    private long resubmitAfterSeconds;
+
+    @Value("${blockchain.submission.max-attempts:5}")
+    private int maxAttempts;
+
+    // 计算日期距今至少settle-days天的记录才上链，避免当天数据仍在变化
+    @Value("${blockchain.submission.settle-days:1}")
+    private int settleDays;
+
+    // 计算确认后自动提交验证和积分生成
+    @Value("${blockchain.submission.auto-verify:true}")
+    private boolean autoVerify;
+
+    @Value("${blockchain.contract-addresses.carbon-calculator:}")
+    private String carbonCalculatorAddress;
+
+    @Value("${blockchain.contract-addresses.credits-generator:}")
+    private String creditsGeneratorAddress;
+
+    @Autowired
+    public BlockchainSubmissionServiceImpl(@Lazy Web3j web3j,
+                                           BlockchainOutboxRepository blockchainOutboxRepository,
+                                           BlockchainTxRepository blockchainTxRepository,
+                                           CarbonRecordRepository carbonRecordRepository,
+                                           CarbonCreditRepository carbonCreditRepository,
+                                           VehicleStatsService vehicleStatsService,
+                                           LiveEventService liveEventService,
+                                           PlatformTransactionManager transactionManager) {
+        this.web3j = web3j;
+        this.blockchainOutboxRepository = blockchainOutboxRepository;
+        this.blockchainTxRepository = blockchainTxRepository;
+        this.carbonRecordRepository = carbonRecordRepository;
+        this.carbonCreditRepository = carbonCreditRepository;
+        this.vehicleStatsService = vehicleStatsService;
+        this.liveEventService = liveEventService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        if (privateKey == null || privateKey.isBlank()) {
+            logger.warn("未配置blockchain.submission.private-key，上链提交已停用");
+            enabled = false;
+            return;
+        }
+        credentials = Credentials.create(privateKey);
+        nonceManager = new NonceManager(web3j, credentials.getAddress());
+        logger.info("上链提交已启用: from={}, chainId={}", credentials.getAddress(), chainId);
+    }
+
+    @Scheduled(fixedDelayString = "${blockchain.submission.submit-interval-ms:2000}",
+            initialDelayString = "${blockchain.submission.submit-interval-ms:2000}")
+    public void scheduledSubmit() {
+        if (!enabled || !pipelineLock.tryLock()) {
+            return;
+        }
+        try {
+            enqueueSettledRecords();
+            submitPending();
+        } catch (RuntimeException e) {
+            logger.error("上链提交失败: {}", e.getMessage());
+        } finally {
+            pipelineLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${blockchain.submission.receipt-poll-interval-ms:3000}",
+            initialDelayString = "${blockchain.submission.receipt-poll-interval-ms:3000}")
+    public void scheduledPollReceipts() {
+        if (!enabled || !pipelineLock.tryLock()) {
+            return;
+        }
+        try {
+            pollReceipts();
+        } catch (RuntimeException e) {
+            logger.error("交易回执查询失败: {}", e.getMessage());
+        } finally {
+            pipelineLock.unlock();
+        }
+    }
+
+    @Override
+    public int enqueueSettledRecords() {
+        LocalDate before = LocalDate.now().minusDays(settleDays - 1L);
+        Integer enqueued = transactionTemplate.execute(status -> {
+            List<CarbonRecord> records = carbonRecordRepository.findForSubmission(
+                    CarbonRecord.VERIFICATION_PENDING, before, PageRequest.of(0, batchSize));
+            if (records.isEmpty()) {
+                return 0;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            List<BlockchainOutbox> entries = new ArrayList<>(records.size());
+            List<Long> ids = new ArrayList<>(records.size());
+            for (CarbonRecord record : records) {
+                BlockchainOutbox entry = newEntry(BlockchainOutbox.OPERATION_CALCULATE_CARBON_REDUCTION, record.getId(),
+                        record.getVin(), record.getCalculationDate(), now);
+                // 记录入队时的汇总值，广播重试时上链数据保持不变
+                entry.setMileageMeters(CarbonCalculator.toThousandths(record.getMileage()));
+                entry.setEnergyWh(CarbonCalculator.toThousandths(record.getEnergyConsumption()));
+                entries.add(entry);
+                ids.add(record.getId());
+            }
+            blockchainOutboxRepository.saveAll(entries);
+            carbonRecordRepository.updateVerificationStatus(ids, CarbonRecord.VERIFICATION_SUBMITTED, now);
+            return entries.size();
+        });
+        return enqueued != null ? enqueued : 0;
+    }
+
+    @Override
+    public int submitPending() {
+        List<BlockchainOutbox> signed;
+        try {
+            signed = transactionTemplate.execute(status -> signPending());
+        } catch (RuntimeException e) {
+            // 签名事务回滚，已分配的nonce作废
+            nonceManager.reset();
+            throw e;
+        }
+        if (signed == null || signed.isEmpty()) {
+            fillNonceGaps();
+            return 0;
+        }
+
+        BatchRequest batch = web3j.newBatch();
+        for (BlockchainOutbox entry : signed) {
+            batch.add(web3j.ethSendRawTransaction(entry.getRawTransaction()));
+        }
+        List<? extends Response<?>> responses;
+        try {
+            responses = batch.send().getResponses();
+        } catch (IOException e) {
+            // 节点可能已收到交易，保持submitted状态，由回执轮询按超时重新广播
+            logger.warn("批量广播交易失败，{}笔交易将在超时后重新广播: {}", signed.size(), e.getMessage());
+            return 0;
+        }
+
+        List<BlockchainOutbox> rejected = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        for (int i = 0; i < signed.size(); i++) {
+            Response<?> response = responses.get(i);
+            if (response.hasError() && !isAlreadyKnown(response.getError().getMessage())) {
+                rejected.add(signed.get(i));
+                errors.add(response.getError().getMessage());
+            }
+        }
+        if (!rejected.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = 0; i < rejected.size(); i++) {
+                    releaseForRetry(rejected.get(i), errors.get(i));
+                }
+            });
+            logger.warn("{}笔交易被节点拒绝: {}", rejected.size(), errors.get(0));
+        }
+        logger.debug("已广播{}笔交易", signed.size() - rejected.size());
+        return signed.size() - rejected.size();
+    }
+
+    /**
+     * 为待提交记录分配nonce并签名，签名交易和哈希在广播前落库
+     */
+    private List<BlockchainOutbox> signPending() {
+        List<BlockchainOutbox> pending = blockchainOutboxRepository.findByStatusOrderById(
+                BlockchainOutbox.STATUS_PENDING, PageRequest.of(0, batchSize));
+        if (pending.isEmpty()) {
+            return Collections.emptyList();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<BlockchainTx> transactions = new ArrayList<>(pending.size());
+        for (BlockchainOutbox entry : pending) {
+            String to = contractAddress(entry.getOperation());
+            long nonce;
+            try {
+                nonce = nonceManager.acquire();
+            } catch (IOException e) {
+                throw new IllegalStateException("读取nonce失败: " + e.getMessage(), e);
+            }
+            RawTransaction rawTransaction = RawTransaction.createTransaction(
+                    BigInteger.valueOf(nonce), gasPrice, gasLimit, to, encodeCall(entry));
+            String signedHex = Numeric.toHexString(TransactionEncoder.signMessage(rawTransaction, chainId, credentials));
+            String txHash = Hash.sha3(signedHex);
+
+            entry.setStatus(BlockchainOutbox.STATUS_SUBMITTED);
+            entry.setNonce(nonce);
+            entry.setRawTransaction(signedHex);
+            entry.setTxHash(txHash);
+            entry.setAttempts(entry.getAttempts() + 1);
+            entry.setSubmittedAt(now);
+            entry.setUpdatedAt(now);
+
+            BlockchainTx tx = new BlockchainTx();
+            tx.setTxHash(txHash);
+            tx.setFromAddress(credentials.getAddress());
+            tx.setToAddress(to);
+            tx.setDataType(BlockchainOutbox.OPERATION_GENERATE_CREDITS.equals(entry.getOperation())
+                    ? BlockchainTx.DATA_TYPE_CREDIT : BlockchainTx.DATA_TYPE_CARBON_RECORD);
+            tx.setStatus(BlockchainTx.STATUS_PENDING);
+            tx.setTimestamp(now);
+            tx.setCreatedAt(now);
+            tx.setUpdatedAt(now);
+            transactions.add(tx);
+        }
+        blockchainTxRepository.saveAll(transactions);
+        blockchainOutboxRepository.saveAll(pending);
+        return pending;
+    }
+
+    @Override
+    public int pollReceipts() {
+        List<BlockchainOutbox> submitted = blockchainOutboxRepository.findByStatusOrderById(
+                BlockchainOutbox.STATUS_SUBMITTED, PageRequest.of(0, batchSize));
+        if (submitted.isEmpty()) {
+            return 0;
+        }
+
+        Map<BlockchainOutbox, Optional<TransactionReceipt>> results = fetchReceipts(submitted);
+        if (results == null) {
+            return 0;
+        }
+
+        Map<BlockchainOutbox, TransactionReceipt> receipts = new LinkedHashMap<>();
+        List<BlockchainOutbox> stale = new ArrayList<>();
+        LocalDateTime resubmitBefore = LocalDateTime.now().minusSeconds(resubmitAfterSeconds);
+        for (BlockchainOutbox entry : submitted) {
+            Optional<TransactionReceipt> receipt = results.get(entry);
+            if (receipt == null) {
+                // 查询出错，不能据此认为交易未打包，下一轮再查
+                continue;
+            }
+            if (receipt.isPresent()) {
+                receipts.put(entry, receipt.get());
+            } else if (entry.getSubmittedAt() != null && entry.getSubmittedAt().isBefore(resubmitBefore)) {
+                stale.add(entry);
+            }
+        }
+
+        if (!receipts.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<VehicleStatsDelta> deltas = new ArrayList<>();
+                receipts.forEach((entry, receipt) -> applyReceipt(entry, receipt, deltas));
+                vehicleStatsService.applyDeltas(deltas);
+            });
+        }
+        int confirmed = receipts.size();
+        if (!stale.isEmpty()) {
+            confirmed += rebroadcast(stale);
+        }
+        return confirmed;
+    }
+
+    /**
+     * 批量查询回执，结果中没有回执的交易为Optional.empty()；单笔查询出错的记录不在结果中，与确实没有回执区分开。
+     * 整批请求失败时返回null
+     */
+    private Map<BlockchainOutbox, Optional<TransactionReceipt>> fetchReceipts(List<BlockchainOutbox> entries) {
+        BatchRequest batch = web3j.newBatch();
+        for (BlockchainOutbox entry : entries) {
+            batch.add(web3j.ethGetTransactionReceipt(entry.getTxHash()));
+        }
+        List<? extends Response<?>> responses;
+        try {
+            responses = batch.send().getResponses();
+        } catch (IOException e) {
+            logger.warn("批量查询交易回执失败: {}", e.getMessage());
+            return null;
+        }
+
+        Map<BlockchainOutbox, Optional<TransactionReceipt>> results = new LinkedHashMap<>();
+        for (int i = 0; i < entries.size(); i++) {
+            BlockchainOutbox entry = entries.get(i);
+            Response<?> response = responses.get(i);
+            if (response.hasError()) {
+                logger.warn("查询交易回执出错: txHash={}, {}", entry.getTxHash(), response.getError().getMessage());
+                continue;
+            }
+            results.put(entry, ((EthGetTransactionReceipt) response).getTransactionReceipt());
+        }
+        return results;
+    }
+
+    /**
+     * 用原签名交易重新广播，交易哈希不变。
+     * nonce已被占用时原交易可能已经打包(节点对已打包的交易报告nonce too low)，先按哈希查询回执：
+     * 有回执则按回执确认；确实没有回执说明nonce被其他交易占用，重新签名；查询出错则保持原状态，下一轮再处理
+     *
+     * @return 按回执确认的记录数
+     */
+    private int rebroadcast(List<BlockchainOutbox> stale) {
+        BatchRequest batch = web3j.newBatch();
+        for (BlockchainOutbox entry : stale) {
+            batch.add(web3j.ethSendRawTransaction(entry.getRawTransaction()));
+        }
+        List<? extends Response<?>> responses;
+        try {
+            responses = batch.send().getResponses();
+        } catch (IOException e) {
+            logger.warn("重新广播交易失败: {}", e.getMessage());
+            return 0;
+        }
+
+        List<BlockchainOutbox> conflicted = new ArrayList<>();
+        for (int i = 0; i < stale.size(); i++) {
+            Response<?> response = responses.get(i);
+            if (response.hasError() && isNonceConflict(response.getError().getMessage())) {
+                conflicted.add(stale.get(i));
+            }
+        }
+        Map<BlockchainOutbox, Optional<TransactionReceipt>> conflictReceipts =
+                conflicted.isEmpty() ? Collections.emptyMap() : fetchReceipts(conflicted);
+
+        LocalDateTime now = LocalDateTime.now();
+        Integer confirmed = transactionTemplate.execute(status -> {
+            List<VehicleStatsDelta> deltas = new ArrayList<>();
+            int received = 0;
+            for (int i = 0; i < stale.size(); i++) {
+                BlockchainOutbox entry = stale.get(i);
+                Response<?> response = responses.get(i);
+                if (!response.hasError() || isAlreadyKnown(response.getError().getMessage())) {
+                    entry.setSubmittedAt(now);
+                    entry.setUpdatedAt(now);
+                    blockchainOutboxRepository.save(entry);
+                } else if (!isNonceConflict(response.getError().getMessage())) {
+                    releaseForRetry(entry, response.getError().getMessage());
+                } else {
+                    Optional<TransactionReceipt> receipt = conflictReceipts != null ? conflictReceipts.get(entry) : null;
+                    if (receipt == null) {
+                        logger.warn("无法确认原交易是否已打包，暂不重新签名: txHash={}", entry.getTxHash());
+                    } else if (receipt.isPresent()) {
+                        logger.info("原交易已打包，按回执确认: txHash={}", entry.getTxHash());
+                        applyReceipt(entry, receipt.get(), deltas);
+                        received++;
+                    } else {
+                        releaseForRetry(entry, response.getError().getMessage());
+                    }
+                }
+            }
+            vehicleStatsService.applyDeltas(deltas);
+            return received;
+        });
+        logger.info("已重新广播{}笔超时未确认的交易", stale.size());
+        return confirmed != null ? confirmed : 0;
+    }
+
+    /**
+     * 没有待签名的记录时，用0转账给自己的交易填补被拒绝的交易归还的nonce空缺，
+     * 否则空缺之后已广播的交易一直在节点排队，无法打包
+     */
+    private void fillNonceGaps() {
+        Long nonce;
+        while ((nonce = nonceManager.pollReleased()) != null) {
+            RawTransaction filler = RawTransaction.createEtherTransaction(BigInteger.valueOf(nonce), gasPrice,
+                    TRANSFER_GAS_LIMIT, credentials.getAddress(), BigInteger.ZERO);
+            String signedHex = Numeric.toHexString(TransactionEncoder.signMessage(filler, chainId, credentials));
+            String error;
+            try {
+                Response<?> response = web3j.ethSendRawTransaction(signedHex).send();
+                error = response.hasError() && !isAlreadyKnown(response.getError().getMessage())
+                        ? response.getError().getMessage() : null;
+            } catch (IOException e) {
+                error = e.getMessage();
+            }
+            if (error == null) {
+                logger.info("已用空转账填补nonce空缺: nonce={}", nonce);
+                continue;
+            }
+            logger.warn("填补nonce空缺失败: nonce={}, {}", nonce, error);
+            if (isNonceConflict(error)) {
+                nonceManager.reset();
+            } else {
+                nonceManager.release(nonce);
+            }
+            return;
+        }
+    }
+
+    /**
+     * 根据回执推进发件箱记录和业务状态
+     */
+    private void applyReceipt(BlockchainOutbox entry, TransactionReceipt receipt, List<VehicleStatsDelta> deltas) {
+        LocalDateTime now = LocalDateTime.now();
+        boolean success = receipt.isStatusOK();
+
+        blockchainTxRepository.findById(entry.getTxHash()).ifPresent(tx -> {
+            tx.setBlockNumber(receipt.getBlockNumber().longValue());
+            tx.setBlockHash(receipt.getBlockHash());
+            tx.setGasUsed(receipt.getGasUsed().longValue());
+            tx.setStatus(success ? BlockchainTx.STATUS_CONFIRMED : BlockchainTx.STATUS_FAILED);
+            tx.setUpdatedAt(now);
+            blockchainTxRepository.save(tx);
+        });
+
+        entry.setUpdatedAt(now);
+        if (!success) {
+            entry.setStatus(BlockchainOutbox.STATUS_FAILED);
+            entry.setLastError("交易执行失败: " + receipt.getStatus());
+            blockchainOutboxRepository.save(entry);
+            if (!BlockchainOutbox.OPERATION_GENERATE_CREDITS.equals(entry.getOperation())) {
+                // 计算或验证被合约拒绝，碳减排记录不可上链
+                carbonRecordRepository.updateVerificationStatus(
+                        Collections.singletonList(entry.getReferenceId()), CarbonRecord.VERIFICATION_REJECTED, now);
+            }
+            logger.warn("交易执行失败: operation={}, txHash={}", entry.getOperation(), entry.getTxHash());
+            return;
+        }
+        entry.setStatus(BlockchainOutbox.STATUS_CONFIRMED);
+
+        switch (entry.getOperation()) {
+            case BlockchainOutbox.OPERATION_CALCULATE_CARBON_REDUCTION -> {
+                Optional<String> calculationId = CarbonContractAbi.findCalculationId(receipt, carbonCalculatorAddress);
+                calculationId.ifPresent(entry::setCalculationId);
+                carbonRecordRepository.updateBlockchainResult(entry.getReferenceId(), entry.getTxHash(),
+                        calculationId.orElse(null), now);
+                if (calculationId.isEmpty()) {
+                    logger.warn("回执中没有CarbonReductionCalculated事件: txHash={}", entry.getTxHash());
+                } else if (autoVerify) {
+                    blockchainOutboxRepository.save(newFollowUp(BlockchainOutbox.OPERATION_VERIFY_CALCULATION, entry, now));
+                }
+            }
+            case BlockchainOutbox.OPERATION_VERIFY_CALCULATION -> {
+                carbonRecordRepository.updateVerificationStatus(
+                        Collections.singletonList(entry.getReferenceId()), CarbonRecord.VERIFICATION_VERIFIED, now);
+                if (autoVerify) {
+                    blockchainOutboxRepository.save(newFollowUp(BlockchainOutbox.OPERATION_GENERATE_CREDITS, entry, now));
+                }
+            }
+            case BlockchainOutbox.OPERATION_GENERATE_CREDITS ->
+                    CarbonContractAbi.findCreditsGenerated(receipt, creditsGeneratorAddress)
+                            .filter(event -> !carbonCreditRepository.existsByBlockchainTxHash(entry.getTxHash()))
+                            .ifPresent(event -> {
+                                CarbonCredit credit = new CarbonCredit();
+                                credit.setCarbonRecordId(entry.getReferenceId());
+                                credit.setVin(entry.getVin());
+                                // 合约积分按克计，数据库积分按千克计
+                                credit.setCreditAmount(CarbonCalculator.fromThousandths(event.getAmount().longValueExact()));
+                                credit.setCreditDate(entry.getCalculationDate());
+                                credit.setBlockchainTxHash(entry.getTxHash());
+                                credit.setStatus(CarbonCredit.STATUS_ACTIVE);
+                                credit.setCreatedAt(now);
+                                credit.setUpdatedAt(now);
+                                carbonCreditRepository.save(credit);
+                                deltas.add(VehicleStatsDelta.carbonCredits(entry.getVin(), credit.getCreditAmount()));
+                                liveEventService.publish(LiveEventDTO.TYPE_CREDIT_RECORD, entry.getVin(),
+                                        "credit:" + entry.getTxHash(), credit);
+                            });
+            default -> logger.warn("未知的上链操作: {}", entry.getOperation());
+        }
+        blockchainOutboxRepository.save(entry);
+    }
+
+    /**
+     * 广播被拒绝的记录回到待提交状态，下一轮重新分配nonce签名；超过重试次数后标记失败
+     */
+    private void releaseForRetry(BlockchainOutbox entry, String error) {
+        if (isNonceConflict(error)) {
+            // nonce已被占用，重新与节点同步
+            nonceManager.reset();
+        } else {
+            nonceManager.release(entry.getNonce());
+        }
+        LocalDateTime now = LocalDateTime.now();
+        blockchainTxRepository.findById(entry.getTxHash()).ifPresent(tx -> {
+            tx.setStatus(BlockchainTx.STATUS_FAILED);
+            tx.setUpdatedAt(now);
+            blockchainTxRepository.save(tx);
+        });
+        boolean exhausted = entry.getAttempts() >= maxAttempts;
+        entry.setStatus(exhausted ? BlockchainOutbox.STATUS_FAILED : BlockchainOutbox.STATUS_PENDING);
+        entry.setLastError(error != null && error.length() > 500 ? error.substring(0, 500) : error);
+        entry.setUpdatedAt(now);
+        blockchainOutboxRepository.save(entry);
+        if (exhausted && BlockchainOutbox.OPERATION_CALCULATE_CARBON_REDUCTION.equals(entry.getOperation())) {
+            // 放弃上链的记录回到待验证状态，可人工排查后重新入队
+            carbonRecordRepository.updateVerificationStatus(
+                    Collections.singletonList(entry.getReferenceId()), CarbonRecord.VERIFICATION_PENDING, now);
+        }
+    }
+
+    @Override
+    public Map<String, Long> getOutboxSummary() {
+        Map<String, Long> summary = new LinkedHashMap<>();
+        summary.put(BlockchainOutbox.STATUS_PENDING, 0L);
+        summary.put(BlockchainOutbox.STATUS_SUBMITTED, 0L);
+        summary.put(BlockchainOutbox.STATUS_CONFIRMED, 0L);
+        summary.put(BlockchainOutbox.STATUS_FAILED, 0L);
+        for (Object[] row : blockchainOutboxRepository.countByStatus()) {
+            summary.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        return summary;
+    }
+
+    private BlockchainOutbox newEntry(String operation, Long referenceId, String vin, LocalDate calculationDate,
+                                      LocalDateTime now) {
+        BlockchainOutbox entry = new BlockchainOutbox();
+        entry.setOperation(operation);
+        entry.setReferenceId(referenceId);
+        entry.setVin(vin);
+        entry.setCalculationDate(calculationDate);
+        entry.setStatus(BlockchainOutbox.STATUS_PENDING);
+        entry.setCreatedAt(now);
+        entry.setUpdatedAt(now);
+        return entry;
+    }
+
+    private BlockchainOutbox newFollowUp(String operation, BlockchainOutbox previous, LocalDateTime now) {
+        BlockchainOutbox entry = newEntry(operation, previous.getReferenceId(), previous.getVin(),
+                previous.getCalculationDate(), now);
+        entry.setCalculationId(previous.getCalculationId());
+        return entry;
+    }
+
+    private String contractAddress(String operation) {
+        return BlockchainOutbox.OPERATION_GENERATE_CREDITS.equals(operation)
+                ? creditsGeneratorAddress : carbonCalculatorAddress;
+    }
+
+    private String encodeCall(BlockchainOutbox entry) {
+        return switch (entry.getOperation()) {
+            case BlockchainOutbox.OPERATION_CALCULATE_CARBON_REDUCTION -> CarbonContractAbi.encodeCalculateCarbonReduction(
+                    entry.getVin(), CarbonContractAbi.toContractDate(entry.getCalculationDate()),
+                    entry.getMileageMeters(), entry.getEnergyWh());
+            case BlockchainOutbox.OPERATION_VERIFY_CALCULATION ->
+                    CarbonContractAbi.encodeVerifyCalculation(entry.getCalculationId());
+            case BlockchainOutbox.OPERATION_GENERATE_CREDITS ->
+                    CarbonContractAbi.encodeGenerateCredits(entry.getCalculationId());
+            default -> throw new IllegalStateException("未知的上链操作: " + entry.getOperation());
+        };
+    }
+
+    private static boolean isAlreadyKnown(String message) {
+        return message != null && message.toLowerCase().contains("already known");
+    }
+
+    private static boolean isNonceConflict(String message) {
+        if (message == null) {
+            return false;
+        }
+        String lower = message.toLowerCase();
+        return lower.contains("nonce too low") || lower.contains("replacement transaction underpriced");
+    }
+}
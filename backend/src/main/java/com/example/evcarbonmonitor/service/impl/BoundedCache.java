@@ -0,0 +1,230 @@
+// backend/src/main/java/com/example/evcarbonmonitor/service/impl/BoundedCache.java
+package com.example.evcarbonmonitor.service.impl;
+
+import com.example.evcarbonmonitor.dto.CacheStatsDTO;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * 容量和存活时间有界的近似LRU缓存
+ * 条目按键的哈希分到多个段，每段各自按访问顺序淘汰、各用一把锁，读取只锁所在的段；
+ * 用ReentrantLock而不是synchronized，虚拟线程等锁时不占住载体线程。
+ * 条目写入后超过存活时间即失效。
+ * 读取数据库前先取stamp，写回时如果该键在此之后被失效过则放弃写回，
+ * 避免并发读取把失效前读到的旧数据重新放回缓存
+ */
+class BoundedCache<K, V> {
+
+    // 段数上限，每段至少容纳这么多条目时才继续拆分
+    private static final int MAX_SEGMENTS = 16;
+    private static final int MIN_SEGMENT_SIZE = 64;
+
+    private static class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static class Segment<K, V> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<K, Entry<V>> entries;
+
+        private Segment(int capacity, LongAdder evictions) {
+            this.entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                    if (size() > capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Segment<K, V>[] segments;
+
+    // 保护invalidated和floor；写回和失效先取这把锁再取段锁，读取不经过这把锁
+    private final ReentrantLock invalidationLock = new ReentrantLock();
+    // 最近被失效的键及失效时的时钟值，超过maxSize个时丢弃最早的并把floor抬到该值
+    private final LinkedHashMap<K, Long> invalidated = new LinkedHashMap<>();
+    private volatile long clock;
+    // stamp小于floor的写回一律放弃
+    private long floor;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder rejectedPuts = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    BoundedCache(String name, int maxSize, long ttlSeconds) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        int count = Integer.highestOneBit(Math.max(1, Math.min(MAX_SEGMENTS, maxSize / MIN_SEGMENT_SIZE)));
+        this.segments = new Segment[count];
+        // 各段容量之和等于maxSize
+        int capacity = Math.max(maxSize, 0);
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment<>(capacity / count + (i < capacity % count ? 1 : 0), evictions);
+        }
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+    }
+
+    V get(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            Entry<V> entry = segment.entries.get(key);
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            if (entry.expiresAt - System.nanoTime() <= 0) {
+                segment.entries.remove(key);
+                expirations.increment();
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * 读取数据源之前调用，结果写回时传给put
+     */
+    long stamp() {
+        return clock;
+    }
+
+    /**
+     * 写入缓存
+     * @param stamp 读取数据源之前取得的stamp
+     * @return 是否写入；读取期间该键被失效过时不写入
+     */
+    boolean put(K key, V value, long stamp) {
+        if (maxSize <= 0) {
+            return false;
+        }
+        invalidationLock.lock();
+        try {
+            Long invalidatedAt = invalidated.get(key);
+            if (floor > stamp || (invalidatedAt != null && invalidatedAt > stamp)) {
+                rejectedPuts.increment();
+                return false;
+            }
+            Segment<K, V> segment = segmentFor(key);
+            segment.lock.lock();
+            try {
+                segment.entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+            } finally {
+                segment.lock.unlock();
+            }
+            return true;
+        } finally {
+            invalidationLock.unlock();
+        }
+    }
+
+    void invalidate(K key) {
+        invalidationLock.lock();
+        try {
+            long now = ++clock;
+            Segment<K, V> segment = segmentFor(key);
+            segment.lock.lock();
+            try {
+                if (segment.entries.remove(key) != null) {
+                    invalidations.increment();
+                }
+            } finally {
+                segment.lock.unlock();
+            }
+            invalidated.remove(key);
+            invalidated.put(key, now);
+            if (invalidated.size() > Math.max(maxSize, 1)) {
+                Iterator<Long> eldest = invalidated.values().iterator();
+                floor = Math.max(floor, eldest.next());
+                eldest.remove();
+            }
+        } finally {
+            invalidationLock.unlock();
+        }
+    }
+
+    /**
+     * 失效满足条件的条目，正在读取的结果一律不写回
+     */
+    void invalidateIf(Predicate<K> predicate) {
+        invalidationLock.lock();
+        try {
+            floor = ++clock;
+            for (Segment<K, V> segment : segments) {
+                segment.lock.lock();
+                try {
+                    Iterator<K> keys = segment.entries.keySet().iterator();
+                    while (keys.hasNext()) {
+                        if (predicate.test(keys.next())) {
+                            keys.remove();
+                            invalidations.increment();
+                        }
+                    }
+                } finally {
+                    segment.lock.unlock();
+                }
+            }
+            invalidated.clear();
+        } finally {
+            invalidationLock.unlock();
+        }
+    }
+
+    void invalidateAll() {
+        invalidateIf(key -> true);
+    }
+
+    CacheStatsDTO stats() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                size += segment.entries.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        CacheStatsDTO stats = new CacheStatsDTO();
+        stats.setName(name);
+        stats.setSize(size);
+        stats.setMaxSize(maxSize);
+        stats.setHits(hits.sum());
+        stats.setMisses(misses.sum());
+        stats.setEvictions(evictions.sum());
+        stats.setExpirations(expirations.sum());
+        stats.setInvalidations(invalidations.sum());
+        stats.setRejectedPuts(rejectedPuts.sum());
+        return stats;
+    }
+}
@@ -0,0 +1,260 @@
+// backend/src/main/java/com/example/evcarbonmonitor/service/impl/CacheSnapshotStore.java
+package com.example.evcarbonmonitor.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * 常驻内存缓存的磁盘快照，缩短重启后缓存的预热时间
+ * 停止时各缓存把内容写入snapshot-dir下的同名文件(先写临时文件再原子改名)，启动时先从快照恢复，
+ * 再由后台线程与数据库核对，补上停机期间其他实例的修改。
+ * 文件头记录格式版本和写入时间，末尾是CRC32校验值；版本不符、超过max-age-minutes或校验失败的快照一律忽略，
+ * 由缓存照常从数据库加载
+ */
+@Component
+public class CacheSnapshotStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheSnapshotStore.class);
+
+    private static final int MAGIC = 0x45564353;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * 写入快照内容
+     */
+    @FunctionalInterface
+    public interface SnapshotWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    /**
+     * 读取快照内容，内容不合法时抛出IOException
+     */
+    @FunctionalInterface
+    public interface SnapshotReader<T> {
+        T read(DataInputStream in) throws IOException;
+    }
+
+    // 核对任务依次执行，避免启动时多个全表扫描同时占用数据库
+    private final ExecutorService reconciler;
+
+    @Value("${startup.snapshot.enabled:false}")
+    private boolean enabled;
+
+    // 容器中应挂载持久卷，否则新的Pod读不到上一个Pod写入的快照
+    @Value("${startup.snapshot.dir:${java.io.tmpdir}/evcarbonmonitor-snapshot}")
+    private String dir;
+
+    @Value("${startup.snapshot.max-age-minutes:60}")
+    private long maxAgeMinutes;
+
+    public CacheSnapshotStore() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("cache-snapshot-reconciler-");
+        threadFactory.setDaemon(true);
+        this.reconciler = Executors.newSingleThreadExecutor(threadFactory);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reconciler.shutdownNow();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 写入快照，失败时只记录日志，不影响停止流程
+     */
+    public void save(String name, int version, SnapshotWriter writer) {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        Path target = Paths.get(dir, name + ".snapshot");
+        Path temp = null;
+        try {
+            Files.createDirectories(target.getParent());
+            temp = Files.createTempFile(target.getParent(), name, ".tmp");
+            CRC32 crc = new CRC32();
+            try (OutputStream file = Files.newOutputStream(temp);
+                 DataOutputStream out = new DataOutputStream(
+                         new BufferedOutputStream(new CheckedOutputStream(file, crc), BUFFER_SIZE))) {
+                out.writeInt(MAGIC);
+                out.writeInt(version);
+                out.writeLong(System.currentTimeMillis());
+                writer.write(out);
+                out.flush();
+                // 校验值本身不计入校验
+                DataOutputStream trailer = new DataOutputStream(file);
+                trailer.writeLong(crc.getValue());
+                trailer.flush();
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("已写入缓存快照{}: {}字节，耗时{}ms", name, Files.size(target), System.currentTimeMillis() - start);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("缓存快照{}写入失败: {}", name, e.getMessage());
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // 临时文件留待下次覆盖
+                }
+            }
+        }
+    }
+
+    /**
+     * 读取快照
+     * @return 快照内容；未启用、快照不存在或不可用时返回null
+     */
+    public <T> T load(String name, int version, SnapshotReader<T> reader) {
+        if (!enabled) {
+            return null;
+        }
+        Path path = Paths.get(dir, name + ".snapshot");
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try {
+            // 先按整个文件校验，再解析内容
+            if (!checksumMatches(path)) {
+                logger.warn("缓存快照{}校验失败，忽略", name);
+                return null;
+            }
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE))) {
+                if (in.readInt() != MAGIC || in.readInt() != version) {
+                    logger.info("缓存快照{}的格式版本不符，忽略", name);
+                    return null;
+                }
+                Instant createdAt = Instant.ofEpochMilli(in.readLong());
+                Duration age = Duration.between(createdAt, Instant.now());
+                if (age.isNegative() || age.toMinutes() >= maxAgeMinutes) {
+                    logger.info("缓存快照{}写入于{}，已超过{}分钟，忽略", name, createdAt, maxAgeMinutes);
+                    return null;
+                }
+                T content = reader.read(in);
+                // 内容之后应当正好是校验值
+                in.skipNBytes(Long.BYTES);
+                if (in.read() != -1) {
+                    logger.warn("缓存快照{}的内容长度不符，忽略", name);
+                    return null;
+                }
+                return content;
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("缓存快照{}读取失败，忽略: {}", name, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 文件末尾8字节是此前全部内容的CRC32
+     */
+    private static boolean checksumMatches(Path path) throws IOException {
+        long remaining = Files.size(path) - Long.BYTES;
+        if (remaining < 0) {
+            return false;
+        }
+        CRC32 crc = new CRC32();
+        try (InputStream file = Files.newInputStream(path)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (remaining > 0) {
+                int read = file.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read < 0) {
+                    return false;
+                }
+                crc.update(buffer, 0, read);
+                remaining -= read;
+            }
+            return new DataInputStream(file).readLong() == crc.getValue();
+        }
+    }
+
+    /**
+     * 在后台线程中与数据库核对从快照恢复的缓存
+     */
+    public void reconcile(String name, Runnable task) {
+        reconciler.execute(() -> {
+            long start = System.currentTimeMillis();
+            try {
+                task.run();
+                logger.info("缓存快照{}已与数据库核对，耗时{}ms", name, System.currentTimeMillis() - start);
+            } catch (RuntimeException e) {
+                logger.warn("缓存快照{}与数据库核对失败: {}", name, e.getMessage());
+            }
+        });
+    }
+
+    // 可为null的字段先写一个是否存在的标记
+
+    public static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    public static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        return in.readBoolean() ? LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC) : null;
+    }
+
+    public static void writeDate(DataOutputStream out, LocalDate value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochDay());
+        }
+    }
+
+    public static LocalDate readDate(DataInputStream in) throws IOException {
+        return in.readBoolean() ? LocalDate.ofEpochDay(in.readLong()) : null;
+    }
+
+    public static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            byte[] unscaled = value.unscaledValue().toByteArray();
+            out.writeInt(value.scale());
+            out.writeShort(unscaled.length);
+            out.write(unscaled);
+        }
+    }
+
+    public static BigDecimal readDecimal(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        int scale = in.readInt();
+        byte[] unscaled = new byte[in.readUnsignedShort()];
+        in.readFully(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+}
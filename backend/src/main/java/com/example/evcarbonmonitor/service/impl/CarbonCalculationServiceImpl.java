@@ -0,0 +1,285 @@
+// backend/src/main/java/com/example/evcarbonmonitor/service/impl/CarbonCalculationServiceImpl.java
+package com.example.evcarbonmonitor.service.impl;
+
+import com.example.evcarbonmonitor.domain.CarbonRecord;
+import com.example.evcarbonmonitor.domain.CarbonReductionDelta;
+import com.example.evcarbonmonitor.domain.ProcessingCheckpoint;
+import com.example.evcarbonmonitor.domain.VehicleStatsDelta;
+import com.example.evcarbonmonitor.dto.CarbonCalculationResult;
+import com.example.evcarbonmonitor.dto.LiveEventDTO;
+import com.example.evcarbonmonitor.exception.ApiException;
+import com.example.evcarbonmonitor.repository.CarbonRecordBatchRepository;
+import com.example.evcarbonmonitor.repository.DrivingRecordBatchRepository;
+import com.example.evcarbonmonitor.repository.ProcessingCheckpointRepository;
+import com.example.evcarbonmonitor.service.AnalyticsRollupService;
+import com.example.evcarbonmonitor.service.CarbonCalculationService;
+import com.example.evcarbonmonitor.service.LiveEventService;
+import com.example.evcarbonmonitor.service.VehicleStatsService;
+import com.example.evcarbonmonitor.util.CarbonCalculator;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 碳减排增量计算
+ * 以行驶记录ID为水位线，每轮只读取水位线之后的新增记录，找出受影响的车辆日，
+ * 按车辆日重新汇总并计算减排量后写入carbon_records。本轮的上界在行驶记录写入锁下读取(见DrivingRecordBatchRepository)，
+ * 不会越过尚未提交的写入事务持有的较小ID。车辆日的计算结果只取决于当日全部行驶记录，
+ * 重复处理同一区间不会重复累计，因此任一分区失败时水位线不前进，下一轮整体重试即可。
+ * 受影响的车辆按VIN码哈希分区，在ForkJoin线程池中并行计算，每个分区按块提交事务。
+ */
+@Service
+public class CarbonCalculationServiceImpl implements CarbonCalculationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CarbonCalculationServiceImpl.class);
+
+    private static final String CHECKPOINT_NAME = "carbon-calculation";
+
+    private final CarbonRecordBatchRepository carbonRecordBatchRepository;
+    private final DrivingRecordBatchRepository drivingRecordBatchRepository;
+    private final ProcessingCheckpointRepository processingCheckpointRepository;
+    private final VehicleStatsService vehicleStatsService;
+    private final AnalyticsRollupService analyticsRollupService;
+    private final LiveEventService liveEventService;
+    private final TransactionTemplate transactionTemplate;
+    private final CarbonCalculator carbonCalculator;
+    private final ForkJoinPool forkJoinPool;
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    @Value("${carbon.calculation.enabled:true}")
+    private boolean enabled;
+
+    // 等待行驶记录写入事务提交的最长时间，等待期间新的写入排队；超时时本轮跳过
+    @Value("${carbon.calculation.write-lock-timeout-ms:2000}")
+    private long writeLockTimeoutMs;
+
+    @Value("${carbon.calculation.max-records-per-run:1000000}")
+    private long maxRecordsPerRun;
+
+    @Value("${carbon.calculation.partitions:16}")
+    private int partitions;
+
+    // 每个事务处理的车辆数
+    @Value("${carbon.calculation.chunk-size:500}")
+    private int chunkSize;
+
+    @Autowired
+    public CarbonCalculationServiceImpl(CarbonRecordBatchRepository carbonRecordBatchRepository,
+                                        DrivingRecordBatchRepository drivingRecordBatchRepository,
+                                        ProcessingCheckpointRepository processingCheckpointRepository,
+                                        VehicleStatsService vehicleStatsService,
+                                        AnalyticsRollupService analyticsRollupService,
+                                        LiveEventService liveEventService,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${carbon.calculation.grid-emission-factor:" + CarbonCalculator.DEFAULT_GRID_EMISSION_FACTOR + "}") long gridEmissionFactor,
+                                        @Value("${carbon.calculation.traditional-vehicle-emission-factor:" + CarbonCalculator.DEFAULT_TRADITIONAL_VEHICLE_EMISSION_FACTOR + "}") long traditionalVehicleEmissionFactor,
+                                        @Value("${carbon.calculation.parallelism:0}") int parallelism) {
+        this.carbonRecordBatchRepository = carbonRecordBatchRepository;
+        this.drivingRecordBatchRepository = drivingRecordBatchRepository;
+        this.processingCheckpointRepository = processingCheckpointRepository;
+        this.vehicleStatsService = vehicleStatsService;
+        this.analyticsRollupService = analyticsRollupService;
+        this.liveEventService = liveEventService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.carbonCalculator = new CarbonCalculator(gridEmissionFactor, traditionalVehicleEmissionFactor);
+        this.forkJoinPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        forkJoinPool.shutdownNow();
+    }
+
+    @Scheduled(fixedDelayString = "${carbon.calculation.interval-ms:60000}",
+            initialDelayString = "${carbon.calculation.interval-ms:60000}")
+    public void scheduledRun() {
+        if (!enabled || runLock.isLocked()) {
+            return;
+        }
+        try {
+            runIncremental();
+        } catch (RuntimeException e) {
+            logger.error("碳减排定时计算失败: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public CarbonCalculationResult runIncremental() {
+        if (!runLock.tryLock()) {
+            throw new ApiException(409, "碳减排计算正在进行");
+        }
+        try {
+            return doRun();
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    private CarbonCalculationResult doRun() {
+        long start = System.currentTimeMillis();
+        long lower = processingCheckpointRepository.findById(CHECKPOINT_NAME)
+                .map(ProcessingCheckpoint::getPosition)
+                .orElse(0L);
+
+        Long upper;
+        try {
+            upper = transactionTemplate.execute(status -> drivingRecordBatchRepository.findCommittedUpperBound(
+                    lower, lower + maxRecordsPerRun, writeLockTimeoutMs));
+        } catch (CannotAcquireLockException e) {
+            logger.warn("行驶记录写入事务超过{}ms未提交，本轮碳减排计算跳过", writeLockTimeoutMs);
+            return new CarbonCalculationResult(lower, lower, 0, 0, System.currentTimeMillis() - start);
+        }
+        if (upper == null) {
+            return new CarbonCalculationResult(lower, lower, 0, 0, System.currentTimeMillis() - start);
+        }
+
+        Map<String, Set<LocalDate>> touched = carbonRecordBatchRepository.findTouchedVehicleDays(lower, upper);
+
+        // 按VIN码哈希分区，同一车辆只会出现在一个分区
+        List<List<String>> vinPartitions = new ArrayList<>(partitions);
+        for (int i = 0; i < partitions; i++) {
+            vinPartitions.add(new ArrayList<>());
+        }
+        for (String vin : touched.keySet()) {
+            vinPartitions.get(Math.floorMod(vin.hashCode(), partitions)).add(vin);
+        }
+
+        int vehicleDays;
+        try {
+            vehicleDays = forkJoinPool.invoke(new PartitionTask(vinPartitions, touched, 0, partitions));
+        } catch (RuntimeException e) {
+            // 已提交的分区结果保留，水位线不前进，下一轮重新计算整个区间
+            logger.error("碳减排计算失败，区间({}, {}]将在下一轮重试", lower, upper, e);
+            throw new ApiException(500, "碳减排计算失败: " + e.getMessage());
+        }
+
+        processingCheckpointRepository.save(new ProcessingCheckpoint(CHECKPOINT_NAME, upper));
+
+        long elapsed = System.currentTimeMillis() - start;
+        logger.info("碳减排计算完成: 行驶记录({}, {}]，{}辆车，{}个车辆日，耗时{}ms",
+                lower, upper, touched.size(), vehicleDays, elapsed);
+        return new CarbonCalculationResult(lower, upper, vehicleDays, partitions, elapsed);
+    }
+
+    /**
+     * 按分区二分拆分的ForkJoin任务，叶子任务处理单个分区，返回计算的车辆日数
+     */
+    private class PartitionTask extends RecursiveTask<Integer> {
+
+        private final List<List<String>> vinPartitions;
+        private final Map<String, Set<LocalDate>> touched;
+        private final int from;
+        private final int to;
+
+        PartitionTask(List<List<String>> vinPartitions, Map<String, Set<LocalDate>> touched, int from, int to) {
+            this.vinPartitions = vinPartitions;
+            this.touched = touched;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from == 1) {
+                return calculatePartition(vinPartitions.get(from), touched);
+            }
+            int mid = (from + to) >>> 1;
+            PartitionTask left = new PartitionTask(vinPartitions, touched, from, mid);
+            PartitionTask right = new PartitionTask(vinPartitions, touched, mid, to);
+            left.fork();
+            return right.compute() + left.join();
+        }
+    }
+
+    private int calculatePartition(List<String> vins, Map<String, Set<LocalDate>> touched) {
+        Collections.sort(vins);
+        int vehicleDays = 0;
+        for (int i = 0; i < vins.size(); i += chunkSize) {
+            List<String> chunk = vins.subList(i, Math.min(i + chunkSize, vins.size()));
+            Integer calculated = transactionTemplate.execute(status -> calculateChunk(chunk, touched));
+            vehicleDays += calculated != null ? calculated : 0;
+        }
+        return vehicleDays;
+    }
+
+    /**
+     * 重新计算一批车辆受影响日期的碳减排记录，并把减排量的变化累加到车辆统计和分析汇总
+     */
+    private int calculateChunk(List<String> vins, Map<String, Set<LocalDate>> touched) {
+        LocalDate from = null;
+        LocalDate to = null;
+        for (String vin : vins) {
+            for (LocalDate date : touched.get(vin)) {
+                from = from == null || date.isBefore(from) ? date : from;
+                to = to == null || date.isAfter(to) ? date : to;
+            }
+        }
+        if (from == null) {
+            return 0;
+        }
+
+        List<CarbonRecordBatchRepository.DailyDriving> dailyDriving =
+                carbonRecordBatchRepository.sumDailyDriving(vins, from, to);
+        Map<String, BigDecimal> previousReductions = carbonRecordBatchRepository.findReductions(vins, from, to);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<CarbonRecord> records = new ArrayList<>();
+        List<VehicleStatsDelta> deltas = new ArrayList<>();
+        List<CarbonReductionDelta> reductionDeltas = new ArrayList<>();
+        for (CarbonRecordBatchRepository.DailyDriving daily : dailyDriving) {
+            // 日期区间是整批车辆的并集，只处理本车辆确实受影响的日期
+            if (!touched.get(daily.getVin()).contains(daily.getDate())) {
+                continue;
+            }
+            BigDecimal reduction = carbonCalculator.calculateCarbonReductionKg(daily.getMileage(), daily.getEnergyConsumption());
+
+            CarbonRecord record = new CarbonRecord();
+            record.setVin(daily.getVin());
+            record.setCalculationDate(daily.getDate());
+            record.setMileage(daily.getMileage());
+            record.setEnergyConsumption(daily.getEnergyConsumption());
+            record.setCarbonReduction(reduction);
+            record.setEquivalentFuel(CarbonCalculator.calculateEquivalentFuel(reduction));
+            record.setCalculationMethod(CarbonRecord.METHOD_STANDARD_V1);
+            record.setVerificationStatus(CarbonRecord.VERIFICATION_PENDING);
+            record.setCreatedAt(now);
+            record.setUpdatedAt(now);
+            records.add(record);
+
+            BigDecimal previous = previousReductions.getOrDefault(
+                    CarbonRecordBatchRepository.vehicleDayKey(daily.getVin(), daily.getDate()), BigDecimal.ZERO);
+            BigDecimal change = reduction.subtract(previous);
+            if (change.signum() != 0) {
+                deltas.add(VehicleStatsDelta.carbonReduction(daily.getVin(), change));
+                reductionDeltas.add(new CarbonReductionDelta(daily.getVin(), daily.getDate(), change));
+                // 同一车辆同一天的多次重算只推送最新结果
+                liveEventService.publish(LiveEventDTO.TYPE_CARBON_RECORD, daily.getVin(),
+                        "carbon:" + daily.getVin() + ":" + daily.getDate(), record);
+            }
+        }
+
+        carbonRecordBatchRepository.upsert(records);
+        vehicleStatsService.applyDeltas(deltas);
+        analyticsRollupService.applyCarbonReductions(reductionDeltas);
+        return records.size();
+    }
+}
@@ -0,0 +1,511 @@
+// backend/src/main/java/com/example/evcarbonmonitor/service/impl/FleetStateServiceImpl.java
+package com.example.evcarbonmonitor.service.impl;
+
+import com.example.evcarbonmonitor.domain.DrivingRecord;
+import com.example.evcarbonmonitor.domain.Vehicle;
+import com.example.evcarbonmonitor.domain.VehicleState;
+import com.example.evcarbonmonitor.dto.FleetSummaryDTO;
+import com.example.evcarbonmonitor.dto.LiveEventDTO;
+import com.example.evcarbonmonitor.exception.ApiException;
+import com.example.evcarbonmonitor.repository.FleetStateRepository;
+import com.example.evcarbonmonitor.service.FleetStateService;
+import com.example.evcarbonmonitor.service.LiveEventService;
+import com.example.evcarbonmonitor.util.TransactionUtil;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * 车队实时状态，常驻内存
+ * 每辆车的状态是一个不可变快照，放在AtomicReference中用CAS替换，上报写入线程之间不加锁；
+ * 各状态的车辆数随CAS成功同步增减，汇总查询不需要遍历车辆。
+ * 有变化的车辆记入待回写集合，由定时任务合并后批量回写vehicles表的status和last_update_time，
+ * 同一车辆在一个回写周期内的多次上报只写一次。
+ * 启用启动快照(startup.snapshot)时停止前把全部车辆状态连同待回写标记写入快照，启动时从快照恢复后在后台与数据库核对
+ */
+@Service
+public class FleetStateServiceImpl implements FleetStateService, MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(FleetStateServiceImpl.class);
+
+    private static final List<String> STATUSES = List.of(Vehicle.STATUS_ONLINE, Vehicle.STATUS_OFFLINE, Vehicle.STATUS_ERROR);
+
+    private static final String SNAPSHOT_NAME = "fleet-state";
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private final FleetStateRepository fleetStateRepository;
+    private final VehicleCache vehicleCache;
+    private final LiveEventService liveEventService;
+    private final CacheSnapshotStore snapshotStore;
+
+    private final ConcurrentHashMap<String, AtomicReference<VehicleState>> states = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LongAdder> statusCounts = new ConcurrentHashMap<>();
+    // 状态变化后尚未回写数据库的车辆
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // 加载完成后才写快照，启动失败时不覆盖上一次的快照
+    private volatile boolean loaded;
+
+    @Value("${fleet.state.enabled:true}")
+    private boolean enabled;
+
+    // 超过该秒数没有上报的车辆标记为离线
+    @Value("${fleet.state.offline-after-seconds:300}")
+    private long offlineAfterSeconds;
+
+    // 每条回写语句的车辆数
+    @Value("${fleet.state.flush-batch-size:1000}")
+    private int flushBatchSize;
+
+    @Autowired
+    public FleetStateServiceImpl(FleetStateRepository fleetStateRepository, VehicleCache vehicleCache,
+                                 LiveEventService liveEventService, CacheSnapshotStore snapshotStore) {
+        this.fleetStateRepository = fleetStateRepository;
+        this.vehicleCache = vehicleCache;
+        this.liveEventService = liveEventService;
+        this.snapshotStore = snapshotStore;
+        for (String status : STATUSES) {
+            statusCounts.put(status, new LongAdder());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        List<SnapshotEntry> snapshot = snapshotStore.load(SNAPSHOT_NAME, SNAPSHOT_VERSION, FleetStateServiceImpl::readSnapshot);
+        if (snapshot != null) {
+            for (SnapshotEntry entry : snapshot) {
+                if (states.putIfAbsent(entry.state.getVin(), new AtomicReference<>(entry.state)) == null) {
+                    counter(entry.state.getStatus()).increment();
+                    if (entry.dirty) {
+                        dirty.add(entry.state.getVin());
+                    }
+                }
+            }
+            loaded = true;
+            logger.info("已从快照恢复{}辆车的实时状态，耗时{}ms", snapshot.size(), System.currentTimeMillis() - start);
+            snapshotStore.reconcile(SNAPSHOT_NAME, () -> reconcile(snapshot));
+            return;
+        }
+        fleetStateRepository.forEachState(LocalDate.now(), state -> {
+            if (states.putIfAbsent(state.getVin(), new AtomicReference<>(state)) == null) {
+                counter(state.getStatus()).increment();
+            }
+        });
+        loaded = true;
+        logger.info("已加载{}辆车的实时状态，耗时{}ms", states.size(), System.currentTimeMillis() - start);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!enabled) {
+            return;
+        }
+        // 停止前回写剩余的变化，回写失败的车辆在快照中保留待回写标记
+        if (!dirty.isEmpty()) {
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                logger.error("停止前回写车辆实时状态失败: {}", e.getMessage());
+            }
+        }
+        if (loaded) {
+            snapshotStore.save(SNAPSHOT_NAME, SNAPSHOT_VERSION, this::writeSnapshot);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${fleet.state.flush-interval-ms:5000}",
+            initialDelayString = "${fleet.state.flush-interval-ms:5000}")
+    public void scheduledFlush() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.error("车辆实时状态回写失败: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void recordTelemetry(Collection<DrivingRecord> records) {
+        if (!enabled) {
+            return;
+        }
+        for (DrivingRecord record : records) {
+            AtomicReference<VehicleState> ref = states.get(record.getVin());
+            if (ref == null) {
+                // 加载之后由外部工具直接写入vehicles表的车辆
+                ref = states.computeIfAbsent(record.getVin(), vin -> {
+                    counter(Vehicle.STATUS_OFFLINE).increment();
+                    return new AtomicReference<>(VehicleState.initial(vin, Vehicle.STATUS_OFFLINE, record.getCreatedAt()));
+                });
+            }
+            update(ref, state -> state.withRecord(record, record.getCreatedAt()));
+        }
+    }
+
+    @Override
+    public void vehicleSaved(String vin, String status, LocalDateTime lastUpdateTime) {
+        if (!enabled) {
+            return;
+        }
+        TransactionUtil.afterCommit(() -> {
+            AtomicReference<VehicleState> ref = states.get(vin);
+            if (ref == null) {
+                // 新车辆的状态已由本次事务写入数据库，不需要回写
+                ref = states.putIfAbsent(vin, new AtomicReference<>(VehicleState.initial(vin, status, lastUpdateTime)));
+                if (ref == null) {
+                    counter(status).increment();
+                    return;
+                }
+            }
+            update(ref, state -> state.withStatus(status, lastUpdateTime));
+        });
+    }
+
+    @Override
+    public void vehicleRemoved(String vin) {
+        if (!enabled) {
+            return;
+        }
+        TransactionUtil.afterCommit(() -> {
+            AtomicReference<VehicleState> ref = states.remove(vin);
+            if (ref != null) {
+                // 置空后，仍持有该引用的更新线程不会再改动计数
+                VehicleState state = ref.getAndSet(null);
+                if (state != null) {
+                    counter(state.getStatus()).decrement();
+                }
+            }
+            dirty.remove(vin);
+        });
+    }
+
+    @Override
+    public VehicleState getState(String vin) {
+        AtomicReference<VehicleState> ref = enabled ? states.get(vin) : null;
+        VehicleState state = ref != null ? ref.get() : null;
+        if (state == null) {
+            throw new ApiException(404, "车辆不存在");
+        }
+        return state;
+    }
+
+    @Override
+    public List<VehicleState> getStates(String status) {
+        if (status != null && !status.isEmpty() && !STATUSES.contains(status)) {
+            throw new ApiException(400, "不支持的车辆状态: " + status);
+        }
+        List<VehicleState> result = new ArrayList<>();
+        if (!enabled) {
+            return result;
+        }
+        for (AtomicReference<VehicleState> ref : states.values()) {
+            VehicleState state = ref.get();
+            if (state != null && (status == null || status.isEmpty() || status.equals(state.getStatus()))) {
+                result.add(state);
+            }
+        }
+        result.sort(Comparator.comparing(VehicleState::getVin));
+        return result;
+    }
+
+    @Override
+    public FleetSummaryDTO getSummary() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        long total = 0;
+        for (Map.Entry<String, LongAdder> entry : statusCounts.entrySet()) {
+            long count = entry.getValue().sum();
+            if (count != 0 || STATUSES.contains(entry.getKey())) {
+                counts.put(entry.getKey(), count);
+                total += count;
+            }
+        }
+        FleetSummaryDTO summary = new FleetSummaryDTO();
+        summary.setTotal(total);
+        summary.setStatusCounts(counts);
+        summary.setPendingWrites(dirty.size());
+        summary.setTimestamp(LocalDateTime.now());
+        return summary;
+    }
+
+    @Override
+    public int flush() {
+        if (!enabled) {
+            return 0;
+        }
+        flushLock.lock();
+        try {
+            return doFlush();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private int doFlush() {
+        LocalDateTime cutoff = LocalDateTime.now().minusSeconds(offlineAfterSeconds);
+        for (AtomicReference<VehicleState> ref : states.values()) {
+            update(ref, state -> !Vehicle.STATUS_OFFLINE.equals(state.getStatus()) && state.getLastUpdateTime().isBefore(cutoff)
+                    ? state.withStatus(Vehicle.STATUS_OFFLINE, state.getLastUpdateTime())
+                    : state);
+        }
+
+        // 先移出待回写集合再读取快照，读取之后的变化会重新记入，留到下一轮
+        List<VehicleState> pending = new ArrayList<>(dirty.size());
+        Iterator<String> iterator = dirty.iterator();
+        while (iterator.hasNext()) {
+            String vin = iterator.next();
+            iterator.remove();
+            AtomicReference<VehicleState> ref = states.get(vin);
+            VehicleState state = ref != null ? ref.get() : null;
+            if (state != null) {
+                pending.add(state);
+            }
+        }
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        pending.sort(Comparator.comparing(VehicleState::getVin));
+
+        long start = System.currentTimeMillis();
+        int written = 0;
+        for (int i = 0; i < pending.size(); i += flushBatchSize) {
+            List<VehicleState> chunk = pending.subList(i, Math.min(i + flushBatchSize, pending.size()));
+            List<FleetStateRepository.UpdatedState> updated;
+            try {
+                updated = fleetStateRepository.updateStates(chunk);
+            } catch (DataAccessException e) {
+                // 未写入的车辆放回待回写集合，下一轮重试
+                for (VehicleState state : pending.subList(i, pending.size())) {
+                    dirty.add(state.getVin());
+                }
+                logger.error("车辆实时状态回写失败，{}辆车留待下一轮: {}", pending.size() - i, e.getMostSpecificCause().getMessage());
+                break;
+            }
+            written += updated.size();
+            invalidateCache(chunk, updated);
+        }
+        logger.debug("回写{}辆车的实时状态，实际更新{}行，耗时{}ms", pending.size(), written, System.currentTimeMillis() - start);
+        return written;
+    }
+
+    /**
+     * 状态变化时失效相应状态的列表，只有最后上报时间变化时只失效车辆详情
+     */
+    private void invalidateCache(List<VehicleState> chunk, List<FleetStateRepository.UpdatedState> updated) {
+        if (updated.isEmpty()) {
+            return;
+        }
+        Map<String, String> newStatuses = new HashMap<>();
+        for (VehicleState state : chunk) {
+            newStatuses.put(state.getVin(), state.getStatus());
+        }
+        List<String> vins = new ArrayList<>(updated.size());
+        Set<String> changedStatuses = new HashSet<>();
+        for (FleetStateRepository.UpdatedState row : updated) {
+            vins.add(row.getVin());
+            String status = newStatuses.get(row.getVin());
+            if (!row.getPreviousStatus().equals(status)) {
+                changedStatuses.add(row.getPreviousStatus());
+                changedStatuses.add(status);
+            }
+        }
+        if (changedStatuses.isEmpty()) {
+            vehicleCache.statsChanged(vins);
+        } else {
+            vehicleCache.vehiclesChanged(vins, changedStatuses);
+        }
+    }
+
+    /**
+     * CAS替换车辆快照，成功后同步状态计数并记入待回写集合，状态变化时推送事件；快照已被删除时放弃
+     */
+    private void update(AtomicReference<VehicleState> ref, UnaryOperator<VehicleState> change) {
+        while (true) {
+            VehicleState current = ref.get();
+            if (current == null) {
+                return;
+            }
+            VehicleState next = change.apply(current);
+            if (next == current) {
+                return;
+            }
+            if (ref.compareAndSet(current, next)) {
+                if (!current.getStatus().equals(next.getStatus())) {
+                    counter(current.getStatus()).decrement();
+                    counter(next.getStatus()).increment();
+                    liveEventService.publish(LiveEventDTO.TYPE_VEHICLE_STATUS, next.getVin(), "status:" + next.getVin(), next);
+                }
+                dirty.add(next.getVin());
+                return;
+            }
+        }
+    }
+
+    /**
+     * 按数据库核对从快照恢复的状态
+     * 数据库中的最后上报时间更晚(停机期间由其他实例更新)时替换为数据库中的状态，补入快照之后新增的车辆；
+     * 快照中有、数据库中没有的车辆已被删除，恢复之后没有变化的才移除，有变化的说明仍在上报或刚被修改，不做处理
+     */
+    private void reconcile(List<SnapshotEntry> snapshot) {
+        String[] vins = new String[snapshot.size()];
+        for (int i = 0; i < vins.length; i++) {
+            vins[i] = snapshot.get(i).state.getVin();
+        }
+        BitSet found = new BitSet(vins.length);
+        fleetStateRepository.forEachState(LocalDate.now(), loadedState -> {
+            int index = Arrays.binarySearch(vins, loadedState.getVin());
+            if (index >= 0) {
+                found.set(index);
+            }
+            AtomicReference<VehicleState> ref = states.get(loadedState.getVin());
+            if (ref != null) {
+                update(ref, state -> state.getLastUpdateTime().isBefore(loadedState.getLastUpdateTime()) ? loadedState : state);
+            } else if (index < 0
+                    && states.putIfAbsent(loadedState.getVin(), new AtomicReference<>(loadedState)) == null) {
+                counter(loadedState.getStatus()).increment();
+            }
+        });
+        for (int i = found.nextClearBit(0); i < vins.length; i = found.nextClearBit(i + 1)) {
+            VehicleState restored = snapshot.get(i).state;
+            AtomicReference<VehicleState> ref = states.get(restored.getVin());
+            if (ref != null && ref.compareAndSet(restored, null)) {
+                states.remove(restored.getVin(), ref);
+                counter(restored.getStatus()).decrement();
+                dirty.remove(restored.getVin());
+            }
+        }
+    }
+
+    /**
+     * 快照中的一辆车，按VIN码排序
+     */
+    private static class SnapshotEntry {
+        private final VehicleState state;
+        private final boolean dirty;
+
+        private SnapshotEntry(VehicleState state, boolean dirty) {
+            this.state = state;
+            this.dirty = dirty;
+        }
+    }
+
+    private void writeSnapshot(DataOutputStream out) throws IOException {
+        List<VehicleState> snapshot = new ArrayList<>(states.size());
+        for (AtomicReference<VehicleState> ref : states.values()) {
+            VehicleState state = ref.get();
+            if (state != null) {
+                snapshot.add(state);
+            }
+        }
+        snapshot.sort(Comparator.comparing(VehicleState::getVin));
+        out.writeInt(snapshot.size());
+        for (VehicleState state : snapshot) {
+            out.writeUTF(state.getVin());
+            out.writeUTF(state.getStatus());
+            CacheSnapshotStore.writeDateTime(out, state.getLastUpdateTime());
+            CacheSnapshotStore.writeDateTime(out, state.getRecordTime());
+            CacheSnapshotStore.writeDecimal(out, state.getLatitude());
+            CacheSnapshotStore.writeDecimal(out, state.getLongitude());
+            out.writeBoolean(state.getBatteryLevel() != null);
+            if (state.getBatteryLevel() != null) {
+                out.writeInt(state.getBatteryLevel());
+            }
+            CacheSnapshotStore.writeDecimal(out, state.getSpeed());
+            CacheSnapshotStore.writeDate(out, state.getDay());
+            out.writeLong(state.getDayRecords());
+            CacheSnapshotStore.writeDecimal(out, state.getDayMileage());
+            CacheSnapshotStore.writeDecimal(out, state.getDayEnergyConsumption());
+            out.writeBoolean(dirty.contains(state.getVin()));
+        }
+    }
+
+    private static List<SnapshotEntry> readSnapshot(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        List<SnapshotEntry> snapshot = new ArrayList<>(size);
+        String previous = null;
+        for (int i = 0; i < size; i++) {
+            String vin = in.readUTF();
+            if (previous != null && previous.compareTo(vin) >= 0) {
+                throw new IOException("车辆状态未按VIN码排列");
+            }
+            previous = vin;
+            String status = in.readUTF();
+            LocalDateTime lastUpdateTime = CacheSnapshotStore.readDateTime(in);
+            if (lastUpdateTime == null) {
+                throw new IOException("车辆" + vin + "缺少最后上报时间");
+            }
+            LocalDateTime recordTime = CacheSnapshotStore.readDateTime(in);
+            BigDecimal latitude = CacheSnapshotStore.readDecimal(in);
+            BigDecimal longitude = CacheSnapshotStore.readDecimal(in);
+            Integer batteryLevel = in.readBoolean() ? in.readInt() : null;
+            BigDecimal speed = CacheSnapshotStore.readDecimal(in);
+            LocalDate day = CacheSnapshotStore.readDate(in);
+            long dayRecords = in.readLong();
+            BigDecimal dayMileage = CacheSnapshotStore.readDecimal(in);
+            BigDecimal dayEnergyConsumption = CacheSnapshotStore.readDecimal(in);
+            VehicleState state = new VehicleState(vin, status, lastUpdateTime, recordTime, latitude, longitude,
+                    batteryLevel, speed, day, dayRecords, dayMileage, dayEnergyConsumption);
+            snapshot.add(new SnapshotEntry(state, in.readBoolean()));
+        }
+        return snapshot;
+    }
+
+    private LongAdder counter(String status) {
+        return statusCounts.computeIfAbsent(status, key -> new LongAdder());
+    }
+
+    /**
+     * 导出各状态的车辆数和待回写车辆数
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String status : STATUSES) {
+            Gauge.builder("fleet.vehicles", statusCounts.get(status), LongAdder::sum)
+                    .tag("status", status)
+                    .description("各状态的车辆数")
+                    .register(registry);
+        }
+        Gauge.builder("fleet.state.pending.writes", dirty, Set::size)
+                .description("尚未回写数据库的车辆数")
+                .register(registry);
+    }
+}
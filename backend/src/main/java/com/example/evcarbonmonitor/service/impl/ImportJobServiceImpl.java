@@ -0,0 +1,393 @@
+// backend/src/main/java/com/example/evcarbonmonitor/service/impl/ImportJobServiceImpl.java
+package com.example.evcarbonmonitor.service.impl;
+
+import com.example.evcarbonmonitor.domain.ImportJob;
+import com.example.evcarbonmonitor.domain.ImportJobFailure;
+import com.example.evcarbonmonitor.dto.BatchImportResponse;
+import com.example.evcarbonmonitor.dto.ImportJobDTO;
+import com.example.evcarbonmonitor.exception.ApiException;
+import com.example.evcarbonmonitor.repository.ImportJobFailureRepository;
+import com.example.evcarbonmonitor.repository.ImportJobRepository;
+import com.example.evcarbonmonitor.service.ImportJobService;
+import com.example.evcarbonmonitor.util.CsvUtil;
+import com.example.evcarbonmonitor.util.VehicleCsvReader;
+import com.example.evcarbonmonitor.util.VirtualThreadUtil;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * 车辆异步导入任务服务
+ * 上传文件落盘后交给有界线程池处理；任务进度和失败记录与每块的写入在同一事务中提交，
+ * 应用重启后未完成的任务从最后一个已提交的块继续
+ */
+@Service
+public class ImportJobServiceImpl implements ImportJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportJobServiceImpl.class);
+
+    private final ImportJobRepository importJobRepository;
+    private final ImportJobFailureRepository importJobFailureRepository;
+    private final VehicleImportEngine vehicleImportEngine;
+    private final ThreadPoolExecutor executor;
+    private final Path spoolDir;
+
+    // 运行中任务的取消标记
+    private final Map<String, AtomicBoolean> cancelFlags = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ImportJobServiceImpl(ImportJobRepository importJobRepository,
+                                ImportJobFailureRepository importJobFailureRepository,
+                                VehicleImportEngine vehicleImportEngine,
+                                @Value("${vehicle.import.spool-dir:${java.io.tmpdir}/evcarbonmonitor-import}") String spoolDir,
+                                @Value("${vehicle.import.workers:2}") int workers,
+                                @Value("${vehicle.import.queue-capacity:20}") int queueCapacity,
+                                @Value("${execution.virtual-threads.enabled:false}") boolean virtualThreads) {
+        this.importJobRepository = importJobRepository;
+        this.importJobFailureRepository = importJobFailureRepository;
+        this.vehicleImportEngine = vehicleImportEngine;
+        this.spoolDir = Paths.get(spoolDir);
+        // 虚拟线程模式下工作线程数仍为workers，同时运行的导入任务数不变
+        ThreadFactory threadFactory = virtualThreads
+                ? VirtualThreadUtil.threadFactory("import-job-")
+                : new CustomizableThreadFactory("import-job-");
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory);
+    }
+
+    @Override
+    public ImportJobDTO submitImport(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new ApiException(400, "文件不能为空");
+        }
+
+        String originalFilename = file.getOriginalFilename();
+        if (originalFilename == null
+                || !(originalFilename.endsWith(".csv") || originalFilename.endsWith(".csv.gz"))) {
+            throw new ApiException(400, "仅支持CSV文件格式");
+        }
+
+        // 上传文件落盘，处理过程中不占用堆内存
+        String jobId = UUID.randomUUID().toString();
+        Path spoolPath = spoolDir.resolve(jobId + (originalFilename.endsWith(".gz") ? ".csv.gz" : ".csv"));
+        try {
+            Files.createDirectories(spoolDir);
+            file.transferTo(spoolPath);
+        } catch (IOException e) {
+            logger.error("保存上传文件失败", e);
+            throw new ApiException(500, "保存上传文件失败: " + e.getMessage());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        ImportJob job = new ImportJob();
+        job.setId(jobId);
+        job.setFileName(originalFilename);
+        job.setSpoolPath(spoolPath.toAbsolutePath().toString());
+        job.setStatus(ImportJob.STATUS_QUEUED);
+        job.setBytesTotal(file.getSize());
+        job.setCreatedAt(now);
+        job.setUpdatedAt(now);
+        job = importJobRepository.save(job);
+
+        try {
+            schedule(jobId);
+        } catch (RejectedExecutionException e) {
+            importJobRepository.deleteById(jobId);
+            deleteSpoolFile(job);
+            throw new ApiException(429, "导入任务队列已满，请稍后重试");
+        }
+
+        logger.info("导入任务已提交: jobId={}, file={}", jobId, originalFilename);
+        return convertToDTO(job);
+    }
+
+    @Override
+    public ImportJobDTO getJob(String jobId) {
+        return convertToDTO(findJob(jobId));
+    }
+
+    @Override
+    public ImportJobDTO cancelJob(String jobId) {
+        ImportJob job = findJob(jobId);
+        if (job.isFinished()) {
+            throw new ApiException(409, "导入任务已结束，无法取消");
+        }
+
+        cancelFlags.computeIfAbsent(jobId, id -> new AtomicBoolean()).set(true);
+
+        // 排队中的任务直接结束，运行中的任务在当前块提交后停止
+        if (ImportJob.STATUS_QUEUED.equals(job.getStatus())) {
+            job = finish(job, ImportJob.STATUS_CANCELLED, "任务已取消");
+        }
+        return convertToDTO(job);
+    }
+
+    @Override
+    public BatchImportResponse getJobResult(String jobId) {
+        ImportJob job = findJob(jobId);
+        if (!job.isFinished()) {
+            throw new ApiException(409, "导入任务尚未完成");
+        }
+
+        List<BatchImportResponse.FailureRecord> failures = importJobFailureRepository.findByJobIdOrderByLine(jobId)
+                .stream()
+                .map(f -> new BatchImportResponse.FailureRecord(f.getLine(), f.getVin(), f.getReason()))
+                .collect(Collectors.toList());
+
+        BatchImportResponse response = new BatchImportResponse();
+        response.setTotal(job.getRowsParsed());
+        response.setSuccess(job.getRowsAccepted());
+        response.setFailed(job.getRowsFailed());
+        response.setFailures(failures);
+        // 异步任务不保留新车辆明细
+        response.setNewVehicles(new ArrayList<>());
+        response.setElapsedMillis(job.getElapsedMillis());
+        response.setRowsPerSecond(rowsPerSecond(job));
+        return response;
+    }
+
+    /**
+     * 应用启动后恢复未完成的任务
+     * 上传文件保存在本地磁盘，只适用于单节点部署
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverJobs() {
+        List<ImportJob> pending = importJobRepository.findByStatusInOrderByCreatedAt(
+                Arrays.asList(ImportJob.STATUS_QUEUED, ImportJob.STATUS_RUNNING));
+        for (ImportJob job : pending) {
+            if (!Files.exists(Paths.get(job.getSpoolPath()))) {
+                finish(job, ImportJob.STATUS_FAILED, "上传文件已丢失，无法恢复");
+                continue;
+            }
+            try {
+                schedule(job.getId());
+                logger.info("恢复导入任务: jobId={}, 已处理{}条记录", job.getId(), job.getRowsParsed());
+            } catch (RejectedExecutionException e) {
+                finish(job, ImportJob.STATUS_FAILED, "导入任务队列已满，无法恢复");
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 运行中的任务在当前块结束后停止，保持running状态，下次启动时从断点继续
+        executor.shutdownNow();
+    }
+
+    private void schedule(String jobId) {
+        executor.execute(() -> runJob(jobId));
+    }
+
+    /**
+     * 执行导入任务，从最后一个已提交的块之后继续
+     */
+    private void runJob(String jobId) {
+        ImportJob job = importJobRepository.findById(jobId).orElse(null);
+        if (job == null || job.isFinished()) {
+            cancelFlags.remove(jobId);
+            return;
+        }
+        AtomicBoolean cancelled = cancelFlags.computeIfAbsent(jobId, id -> new AtomicBoolean());
+        // 应用关闭时停止，不结束任务
+        AtomicBoolean stopped = new AtomicBoolean();
+
+        try {
+            if (cancelled.get()) {
+                finish(job, ImportJob.STATUS_CANCELLED, "任务已取消");
+                return;
+            }
+
+            job.setStatus(ImportJob.STATUS_RUNNING);
+            if (job.getStartedAt() == null) {
+                job.setStartedAt(LocalDateTime.now());
+            }
+            job.setUpdatedAt(LocalDateTime.now());
+            ImportJob runningJob = importJobRepository.save(job);
+
+            long segmentStart = System.nanoTime();
+            long baseElapsedMillis = runningJob.getElapsedMillis();
+            int committedRows = runningJob.getRowsParsed();
+
+            try (CountingInputStream input = new CountingInputStream(Files.newInputStream(Paths.get(runningJob.getSpoolPath())));
+                 VehicleCsvReader reader = CsvUtil.openVehicleReader(input)) {
+
+                // 跳过重启前已提交的记录
+                for (int i = 0; i < committedRows && reader.hasNext(); i++) {
+                    reader.next();
+                }
+
+                vehicleImportEngine.importVehicles(reader, new VehicleImportEngine.ImportListener() {
+                    @Override
+                    public boolean isCancelled() {
+                        if (executor.isShutdown()) {
+                            stopped.set(true);
+                            return true;
+                        }
+                        return cancelled.get();
+                    }
+
+                    @Override
+                    public void onChunkCompleted(int rows, int accepted, List<BatchImportResponse.FailureRecord> failures) {
+                        runningJob.setRowsParsed(runningJob.getRowsParsed() + rows);
+                        runningJob.setRowsAccepted(runningJob.getRowsAccepted() + accepted);
+                        runningJob.setRowsFailed(runningJob.getRowsFailed() + rows - accepted);
+                        runningJob.setBytesRead(input.getCount());
+                        runningJob.setElapsedMillis(baseElapsedMillis + (System.nanoTime() - segmentStart) / 1_000_000);
+                        runningJob.setUpdatedAt(LocalDateTime.now());
+
+                        List<ImportJobFailure> failureEntities = failures.stream()
+                                .map(f -> new ImportJobFailure(jobId, f.getLine(), f.getVin(), f.getReason()))
+                                .collect(Collectors.toList());
+
+                        // 进度和失败记录与本块的写入在同一事务中提交，作为断点
+                        importJobRepository.save(runningJob);
+                        importJobFailureRepository.saveAll(failureEntities);
+                    }
+                });
+            }
+
+            if (stopped.get()) {
+                logger.info("应用关闭，导入任务暂停: jobId={}, 下次启动时继续", jobId);
+            } else if (cancelled.get()) {
+                finish(runningJob, ImportJob.STATUS_CANCELLED, "任务已取消");
+            } else {
+                runningJob.setBytesRead(runningJob.getBytesTotal());
+                finish(runningJob, ImportJob.STATUS_COMPLETED, "导入完成");
+            }
+        } catch (Exception e) {
+            if (executor.isShutdown()) {
+                // shutdownNow的中断可能让读文件或数据库访问抛出异常，当前块已回滚，保留任务和上传文件
+                logger.warn("应用关闭时导入任务中断: jobId={}, 下次启动时继续: {}", jobId, e.toString());
+                return;
+            }
+            logger.error("导入任务失败: jobId={}", jobId, e);
+            ImportJob latest = importJobRepository.findById(jobId).orElse(job);
+            finish(latest, ImportJob.STATUS_FAILED, "导入失败: " + e.getMessage());
+        } finally {
+            cancelFlags.remove(jobId);
+        }
+    }
+
+    private ImportJob finish(ImportJob job, String status, String message) {
+        LocalDateTime now = LocalDateTime.now();
+        job.setStatus(status);
+        job.setMessage(message != null && message.length() > 500 ? message.substring(0, 500) : message);
+        job.setFinishedAt(now);
+        job.setUpdatedAt(now);
+        ImportJob saved = importJobRepository.save(job);
+        deleteSpoolFile(saved);
+        return saved;
+    }
+
+    private void deleteSpoolFile(ImportJob job) {
+        try {
+            Files.deleteIfExists(Paths.get(job.getSpoolPath()));
+        } catch (IOException e) {
+            logger.warn("删除上传文件失败: {}", job.getSpoolPath(), e);
+        }
+    }
+
+    private ImportJob findJob(String jobId) {
+        return importJobRepository.findById(jobId)
+                .orElseThrow(() -> new ApiException(404, "导入任务不存在"));
+    }
+
+    private static double rowsPerSecond(ImportJob job) {
+        return job.getElapsedMillis() > 0 ? job.getRowsParsed() * 1000.0 / job.getElapsedMillis() : 0;
+    }
+
+    /**
+     * 将任务实体转换为DTO，并估算进度和剩余时间
+     */
+    private ImportJobDTO convertToDTO(ImportJob job) {
+        ImportJobDTO dto = new ImportJobDTO();
+        dto.setJobId(job.getId());
+        dto.setFileName(job.getFileName());
+        dto.setStatus(job.getStatus());
+        dto.setRowsParsed(job.getRowsParsed());
+        dto.setRowsAccepted(job.getRowsAccepted());
+        dto.setRowsFailed(job.getRowsFailed());
+        dto.setRowsPerSecond(rowsPerSecond(job));
+        dto.setMessage(job.getMessage());
+        dto.setCreatedAt(job.getCreatedAt());
+        dto.setStartedAt(job.getStartedAt());
+        dto.setFinishedAt(job.getFinishedAt());
+
+        double progress = ImportJob.STATUS_COMPLETED.equals(job.getStatus()) ? 1.0
+                : job.getBytesTotal() > 0 ? Math.min(1.0, (double) job.getBytesRead() / job.getBytesTotal()) : 0;
+        dto.setProgress(progress);
+        if (ImportJob.STATUS_RUNNING.equals(job.getStatus()) && progress > 0 && progress < 1) {
+            dto.setEtaSeconds(Math.round(job.getElapsedMillis() * (1 - progress) / progress / 1000));
+        }
+        return dto;
+    }
+
+    /**
+     * 统计已读取字节数，用于估算进度
+     */
+    private static class CountingInputStream extends FilterInputStream {
+
+        private volatile long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
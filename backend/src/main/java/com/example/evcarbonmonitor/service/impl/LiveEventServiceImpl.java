@@ -0,0 +1,413 @@
+// backend/src/main/java/com/example/evcarbonmonitor/service/impl/LiveEventServiceImpl.java
+package com.example.evcarbonmonitor.service.impl;
+
+import com.example.evcarbonmonitor.dto.LiveEventDTO;
+import com.example.evcarbonmonitor.dto.LiveEventStatsDTO;
+import com.example.evcarbonmonitor.exception.ApiException;
+import com.example.evcarbonmonitor.service.LiveEventService;
+import com.example.evcarbonmonitor.util.TransactionUtil;
+import com.example.evcarbonmonitor.util.VehicleValidationUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 实时推送(SSE)
+ * 发布方只把事件放入有界队列；分发线程每隔push-interval-ms取出队列中的事件，
+ * 先按key合并并序列化一次，再按各连接的筛选条件放入连接自己的待推送集合，由写出线程池向连接写出。
+ * 连接在异步请求中保持，不占用请求线程；写出慢的连接会在下一轮继续合并。
+ * 积压超过max-pending-per-subscriber时，仍在写出上一批的连接断开，由客户端自行重连；
+ * 空闲连接(一轮事件突增，如批量计算)丢弃积压事件改为推送resync，客户端重新查询当前状态。
+ * 一次写出超过write-timeout-ms的连接(客户端不再读取)被摘除，写出线程池补一个线程，
+ * 阻塞的线程返回后关闭连接并收回补充的线程，停滞的客户端不会占满写出线程
+ */
+@Service
+public class LiveEventServiceImpl implements LiveEventService, MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveEventServiceImpl.class);
+
+    // 单个连接最多筛选的车辆数
+    private static final int MAX_FILTER_VINS = 1000;
+
+    private final ObjectMapper objectMapper;
+    private final Map<Long, LiveEventSubscriber> subscribers = new ConcurrentHashMap<>();
+    private final AtomicLong subscriberIds = new AtomicLong();
+    private final AtomicLong eventIds = new AtomicLong();
+    private final LinkedBlockingQueue<LiveEventDTO> queue;
+    private final ScheduledExecutorService dispatcher;
+    private final ThreadPoolExecutor senders;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder resyncs = new LongAdder();
+    private final LongAdder overflowDisconnects = new LongAdder();
+    private final LongAdder stalledDisconnects = new LongAdder();
+
+    @Value("${live.events.enabled:true}")
+    private boolean enabled;
+
+    @Value("${live.events.max-subscribers:5000}")
+    private int maxSubscribers;
+
+    @Value("${live.events.push-interval-ms:250}")
+    private long pushIntervalMs;
+
+    @Value("${live.events.max-pending-per-subscriber:1000}")
+    private int maxPendingPerSubscriber;
+
+    @Value("${live.events.heartbeat-seconds:15}")
+    private long heartbeatSeconds;
+
+    // 连接保持时间，超时后由客户端重连
+    @Value("${live.events.connection-timeout-ms:1800000}")
+    private long connectionTimeoutMs;
+
+    // 客户端断开后的重连等待时间
+    @Value("${live.events.retry-ms:3000}")
+    private long retryMs;
+
+    // 单次写出的期限，超过时摘除连接
+    @Value("${live.events.write-timeout-ms:5000}")
+    private long writeTimeoutMs;
+
+    @Autowired
+    public LiveEventServiceImpl(ObjectMapper objectMapper,
+                                @Value("${live.events.queue-capacity:100000}") int queueCapacity,
+                                @Value("${live.events.senders:4}") int senderCount) {
+        this.objectMapper = objectMapper;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.dispatcher = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("live-event-dispatcher-"));
+        this.senders = new ThreadPoolExecutor(senderCount, senderCount, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("live-event-sender-"));
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            dispatcher.scheduleWithFixedDelay(this::dispatch, pushIntervalMs, pushIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        senders.shutdownNow();
+        for (LiveEventSubscriber subscriber : subscribers.values()) {
+            close(subscriber);
+        }
+    }
+
+    @Override
+    public void publish(String type, String vin, String key, Object data) {
+        if (!enabled) {
+            return;
+        }
+        LiveEventDTO event = new LiveEventDTO(type, vin, key, data);
+        TransactionUtil.afterCommit(() -> {
+            // 没有连接时不入队
+            if (subscribers.isEmpty()) {
+                return;
+            }
+            event.setId(eventIds.incrementAndGet());
+            if (queue.offer(event)) {
+                published.increment();
+            } else {
+                dropped.increment();
+            }
+        });
+    }
+
+    @Override
+    public SseEmitter subscribe(String types, String vins) {
+        if (!enabled) {
+            throw new ApiException(503, "实时推送未启用");
+        }
+        Set<String> typeFilter = parseList(types);
+        for (String type : typeFilter) {
+            if (!LiveEventDTO.TYPES.contains(type)) {
+                throw new ApiException(400, "不支持的事件类型: " + type);
+            }
+        }
+        Set<String> vinFilter = parseList(vins);
+        if (vinFilter.size() > MAX_FILTER_VINS) {
+            throw new ApiException(400, "筛选车辆不能超过" + MAX_FILTER_VINS + "个");
+        }
+        for (String vin : vinFilter) {
+            if (!VehicleValidationUtil.VIN_PATTERN.matcher(vin).matches()) {
+                throw new ApiException(400, "VIN码格式不正确: " + vin);
+            }
+        }
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ApiException(503, "实时推送连接数已满，请稍后重试");
+        }
+
+        SseEmitter emitter = newEmitter(connectionTimeoutMs);
+        LiveEventSubscriber subscriber = new LiveEventSubscriber(subscriberIds.incrementAndGet(), emitter,
+                typeFilter, vinFilter, maxPendingPerSubscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber.getId()));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(e -> close(subscriber));
+        try {
+            emitter.send(SseEmitter.event().comment("connected").reconnectTime(retryMs));
+        } catch (IOException e) {
+            throw new ApiException(500, "建立推送连接失败: " + e.getMessage());
+        }
+        subscribers.put(subscriber.getId(), subscriber);
+        logger.debug("推送连接建立: id={}, types={}, vins={}, 当前{}个连接",
+                subscriber.getId(), typeFilter, vinFilter.size(), subscribers.size());
+        return emitter;
+    }
+
+    @Override
+    public LiveEventStatsDTO getStats() {
+        LiveEventStatsDTO stats = new LiveEventStatsDTO();
+        stats.setSubscribers(subscribers.size());
+        stats.setMaxSubscribers(maxSubscribers);
+        stats.setPublished(published.sum());
+        stats.setDelivered(delivered.sum());
+        stats.setCoalesced(coalesced.sum());
+        stats.setDropped(dropped.sum());
+        stats.setResyncs(resyncs.sum());
+        stats.setOverflowDisconnects(overflowDisconnects.sum());
+        stats.setStalledDisconnects(stalledDisconnects.sum());
+        return stats;
+    }
+
+    /**
+     * 分发线程：合并本轮事件，放入各连接的待推送集合，并为有事件或需要心跳的连接安排写出
+     */
+    private void dispatch() {
+        try {
+            List<LiveEventDTO> drained = new ArrayList<>();
+            queue.drainTo(drained);
+            Map<String, LiveEventDTO> merged = new LinkedHashMap<>();
+            for (LiveEventDTO event : drained) {
+                if (merged.remove(event.getKey()) != null) {
+                    coalesced.increment();
+                }
+                merged.put(event.getKey(), event);
+            }
+            List<LiveEventSubscriber.PreparedEvent> events = new ArrayList<>(merged.size());
+            for (LiveEventDTO event : merged.values()) {
+                events.add(prepare(event));
+            }
+            // 本轮所有需要resync的连接共用一个事件
+            LiveEventSubscriber.PreparedEvent resyncEvent = null;
+            if (!events.isEmpty()) {
+                LiveEventDTO resync = new LiveEventDTO(LiveEventDTO.TYPE_RESYNC, null, LiveEventDTO.TYPE_RESYNC, null);
+                resync.setId(eventIds.incrementAndGet());
+                resyncEvent = prepare(resync);
+            }
+
+            long heartbeatNanos = TimeUnit.SECONDS.toNanos(heartbeatSeconds);
+            long writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMs);
+            for (LiveEventSubscriber subscriber : subscribers.values()) {
+                if (subscriber.isClosed()) {
+                    continue;
+                }
+                if (subscriber.evictIfStalled(writeTimeoutNanos)) {
+                    evict(subscriber);
+                    continue;
+                }
+                if (!offerAll(subscriber, events, resyncEvent)) {
+                    continue;
+                }
+                List<LiveEventSubscriber.PreparedEvent> batch = subscriber.startSending();
+                if (batch != null) {
+                    senders.execute(() -> send(subscriber, batch));
+                } else if (subscriber.startHeartbeat(heartbeatNanos)) {
+                    senders.execute(() -> heartbeat(subscriber));
+                }
+            }
+        } catch (JsonProcessingException | RuntimeException e) {
+            // 不让异常终止分发线程
+            logger.error("实时事件分发失败", e);
+        }
+    }
+
+    /**
+     * @return 积压超过上限时断开连接并返回false
+     */
+    private boolean offerAll(LiveEventSubscriber subscriber, List<LiveEventSubscriber.PreparedEvent> events,
+                             LiveEventSubscriber.PreparedEvent resyncEvent) {
+        for (LiveEventSubscriber.PreparedEvent prepared : events) {
+            if (!subscriber.accepts(prepared.getEvent())) {
+                continue;
+            }
+            switch (subscriber.offer(prepared)) {
+                case COALESCED -> coalesced.increment();
+                case RESYNC -> {
+                    subscriber.resync(resyncEvent);
+                    resyncs.increment();
+                }
+                case OVERFLOW -> {
+                    overflowDisconnects.increment();
+                    logger.warn("推送连接积压超过{}个事件，断开: id={}", maxPendingPerSubscriber, subscriber.getId());
+                    close(subscriber);
+                    return false;
+                }
+                default -> {
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 摘除写出超时的连接。写出线程仍阻塞在该连接上，这里不能关闭连接(SseEmitter的写出和关闭互斥)，
+     * 补一个写出线程，由阻塞的线程返回后关闭连接并收回
+     */
+    private void evict(LiveEventSubscriber subscriber) {
+        subscribers.remove(subscriber.getId());
+        stalledDisconnects.increment();
+        resizeSenders(1);
+        logger.warn("推送连接写出超过{}ms，摘除: id={}", writeTimeoutMs, subscriber.getId());
+    }
+
+    private synchronized void resizeSenders(int delta) {
+        int size = senders.getCorePoolSize() + delta;
+        if (delta > 0) {
+            senders.setMaximumPoolSize(size);
+            senders.setCorePoolSize(size);
+        } else {
+            senders.setCorePoolSize(size);
+            senders.setMaximumPoolSize(size);
+        }
+    }
+
+    /**
+     * 写出结束后释放写出权；写出期间被摘除的连接在这里关闭
+     */
+    private void finishSending(LiveEventSubscriber subscriber) {
+        if (subscriber.finishSending()) {
+            try {
+                subscriber.getEmitter().complete();
+            } catch (RuntimeException e) {
+                logger.debug("关闭推送连接失败: id={}, {}", subscriber.getId(), e.getMessage());
+            }
+            resizeSenders(-1);
+        }
+    }
+
+    SseEmitter newEmitter(long timeoutMs) {
+        return new SseEmitter(timeoutMs);
+    }
+
+    private LiveEventSubscriber.PreparedEvent prepare(LiveEventDTO event) throws JsonProcessingException {
+        return new LiveEventSubscriber.PreparedEvent(event, objectMapper.writeValueAsString(event));
+    }
+
+    private void send(LiveEventSubscriber subscriber, List<LiveEventSubscriber.PreparedEvent> batch) {
+        try {
+            for (LiveEventSubscriber.PreparedEvent prepared : batch) {
+                if (subscriber.isClosed()) {
+                    return;
+                }
+                subscriber.getEmitter().send(SseEmitter.event()
+                        .id(String.valueOf(prepared.getEvent().getId()))
+                        .name(prepared.getEvent().getType())
+                        .data(prepared.getJson()));
+                delivered.increment();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // 客户端已断开
+            close(subscriber);
+        } finally {
+            finishSending(subscriber);
+        }
+    }
+
+    private void heartbeat(LiveEventSubscriber subscriber) {
+        try {
+            subscriber.getEmitter().send(SseEmitter.event().comment("heartbeat"));
+        } catch (IOException | IllegalStateException e) {
+            close(subscriber);
+        } finally {
+            finishSending(subscriber);
+        }
+    }
+
+    private void close(LiveEventSubscriber subscriber) {
+        subscribers.remove(subscriber.getId());
+        if (subscriber.markClosed()) {
+            try {
+                subscriber.getEmitter().complete();
+            } catch (RuntimeException e) {
+                logger.debug("关闭推送连接失败: id={}, {}", subscriber.getId(), e.getMessage());
+            }
+        }
+    }
+
+    private static Set<String> parseList(String value) {
+        if (value == null || value.isBlank()) {
+            return Collections.emptySet();
+        }
+        Set<String> result = new HashSet<>();
+        for (String item : value.split(",")) {
+            String trimmed = item.trim();
+            if (!trimmed.isEmpty()) {
+                result.add(trimmed);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 导出连接数和事件计数
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("live.subscribers", subscribers, Map::size)
+                .description("实时推送连接数")
+                .register(registry);
+        FunctionCounter.builder("live.events.published", published, LongAdder::sum)
+                .description("发布的实时事件数")
+                .register(registry);
+        FunctionCounter.builder("live.events.delivered", delivered, LongAdder::sum)
+                .description("推送给各连接的事件数之和")
+                .register(registry);
+        FunctionCounter.builder("live.events.coalesced", coalesced, LongAdder::sum)
+                .description("推送前被合并的事件数")
+                .register(registry);
+        FunctionCounter.builder("live.subscribers.resync", resyncs, LongAdder::sum)
+                .description("事件突增改为推送resync的次数")
+                .register(registry);
+        FunctionCounter.builder("live.subscribers.overflow", overflowDisconnects, LongAdder::sum)
+                .description("积压超过上限被断开的连接数")
+                .register(registry);
+        FunctionCounter.builder("live.subscribers.stalled", stalledDisconnects, LongAdder::sum)
+                .description("写出超时被摘除的连接数")
+                .register(registry);
+    }
+}
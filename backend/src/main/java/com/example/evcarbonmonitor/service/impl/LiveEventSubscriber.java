@@ -0,0 +1,179 @@
+// backend/src/main/java/com/example/evcarbonmonitor/service/impl/LiveEventSubscriber.java
+package com.example.evcarbonmonitor.service.impl;
+
+import com.example.evcarbonmonitor.dto.LiveEventDTO;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 一个推送连接
+ * 待推送事件按key合并，同一时刻只有一个线程向连接写出。
+ * 积压超过上限时：上一批仍在写出说明客户端跟不上，由调用方断开；否则是事件突增，
+ * 丢弃待推送事件改为推送一个resync事件，客户端收到后重新查询当前状态。
+ * 一次写出超过期限仍未返回时连接被摘除，由阻塞的写出线程在返回后关闭连接
+ */
+class LiveEventSubscriber {
+
+    enum Offer { ADDED, COALESCED, DISCARDED, RESYNC, OVERFLOW }
+
+    /**
+     * 已序列化的事件，每个事件只序列化一次，写出时各连接共用
+     */
+    static class PreparedEvent {
+        private final LiveEventDTO event;
+        private final String json;
+
+        PreparedEvent(LiveEventDTO event, String json) {
+            this.event = event;
+            this.json = json;
+        }
+
+        LiveEventDTO getEvent() {
+            return event;
+        }
+
+        String getJson() {
+            return json;
+        }
+    }
+
+    private final long id;
+    private final SseEmitter emitter;
+    // 为空表示不筛选
+    private final Set<String> types;
+    private final Set<String> vins;
+    private final int maxPending;
+
+    private final LinkedHashMap<String, PreparedEvent> pending = new LinkedHashMap<>();
+    private boolean sending;
+    private long sendStartedNanos;
+    // 写出超时被摘除，写出线程返回后负责关闭连接
+    private boolean evicted;
+    // 已安排resync，写出前不再接收事件
+    private boolean resyncPending;
+    private volatile boolean closed;
+    private volatile long lastSentNanos = System.nanoTime();
+
+    LiveEventSubscriber(long id, SseEmitter emitter, Set<String> types, Set<String> vins, int maxPending) {
+        this.id = id;
+        this.emitter = emitter;
+        this.types = types;
+        this.vins = vins;
+        this.maxPending = maxPending;
+    }
+
+    long getId() {
+        return id;
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    boolean accepts(LiveEventDTO event) {
+        return (types.isEmpty() || types.contains(event.getType()))
+                && (vins.isEmpty() || (event.getVin() != null && vins.contains(event.getVin())));
+    }
+
+    /**
+     * 加入待推送事件，同key的旧事件被替换，并移到队尾
+     */
+    synchronized Offer offer(PreparedEvent prepared) {
+        if (resyncPending) {
+            return Offer.DISCARDED;
+        }
+        String key = prepared.getEvent().getKey();
+        PreparedEvent previous = pending.remove(key);
+        pending.put(key, prepared);
+        if (previous != null) {
+            return Offer.COALESCED;
+        }
+        if (pending.size() <= maxPending) {
+            return Offer.ADDED;
+        }
+        return sending ? Offer.OVERFLOW : Offer.RESYNC;
+    }
+
+    /**
+     * 丢弃待推送事件，只保留resync事件
+     * @return 丢弃的事件数
+     */
+    synchronized int resync(PreparedEvent resyncEvent) {
+        int discarded = pending.size();
+        pending.clear();
+        pending.put(resyncEvent.getEvent().getKey(), resyncEvent);
+        resyncPending = true;
+        return discarded;
+    }
+
+    /**
+     * 取出全部待推送事件并占用写出权，已有线程在写出或没有事件时返回null
+     */
+    synchronized List<PreparedEvent> startSending() {
+        if (sending || pending.isEmpty()) {
+            return null;
+        }
+        sending = true;
+        sendStartedNanos = System.nanoTime();
+        resyncPending = false;
+        List<PreparedEvent> batch = new ArrayList<>(pending.values());
+        pending.clear();
+        return batch;
+    }
+
+    /**
+     * 距上次写出超过心跳间隔时占用写出权
+     */
+    synchronized boolean startHeartbeat(long heartbeatNanos) {
+        if (sending || System.nanoTime() - lastSentNanos < heartbeatNanos) {
+            return false;
+        }
+        sending = true;
+        sendStartedNanos = System.nanoTime();
+        return true;
+    }
+
+    /**
+     * 释放写出权
+     * @return 写出期间连接因超时被摘除，需要由调用方关闭
+     */
+    synchronized boolean finishSending() {
+        sending = false;
+        lastSentNanos = System.nanoTime();
+        return evicted;
+    }
+
+    /**
+     * 正在进行的写出超过期限时标记关闭并摘除
+     * @return 是否由本次调用摘除
+     */
+    synchronized boolean evictIfStalled(long timeoutNanos) {
+        if (closed || !sending || System.nanoTime() - sendStartedNanos <= timeoutNanos) {
+            return false;
+        }
+        closed = true;
+        evicted = true;
+        pending.clear();
+        return true;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * 标记关闭，返回是否由本次调用关闭
+     */
+    synchronized boolean markClosed() {
+        if (closed) {
+            return false;
+        }
+        closed = true;
+        pending.clear();
+        return true;
+    }
+}
@@ -0,0 +1,73 @@
+// backend/src/main/java/com/example/evcarbonmonitor/service/impl/NonceManager.java
+package com.example.evcarbonmonitor.service.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+
+import java.io.IOException;
+import java.util.TreeSet;
+
+/**
+ * 本地nonce分配
+ * 首次使用时从节点读取pending状态的交易数，之后在本地递增，多笔交易无需等待确认即可连续签名。
+ * 交易被节点拒绝时归还其nonce，下次优先分配最小的空缺，避免后续已广播的交易一直排队；
+ * 归还的是最后分配的nonce时直接回退，不留空缺。没有新交易可用来填补空缺时，由调用方取出空缺另行填补(见pollReleased)。
+ * nonce本身失效(如已被占用)时调用reset，下次分配重新与节点同步
+ */
+public class NonceManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(NonceManager.class);
+
+    private final Web3j web3j;
+    private final String address;
+    private final TreeSet<Long> released = new TreeSet<>();
+    private long next = -1;
+
+    public NonceManager(Web3j web3j, String address) {
+        this.web3j = web3j;
+        this.address = address;
+    }
+
+    public synchronized long acquire() throws IOException {
+        if (!released.isEmpty()) {
+            return released.pollFirst();
+        }
+        if (next < 0) {
+            next = web3j.ethGetTransactionCount(address, DefaultBlockParameterName.PENDING)
+                    .send()
+                    .getTransactionCount()
+                    .longValueExact();
+            logger.info("nonce已与节点同步: address={}, nonce={}", address, next);
+        }
+        return next++;
+    }
+
+    /**
+     * 归还未被节点接受的nonce
+     */
+    public synchronized void release(long nonce) {
+        if (next >= 0 && nonce < next) {
+            released.add(nonce);
+            // 末尾的nonce之后没有已分配的交易，回退即可
+            while (!released.isEmpty() && released.last() == next - 1) {
+                released.pollLast();
+                next--;
+            }
+        }
+    }
+
+    /**
+     * 取出最小的空缺nonce，没有空缺时返回null
+     * 空缺之后已有分配出去的nonce，调用方必须用它发出一笔交易，否则之后的交易一直无法打包
+     */
+    public synchronized Long pollReleased() {
+        return released.pollFirst();
+    }
+
+    public synchronized void reset() {
+        released.clear();
+        next = -1;
+    }
+}
@@ -0,0 +1,151 @@
+// backend/src/main/java/com/example/evcarbonmonitor/service/impl/PartitionMaintenanceServiceImpl.java
+package com.example.evcarbonmonitor.service.impl;
+
+import com.example.evcarbonmonitor.dto.PartitionMaintenanceResult;
+import com.example.evcarbonmonitor.repository.PartitionRepository;
+import com.example.evcarbonmonitor.repository.PartitionedTable;
+import com.example.evcarbonmonitor.service.PartitionMaintenanceService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 行驶记录和碳减排记录的分区维护
+ * 启动时和每天定时执行：保证从当前分区到premake-months之后的分区都已创建，
+ * 默认分区中有数据的范围补建分区并移入数据，整个范围早于retention-months的分区按expired-action分离或删除
+ * 每张表在一个事务中处理，并通过advisory锁与其他实例互斥
+ */
+@Service
+public class PartitionMaintenanceServiceImpl implements PartitionMaintenanceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionMaintenanceServiceImpl.class);
+
+    private static final String EXPIRED_ACTION_DROP = "drop";
+
+    private final PartitionRepository partitionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<PartitionedTable, Integer> premakeMonths = new EnumMap<>(PartitionedTable.class);
+    private final Map<PartitionedTable, Integer> retentionMonths = new EnumMap<>(PartitionedTable.class);
+
+    @Value("${storage.partitioning.enabled:true}")
+    private boolean enabled;
+
+    // detach: 分离为独立表，可导出归档后手动删除；drop: 直接删除
+    @Value("${storage.partitioning.expired-action:detach}")
+    private String expiredAction;
+
+    @Autowired
+    public PartitionMaintenanceServiceImpl(PartitionRepository partitionRepository,
+                                           PlatformTransactionManager transactionManager,
+                                           @Value("${storage.partitioning.driving-records.premake-months:3}") int drivingPremakeMonths,
+                                           @Value("${storage.partitioning.driving-records.retention-months:0}") int drivingRetentionMonths,
+                                           @Value("${storage.partitioning.carbon-records.premake-months:6}") int carbonPremakeMonths,
+                                           @Value("${storage.partitioning.carbon-records.retention-months:0}") int carbonRetentionMonths) {
+        this.partitionRepository = partitionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        premakeMonths.put(PartitionedTable.DRIVING_RECORDS, drivingPremakeMonths);
+        premakeMonths.put(PartitionedTable.CARBON_RECORDS, carbonPremakeMonths);
+        retentionMonths.put(PartitionedTable.DRIVING_RECORDS, drivingRetentionMonths);
+        retentionMonths.put(PartitionedTable.CARBON_RECORDS, carbonRetentionMonths);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void maintainOnStartup() {
+        scheduledRun();
+    }
+
+    @Scheduled(cron = "${storage.partitioning.cron:0 30 3 * * *}")
+    public void scheduledRun() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            maintainPartitions();
+        } catch (RuntimeException e) {
+            logger.error("分区维护失败: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public PartitionMaintenanceResult maintainPartitions() {
+        long start = System.currentTimeMillis();
+        PartitionMaintenanceResult result = new PartitionMaintenanceResult();
+        LocalDate today = LocalDate.now();
+        for (PartitionedTable table : PartitionedTable.values()) {
+            transactionTemplate.executeWithoutResult(status -> maintain(table, today, result));
+        }
+        result.setElapsedMillis(System.currentTimeMillis() - start);
+        if (!result.getCreated().isEmpty() || !result.getDetached().isEmpty()) {
+            logger.info("分区维护完成: 新建{}，移入{}行，分离{}，删除{}，耗时{}ms", result.getCreated(),
+                    result.getMovedRows(), result.getDetached(), result.getDropped(), result.getElapsedMillis());
+        }
+        return result;
+    }
+
+    private void maintain(PartitionedTable table, LocalDate today, PartitionMaintenanceResult result) {
+        partitionRepository.lock();
+
+        Map<LocalDate, String> existing = new TreeMap<>();
+        for (String name : partitionRepository.findPartitions(table)) {
+            LocalDate rangeStart = table.parseRangeStart(name);
+            if (rangeStart != null) {
+                existing.put(rangeStart, name);
+            }
+        }
+
+        int retention = retentionMonths.get(table);
+        LocalDate expiredBefore = retention > 0 ? today.minusMonths(retention) : null;
+
+        // 当前及后续分区，加上默认分区中已有数据的范围
+        Set<LocalDate> wanted = new TreeSet<>();
+        LocalDate last = table.rangeStart(today.plusMonths(premakeMonths.get(table)));
+        for (LocalDate rangeStart = table.rangeStart(today); !rangeStart.isAfter(last);
+             rangeStart = table.rangeEnd(rangeStart)) {
+            wanted.add(rangeStart);
+        }
+        for (LocalDate rangeStart : partitionRepository.findDefaultRangeStarts(table)) {
+            if (expiredBefore != null && !table.rangeEnd(rangeStart).isAfter(expiredBefore)) {
+                // 已过保留期的迟到数据留在默认分区，避免与已分离的同名表冲突
+                logger.warn("{}中有已过保留期的数据: {}", table.getDefaultPartition(), table.partitionName(rangeStart));
+                continue;
+            }
+            wanted.add(rangeStart);
+        }
+
+        for (LocalDate rangeStart : wanted) {
+            if (!existing.containsKey(rangeStart)) {
+                result.setMovedRows(result.getMovedRows() + partitionRepository.createPartition(table, rangeStart));
+                result.getCreated().add(table.partitionName(rangeStart));
+            }
+        }
+
+        if (expiredBefore == null) {
+            return;
+        }
+        for (Map.Entry<LocalDate, String> partition : existing.entrySet()) {
+            if (table.rangeEnd(partition.getKey()).isAfter(expiredBefore)) {
+                break;
+            }
+            partitionRepository.detachPartition(table, partition.getValue());
+            result.getDetached().add(partition.getValue());
+            if (EXPIRED_ACTION_DROP.equalsIgnoreCase(expiredAction)) {
+                partitionRepository.dropTable(partition.getValue());
+                result.getDropped().add(partition.getValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+// backend/src/main/java/com/example/evcarbonmonitor/service/impl/RedisVehicleCacheTier.java
+package com.example.evcarbonmonitor.service.impl;
+
+import com.example.evcarbonmonitor.dto.VehicleDTO;
+import com.example.evcarbonmonitor.service.VehicleCacheTier;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 基于Redis的车辆详情二级缓存
+ * 按数据库设计中的实时数据结构，每辆车一个Hash(vehicle:{vin})，字段与VehicleDTO属性一致
+ */
+@Component
+@ConditionalOnProperty(name = "vehicle.cache.redis.enabled", havingValue = "true")
+public class RedisVehicleCacheTier implements VehicleCacheTier {
+
+    private static final int DELETE_CHUNK_SIZE = 500;
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${vehicle.cache.redis.key-prefix:vehicle:}")
+    private String keyPrefix;
+
+    @Value("${vehicle.cache.redis.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Autowired
+    public RedisVehicleCacheTier(StringRedisTemplate redisTemplate, ObjectMapper objectMapper) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public VehicleDTO get(String vin) {
+        Map<Object, Object> fields = redisTemplate.opsForHash().entries(keyPrefix + vin);
+        // 写入过程中可能只读到部分字段，缺少vin时按未命中处理
+        if (!fields.containsKey("vin")) {
+            return null;
+        }
+        return objectMapper.convertValue(fields, VehicleDTO.class);
+    }
+
+    @Override
+    public void put(VehicleDTO vehicle) {
+        // 经JSON树转换，数值和日期按接口返回的格式保存为字符串
+        JsonNode properties = objectMapper.valueToTree(vehicle);
+        Map<String, String> fields = new HashMap<>();
+        properties.fields().forEachRemaining(field -> {
+            if (!field.getValue().isNull()) {
+                fields.put(field.getKey(), field.getValue().asText());
+            }
+        });
+        String key = keyPrefix + vehicle.getVin();
+        // 先删除再写入，避免旧值中已变为null的字段残留
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            stringConnection.del(key);
+            stringConnection.hMSet(key, fields);
+            stringConnection.expire(key, ttlSeconds);
+            return null;
+        });
+    }
+
+    @Override
+    public void evictAll(Collection<String> vins) {
+        if (!vins.isEmpty()) {
+            redisTemplate.delete(vins.stream().map(vin -> keyPrefix + vin).collect(Collectors.toList()));
+        }
+    }
+
+    @Override
+    public void clear() {
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            ScanOptions options = ScanOptions.scanOptions().match(keyPrefix + "*").count(DELETE_CHUNK_SIZE).build();
+            List<byte[]> keys = new ArrayList<>();
+            try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+                while (cursor.hasNext()) {
+                    keys.add(cursor.next());
+                    if (keys.size() == DELETE_CHUNK_SIZE) {
+                        delete(connection, keys);
+                    }
+                }
+            }
+            delete(connection, keys);
+            return null;
+        });
+    }
+
+    private static void delete(RedisConnection connection, List<byte[]> keys) {
+        if (!keys.isEmpty()) {
+            connection.keyCommands().del(keys.toArray(new byte[0][]));
+            keys.clear();
+        }
+    }
+}
@@ -0,0 +1,428 @@
+// backend/src/main/java/com/example/evcarbonmonitor/service/impl/TelemetryIngestServiceImpl.java
+package com.example.evcarbonmonitor.service.impl;
+
+import com.example.evcarbonmonitor.domain.DrivingRecord;
+import com.example.evcarbonmonitor.domain.VehicleStatsDelta;
+import com.example.evcarbonmonitor.dto.BatchImportResponse;
+import com.example.evcarbonmonitor.dto.DrivingDataDTO;
+import com.example.evcarbonmonitor.dto.TelemetryIngestResponse;
+import com.example.evcarbonmonitor.exception.ApiException;
+import com.example.evcarbonmonitor.repository.DrivingRecordBatchRepository;
+import com.example.evcarbonmonitor.repository.TelemetryDeadLetterRepository;
+import com.example.evcarbonmonitor.service.FleetStateService;
+import com.example.evcarbonmonitor.service.TelemetryIngestService;
+import com.example.evcarbonmonitor.service.VehicleStatsService;
+import com.example.evcarbonmonitor.util.VehicleValidationUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * 行驶数据接收服务
+ * 请求线程只做校验和入队，写入线程从有界队列中合并多个请求的数据，
+ * 每批在一个事务中追加行驶记录并累加车辆统计，提交后更新车辆实时状态；队列容量按数据点计算，满时直接拒绝。
+ * 已接收的数据不丢弃：数据库暂不可用时等待重试，其他写入失败时拆分批次，最终仍失败的单条数据转入死信表
+ */
+@Service
+public class TelemetryIngestServiceImpl implements TelemetryIngestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelemetryIngestServiceImpl.class);
+
+    private static final Pattern STATUS_CODE_PATTERN = Pattern.compile("^[a-z_]{1,20}$");
+    private static final BigDecimal MAX_LATITUDE = BigDecimal.valueOf(90);
+    private static final BigDecimal MAX_LONGITUDE = BigDecimal.valueOf(180);
+    // 里程、能耗、速度列为NUMERIC(10,2)，按两位小数四舍五入后不能超过99999999.99
+    private static final BigDecimal MEASUREMENT_LIMIT = new BigDecimal("99999999.995");
+    // 数据库暂不可用时重试的最长间隔
+    private static final long MAX_RETRY_DELAY_MS = 30000;
+
+    private final DrivingRecordBatchRepository drivingRecordBatchRepository;
+    private final TelemetryDeadLetterRepository telemetryDeadLetterRepository;
+    private final VehicleStatsService vehicleStatsService;
+    private final FleetStateService fleetStateService;
+    private final VehicleVinRegistry vehicleVinRegistry;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    // 写入队列，元素为一次请求中校验通过的数据点
+    private final LinkedBlockingQueue<List<DrivingRecord>> queue = new LinkedBlockingQueue<>();
+    // 队列剩余容量（数据点数），写入完成后归还
+    private final Semaphore capacity;
+    private final int queueCapacity;
+    private final ExecutorService writers;
+    private final int writerCount;
+    private volatile boolean running = true;
+
+    @Value("${telemetry.ingest.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${telemetry.ingest.max-request-points:10000}")
+    private int maxRequestPoints;
+
+    @Value("${telemetry.ingest.max-returned-failures:100}")
+    private int maxReturnedFailures;
+
+    @Autowired
+    public TelemetryIngestServiceImpl(DrivingRecordBatchRepository drivingRecordBatchRepository,
+                                      TelemetryDeadLetterRepository telemetryDeadLetterRepository,
+                                      VehicleStatsService vehicleStatsService,
+                                      FleetStateService fleetStateService,
+                                      VehicleVinRegistry vehicleVinRegistry,
+                                      ObjectMapper objectMapper,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${telemetry.ingest.queue-capacity:200000}") int queueCapacity,
+                                      @Value("${telemetry.ingest.writers:2}") int writerCount) {
+        this.drivingRecordBatchRepository = drivingRecordBatchRepository;
+        this.telemetryDeadLetterRepository = telemetryDeadLetterRepository;
+        this.vehicleStatsService = vehicleStatsService;
+        this.fleetStateService = fleetStateService;
+        this.vehicleVinRegistry = vehicleVinRegistry;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queueCapacity = queueCapacity;
+        this.capacity = new Semaphore(queueCapacity);
+        this.writerCount = writerCount;
+        this.writers = Executors.newFixedThreadPool(writerCount, new CustomizableThreadFactory("telemetry-writer-"));
+    }
+
+    @PostConstruct
+    public void startWriters() {
+        for (int i = 0; i < writerCount; i++) {
+            writers.execute(this::runWriter);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 停止接收后写完队列中剩余的数据
+        running = false;
+        writers.shutdown();
+        try {
+            if (!writers.awaitTermination(30, TimeUnit.SECONDS)) {
+                logger.warn("行驶数据写入线程未能按时结束，剩余{}个数据点未写入", queueCapacity - capacity.availablePermits());
+                writers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            writers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public TelemetryIngestResponse ingest(List<DrivingDataDTO> records) {
+        if (records == null || records.isEmpty()) {
+            throw new ApiException(400, "上报数据不能为空");
+        }
+        if (records.size() > maxRequestPoints) {
+            throw new ApiException(400, "单次上报数据点不能超过" + maxRequestPoints + "个");
+        }
+        if (!running) {
+            throw new ApiException(503, "服务正在关闭");
+        }
+
+        // 整批VIN码一次解析，不逐条查询数据库
+        Set<String> candidateVins = new HashSet<>();
+        for (DrivingDataDTO record : records) {
+            if (record != null && record.getVin() != null
+                    && VehicleValidationUtil.VIN_PATTERN.matcher(record.getVin()).matches()) {
+                candidateVins.add(record.getVin());
+            }
+        }
+        Set<String> knownVins = vehicleVinRegistry.resolveKnown(candidateVins);
+
+        List<DrivingRecord> accepted = new ArrayList<>(records.size());
+        List<BatchImportResponse.FailureRecord> failures = new ArrayList<>();
+        int rejected = 0;
+        for (int i = 0; i < records.size(); i++) {
+            DrivingDataDTO record = records.get(i);
+            String reason = validate(record, knownVins);
+            DrivingRecord entity = null;
+            if (reason == null) {
+                try {
+                    entity = toEntity(record);
+                } catch (DateTimeParseException e) {
+                    reason = "时间格式无效";
+                }
+            }
+            if (reason != null) {
+                rejected++;
+                if (failures.size() < maxReturnedFailures) {
+                    failures.add(new BatchImportResponse.FailureRecord(i + 1, record == null ? null : record.getVin(), reason));
+                }
+                continue;
+            }
+            accepted.add(entity);
+        }
+
+        if (!accepted.isEmpty()) {
+            if (!capacity.tryAcquire(accepted.size())) {
+                throw new ApiException(429, "行驶数据写入队列已满，请稍后重试");
+            }
+            queue.add(accepted);
+        }
+        logger.debug("行驶数据入队: received={}, accepted={}, rejected={}", records.size(), accepted.size(), rejected);
+
+        TelemetryIngestResponse response = new TelemetryIngestResponse();
+        response.setReceived(records.size());
+        response.setAccepted(accepted.size());
+        response.setRejected(rejected);
+        response.setFailures(failures);
+        response.setQueuedPoints(queueCapacity - capacity.availablePermits());
+        return response;
+    }
+
+    @Override
+    public TelemetryIngestResponse ingestNdjson(InputStream inputStream) {
+        List<DrivingDataDTO> records = new ArrayList<>();
+        try (MappingIterator<DrivingDataDTO> iterator = objectMapper.readerFor(DrivingDataDTO.class).readValues(inputStream)) {
+            while (iterator.hasNextValue()) {
+                if (records.size() >= maxRequestPoints) {
+                    throw new ApiException(400, "单次上报数据点不能超过" + maxRequestPoints + "个");
+                }
+                records.add(iterator.nextValue());
+            }
+        } catch (JsonProcessingException e) {
+            throw new ApiException(400, "NDJSON格式错误，第" + e.getLocation().getLineNr() + "行");
+        } catch (IOException e) {
+            throw new ApiException(400, "读取上报数据失败: " + e.getMessage());
+        }
+        return ingest(records);
+    }
+
+    @Override
+    public TelemetryIngestResponse ingestSingle(String vin, DrivingDataDTO record) {
+        if (record == null) {
+            throw new ApiException(400, "上报数据不能为空");
+        }
+        record.setVin(vin);
+        TelemetryIngestResponse response = ingest(Collections.singletonList(record));
+        if (response.getRejected() > 0) {
+            throw new ApiException(400, response.getFailures().get(0).getReason());
+        }
+        return response;
+    }
+
+    /**
+     * 校验数据点，返回失败原因，通过时返回null
+     */
+    private String validate(DrivingDataDTO record, Set<String> knownVins) {
+        if (record == null) {
+            return "数据点不能为空";
+        }
+        if (record.getVin() == null || !VehicleValidationUtil.VIN_PATTERN.matcher(record.getVin()).matches()) {
+            return "VIN码格式不正确";
+        }
+        if (!knownVins.contains(record.getVin())) {
+            return "车辆不存在";
+        }
+        if (record.getTimestamp() == null || record.getTimestamp().isEmpty()) {
+            return "时间不能为空";
+        }
+        if (record.getMileage() == null || record.getMileage().signum() < 0) {
+            return "行驶里程不能为空且不能为负数";
+        }
+        if (record.getMileage().compareTo(MEASUREMENT_LIMIT) >= 0) {
+            return "行驶里程超出范围";
+        }
+        if (record.getEnergyConsumption() == null || record.getEnergyConsumption().signum() < 0) {
+            return "能耗不能为空且不能为负数";
+        }
+        if (record.getEnergyConsumption().compareTo(MEASUREMENT_LIMIT) >= 0) {
+            return "能耗超出范围";
+        }
+        if (record.getSpeed() == null || record.getSpeed().signum() < 0) {
+            return "速度不能为空且不能为负数";
+        }
+        if (record.getSpeed().compareTo(MEASUREMENT_LIMIT) >= 0) {
+            return "速度超出范围";
+        }
+        if (record.getBatteryLevel() == null || record.getBatteryLevel() < 0 || record.getBatteryLevel() > 100) {
+            return "电池电量必须在0到100之间";
+        }
+        if (record.getLatitude() != null && record.getLatitude().abs().compareTo(MAX_LATITUDE) > 0) {
+            return "纬度超出范围";
+        }
+        if (record.getLongitude() != null && record.getLongitude().abs().compareTo(MAX_LONGITUDE) > 0) {
+            return "经度超出范围";
+        }
+        if (record.getAbnormalType() != null && !STATUS_CODE_PATTERN.matcher(record.getAbnormalType()).matches()) {
+            return "异常类型格式不正确";
+        }
+        return null;
+    }
+
+    private DrivingRecord toEntity(DrivingDataDTO record) {
+        DrivingRecord entity = new DrivingRecord();
+        entity.setVin(record.getVin());
+        entity.setRecordTime(parseTimestamp(record.getTimestamp()));
+        entity.setMileage(record.getMileage());
+        entity.setSpeed(record.getSpeed());
+        entity.setBatteryLevel(record.getBatteryLevel());
+        entity.setEnergyConsumption(record.getEnergyConsumption());
+        entity.setLatitude(record.getLatitude() != null ? record.getLatitude() : BigDecimal.ZERO);
+        entity.setLongitude(record.getLongitude() != null ? record.getLongitude() : BigDecimal.ZERO);
+        entity.setStatusCode(record.getAbnormalType() != null ? record.getAbnormalType() : DrivingRecord.STATUS_NORMAL);
+        entity.setAbnormal(Boolean.TRUE.equals(record.getIsAbnormal()));
+        return entity;
+    }
+
+    /**
+     * 解析上报时间，带时区偏移的时间转换为服务器本地时间
+     */
+    private static LocalDateTime parseTimestamp(String value) {
+        try {
+            return OffsetDateTime.parse(value).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        } catch (DateTimeParseException e) {
+            return LocalDateTime.parse(value);
+        }
+    }
+
+    /**
+     * 写入线程：合并队列中的多个请求，攒够一批后写入
+     */
+    private void runWriter() {
+        while (running || !queue.isEmpty()) {
+            List<DrivingRecord> first;
+            try {
+                first = queue.poll(500, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (first == null) {
+                continue;
+            }
+
+            List<DrivingRecord> batch = new ArrayList<>(first);
+            List<DrivingRecord> next;
+            while (batch.size() < batchSize && (next = queue.poll()) != null) {
+                batch.addAll(next);
+            }
+
+            try {
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                logger.error("行驶数据写入线程被中断，本批{}个数据点未能全部写入", batch.size());
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                capacity.release(batch.size());
+            }
+        }
+    }
+
+    private void writeBatch(List<DrivingRecord> batch) throws InterruptedException {
+        // 写入时间取落库时刻
+        LocalDateTime now = LocalDateTime.now();
+        for (DrivingRecord record : batch) {
+            record.setCreatedAt(now);
+        }
+
+        long start = System.currentTimeMillis();
+        write(batch);
+        logger.debug("写入{}条行驶记录，耗时{}ms", batch.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 在一个事务中写入一组数据点，失败时对半拆分分别写入，直到找出写不进去的单条数据转入死信表，
+     * 其余数据(包括同批中其他请求的数据)照常写入
+     */
+    private void write(List<DrivingRecord> records) throws InterruptedException {
+        try {
+            retryWhileUnavailable(records.size(), () -> transactionTemplate.executeWithoutResult(status -> {
+                drivingRecordBatchRepository.insert(records);
+                List<VehicleStatsDelta> deltas = new ArrayList<>(records.size());
+                for (DrivingRecord record : records) {
+                    deltas.add(VehicleStatsDelta.driving(record.getVin(), record.getMileage(), record.getEnergyConsumption()));
+                }
+                vehicleStatsService.applyDeltas(deltas);
+            }));
+        } catch (RuntimeException e) {
+            if (records.size() > 1) {
+                int middle = records.size() / 2;
+                write(records.subList(0, middle));
+                write(records.subList(middle, records.size()));
+            } else {
+                deadLetter(records.get(0), e);
+            }
+            return;
+        }
+        try {
+            fleetStateService.recordTelemetry(records);
+        } catch (RuntimeException e) {
+            // 行驶记录已提交，实时状态以后续上报为准
+            logger.error("更新车辆实时状态失败，{}条", records.size(), e);
+        }
+    }
+
+    private void deadLetter(DrivingRecord record, RuntimeException cause) throws InterruptedException {
+        String reason = cause instanceof DataAccessException
+                ? ((DataAccessException) cause).getMostSpecificCause().getMessage()
+                : cause.toString();
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(record);
+        } catch (JsonProcessingException e) {
+            payload = String.valueOf(record);
+        }
+        logger.warn("行驶记录写入失败，转入死信表: vin={}, reason={}", record.getVin(), reason);
+        String deadLetterPayload = payload;
+        try {
+            retryWhileUnavailable(1, () -> telemetryDeadLetterRepository.insert(record, deadLetterPayload, reason));
+        } catch (RuntimeException e) {
+            // 死信表也写不进去时只能留在日志中
+            logger.error("行驶记录写入死信表失败: {}, 原因: {}", payload, reason, e);
+        }
+    }
+
+    /**
+     * 执行写入，连接失败、超时、死锁等与数据无关的错误等待后重试(拆分批次没有意义)，其他异常直接抛出。
+     * 数据库长时间不可用时写入线程停在这里，队列随之积压，满后新的上报返回429
+     */
+    private void retryWhileUnavailable(int points, Runnable action) throws InterruptedException {
+        long delay = 1000;
+        while (true) {
+            try {
+                action.run();
+                return;
+            } catch (TransientDataAccessException | RecoverableDataAccessException | DataAccessResourceFailureException e) {
+                logger.warn("行驶记录写入失败，{}ms后重试{}条: {}", delay, points, e.getMostSpecificCause().getMessage());
+                Thread.sleep(delay);
+                delay = Math.min(delay * 2, MAX_RETRY_DELAY_MS);
+            }
+        }
+    }
+}
@@ -0,0 +1,419 @@
+// backend/src/main/java/com/example/evcarbonmonitor/service/impl/VehicleBulkEngine.java
+package com.example.evcarbonmonitor.service.impl;
+
+import com.example.evcarbonmonitor.domain.Vehicle;
+import com.example.evcarbonmonitor.dto.BulkOperationResponse;
+import com.example.evcarbonmonitor.dto.LiveEventDTO;
+import com.example.evcarbonmonitor.dto.VehicleDTO;
+import com.example.evcarbonmonitor.dto.VehicleStatusChange;
+import com.example.evcarbonmonitor.exception.ApiException;
+import com.example.evcarbonmonitor.repository.VehicleBatchRepository;
+import com.example.evcarbonmonitor.repository.VehicleRepository;
+import com.example.evcarbonmonitor.service.FleetStateService;
+import com.example.evcarbonmonitor.service.LiveEventService;
+import com.example.evcarbonmonitor.service.VehicleSearchService;
+import com.example.evcarbonmonitor.service.VehicleStatsService;
+import com.example.evcarbonmonitor.util.TransactionUtil;
+import com.example.evcarbonmonitor.util.VehicleMapper;
+import com.example.evcarbonmonitor.util.VehicleValidationUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * 车辆批量新增、修改、改状态和删除
+ * 先逐项校验并剔除请求内重复的VIN码，再按块执行集合SQL，每块单独提交事务；
+ * 每项的结果(成功、不存在、冲突等)按请求数组的下标返回
+ */
+@Component
+public class VehicleBulkEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(VehicleBulkEngine.class);
+
+    private final VehicleBatchRepository vehicleBatchRepository;
+    private final VehicleRepository vehicleRepository;
+    private final VehicleStatsService vehicleStatsService;
+    private final TransactionTemplate transactionTemplate;
+    private final VehicleVinRegistry vehicleVinRegistry;
+    private final VehicleCache vehicleCache;
+    private final FleetStateService fleetStateService;
+    private final VehicleSearchService vehicleSearchService;
+    private final LiveEventService liveEventService;
+
+    // 每块记录数，每块一个事务
+    @Value("${vehicle.bulk.chunk-size:1000}")
+    private int chunkSize;
+
+    // 单次请求的记录数上限
+    @Value("${vehicle.bulk.max-items:10000}")
+    private int maxItems;
+
+    @Autowired
+    public VehicleBulkEngine(VehicleBatchRepository vehicleBatchRepository,
+                             VehicleRepository vehicleRepository,
+                             VehicleStatsService vehicleStatsService,
+                             PlatformTransactionManager transactionManager,
+                             VehicleVinRegistry vehicleVinRegistry,
+                             VehicleCache vehicleCache,
+                             FleetStateService fleetStateService,
+                             VehicleSearchService vehicleSearchService,
+                             LiveEventService liveEventService) {
+        this.vehicleBatchRepository = vehicleBatchRepository;
+        this.vehicleRepository = vehicleRepository;
+        this.vehicleStatsService = vehicleStatsService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.vehicleVinRegistry = vehicleVinRegistry;
+        this.vehicleCache = vehicleCache;
+        this.fleetStateService = fleetStateService;
+        this.vehicleSearchService = vehicleSearchService;
+        this.liveEventService = liveEventService;
+    }
+
+    /**
+     * 在一个事务中处理一块已通过校验的记录，写入每项的结果
+     */
+    private interface ChunkHandler {
+        void process(List<Integer> chunk, BulkOperationResponse.ItemResult[] results, LocalDateTime now);
+    }
+
+    /**
+     * 批量新增，校验规则与单条新增相同
+     */
+    public BulkOperationResponse createVehicles(List<VehicleDTO> vehicles) {
+        Set<String> plates = new HashSet<>();
+        return execute("新增", vehicles, i -> vehicles.get(i).getVin(),
+                i -> {
+                    VehicleDTO dto = vehicles.get(i);
+                    VehicleValidationUtil.validateForImport(dto);
+                    if (!plates.add(dto.getLicensePlate())) {
+                        throw new ApiException(409, "车牌号已存在");
+                    }
+                },
+                (chunk, results, now) -> createChunk(vehicles, chunk, results, now));
+    }
+
+    /**
+     * 批量部分更新，只修改每项中给出的字段
+     */
+    public BulkOperationResponse updateVehicles(List<VehicleDTO> changes) {
+        Set<String> plates = new HashSet<>();
+        return execute("修改", changes, i -> changes.get(i).getVin(),
+                i -> {
+                    VehicleDTO dto = changes.get(i);
+                    VehicleValidationUtil.validateForUpdate(dto);
+                    if (dto.getLicensePlate() != null && !plates.add(dto.getLicensePlate())) {
+                        throw new ApiException(409, "车牌号已存在");
+                    }
+                },
+                (chunk, results, now) -> updateChunk(changes, chunk, results, now));
+    }
+
+    /**
+     * 批量修改状态，状态相同的车辆不更新
+     */
+    public BulkOperationResponse changeStatus(List<VehicleStatusChange> changes) {
+        return execute("修改状态", changes, i -> changes.get(i).getVin(),
+                i -> {
+                    VehicleValidationUtil.validateVin(changes.get(i).getVin());
+                    VehicleValidationUtil.validateStatus(changes.get(i).getStatus());
+                },
+                (chunk, results, now) -> statusChunk(changes, chunk, results, now));
+    }
+
+    /**
+     * 批量删除
+     */
+    public BulkOperationResponse deleteVehicles(List<String> vins) {
+        return execute("删除", vins, vins::get,
+                i -> VehicleValidationUtil.validateVin(vins.get(i)),
+                (chunk, results, now) -> deleteChunk(vins, chunk, results, now));
+    }
+
+    private BulkOperationResponse execute(String operation, List<?> items, IntFunction<String> vinOf,
+                                          IntConsumer validator, ChunkHandler handler) {
+        if (items == null || items.isEmpty()) {
+            throw new ApiException(400, "请求不能为空");
+        }
+        int total = items.size();
+        if (total > maxItems) {
+            throw new ApiException(400, "单次请求不能超过" + maxItems + "条记录");
+        }
+        long startTime = System.nanoTime();
+
+        // 逐项校验，同一VIN码在请求中只处理第一次出现的一项
+        BulkOperationResponse.ItemResult[] results = new BulkOperationResponse.ItemResult[total];
+        List<Integer> accepted = new ArrayList<>(total);
+        Set<String> vins = new HashSet<>();
+        for (int i = 0; i < total; i++) {
+            if (items.get(i) == null) {
+                results[i] = failure(i, null, 400, "记录不能为空");
+                continue;
+            }
+            String vin = vinOf.apply(i);
+            try {
+                validator.accept(i);
+            } catch (ApiException e) {
+                results[i] = failure(i, vin, e.getCode(), e.getMessage());
+                continue;
+            }
+            if (!vins.add(vin)) {
+                results[i] = failure(i, vin, 400, "请求中VIN码重复");
+                continue;
+            }
+            accepted.add(i);
+        }
+
+        int effectiveChunkSize = Math.max(1, chunkSize);
+        for (int from = 0; from < accepted.size(); from += effectiveChunkSize) {
+            List<Integer> chunk = accepted.subList(from, Math.min(from + effectiveChunkSize, accepted.size()));
+            processChunk(chunk, results, vinOf, handler);
+        }
+
+        int success = 0;
+        for (BulkOperationResponse.ItemResult result : results) {
+            if (!BulkOperationResponse.RESULT_FAILED.equals(result.getResult())) {
+                success++;
+            }
+        }
+        BulkOperationResponse response = new BulkOperationResponse();
+        response.setTotal(total);
+        response.setSuccess(success);
+        response.setFailed(total - success);
+        response.setResults(Arrays.asList(results));
+        response.setElapsedMillis((System.nanoTime() - startTime) / 1_000_000);
+
+        logger.info("批量{}车辆完成: total={}, success={}, failed={}, {}ms",
+                operation, total, success, total - success, response.getElapsedMillis());
+        return response;
+    }
+
+    /**
+     * 执行一块，并发修改导致唯一约束冲突时重新执行一次，仍失败则整块记为失败
+     */
+    private void processChunk(List<Integer> chunk, BulkOperationResponse.ItemResult[] results,
+                              IntFunction<String> vinOf, ChunkHandler handler) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                LocalDateTime now = LocalDateTime.now();
+                transactionTemplate.executeWithoutResult(status -> handler.process(chunk, results, now));
+                return;
+            } catch (DataIntegrityViolationException e) {
+                if (attempt == 1) {
+                    logger.warn("批量修改发生唯一约束冲突，重新执行: {}", e.getMessage());
+                    continue;
+                }
+                logger.error("批量修改写入失败: {}", e.getMessage());
+            } catch (DataAccessException e) {
+                logger.error("批量修改写入失败: {}", e.getMessage());
+            }
+            for (Integer index : chunk) {
+                results[index] = failure(index, vinOf.apply(index), 500, "写入数据库失败");
+            }
+            return;
+        }
+    }
+
+    private void createChunk(List<VehicleDTO> vehicles, List<Integer> chunk,
+                             BulkOperationResponse.ItemResult[] results, LocalDateTime now) {
+        // 冲突由唯一索引裁决：VIN码或车牌号已存在的车辆在插入时跳过，只对跳过的车辆查询原因
+        List<Vehicle> entities = new ArrayList<>(chunk.size());
+        for (Integer index : chunk) {
+            Vehicle vehicle = VehicleMapper.toEntity(vehicles.get(index));
+            vehicle.setLastUpdateTime(now);
+            vehicle.setCreatedAt(now);
+            vehicle.setUpdatedAt(now);
+            vehicle.setVersion(0L);
+            entities.add(vehicle);
+        }
+        Set<String> insertedVins = vehicleBatchRepository.insertNew(entities);
+
+        Map<String, Integer> skipped = new HashMap<>();
+        List<Vehicle> inserted = new ArrayList<>(insertedVins.size());
+        Set<String> statuses = new HashSet<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            Integer index = chunk.get(i);
+            Vehicle vehicle = entities.get(i);
+            if (!insertedVins.contains(vehicle.getVin())) {
+                skipped.put(vehicle.getVin(), index);
+                continue;
+            }
+            inserted.add(vehicle);
+            statuses.add(vehicle.getStatus());
+            results[index] = new BulkOperationResponse.ItemResult(
+                    index, vehicle.getVin(), BulkOperationResponse.RESULT_CREATED, null, null);
+        }
+        if (!skipped.isEmpty()) {
+            Set<String> existingVins = vehicleBatchRepository.findExistingVins(skipped.keySet());
+            for (Map.Entry<String, Integer> conflict : skipped.entrySet()) {
+                results[conflict.getValue()] = existingVins.contains(conflict.getKey())
+                        ? failure(conflict.getValue(), conflict.getKey(), 409, "VIN码已存在")
+                        : failure(conflict.getValue(), conflict.getKey(), 409, "车牌号已存在");
+            }
+        }
+
+        // 提交后再登记，块事务回滚时不留下不存在的VIN码
+        TransactionUtil.afterCommit(() -> vehicleVinRegistry.registerAll(insertedVins));
+        vehicleCache.vehiclesChanged(insertedVins, statuses);
+        vehicleSearchService.vehiclesSaved(inserted.stream()
+                .collect(Collectors.toMap(Vehicle::getVin, Vehicle::getLicensePlate)));
+        for (Vehicle vehicle : inserted) {
+            fleetStateService.vehicleSaved(vehicle.getVin(), vehicle.getStatus(), vehicle.getLastUpdateTime());
+            liveEventService.publish(LiveEventDTO.TYPE_VEHICLE_CREATED, vehicle.getVin(),
+                    "vehicle:" + vehicle.getVin(), VehicleMapper.toDTO(vehicle, null));
+        }
+    }
+
+    private void updateChunk(List<VehicleDTO> changes, List<Integer> chunk,
+                             BulkOperationResponse.ItemResult[] results, LocalDateTime now) {
+        // 车牌号已属于其他车辆时冲突，车牌号互换需要分两次请求
+        List<String> plates = new ArrayList<>();
+        for (Integer index : chunk) {
+            if (changes.get(index).getLicensePlate() != null) {
+                plates.add(changes.get(index).getLicensePlate());
+            }
+        }
+        Map<String, String> plateOwners = vehicleBatchRepository.findVinsByLicensePlates(plates);
+
+        List<VehicleDTO> accepted = new ArrayList<>(chunk.size());
+        Map<String, Integer> indexByVin = new HashMap<>();
+        for (Integer index : chunk) {
+            VehicleDTO dto = changes.get(index);
+            String owner = dto.getLicensePlate() != null ? plateOwners.get(dto.getLicensePlate()) : null;
+            if (owner != null && !owner.equals(dto.getVin())) {
+                results[index] = failure(index, dto.getVin(), 409, "车牌号已存在");
+                continue;
+            }
+            accepted.add(dto);
+            indexByVin.put(dto.getVin(), index);
+        }
+
+        List<VehicleBatchRepository.UpdatedVehicle> updated = vehicleBatchRepository.batchUpdate(accepted, now);
+        List<String> updatedVins = new ArrayList<>(updated.size());
+        Set<String> statuses = new HashSet<>();
+        Map<String, String> updatedPlates = new HashMap<>();
+        for (VehicleBatchRepository.UpdatedVehicle vehicle : updated) {
+            Integer index = indexByVin.remove(vehicle.getVin());
+            if (changes.get(index).getLicensePlate() != null) {
+                updatedPlates.put(vehicle.getVin(), changes.get(index).getLicensePlate());
+            }
+            results[index] = new BulkOperationResponse.ItemResult(
+                    index, vehicle.getVin(), BulkOperationResponse.RESULT_UPDATED, null, null);
+            updatedVins.add(vehicle.getVin());
+            statuses.add(vehicle.getPreviousStatus());
+            statuses.add(vehicle.getStatus());
+            if (!vehicle.getPreviousStatus().equals(vehicle.getStatus())) {
+                // 只同步手动修改的状态，与单条修改一致
+                fleetStateService.vehicleSaved(vehicle.getVin(), vehicle.getStatus(), now);
+            }
+        }
+        // 未更新的车辆：不存在，或给出的版本号与当前版本号不一致
+        if (!indexByVin.isEmpty()) {
+            Set<String> existing = vehicleBatchRepository.findExistingVins(indexByVin.keySet());
+            for (Map.Entry<String, Integer> rest : indexByVin.entrySet()) {
+                results[rest.getValue()] = existing.contains(rest.getKey())
+                        ? failure(rest.getValue(), rest.getKey(), 409, "车辆已被修改，请刷新后重试")
+                        : failure(rest.getValue(), rest.getKey(), 404, "车辆不存在");
+            }
+        }
+
+        vehicleCache.vehiclesChanged(updatedVins, statuses);
+        vehicleSearchService.vehiclesSaved(updatedPlates);
+        for (VehicleDTO vehicle : vehicleRepository.findDtosByVins(updatedVins)) {
+            liveEventService.publish(LiveEventDTO.TYPE_VEHICLE_UPDATED, vehicle.getVin(),
+                    "vehicle:" + vehicle.getVin(), vehicle);
+        }
+    }
+
+    private void statusChunk(List<VehicleStatusChange> changes, List<Integer> chunk,
+                             BulkOperationResponse.ItemResult[] results, LocalDateTime now) {
+        // 按目标状态分组，每组一条UPDATE
+        Map<String, List<String>> vinsByStatus = new LinkedHashMap<>();
+        Map<String, Integer> indexByVin = new HashMap<>();
+        for (Integer index : chunk) {
+            VehicleStatusChange change = changes.get(index);
+            vinsByStatus.computeIfAbsent(change.getStatus(), status -> new ArrayList<>()).add(change.getVin());
+            indexByVin.put(change.getVin(), index);
+        }
+
+        List<String> updatedVins = new ArrayList<>();
+        Set<String> statuses = new HashSet<>();
+        for (Map.Entry<String, List<String>> group : vinsByStatus.entrySet()) {
+            for (VehicleBatchRepository.UpdatedVehicle vehicle :
+                    vehicleBatchRepository.updateStatus(group.getValue(), group.getKey(), now)) {
+                Integer index = indexByVin.remove(vehicle.getVin());
+                results[index] = new BulkOperationResponse.ItemResult(
+                        index, vehicle.getVin(), BulkOperationResponse.RESULT_UPDATED, null, null);
+                updatedVins.add(vehicle.getVin());
+                statuses.add(vehicle.getPreviousStatus());
+                statuses.add(vehicle.getStatus());
+                // 状态变化事件由车辆实时状态发布
+                fleetStateService.vehicleSaved(vehicle.getVin(), vehicle.getStatus(), now);
+            }
+        }
+
+        // 未更新的车辆：已是目标状态或不存在
+        Set<String> existing = vehicleBatchRepository.findExistingVins(indexByVin.keySet());
+        for (Map.Entry<String, Integer> rest : indexByVin.entrySet()) {
+            int index = rest.getValue();
+            results[index] = existing.contains(rest.getKey())
+                    ? new BulkOperationResponse.ItemResult(index, rest.getKey(), BulkOperationResponse.RESULT_UNCHANGED, null, null)
+                    : failure(index, rest.getKey(), 404, "车辆不存在");
+        }
+
+        vehicleCache.vehiclesChanged(updatedVins, statuses);
+    }
+
+    private void deleteChunk(List<String> vins, List<Integer> chunk,
+                             BulkOperationResponse.ItemResult[] results, LocalDateTime now) {
+        Map<String, Integer> indexByVin = new HashMap<>();
+        for (Integer index : chunk) {
+            indexByVin.put(vins.get(index), index);
+        }
+
+        List<VehicleBatchRepository.UpdatedVehicle> deleted = vehicleBatchRepository.deleteAll(indexByVin.keySet());
+        List<String> deletedVins = new ArrayList<>(deleted.size());
+        Set<String> statuses = new HashSet<>();
+        for (VehicleBatchRepository.UpdatedVehicle vehicle : deleted) {
+            Integer index = indexByVin.remove(vehicle.getVin());
+            results[index] = new BulkOperationResponse.ItemResult(
+                    index, vehicle.getVin(), BulkOperationResponse.RESULT_DELETED, null, null);
+            deletedVins.add(vehicle.getVin());
+            statuses.add(vehicle.getPreviousStatus());
+        }
+        for (Map.Entry<String, Integer> missing : indexByVin.entrySet()) {
+            results[missing.getValue()] = failure(missing.getValue(), missing.getKey(), 404, "车辆不存在");
+        }
+
+        vehicleStatsService.deleteStats(deletedVins);
+        vehicleVinRegistry.unregisterAll(deletedVins);
+        vehicleCache.vehiclesChanged(deletedVins, statuses);
+        vehicleSearchService.vehiclesRemoved(deletedVins);
+        for (String vin : deletedVins) {
+            fleetStateService.vehicleRemoved(vin);
+            liveEventService.publish(LiveEventDTO.TYPE_VEHICLE_DELETED, vin, "vehicle:" + vin, null);
+        }
+    }
+
+    private static BulkOperationResponse.ItemResult failure(int index, String vin, int code, String message) {
+        return new BulkOperationResponse.ItemResult(index, vin, BulkOperationResponse.RESULT_FAILED, code, message);
+    }
+}
@@ -0,0 +1,359 @@
+// backend/src/main/java/com/example/evcarbonmonitor/service/impl/VehicleCache.java
+package com.example.evcarbonmonitor.service.impl;
+
+import com.example.evcarbonmonitor.dto.CacheStatsDTO;
+import com.example.evcarbonmonitor.dto.PageResponse;
+import com.example.evcarbonmonitor.dto.VehicleDTO;
+import com.example.evcarbonmonitor.dto.VehicleQueryParams;
+import com.example.evcarbonmonitor.service.VehicleCacheTier;
+import com.example.evcarbonmonitor.util.TransactionUtil;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 车辆查询缓存
+ * 车辆详情按VIN码缓存(含统计数据)，列表按查询参数缓存一页的VIN码和总数，
+ * 命中时从车辆详情缓存组装，因此统计数据变化只需失效对应车辆。
+ * 车辆增删改和统计数据变化在事务提交后失效相关条目；配置了二级缓存时，车辆详情同时写入二级缓存
+ */
+@Component
+public class VehicleCache implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(VehicleCache.class);
+
+    /**
+     * 列表缓存键，status为空表示不按状态筛选
+     * 其他筛选条件只是缓存键的一部分：车辆变化时按其变化前后的状态失效列表，已覆盖所有可能包含该车辆的列表
+     */
+    private static final class PageKey {
+        private final String status;
+        private final String query;
+
+        private PageKey(String status, VehicleQueryParams params) {
+            this.status = status;
+            this.query = String.join("|", params.getPagination(), String.valueOf(params.getPage()),
+                    String.valueOf(params.getSize()), params.getSort(), params.getOrder(), params.getCount(),
+                    params.getCursor(), params.getManufacturer(), params.getModel(),
+                    String.valueOf(params.getProductionYearFrom()), String.valueOf(params.getProductionYearTo()),
+                    String.valueOf(params.getBatteryCapacityMin()), String.valueOf(params.getBatteryCapacityMax()),
+                    String.valueOf(params.getRegisterDateFrom()), String.valueOf(params.getRegisterDateTo()),
+                    params.getVinPrefix(), params.getPlatePrefix());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PageKey)) {
+                return false;
+            }
+            PageKey other = (PageKey) o;
+            return Objects.equals(status, other.status) && query.equals(other.query);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(status, query);
+        }
+    }
+
+    private static final class CachedPage {
+        private final long total;
+        private final int page;
+        private final int size;
+        private final List<String> vins;
+        private final String nextCursor;
+
+        private CachedPage(PageResponse<VehicleDTO> response) {
+            this.total = response.getTotal();
+            this.page = response.getPage();
+            this.size = response.getSize();
+            this.vins = response.getItems().stream().map(VehicleDTO::getVin).collect(Collectors.toList());
+            this.nextCursor = response.getNextCursor();
+        }
+    }
+
+    private final boolean enabled;
+    private final BoundedCache<String, VehicleDTO> vehicles;
+    private final BoundedCache<PageKey, CachedPage> pages;
+    private final VehicleCacheTier tier;
+    private final AtomicLong tierHits = new AtomicLong();
+    private final AtomicLong tierMisses = new AtomicLong();
+    private final AtomicLong tierErrors = new AtomicLong();
+
+    @Autowired
+    public VehicleCache(@Value("${vehicle.cache.enabled:true}") boolean enabled,
+                        @Value("${vehicle.cache.vehicle-max-size:10000}") int vehicleMaxSize,
+                        @Value("${vehicle.cache.vehicle-ttl-seconds:60}") long vehicleTtlSeconds,
+                        @Value("${vehicle.cache.page-max-size:1000}") int pageMaxSize,
+                        @Value("${vehicle.cache.page-ttl-seconds:30}") long pageTtlSeconds,
+                        ObjectProvider<VehicleCacheTier> tierProvider) {
+        this.enabled = enabled;
+        this.vehicles = new BoundedCache<>("vehicle", vehicleMaxSize, vehicleTtlSeconds);
+        this.pages = new BoundedCache<>("vehicle-page", pageMaxSize, pageTtlSeconds);
+        this.tier = tierProvider.getIfAvailable();
+    }
+
+    /**
+     * 读取车辆详情，依次查本地缓存、二级缓存和数据库
+     * @param loader 从数据库加载，车辆不存在时应抛出异常
+     */
+    public VehicleDTO getVehicle(String vin, Function<String, VehicleDTO> loader) {
+        if (!enabled) {
+            return loader.apply(vin);
+        }
+        VehicleDTO vehicle = vehicles.get(vin);
+        if (vehicle != null) {
+            return vehicle;
+        }
+
+        long stamp = vehicles.stamp();
+        vehicle = tierGet(vin);
+        if (vehicle != null) {
+            vehicles.put(vin, vehicle, stamp);
+            return vehicle;
+        }
+        vehicle = loader.apply(vin);
+        if (vehicles.put(vin, vehicle, stamp)) {
+            tierPut(vehicle);
+        }
+        return vehicle;
+    }
+
+    /**
+     * 读取一页车辆列表
+     * @param status 实际生效的状态筛选条件，为null表示不筛选
+     * @param loader 从数据库查询整页
+     * @param batchLoader 按VIN码批量加载车辆详情，用于补齐已失效的车辆
+     */
+    public PageResponse<VehicleDTO> getPage(VehicleQueryParams params, String status,
+                                            Supplier<PageResponse<VehicleDTO>> loader,
+                                            Function<Collection<String>, List<VehicleDTO>> batchLoader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        PageKey key = new PageKey(status, params);
+        CachedPage page = pages.get(key);
+        if (page != null) {
+            List<VehicleDTO> items = resolve(page.vins, batchLoader);
+            if (items != null) {
+                PageResponse<VehicleDTO> response = new PageResponse<>(page.total, page.page, page.size, items);
+                response.setNextCursor(page.nextCursor);
+                return response;
+            }
+        }
+
+        long pageStamp = pages.stamp();
+        long vehicleStamp = vehicles.stamp();
+        PageResponse<VehicleDTO> response = loader.get();
+        pages.put(key, new CachedPage(response), pageStamp);
+        for (VehicleDTO vehicle : response.getItems()) {
+            vehicles.put(vehicle.getVin(), vehicle, vehicleStamp);
+        }
+        return response;
+    }
+
+    /**
+     * 按VIN码顺序组装车辆详情
+     * @return 有车辆已被删除时返回null，由调用方重新查询整页
+     */
+    private List<VehicleDTO> resolve(List<String> vins, Function<Collection<String>, List<VehicleDTO>> batchLoader) {
+        Map<String, VehicleDTO> found = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String vin : vins) {
+            VehicleDTO vehicle = vehicles.get(vin);
+            if (vehicle != null) {
+                found.put(vin, vehicle);
+            } else {
+                missing.add(vin);
+            }
+        }
+        if (!missing.isEmpty()) {
+            long stamp = vehicles.stamp();
+            for (VehicleDTO vehicle : batchLoader.apply(missing)) {
+                found.put(vehicle.getVin(), vehicle);
+                vehicles.put(vehicle.getVin(), vehicle, stamp);
+            }
+        }
+
+        List<VehicleDTO> items = new ArrayList<>(vins.size());
+        for (String vin : vins) {
+            VehicleDTO vehicle = found.get(vin);
+            if (vehicle == null) {
+                return null;
+            }
+            items.add(vehicle);
+        }
+        return items;
+    }
+
+    /**
+     * 车辆新增、修改或删除后调用，事务提交后失效该车辆和受影响的列表
+     * @param statuses 车辆变更前后的状态，按这些状态筛选的列表和不筛选的列表需要失效
+     */
+    public void vehicleChanged(String vin, String... statuses) {
+        vehiclesChanged(List.of(vin), Arrays.asList(statuses));
+    }
+
+    public void vehiclesChanged(Collection<String> vins, Collection<String> statuses) {
+        if (!enabled) {
+            return;
+        }
+        Set<String> affectedStatuses = new HashSet<>(statuses);
+        // 先失效二级缓存，否则本地失效后可能又从二级缓存读回旧值
+        TransactionUtil.afterCommit(() -> {
+            tierEvict(vins);
+            vins.forEach(vehicles::invalidate);
+            pages.invalidateIf(key -> key.status == null || affectedStatuses.contains(key.status));
+        });
+    }
+
+    /**
+     * 车辆统计数据变化后调用，列表只缓存VIN码，不需要失效
+     */
+    public void statsChanged(Collection<String> vins) {
+        if (!enabled) {
+            return;
+        }
+        TransactionUtil.afterCommit(() -> {
+            tierEvict(vins);
+            vins.forEach(vehicles::invalidate);
+        });
+    }
+
+    public void invalidateAll() {
+        if (!enabled) {
+            return;
+        }
+        TransactionUtil.afterCommit(() -> {
+            if (tier != null) {
+                try {
+                    tier.clear();
+                } catch (RuntimeException e) {
+                    tierErrors.incrementAndGet();
+                    logger.warn("清空车辆二级缓存失败: {}", e.getMessage());
+                }
+            }
+            vehicles.invalidateAll();
+            pages.invalidateAll();
+        });
+    }
+
+    public List<CacheStatsDTO> getStats() {
+        List<CacheStatsDTO> stats = new ArrayList<>();
+        stats.add(vehicles.stats());
+        stats.add(pages.stats());
+        if (tier != null) {
+            CacheStatsDTO tierStats = new CacheStatsDTO();
+            tierStats.setName("vehicle-" + tier.getClass().getSimpleName());
+            tierStats.setSize(-1);
+            tierStats.setMaxSize(-1);
+            tierStats.setHits(tierHits.get());
+            tierStats.setMisses(tierMisses.get());
+            tierStats.setErrors(tierErrors.get());
+            stats.add(tierStats);
+        }
+        return stats;
+    }
+
+    /**
+     * 导出缓存指标，沿用Micrometer缓存指标的命名(cache.gets、cache.size等)，按cache标签区分
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (CacheStatsDTO stats : getStats()) {
+            String name = stats.getName();
+            FunctionCounter.builder("cache.gets", this, cache -> cache.statsOf(name).getHits())
+                    .tags("cache", name, "result", "hit")
+                    .description("缓存命中次数")
+                    .register(registry);
+            FunctionCounter.builder("cache.gets", this, cache -> cache.statsOf(name).getMisses())
+                    .tags("cache", name, "result", "miss")
+                    .description("缓存未命中次数")
+                    .register(registry);
+            FunctionCounter.builder("cache.evictions", this, cache -> cache.statsOf(name).getEvictions())
+                    .tag("cache", name)
+                    .description("超出容量被淘汰的条目数")
+                    .register(registry);
+            FunctionCounter.builder("cache.invalidations", this, cache -> cache.statsOf(name).getInvalidations())
+                    .tag("cache", name)
+                    .description("数据变化导致失效的条目数")
+                    .register(registry);
+            Gauge.builder("cache.size", this, cache -> cache.statsOf(name).getSize())
+                    .tag("cache", name)
+                    .description("缓存条目数，二级缓存为-1")
+                    .register(registry);
+        }
+    }
+
+    private CacheStatsDTO statsOf(String name) {
+        for (CacheStatsDTO stats : getStats()) {
+            if (stats.getName().equals(name)) {
+                return stats;
+            }
+        }
+        return new CacheStatsDTO();
+    }
+
+    private VehicleDTO tierGet(String vin) {
+        if (tier == null) {
+            return null;
+        }
+        try {
+            VehicleDTO vehicle = tier.get(vin);
+            (vehicle != null ? tierHits : tierMisses).incrementAndGet();
+            return vehicle;
+        } catch (RuntimeException e) {
+            tierErrors.incrementAndGet();
+            logger.warn("读取车辆二级缓存失败: vin={}, {}", vin, e.getMessage());
+            return null;
+        }
+    }
+
+    private void tierPut(VehicleDTO vehicle) {
+        if (tier == null) {
+            return;
+        }
+        try {
+            tier.put(vehicle);
+        } catch (RuntimeException e) {
+            tierErrors.incrementAndGet();
+            logger.warn("写入车辆二级缓存失败: vin={}, {}", vehicle.getVin(), e.getMessage());
+        }
+    }
+
+    private void tierEvict(Collection<String> vins) {
+        if (tier == null || vins.isEmpty()) {
+            return;
+        }
+        try {
+            tier.evictAll(vins);
+        } catch (RuntimeException e) {
+            tierErrors.incrementAndGet();
+            logger.warn("失效车辆二级缓存失败: {}个车辆, {}", vins.size(), e.getMessage());
+        }
+    }
+}
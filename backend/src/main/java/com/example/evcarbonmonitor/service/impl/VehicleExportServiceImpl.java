@@ -0,0 +1,164 @@
+// backend/src/main/java/com/example/evcarbonmonitor/service/impl/VehicleExportServiceImpl.java
+package com.example.evcarbonmonitor.service.impl;
+
+import com.example.evcarbonmonitor.dto.VehicleDTO;
+import com.example.evcarbonmonitor.dto.VehicleExportParams;
+import com.example.evcarbonmonitor.exception.ApiException;
+import com.example.evcarbonmonitor.repository.VehicleRepository;
+import com.example.evcarbonmonitor.service.VehicleExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+public class VehicleExportServiceImpl implements VehicleExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VehicleExportServiceImpl.class);
+
+    private static final String FORMAT_NDJSON = "ndjson";
+    private static final String FORMAT_CSV = "csv";
+
+    // 前9列与批量导入的CSV格式一致，导出文件可以直接重新导入
+    private static final String[] CSV_HEADER = {
+            "vin", "model", "licensePlate", "manufacturer", "productionYear", "batteryCapacity", "maxRange",
+            "registerDate", "status", "lastUpdateTime", "totalMileage", "totalEnergy", "totalCarbonReduction",
+            "carbonCredits"
+    };
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final VehicleRepository vehicleRepository;
+    private final ObjectWriter vehicleWriter;
+    private final int fetchSize;
+
+    @Autowired
+    public VehicleExportServiceImpl(VehicleRepository vehicleRepository, ObjectMapper objectMapper,
+                                   @Value("${vehicle.export.fetch-size:1000}") int fetchSize) {
+        this.vehicleRepository = vehicleRepository;
+        // 每行单独写出，由外层缓冲区决定何时真正写入响应
+        this.vehicleWriter = objectMapper.writerFor(VehicleDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public void validateParams(VehicleExportParams params) {
+        String format = params.getFormat();
+        if (!FORMAT_NDJSON.equalsIgnoreCase(format) && !FORMAT_CSV.equalsIgnoreCase(format)) {
+            throw new ApiException(400, "不支持的导出格式: " + format);
+        }
+    }
+
+    @Override
+    public String getFileName(VehicleExportParams params) {
+        String fileName = "vehicles." + params.getFormat().toLowerCase();
+        return params.isGzip() ? fileName + ".gz" : fileName;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportVehicles(VehicleExportParams params, OutputStream outputStream) throws IOException {
+        validateParams(params);
+        long startTime = System.currentTimeMillis();
+
+        // 只在这里关闭包装流，调用方的输出流由调用方关闭
+        OutputStream out = new FilterOutputStream(outputStream) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                this.out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+        if (params.isGzip()) {
+            out = new GZIPOutputStream(out, WRITE_BUFFER_SIZE);
+        }
+        out = new BufferedOutputStream(out, WRITE_BUFFER_SIZE);
+
+        long count;
+        try (OutputStream target = out;
+             Stream<VehicleDTO> vehicles = vehicleRepository.streamDtos(
+                     filter(params.getStatus()), filter(params.getManufacturer()), fetchSize)) {
+            count = FORMAT_CSV.equalsIgnoreCase(params.getFormat())
+                    ? writeCsv(vehicles.iterator(), target)
+                    : writeNdjson(vehicles.iterator(), target);
+        }
+
+        logger.info("导出车辆完成: format={}, gzip={}, 共{}条，耗时{}ms",
+                params.getFormat(), params.isGzip(), count, System.currentTimeMillis() - startTime);
+        return count;
+    }
+
+    /**
+     * 每行一个JSON对象，字段与列表接口一致
+     */
+    private long writeNdjson(Iterator<VehicleDTO> vehicles, OutputStream out) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = vehicleWriter.createGenerator(out)) {
+            while (vehicles.hasNext()) {
+                vehicleWriter.writeValue(generator, vehicles.next());
+                generator.writeRaw('\n');
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private long writeCsv(Iterator<VehicleDTO> vehicles, OutputStream out) throws IOException {
+        long count = 0;
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        try (CSVPrinter printer = new CSVPrinter(writer, CSVFormat.DEFAULT.builder().setHeader(CSV_HEADER).build())) {
+            while (vehicles.hasNext()) {
+                VehicleDTO vehicle = vehicles.next();
+                printer.printRecord(
+                        vehicle.getVin(),
+                        vehicle.getModel(),
+                        vehicle.getLicensePlate(),
+                        vehicle.getManufacturer(),
+                        vehicle.getProductionYear(),
+                        vehicle.getBatteryCapacity(),
+                        vehicle.getMaxRange(),
+                        vehicle.getRegisterDate(),
+                        vehicle.getStatus(),
+                        vehicle.getLastUpdateTime() != null
+                                ? DATE_TIME_FORMATTER.format(vehicle.getLastUpdateTime()) : null,
+                        vehicle.getTotalMileage(),
+                        vehicle.getTotalEnergy(),
+                        vehicle.getTotalCarbonReduction(),
+                        vehicle.getCarbonCredits());
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private String filter(String value) {
+        return value != null && !value.isEmpty() && !value.equals("all") ? value : null;
+    }
+}
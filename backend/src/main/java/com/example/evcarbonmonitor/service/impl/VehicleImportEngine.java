@@ -0,0 +1,302 @@
+// backend/src/main/java/com/example/evcarbonmonitor/service/impl/VehicleImportEngine.java
+package com.example.evcarbonmonitor.service.impl;
+
+import com.example.evcarbonmonitor.domain.Vehicle;
+import com.example.evcarbonmonitor.dto.BatchImportResponse;
+import com.example.evcarbonmonitor.dto.VehicleDTO;
+import com.example.evcarbonmonitor.exception.ApiException;
+import com.example.evcarbonmonitor.repository.VehicleBatchRepository;
+import com.example.evcarbonmonitor.service.FleetStateService;
+import com.example.evcarbonmonitor.service.VehicleSearchService;
+import com.example.evcarbonmonitor.util.VehicleCsvReader;
+import com.example.evcarbonmonitor.util.TransactionUtil;
+import com.example.evcarbonmonitor.util.VehicleMapper;
+import com.example.evcarbonmonitor.util.VehicleValidationUtil;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 车辆批量导入引擎
+ * 按块处理导入记录：先在内存中校验并剔除块内重复，再用一条INSERT ... ON CONFLICT DO NOTHING写入，
+ * 与已有数据冲突的记录由数据库跳过，每块单独提交事务；指定监听器时，监听器在同一事务中保存进度
+ */
+@Component
+public class VehicleImportEngine implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(VehicleImportEngine.class);
+
+    private final VehicleBatchRepository vehicleBatchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final VehicleVinRegistry vehicleVinRegistry;
+    private final VehicleCache vehicleCache;
+    private final FleetStateService fleetStateService;
+    private final VehicleSearchService vehicleSearchService;
+
+    // 导入指标：写入成功/失败行数和每块处理耗时，导入速率由rate(vehicle.import.rows)得出
+    private final LongAdder acceptedRows = new LongAdder();
+    private final LongAdder rejectedRows = new LongAdder();
+    private final LongAdder chunks = new LongAdder();
+    private final LongAdder chunkNanos = new LongAdder();
+
+    @Value("${vehicle.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${vehicle.import.max-returned-vehicles:1000}")
+    private int maxReturnedVehicles;
+
+    @Autowired
+    public VehicleImportEngine(VehicleBatchRepository vehicleBatchRepository,
+                               PlatformTransactionManager transactionManager,
+                               VehicleVinRegistry vehicleVinRegistry,
+                               VehicleCache vehicleCache,
+                               FleetStateService fleetStateService,
+                               VehicleSearchService vehicleSearchService) {
+        this.vehicleBatchRepository = vehicleBatchRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.vehicleVinRegistry = vehicleVinRegistry;
+        this.vehicleCache = vehicleCache;
+        this.fleetStateService = fleetStateService;
+        this.vehicleSearchService = vehicleSearchService;
+    }
+
+    /**
+     * 导入进度监听器，每块提交前回调
+     */
+    public interface ImportListener {
+
+        /**
+         * 是否已取消，在处理每块之前检查
+         */
+        boolean isCancelled();
+
+        /**
+         * 一块记录处理完成，在本块的写入事务中调用。监听器在这里保存进度和失败记录，与本块的写入一同提交，
+         * 不会出现写入已提交而进度未保存的情况；抛出异常时本块回滚
+         * @param rows 本块记录数
+         * @param accepted 本块写入成功数
+         * @param failures 本块失败记录
+         */
+        void onChunkCompleted(int rows, int accepted, List<BatchImportResponse.FailureRecord> failures);
+    }
+
+    /**
+     * 导入车辆记录
+     * @param rows 流式解析的记录，逐块读取，不会整体载入内存
+     * @return 导入结果
+     */
+    public BatchImportResponse importVehicles(Iterator<VehicleCsvReader.Row> rows) {
+        return importVehicles(rows, null);
+    }
+
+    /**
+     * 导入车辆记录
+     * 指定监听器时，失败记录只交给监听器处理，不在返回结果中保留
+     * @param rows 流式解析的记录
+     * @param listener 进度监听器，可为null
+     * @return 导入结果
+     */
+    public BatchImportResponse importVehicles(Iterator<VehicleCsvReader.Row> rows, ImportListener listener) {
+        long startTime = System.nanoTime();
+
+        List<BatchImportResponse.FailureRecord> failures = new ArrayList<>();
+        List<VehicleDTO> newVehicles = new ArrayList<>();
+        int total = 0;
+        int successCount = 0;
+
+        int effectiveChunkSize = Math.max(1, chunkSize);
+        List<VehicleCsvReader.Row> chunk = new ArrayList<>(effectiveChunkSize);
+        while (rows.hasNext()) {
+            if (chunk.isEmpty() && listener != null && listener.isCancelled()) {
+                logger.info("批量导入已取消，已处理{}条记录", total);
+                break;
+            }
+            chunk.add(rows.next());
+            if (chunk.size() == effectiveChunkSize || !rows.hasNext()) {
+                List<BatchImportResponse.FailureRecord> chunkFailures = new ArrayList<>();
+                long chunkStart = System.nanoTime();
+                int accepted = processChunk(chunk, chunkFailures, newVehicles, listener);
+                chunkNanos.add(System.nanoTime() - chunkStart);
+                chunks.increment();
+                acceptedRows.add(accepted);
+                rejectedRows.add(chunk.size() - accepted);
+                total += chunk.size();
+                successCount += accepted;
+                if (listener == null) {
+                    failures.addAll(chunkFailures);
+                }
+                chunk.clear();
+            }
+        }
+
+        long elapsedNanos = System.nanoTime() - startTime;
+
+        BatchImportResponse response = new BatchImportResponse();
+        response.setTotal(total);
+        response.setSuccess(successCount);
+        response.setFailed(total - successCount);
+        response.setFailures(failures);
+        response.setNewVehicles(newVehicles);
+        response.setElapsedMillis(elapsedNanos / 1_000_000);
+        response.setRowsPerSecond(elapsedNanos > 0 ? total * 1_000_000_000.0 / elapsedNanos : 0);
+
+        logger.info("批量导入完成: total={}, success={}, failed={}, {} rows/s",
+                response.getTotal(), response.getSuccess(), response.getFailed(),
+                String.format("%.1f", response.getRowsPerSecond()));
+        return response;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("vehicle.import.rows", acceptedRows, LongAdder::sum)
+                .tag("result", "success")
+                .description("批量导入处理的记录数")
+                .register(registry);
+        FunctionCounter.builder("vehicle.import.rows", rejectedRows, LongAdder::sum)
+                .tag("result", "failed")
+                .description("批量导入处理的记录数")
+                .register(registry);
+        FunctionTimer.builder("vehicle.import.chunk", this, engine -> engine.chunks.sum(),
+                        engine -> engine.chunkNanos.sum(), TimeUnit.NANOSECONDS)
+                .description("每块校验、冲突查询和批量写入的耗时")
+                .register(registry);
+    }
+
+    /**
+     * 处理一块记录
+     * @return 写入成功的记录数
+     */
+    private int processChunk(List<VehicleCsvReader.Row> rows,
+                             List<BatchImportResponse.FailureRecord> failures,
+                             List<VehicleDTO> newVehicles,
+                             ImportListener listener) {
+        List<VehicleDTO> chunk = new ArrayList<>(rows.size());
+        // 每条记录的失败原因，null表示通过
+        String[] reasons = new String[rows.size()];
+
+        // 内存校验以及块内去重，解析失败的记录直接记为失败
+        Set<String> chunkVins = new HashSet<>();
+        Set<String> chunkPlates = new HashSet<>();
+        for (int i = 0; i < rows.size(); i++) {
+            VehicleCsvReader.Row row = rows.get(i);
+            VehicleDTO dto = row.getVehicle();
+            chunk.add(dto);
+            if (!row.isValid()) {
+                reasons[i] = row.getError();
+                continue;
+            }
+            try {
+                VehicleValidationUtil.validateForImport(dto);
+            } catch (ApiException e) {
+                reasons[i] = e.getMessage();
+                continue;
+            }
+            if (!chunkVins.add(dto.getVin())) {
+                reasons[i] = "VIN码已存在";
+            } else if (!chunkPlates.add(dto.getLicensePlate())) {
+                reasons[i] = "车牌号已存在";
+            }
+        }
+
+        // 写入通过校验的记录，与数据库中已有数据的冲突由唯一索引裁决；监听器保存的进度与写入在同一事务中提交
+        List<Integer> inserted = transactionTemplate.execute(status -> {
+            List<Integer> result = insertAccepted(chunk, reasons);
+            for (int i = 0; i < rows.size(); i++) {
+                if (reasons[i] != null) {
+                    VehicleCsvReader.Row row = rows.get(i);
+                    failures.add(new BatchImportResponse.FailureRecord(row.getLine(), row.getVin(), reasons[i]));
+                }
+            }
+            if (listener != null) {
+                listener.onChunkCompleted(rows.size(), result.size(), failures);
+            }
+            return result;
+        });
+        // 返回的新车辆列表有上限，保证大文件导入时响应和内存占用可控
+        for (Integer index : inserted) {
+            if (newVehicles.size() >= maxReturnedVehicles) {
+                break;
+            }
+            newVehicles.add(chunk.get(index));
+        }
+        return inserted.size();
+    }
+
+    /**
+     * 一条语句写入通过校验的记录，VIN码或车牌号已存在的记录跳过，只对跳过的记录查询原因
+     * 在调用方的事务中执行，VIN码集合、缓存、实时状态和搜索索引在提交后更新
+     * @return 写入成功的记录下标
+     */
+    private List<Integer> insertAccepted(List<VehicleDTO> chunk, String[] reasons) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Integer> accepted = new ArrayList<>();
+        List<Vehicle> entities = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            if (reasons[i] != null) {
+                continue;
+            }
+            VehicleDTO dto = chunk.get(i);
+            Vehicle vehicle = VehicleMapper.toEntity(dto);
+            vehicle.setLastUpdateTime(now);
+            vehicle.setCreatedAt(now);
+            vehicle.setUpdatedAt(now);
+            vehicle.setVersion(0L);
+            dto.setLastUpdateTime(now);
+            dto.setVersion(0L);
+
+            accepted.add(i);
+            entities.add(vehicle);
+        }
+
+        Set<String> insertedVins = vehicleBatchRepository.insertNew(entities);
+        List<Integer> inserted = new ArrayList<>(insertedVins.size());
+        List<String> skippedVins = new ArrayList<>();
+        for (Integer index : accepted) {
+            if (insertedVins.contains(chunk.get(index).getVin())) {
+                inserted.add(index);
+            } else {
+                skippedVins.add(chunk.get(index).getVin());
+            }
+        }
+        if (!skippedVins.isEmpty()) {
+            Set<String> existingVins = vehicleBatchRepository.findExistingVins(skippedVins);
+            for (Integer index : accepted) {
+                String vin = chunk.get(index).getVin();
+                if (!insertedVins.contains(vin)) {
+                    reasons[index] = existingVins.contains(vin) ? "VIN码已存在" : "车牌号已存在";
+                }
+            }
+        }
+
+        List<Vehicle> insertedEntities = entities.stream()
+                .filter(vehicle -> insertedVins.contains(vehicle.getVin()))
+                .collect(Collectors.toList());
+        TransactionUtil.afterCommit(() -> vehicleVinRegistry.registerAll(insertedVins));
+        vehicleCache.vehiclesChanged(insertedVins,
+                insertedEntities.stream().map(Vehicle::getStatus).collect(Collectors.toSet()));
+        for (Vehicle vehicle : insertedEntities) {
+            fleetStateService.vehicleSaved(vehicle.getVin(), vehicle.getStatus(), vehicle.getLastUpdateTime());
+        }
+        vehicleSearchService.vehiclesSaved(insertedEntities.stream()
+                .collect(Collectors.toMap(Vehicle::getVin, Vehicle::getLicensePlate)));
+        return inserted;
+    }
+}
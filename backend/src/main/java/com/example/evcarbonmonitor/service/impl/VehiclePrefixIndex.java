@@ -0,0 +1,439 @@
+// backend/src/main/java/com/example/evcarbonmonitor/service/impl/VehiclePrefixIndex.java
+package com.example.evcarbonmonitor.service.impl;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+
+/**
+ * VIN码和车牌号的前缀索引，不可变
+ * 车辆按VIN码顺序存放在两个数组中，下标即车辆编号，VIN码前缀直接在数组上二分查找；
+ * 车牌号、去掉省份简称的车牌号和VIN码后6位(生产序号)各有一个按键排序的编号数组。
+ * 键在原字符串上按偏移比较，不另存子串，每辆车除两个字符串外只占约20字节。
+ * 修改先记入Pending，由merge生成新索引：未变化的车辆保持原有顺序，只对修改的车辆排序后二分插入
+ */
+final class VehiclePrefixIndex {
+
+    // 匹配的键，数值即建议的排列优先级
+    static final int KEY_VIN = 0;
+    static final int KEY_PLATE = 1;
+    static final int KEY_PLATE_NUMBER = 2;
+    static final int KEY_VIN_SERIAL = 3;
+    private static final int KEY_COUNT = 4;
+
+    // 合并时表示删除车辆的车牌号
+    static final String REMOVED = "\u0000removed";
+
+    // VIN码第12~17位为生产序号
+    private static final int VIN_SERIAL_OFFSET = 11;
+
+    static final VehiclePrefixIndex EMPTY = new VehiclePrefixIndex(new String[0], new String[0],
+            new int[][]{null, new int[0], new int[0], new int[0]}, 0);
+
+    /**
+     * 一条匹配结果
+     */
+    static final class Match {
+        private final String vin;
+        private final String licensePlate;
+        private final int key;
+
+        Match(String vin, String licensePlate, int key) {
+            this.vin = vin;
+            this.licensePlate = licensePlate;
+            this.key = key;
+        }
+
+        String getVin() {
+            return vin;
+        }
+
+        String getLicensePlate() {
+            return licensePlate;
+        }
+
+        int getKey() {
+            return key;
+        }
+
+        /**
+         * 匹配到的键，只在排序结果时生成
+         */
+        String matchedText() {
+            String source = key == KEY_VIN || key == KEY_VIN_SERIAL ? vin : licensePlate;
+            return source.substring(offset(key));
+        }
+    }
+
+    /**
+     * 尚未合并进索引的修改，键的排序与索引相同，查询同样按前缀定位，不随修改数线性扫描
+     * 每个键存为"类别+键+\0+VIN码"；同一车辆的修改在compute中替换旧键，并发修改同一车辆不会留下旧键
+     */
+    static final class Pending {
+        // VIN码到车牌号，REMOVED表示删除
+        private final ConcurrentHashMap<String, String> plates = new ConcurrentHashMap<>();
+        private final ConcurrentSkipListMap<String, String> keys = new ConcurrentSkipListMap<>();
+
+        void put(String vin, String plate) {
+            plates.compute(vin, (ignored, previous) -> {
+                if (previous != null && !REMOVED.equals(previous)) {
+                    for (int key = KEY_VIN; key < KEY_COUNT; key++) {
+                        if (hasKey(vin, previous, key)) {
+                            keys.remove(entryKey(vin, previous, key));
+                        }
+                    }
+                }
+                if (!REMOVED.equals(plate)) {
+                    for (int key = KEY_VIN; key < KEY_COUNT; key++) {
+                        if (hasKey(vin, plate, key)) {
+                            keys.put(entryKey(vin, plate, key), vin);
+                        }
+                    }
+                }
+                return plate;
+            });
+        }
+
+        boolean contains(String vin) {
+            return plates.containsKey(vin);
+        }
+
+        int size() {
+            return plates.size();
+        }
+
+        boolean isEmpty() {
+            return plates.isEmpty();
+        }
+
+        /**
+         * 与VehiclePrefixIndex.collect相同，每类键最多取limit条
+         */
+        void collect(String prefix, int limit, Predicate<String> skip, List<Match> out) {
+            for (int key = KEY_VIN; key < KEY_COUNT; key++) {
+                String from = (char) ('0' + key) + prefix;
+                int found = 0;
+                for (String vin : keys.subMap(from, from + Character.MAX_VALUE).values()) {
+                    if (found == limit) {
+                        break;
+                    }
+                    String plate = plates.get(vin);
+                    if (plate != null && !REMOVED.equals(plate) && !skip.test(vin)) {
+                        out.add(new Match(vin, plate, key));
+                        found++;
+                    }
+                }
+            }
+        }
+
+        /**
+         * 导出为merge的参数
+         */
+        void drainTo(String[] vins, String[] licensePlates) {
+            int i = 0;
+            for (Map.Entry<String, String> change : plates.entrySet()) {
+                vins[i] = change.getKey();
+                licensePlates[i++] = change.getValue();
+            }
+        }
+
+        private static String entryKey(String vin, String plate, int key) {
+            String source = source(vin, plate, key);
+            return new StringBuilder(source.length() + vin.length() + 2)
+                    .append((char) ('0' + key))
+                    .append(source, offset(key), source.length())
+                    .append('\0')
+                    .append(vin)
+                    .toString();
+        }
+    }
+
+    private interface IdComparator {
+        int compare(int a, int b);
+    }
+
+    private final String[] vins;
+    private final String[] plates;
+    // 各类键排序后的车辆编号，KEY_VIN的顺序就是编号顺序，不需要数组
+    private final int[][] sorted;
+    // VIN码和车牌号字符串的总大小，合并时增量计算
+    private final long stringBytes;
+
+    private VehiclePrefixIndex(String[] vins, String[] plates, int[][] sorted, long stringBytes) {
+        this.vins = vins;
+        this.plates = plates;
+        this.sorted = sorted;
+        this.stringBytes = stringBytes;
+    }
+
+    int size() {
+        return vins.length;
+    }
+
+    /**
+     * 估算占用的堆内存，按64位JVM开启压缩指针计算，包括字符串本身
+     */
+    long estimatedBytes() {
+        long bytes = stringBytes + arrayBytes(vins.length, 4) * 2;
+        for (int key = KEY_PLATE; key < KEY_COUNT; key++) {
+            bytes += arrayBytes(sorted[key].length, 4);
+        }
+        return bytes;
+    }
+
+    /**
+     * 按前缀查找，每类键最多取limit条，按键的顺序追加到out
+     * @param prefix 已转为大写的查询串
+     * @param skip 跳过的车辆(有尚未合并的修改)
+     */
+    void collect(String prefix, int limit, Predicate<String> skip, List<Match> out) {
+        for (int key = KEY_VIN; key < KEY_COUNT; key++) {
+            int found = 0;
+            int length = key == KEY_VIN ? vins.length : sorted[key].length;
+            int offset = offset(key);
+            for (int i = lowerBound(key, prefix); i < length && found < limit; i++) {
+                int id = key == KEY_VIN ? i : sorted[key][i];
+                String source = source(vins, plates, key, id);
+                if (!source.startsWith(prefix, offset)) {
+                    break;
+                }
+                if (!skip.test(vins[id])) {
+                    out.add(new Match(vins[id], plates[id], key));
+                    found++;
+                }
+            }
+        }
+    }
+
+    /**
+     * 合并一批修改，生成新索引
+     * @param changedVins 修改的车辆，不能重复
+     * @param changedPlates 对应的车牌号，REMOVED表示删除
+     */
+    VehiclePrefixIndex merge(String[] changedVins, String[] changedPlates) {
+        int[] order = identity(changedVins.length);
+        sort(order, order.length, (a, b) -> changedVins[a].compareTo(changedVins[b]));
+
+        // 原有车辆和修改都按VIN码有序，一次归并得到新的编号；被修改或删除的原有车辆编号为-1
+        int capacity = vins.length + changedVins.length;
+        String[] newVins = new String[capacity];
+        String[] newPlates = new String[capacity];
+        int[] oldToNew = new int[vins.length];
+        int[] added = new int[changedVins.length];
+        long mergedStringBytes = stringBytes;
+        int count = 0;
+        int addedCount = 0;
+        int i = 0;
+        int j = 0;
+        while (i < vins.length || j < order.length) {
+            int cmp = i == vins.length ? 1 : j == order.length ? -1 : vins[i].compareTo(changedVins[order[j]]);
+            if (cmp < 0) {
+                oldToNew[i] = count;
+                newVins[count] = vins[i];
+                newPlates[count++] = plates[i++];
+                continue;
+            }
+            if (cmp == 0) {
+                mergedStringBytes -= stringBytes(vins[i]) + stringBytes(plates[i]);
+                oldToNew[i++] = -1;
+            }
+            int change = order[j++];
+            if (!REMOVED.equals(changedPlates[change])) {
+                mergedStringBytes += stringBytes(changedVins[change]) + stringBytes(changedPlates[change]);
+                added[addedCount++] = count;
+                newVins[count] = changedVins[change];
+                newPlates[count++] = changedPlates[change];
+            }
+        }
+        String[] mergedVins = count == capacity ? newVins : Arrays.copyOf(newVins, count);
+        String[] mergedPlates = count == capacity ? newPlates : Arrays.copyOf(newPlates, count);
+
+        int[][] mergedSorted = new int[KEY_COUNT][];
+        for (int key = KEY_PLATE; key < KEY_COUNT; key++) {
+            int finalKey = key;
+            IdComparator comparator = (a, b) -> compareKeys(mergedVins, mergedPlates, finalKey, a, b);
+
+            int[] kept = new int[sorted[key].length];
+            int keptCount = 0;
+            for (int id : sorted[key]) {
+                if (oldToNew[id] >= 0) {
+                    kept[keptCount++] = oldToNew[id];
+                }
+            }
+            int[] inserted = new int[addedCount];
+            int insertedCount = 0;
+            for (int n = 0; n < addedCount; n++) {
+                if (hasKey(mergedVins[added[n]], mergedPlates[added[n]], key)) {
+                    inserted[insertedCount++] = added[n];
+                }
+            }
+            sort(inserted, insertedCount, comparator);
+            mergedSorted[key] = mergeSorted(kept, keptCount, inserted, insertedCount, comparator);
+        }
+        return new VehiclePrefixIndex(mergedVins, mergedPlates, mergedSorted, mergedStringBytes);
+    }
+
+    /**
+     * 第一个不小于prefix的键的位置
+     */
+    private int lowerBound(int key, String prefix) {
+        int low = 0;
+        int high = key == KEY_VIN ? vins.length : sorted[key].length;
+        int offset = offset(key);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int id = key == KEY_VIN ? mid : sorted[key][mid];
+            if (compare(source(vins, plates, key, id), offset, prefix, 0) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int compareKeys(String[] vins, String[] plates, int key, int a, int b) {
+        int offset = offset(key);
+        int cmp = compare(source(vins, plates, key, a), offset, source(vins, plates, key, b), offset);
+        // 键相同时按VIN码顺序，结果稳定
+        return cmp != 0 ? cmp : Integer.compare(a, b);
+    }
+
+    private static int compare(String a, int aOffset, String b, int bOffset) {
+        int aLength = a.length() - aOffset;
+        int bLength = b.length() - bOffset;
+        int length = Math.min(aLength, bLength);
+        for (int i = 0; i < length; i++) {
+            int cmp = a.charAt(aOffset + i) - b.charAt(bOffset + i);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return aLength - bLength;
+    }
+
+    private static boolean hasKey(String vin, String plate, int key) {
+        switch (key) {
+            case KEY_VIN:
+                return true;
+            case KEY_VIN_SERIAL:
+                return vin.length() > VIN_SERIAL_OFFSET;
+            case KEY_PLATE:
+                return plate != null;
+            default:
+                return plate != null && plate.length() > 1;
+        }
+    }
+
+    private static String source(String[] vins, String[] plates, int key, int id) {
+        return source(vins[id], plates[id], key);
+    }
+
+    private static String source(String vin, String plate, int key) {
+        return key == KEY_VIN || key == KEY_VIN_SERIAL ? vin : plate;
+    }
+
+    private static int offset(int key) {
+        return key == KEY_VIN_SERIAL ? VIN_SERIAL_OFFSET : key == KEY_PLATE_NUMBER ? 1 : 0;
+    }
+
+    private static int[] identity(int length) {
+        int[] ids = new int[length];
+        for (int i = 0; i < length; i++) {
+            ids[i] = i;
+        }
+        return ids;
+    }
+
+    /**
+     * 把少量有序的b插入有序的a：逐个二分查找插入位置，中间的区段整体复制
+     */
+    private static int[] mergeSorted(int[] a, int aLength, int[] b, int bLength, IdComparator comparator) {
+        int[] merged = new int[aLength + bLength];
+        int i = 0;
+        int k = 0;
+        for (int j = 0; j < bLength; j++) {
+            int low = i;
+            int high = aLength;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (comparator.compare(a[mid], b[j]) <= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            System.arraycopy(a, i, merged, k, low - i);
+            k += low - i;
+            i = low;
+            merged[k++] = b[j];
+        }
+        System.arraycopy(a, i, merged, k, aLength - i);
+        return merged;
+    }
+
+    /**
+     * int数组的归并排序，已有序的部分只比较一次
+     */
+    private static void sort(int[] ids, int length, IdComparator comparator) {
+        mergeSort(ids, new int[length], 0, length, comparator);
+    }
+
+    private static void mergeSort(int[] ids, int[] buffer, int from, int to, IdComparator comparator) {
+        if (to - from < 16) {
+            for (int i = from + 1; i < to; i++) {
+                int id = ids[i];
+                int j = i - 1;
+                while (j >= from && comparator.compare(ids[j], id) > 0) {
+                    ids[j + 1] = ids[j];
+                    j--;
+                }
+                ids[j + 1] = id;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(ids, buffer, from, mid, comparator);
+        mergeSort(ids, buffer, mid, to, comparator);
+        if (comparator.compare(ids[mid - 1], ids[mid]) <= 0) {
+            return;
+        }
+        System.arraycopy(ids, from, buffer, from, to - from);
+        int i = from;
+        int j = mid;
+        int k = from;
+        while (i < mid && j < to) {
+            ids[k++] = comparator.compare(buffer[i], buffer[j]) <= 0 ? buffer[i++] : buffer[j++];
+        }
+        while (i < mid) {
+            ids[k++] = buffer[i++];
+        }
+        while (j < to) {
+            ids[k++] = buffer[j++];
+        }
+    }
+
+    /**
+     * String对象24字节，加上byte数组：只含Latin-1字符时每字符1字节，否则2字节
+     */
+    private static long stringBytes(String value) {
+        if (value == null) {
+            return 0;
+        }
+        int perChar = 1;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0xFF) {
+                perChar = 2;
+                break;
+            }
+        }
+        return 24 + arrayBytes(value.length(), perChar);
+    }
+
+    private static long arrayBytes(int length, int elementBytes) {
+        return (16 + (long) length * elementBytes + 7) & ~7L;
+    }
+}
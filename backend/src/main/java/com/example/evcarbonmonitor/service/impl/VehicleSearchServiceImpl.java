@@ -0,0 +1,378 @@
+// backend/src/main/java/com/example/evcarbonmonitor/service/impl/VehicleSearchServiceImpl.java
+package com.example.evcarbonmonitor.service.impl;
+
+import com.example.evcarbonmonitor.dto.VehicleSearchIndexStatsDTO;
+import com.example.evcarbonmonitor.dto.VehicleSuggestionDTO;
+import com.example.evcarbonmonitor.exception.ApiException;
+import com.example.evcarbonmonitor.repository.VehicleBatchRepository;
+import com.example.evcarbonmonitor.service.VehicleSearchService;
+import com.example.evcarbonmonitor.util.TransactionUtil;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * 车辆输入建议，由内存中的前缀索引(VehiclePrefixIndex)提供，不访问数据库
+ * 启动后在合并线程中用数据库游标逐批读取VIN码和车牌号建立索引，不推迟应用就绪，建立完成前按前缀查询数据库。车辆修改先记入同样有序的待合并集合，查询时与索引一起按前缀定位；
+ * 待合并的修改达到阈值或每隔merge-interval-ms由后台线程合并成新索引后整体替换，查询线程不加锁。
+ * 车辆数超过max-vehicles时停用索引，输入建议改为按前缀查询数据库
+ */
+@Service
+public class VehicleSearchServiceImpl implements VehicleSearchService, MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(VehicleSearchServiceImpl.class);
+
+    // 可带一个省份简称，其余为字母和数字，不含LIKE通配符
+    private static final Pattern QUERY_PATTERN = Pattern.compile("^[\\u4e00-\\u9fa5]?[A-Z0-9]{0,17}$");
+
+    private static final String[] MATCHED_FIELDS = {
+            VehicleSuggestionDTO.MATCHED_VIN,
+            VehicleSuggestionDTO.MATCHED_LICENSE_PLATE,
+            VehicleSuggestionDTO.MATCHED_PLATE_NUMBER,
+            VehicleSuggestionDTO.MATCHED_VIN_SERIAL
+    };
+
+    /**
+     * 索引和尚未合并的修改，整体替换，查询读取一次即得到一致的视图
+     * active接收新的修改；合并时把active移到merging，合并完成后随新索引一起去掉
+     */
+    private static final class State {
+        private final VehiclePrefixIndex index;
+        private final VehiclePrefixIndex.Pending merging;
+        private final VehiclePrefixIndex.Pending active;
+        // 启动加载完成前为false，此时只记录修改，查询走数据库
+        private final boolean ready;
+
+        private State(VehiclePrefixIndex index, VehiclePrefixIndex.Pending merging,
+                      VehiclePrefixIndex.Pending active, boolean ready) {
+            this.index = index;
+            this.merging = merging;
+            this.active = active;
+            this.ready = ready;
+        }
+
+        private int pendingChanges() {
+            return active.size() + (merging != null ? merging.size() : 0);
+        }
+    }
+
+    /**
+     * 加载时车辆数超过上限
+     */
+    private static class CapacityExceededException extends RuntimeException {
+    }
+
+    private final VehicleBatchRepository vehicleBatchRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ScheduledExecutorService merger;
+
+    // 为null表示索引已停用
+    private volatile State state;
+    // 记录修改时加读锁，把active移到merging时加写锁，移走之后不会再有修改写入正在合并的集合
+    private final ReentrantReadWriteLock changeLock = new ReentrantReadWriteLock();
+    private final AtomicBoolean mergeQueued = new AtomicBoolean();
+    private final LongAdder merges = new LongAdder();
+    private volatile long lastMergeMillis;
+
+    @Value("${vehicle.search.enabled:true}")
+    private boolean enabled;
+
+    // 索引的车辆数上限，超过时停用索引
+    @Value("${vehicle.search.max-vehicles:1000000}")
+    private long maxVehicles;
+
+    // 待合并的修改达到该数量时立即合并
+    @Value("${vehicle.search.merge-threshold:1024}")
+    private int mergeThreshold;
+
+    @Value("${vehicle.search.merge-interval-ms:1000}")
+    private long mergeIntervalMs;
+
+    @Value("${vehicle.search.load-fetch-size:10000}")
+    private int loadFetchSize;
+
+    @Value("${vehicle.search.default-limit:10}")
+    private int defaultLimit;
+
+    @Value("${vehicle.search.max-limit:50}")
+    private int maxLimit;
+
+    @Autowired
+    public VehicleSearchServiceImpl(VehicleBatchRepository vehicleBatchRepository,
+                                    PlatformTransactionManager transactionManager) {
+        this.vehicleBatchRepository = vehicleBatchRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.merger = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("vehicle-search-merger-"));
+        // 加载完成前的修改先记录下来，加载后优先于扫描结果
+        this.state = new State(VehiclePrefixIndex.EMPTY, null, new VehiclePrefixIndex.Pending(), false);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            state = null;
+            return;
+        }
+        merger.execute(() -> {
+            try {
+                build();
+            } catch (RuntimeException e) {
+                disable("输入建议索引建立失败(" + e.getMessage() + ")");
+            }
+        });
+    }
+
+    private void build() {
+        long start = System.currentTimeMillis();
+        List<String> vins = new ArrayList<>();
+        List<String> plates = new ArrayList<>();
+        try {
+            readOnlyTransaction.executeWithoutResult(status ->
+                    vehicleBatchRepository.forEachVinAndPlate(loadFetchSize, (vin, plate) -> {
+                        if (vins.size() >= maxVehicles) {
+                            throw new CapacityExceededException();
+                        }
+                        vins.add(vin);
+                        plates.add(plate);
+                    }));
+        } catch (CapacityExceededException e) {
+            disable("车辆数超过" + maxVehicles);
+            return;
+        }
+        VehiclePrefixIndex index = VehiclePrefixIndex.EMPTY.merge(vins.toArray(new String[0]), plates.toArray(new String[0]));
+        state = new State(index, null, state.active, true);
+        logger.info("已建立{}辆车的输入建议索引，约{}KB，耗时{}ms",
+                index.size(), index.estimatedBytes() / 1024, System.currentTimeMillis() - start);
+        merger.scheduleWithFixedDelay(this::mergeQuietly, mergeIntervalMs, mergeIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        merger.shutdownNow();
+    }
+
+    @Override
+    @Timed(value = "vehicle.search.suggest", description = "输入建议耗时", histogram = true)
+    public List<VehicleSuggestionDTO> suggest(String query, Integer limit) {
+        String prefix = query != null ? query.trim().toUpperCase(Locale.ROOT) : "";
+        if (prefix.isEmpty()) {
+            throw new ApiException(400, "查询内容不能为空");
+        }
+        if (!QUERY_PATTERN.matcher(prefix).matches()) {
+            throw new ApiException(400, "查询内容格式不正确");
+        }
+        int size = limit != null ? limit : defaultLimit;
+        if (size < 1 || size > maxLimit) {
+            throw new ApiException(400, "建议数量应在1到" + maxLimit + "之间");
+        }
+
+        State current = state;
+        if (current == null || !current.ready) {
+            return suggestFromDatabase(prefix, size);
+        }
+        // 较新的修改覆盖较旧的：active优先于merging，两者都优先于索引
+        VehiclePrefixIndex.Pending merging = current.merging;
+        VehiclePrefixIndex.Pending active = current.active;
+        List<VehiclePrefixIndex.Match> matches = new ArrayList<>();
+        current.index.collect(prefix, size,
+                vin -> active.contains(vin) || merging != null && merging.contains(vin), matches);
+        if (merging != null) {
+            merging.collect(prefix, size, active::contains, matches);
+        }
+        active.collect(prefix, size, vin -> false, matches);
+
+        // 按命中的字段、命中的键和VIN码排序，与索引内的顺序一致；同一车辆只保留第一条
+        matches.sort(Comparator.comparingInt(VehiclePrefixIndex.Match::getKey)
+                .thenComparing(VehiclePrefixIndex.Match::matchedText)
+                .thenComparing(VehiclePrefixIndex.Match::getVin));
+        List<VehicleSuggestionDTO> suggestions = new ArrayList<>(size);
+        Set<String> seen = new HashSet<>();
+        for (VehiclePrefixIndex.Match match : matches) {
+            if (suggestions.size() == size) {
+                break;
+            }
+            if (seen.add(match.getVin())) {
+                suggestions.add(new VehicleSuggestionDTO(match.getVin(), match.getLicensePlate(),
+                        MATCHED_FIELDS[match.getKey()]));
+            }
+        }
+        return suggestions;
+    }
+
+    @Override
+    public void vehicleSaved(String vin, String licensePlate) {
+        Map<String, String> changes = new HashMap<>();
+        changes.put(vin, licensePlate);
+        vehiclesSaved(changes);
+    }
+
+    @Override
+    public void vehiclesSaved(Map<String, String> licensePlates) {
+        record(new HashMap<>(licensePlates));
+    }
+
+    @Override
+    public void vehiclesRemoved(Collection<String> vins) {
+        Map<String, String> changes = new HashMap<>();
+        for (String vin : vins) {
+            changes.put(vin, VehiclePrefixIndex.REMOVED);
+        }
+        record(changes);
+    }
+
+    @Override
+    public VehicleSearchIndexStatsDTO getIndexStats() {
+        State current = state;
+        VehicleSearchIndexStatsDTO stats = new VehicleSearchIndexStatsDTO();
+        stats.setAvailable(current != null && current.ready);
+        if (current != null) {
+            stats.setVehicles(current.index.size());
+            stats.setPendingChanges(current.pendingChanges());
+            stats.setEstimatedBytes(current.index.estimatedBytes());
+        }
+        stats.setMaxVehicles(maxVehicles);
+        stats.setMerges(merges.sum());
+        stats.setLastMergeMillis(lastMergeMillis);
+        return stats;
+    }
+
+    /**
+     * 导出索引的车辆数、估算内存和待合并的修改数
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("vehicle.search.index.vehicles", this, service -> service.getIndexStats().getVehicles())
+                .description("输入建议索引的车辆数")
+                .register(registry);
+        Gauge.builder("vehicle.search.index.bytes", this, service -> service.getIndexStats().getEstimatedBytes())
+                .description("输入建议索引估算的堆内存占用")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("vehicle.search.index.pending", this, service -> service.getIndexStats().getPendingChanges())
+                .description("尚未合并进输入建议索引的车辆修改数")
+                .register(registry);
+    }
+
+    /**
+     * 记录修改，事务提交后生效
+     * @param changes VIN码到新车牌号，REMOVED表示删除
+     */
+    private void record(Map<String, String> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        TransactionUtil.afterCommit(() -> {
+            int pending;
+            changeLock.readLock().lock();
+            try {
+                State current = state;
+                if (current == null) {
+                    return;
+                }
+                changes.forEach(current.active::put);
+                pending = current.active.size();
+            } finally {
+                changeLock.readLock().unlock();
+            }
+            if (pending >= mergeThreshold && mergeQueued.compareAndSet(false, true)) {
+                merger.execute(this::mergeQuietly);
+            }
+        });
+    }
+
+    private void mergeQuietly() {
+        mergeQueued.set(false);
+        try {
+            merge();
+        } catch (RuntimeException e) {
+            logger.error("输入建议索引合并失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 把待合并的修改合并成新索引，只在合并线程中执行
+     */
+    private void merge() {
+        State merging;
+        changeLock.writeLock().lock();
+        try {
+            State current = state;
+            if (current == null || !current.ready || current.active.isEmpty()) {
+                return;
+            }
+            merging = new State(current.index, current.active, new VehiclePrefixIndex.Pending(), true);
+            state = merging;
+        } finally {
+            changeLock.writeLock().unlock();
+        }
+
+        long start = System.currentTimeMillis();
+        String[] vins = new String[merging.merging.size()];
+        String[] plates = new String[vins.length];
+        merging.merging.drainTo(vins, plates);
+        VehiclePrefixIndex index = merging.index.merge(vins, plates);
+        if (index.size() > maxVehicles) {
+            disable("车辆数超过" + maxVehicles);
+            return;
+        }
+        // 只有合并线程替换state，merging.active仍是当前接收修改的集合
+        state = new State(index, null, merging.active, true);
+        lastMergeMillis = System.currentTimeMillis() - start;
+        merges.increment();
+        logger.debug("合并{}条修改到输入建议索引，共{}辆车，耗时{}ms", vins.length, index.size(), lastMergeMillis);
+    }
+
+    private void disable(String reason) {
+        changeLock.writeLock().lock();
+        try {
+            state = null;
+        } finally {
+            changeLock.writeLock().unlock();
+        }
+        logger.warn("{}，停用输入建议索引，改为查询数据库", reason);
+    }
+
+    /**
+     * 索引不可用时按VIN码或车牌号前缀查询数据库
+     */
+    private List<VehicleSuggestionDTO> suggestFromDatabase(String prefix, int size) {
+        List<VehicleSuggestionDTO> suggestions = new ArrayList<>(size);
+        for (Map.Entry<String, String> vehicle : vehicleBatchRepository.findByVinOrPlatePrefix(prefix, size).entrySet()) {
+            suggestions.add(new VehicleSuggestionDTO(vehicle.getKey(), vehicle.getValue(),
+                    vehicle.getKey().startsWith(prefix)
+                            ? VehicleSuggestionDTO.MATCHED_VIN
+                            : VehicleSuggestionDTO.MATCHED_LICENSE_PLATE));
+        }
+        return suggestions;
+    }
+}
@@ -4,199 +4,365 @@ package com.example.evcarbonmonitor.service.impl;
 import com.example.evcarbonmonitor.domain.Vehicle;
 import com.example.evcarbonmonitor.dto.*;
 import com.example.evcarbonmonitor.exception.ApiException;
+import com.example.evcarbonmonitor.repository.VehicleBatchRepository;
+import com.example.evcarbonmonitor.repository.VehicleField;
+import com.example.evcarbonmonitor.repository.VehicleFilter;
 import com.example.evcarbonmonitor.repository.VehicleRepository;
+import com.example.evcarbonmonitor.repository.VehicleSortField;
+import com.example.evcarbonmonitor.service.FleetStateService;
+import com.example.evcarbonmonitor.service.LiveEventService;
+import com.example.evcarbonmonitor.service.VehicleSearchService;
 import com.example.evcarbonmonitor.service.VehicleService;
+import com.example.evcarbonmonitor.service.VehicleStatsService;
 import com.example.evcarbonmonitor.util.CsvUtil;
+import com.example.evcarbonmonitor.util.CursorUtil;
+import com.example.evcarbonmonitor.util.TransactionUtil;
+import com.example.evcarbonmonitor.util.VehicleCsvReader;
+import com.example.evcarbonmonitor.util.VehicleMapper;
+import com.example.evcarbonmonitor.util.VehicleValidationUtil;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 @Service // 确保添加了这个注解
+@Timed(value = "vehicle.service", description = "车辆服务方法耗时", histogram = true)
 public class VehicleServiceImpl implements VehicleService {
 
     private static final Logger logger = LoggerFactory.getLogger(VehicleServiceImpl.class);
-    
-    // VIN码正则表达式模式
-    private static final Pattern VIN_PATTERN = Pattern.compile("[A-HJ-NPR-Z0-9]{17}");
-    
-    // 车牌号正则表达式模式
-    private static final Pattern LICENSE_PLATE_PATTERN = Pattern.compile("^[\\u4e00-\\u9fa5][A-Z][A-Z0-9]{5}$");
 
+    private static final String PAGINATION_KEYSET = "keyset";
+    private static final String COUNT_EXACT = "exact";
+    private static final String COUNT_ESTIMATED = "estimated";
+    private static final String COUNT_NONE = "none";
+
+    private static final Pattern VIN_PREFIX_PATTERN = Pattern.compile("[A-HJ-NPR-Z0-9]{1,17}");
+    private static final Pattern PLATE_PREFIX_PATTERN = Pattern.compile("[\\u4e00-\\u9fa5][A-Z0-9]{0,6}");
+    
     private final VehicleRepository vehicleRepository;
+    private final VehicleBatchRepository vehicleBatchRepository;
+    private final VehicleImportEngine vehicleImportEngine;
+    private final VehicleBulkEngine vehicleBulkEngine;
+    private final VehicleStatsService vehicleStatsService;
+    private final VehicleVinRegistry vehicleVinRegistry;
+    private final VehicleCache vehicleCache;
+    private final FleetStateService fleetStateService;
+    private final VehicleSearchService vehicleSearchService;
+    private final LiveEventService liveEventService;
 
     @Autowired // 明确声明自动装配
-    public VehicleServiceImpl(VehicleRepository vehicleRepository) {
+    public VehicleServiceImpl(VehicleRepository vehicleRepository, VehicleBatchRepository vehicleBatchRepository,
+                              VehicleImportEngine vehicleImportEngine,
+                              VehicleBulkEngine vehicleBulkEngine, VehicleStatsService vehicleStatsService, VehicleVinRegistry vehicleVinRegistry,
+                              VehicleCache vehicleCache, FleetStateService fleetStateService,
+                              VehicleSearchService vehicleSearchService, LiveEventService liveEventService) {
         this.vehicleRepository = vehicleRepository;
+        this.vehicleBatchRepository = vehicleBatchRepository;
+        this.vehicleImportEngine = vehicleImportEngine;
+        this.vehicleBulkEngine = vehicleBulkEngine;
+        this.vehicleStatsService = vehicleStatsService;
+        this.vehicleVinRegistry = vehicleVinRegistry;
+        this.vehicleCache = vehicleCache;
+        this.fleetStateService = fleetStateService;
+        this.vehicleSearchService = vehicleSearchService;
+        this.liveEventService = liveEventService;
     }
 
     // 以下保持原有的实现代码...
     // 此处省略其余代码以避免重复
     @Override
     public PageResponse<VehicleDTO> getVehicles(VehicleQueryParams params) {
-        // 确保页码和每页记录数有效
-        int page = Math.max(0, params.getPage() - 1); // Spring Data JPA的页码从0开始
-        int size = params.getSize();
+        // 只取部分字段时只查询对应的列，结果不进缓存
+        Set<VehicleField> fields = VehicleField.parse(params.getFields());
+        if (fields != null) {
+            return queryVehicles(params, fields);
+        }
+        return vehicleCache.getPage(params, statusFilter(params), () -> queryVehicles(params, null),
+                this::loadVehicles);
+    }
 
-        // 构建排序
-        Sort sort = Sort.unsorted();
-        if (params.getSort() != null && !params.getSort().isEmpty()) {
-            sort = "asc".equalsIgnoreCase(params.getOrder()) ?
-                   Sort.by(params.getSort()).ascending() :
-                   Sort.by(params.getSort()).descending();
+    private PageResponse<VehicleDTO> queryVehicles(VehicleQueryParams params, Set<VehicleField> fields) {
+        // 游标分页
+        if (PAGINATION_KEYSET.equalsIgnoreCase(params.getPagination())) {
+            return getVehiclesByCursor(params, fields);
         }
 
-        // 构建分页请求
-        Pageable pageable = PageRequest.of(page, size, sort);
+        // 确保页码和每页记录数有效
+        int page = Math.max(0, params.getPage() - 1); // Spring Data JPA的页码从0开始
+        int size = params.getSize();
+        VehicleFilter filter = toFilter(params);
+        String countMode = params.getCount() != null ? params.getCount() : COUNT_EXACT;
 
-        // 查询数据
-        Page<Vehicle> vehiclePage;
-        if (params.getStatus() != null && !params.getStatus().equals("all")) {
-            vehiclePage = vehicleRepository.findByStatus(params.getStatus(), pageable);
-        } else {
-            vehiclePage = vehicleRepository.findByOptionalStatus(null, pageable);
-        }
+        // 构建排序，未指定排序字段时按VIN码升序，保证翻页顺序稳定
+        VehicleSortField sortField = VehicleSortField.fromProperty(params.getSort());
+        boolean ascending = isAscending(params);
 
-        // 转换为DTO
-        List<VehicleDTO> vehicleDTOs = vehiclePage.getContent().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        // 直接投影为DTO，不加载托管实体；总数按统计方式单独获取，不统计时省去COUNT(*)
+        List<VehicleDTO> vehicleDTOs = vehicleRepository.findDtoPage(
+                fields, filter, sortField, ascending, page * size, size);
+        long total = countVehicles(filter, countMode);
 
         // 构建分页响应
         return new PageResponse<>(
-                vehiclePage.getTotalElements(),
+                total,
                 params.getPage(),
                 size,
                 vehicleDTOs
         );
     }
 
-    @Override
-    public VehicleDTO getVehicleByVin(String vin) {
-        Vehicle vehicle = vehicleRepository.findById(vin)
-                .orElseThrow(() -> new ApiException(404, "车辆不存在"));
-        return convertToDTO(vehicle);
-    }
+    /**
+     * 游标分页查询，使用seek条件定位，不做OFFSET扫描
+     */
+    private PageResponse<VehicleDTO> getVehiclesByCursor(VehicleQueryParams params, Set<VehicleField> fields) {
+        int size = params.getSize();
+        VehicleFilter filter = toFilter(params);
+        String countMode = params.getCount() != null ? params.getCount() : COUNT_ESTIMATED;
+        VehicleSortField sortField = VehicleSortField.fromProperty(params.getSort());
+        // 排序方向与offset分页一致
+        String order = isAscending(params) ? "asc" : "desc";
 
-    @Override
-    @Transactional
-    public String createVehicle(VehicleDTO vehicleDTO) {
-        // 验证VIN码
-        if (!VIN_PATTERN.matcher(vehicleDTO.getVin()).matches()) {
-            throw new ApiException(400, "VIN码格式不正确");
+        // 解析游标，游标必须与当前排序条件一致
+        Object lastValue = null;
+        String lastVin = null;
+        if (params.getCursor() != null && !params.getCursor().isEmpty()) {
+            CursorUtil.Cursor cursor = CursorUtil.decode(params.getCursor());
+            if (!sortField.getProperty().equals(cursor.getSort()) || !order.equals(cursor.getOrder())) {
+                throw new ApiException(400, "分页游标与排序条件不匹配");
+            }
+            lastValue = sortField.parseValue(cursor.getValue());
+            lastVin = cursor.getVin();
         }
 
-        // 验证车牌号
-        if (!LICENSE_PLATE_PATTERN.matcher(vehicleDTO.getLicensePlate()).matches()) {
-            throw new ApiException(400, "车牌号格式不正确");
+        // 生成游标需要排序键，未请求排序字段时额外查询，生成游标后再清除
+        VehicleField sortColumn = VehicleField.fromProperty(sortField.getProperty());
+        boolean extraSortColumn = fields != null && !fields.contains(sortColumn);
+        Set<VehicleField> selected = fields;
+        if (extraSortColumn) {
+            selected = EnumSet.copyOf(fields);
+            selected.add(sortColumn);
         }
 
-        // 检查VIN码是否已存在
-        if (vehicleRepository.existsById(vehicleDTO.getVin())) {
-            throw new ApiException(409, "VIN码已存在");
+        // 多取一条用于判断是否还有下一页
+        List<VehicleDTO> vehicleDTOs = vehicleRepository.findDtoPageAfter(
+                selected, filter, sortField, "asc".equals(order), lastValue, lastVin, size + 1);
+        boolean hasNext = vehicleDTOs.size() > size;
+        if (hasNext) {
+            vehicleDTOs = vehicleDTOs.subList(0, size);
         }
 
-        // 检查车牌号是否已存在
-        if (vehicleRepository.existsByLicensePlate(vehicleDTO.getLicensePlate())) {
-            throw new ApiException(409, "车牌号已存在");
+        PageResponse<VehicleDTO> response = new PageResponse<>(countVehicles(filter, countMode), 0, size, vehicleDTOs);
+        if (hasNext) {
+            VehicleDTO last = vehicleDTOs.get(vehicleDTOs.size() - 1);
+            response.setNextCursor(CursorUtil.encode(new CursorUtil.Cursor(
+                    sortField.getProperty(), order, String.valueOf(sortField.valueOf(last)), last.getVin())));
         }
+        if (extraSortColumn) {
+            for (VehicleDTO vehicle : vehicleDTOs) {
+                sortColumn.set(vehicle, null);
+            }
+        }
+        return response;
+    }
 
-        // 创建新车辆
-        Vehicle vehicle = convertToEntity(vehicleDTO);
-        vehicle.setLastUpdateTime(LocalDateTime.now());
-        vehicle.setCreatedAt(LocalDateTime.now());
-        vehicle.setUpdatedAt(LocalDateTime.now());
-        
-        // 初始化统计数据
-        // 这些数据在实际项目中可能会从其他表中计算得出
-        
-        Vehicle savedVehicle = vehicleRepository.save(vehicle);
-        return savedVehicle.getVin();
+    /**
+     * 两种分页方式共用的排序方向：未指定排序字段时按VIN码升序，否则只有order为asc时升序，其余一律降序
+     */
+    private static boolean isAscending(VehicleQueryParams params) {
+        return params.getSort() == null || params.getSort().isEmpty()
+                || "asc".equalsIgnoreCase(params.getOrder());
     }
 
-    @Override
-    @Transactional
-    public String updateVehicle(String vin, VehicleDTO vehicleDTO) {
-        // 检查车辆是否存在
-        Vehicle existingVehicle = vehicleRepository.findById(vin)
-                .orElseThrow(() -> new ApiException(404, "车辆不存在"));
-
-        // 如果更新了车牌号，检查新车牌号是否已被其他车辆使用
-        if (vehicleDTO.getLicensePlate() != null && 
-            !vehicleDTO.getLicensePlate().equals(existingVehicle.getLicensePlate())) {
-            
-            if (vehicleRepository.existsByLicensePlate(vehicleDTO.getLicensePlate())) {
-                throw new ApiException(409, "车牌号已存在");
-            }
-            
-            existingVehicle.setLicensePlate(vehicleDTO.getLicensePlate());
+    /**
+     * 按统计方式获取总数，不统计时返回-1
+     */
+    private long countVehicles(VehicleFilter filter, String countMode) {
+        switch (countMode) {
+            case COUNT_EXACT:
+                return vehicleRepository.countVehicles(filter);
+            case COUNT_ESTIMATED:
+                return vehicleRepository.estimateCount(filter);
+            case COUNT_NONE:
+                return -1;
+            default:
+                throw new ApiException(400, "不支持的统计方式: " + countMode);
         }
+    }
 
-        // 更新车辆信息
-        if (vehicleDTO.getModel() != null) {
-            existingVehicle.setModel(vehicleDTO.getModel());
+    private String statusFilter(VehicleQueryParams params) {
+        String status = params.getStatus();
+        return status != null && !status.isEmpty() && !status.equals("all") ? status : null;
+    }
+
+    /**
+     * 校验并转换筛选条件，空字符串视为未给出
+     */
+    private VehicleFilter toFilter(VehicleQueryParams params) {
+        VehicleFilter filter = new VehicleFilter();
+        filter.setStatus(statusFilter(params));
+        filter.setManufacturer(emptyToNull(params.getManufacturer()));
+        filter.setModel(emptyToNull(params.getModel()));
+        filter.setProductionYearFrom(params.getProductionYearFrom());
+        filter.setProductionYearTo(params.getProductionYearTo());
+        filter.setBatteryCapacityMin(params.getBatteryCapacityMin());
+        filter.setBatteryCapacityMax(params.getBatteryCapacityMax());
+        filter.setRegisterDateFrom(params.getRegisterDateFrom());
+        filter.setRegisterDateTo(params.getRegisterDateTo());
+
+        if (filter.getProductionYearFrom() != null && filter.getProductionYearTo() != null
+                && filter.getProductionYearFrom() > filter.getProductionYearTo()) {
+            throw new ApiException(400, "生产年份范围不正确");
         }
-        
-        if (vehicleDTO.getManufacturer() != null) {
-            existingVehicle.setManufacturer(vehicleDTO.getManufacturer());
+        if (filter.getBatteryCapacityMin() != null && filter.getBatteryCapacityMax() != null
+                && filter.getBatteryCapacityMin().compareTo(filter.getBatteryCapacityMax()) > 0) {
+            throw new ApiException(400, "电池容量范围不正确");
         }
-        
-        if (vehicleDTO.getProductionYear() != null) {
-            existingVehicle.setProductionYear(vehicleDTO.getProductionYear());
+        if (filter.getRegisterDateFrom() != null && filter.getRegisterDateTo() != null
+                && filter.getRegisterDateFrom().isAfter(filter.getRegisterDateTo())) {
+            throw new ApiException(400, "注册日期范围不正确");
         }
-        
-        if (vehicleDTO.getBatteryCapacity() != null) {
-            existingVehicle.setBatteryCapacity(vehicleDTO.getBatteryCapacity());
+
+        // 前缀按大写匹配，只允许字母、数字和汉字，不会带入LIKE通配符
+        String vinPrefix = emptyToNull(params.getVinPrefix());
+        if (vinPrefix != null) {
+            vinPrefix = vinPrefix.toUpperCase();
+            if (!VIN_PREFIX_PATTERN.matcher(vinPrefix).matches()) {
+                throw new ApiException(400, "VIN码前缀格式不正确");
+            }
+            filter.setVinPrefix(vinPrefix);
         }
-        
-        if (vehicleDTO.getMaxRange() != null) {
-            existingVehicle.setMaxRange(vehicleDTO.getMaxRange());
+        String platePrefix = emptyToNull(params.getPlatePrefix());
+        if (platePrefix != null) {
+            platePrefix = platePrefix.toUpperCase();
+            if (!PLATE_PREFIX_PATTERN.matcher(platePrefix).matches()) {
+                throw new ApiException(400, "车牌号前缀格式不正确");
+            }
+            filter.setPlatePrefix(platePrefix);
         }
-        
-        if (vehicleDTO.getRegisterDate() != null) {
-            existingVehicle.setRegisterDate(vehicleDTO.getRegisterDate());
+        return filter;
+    }
+
+    private static String emptyToNull(String value) {
+        return value != null && !value.isBlank() ? value.trim() : null;
+    }
+
+    @Override
+    public VehicleDTO getVehicleByVin(String vin) {
+        return vehicleCache.getVehicle(vin, this::loadVehicle);
+    }
+
+    private VehicleDTO loadVehicle(String vin) {
+        List<VehicleDTO> vehicles = vehicleRepository.findDtosByVins(Collections.singletonList(vin));
+        if (vehicles.isEmpty()) {
+            throw new ApiException(404, "车辆不存在");
         }
+        return vehicles.get(0);
+    }
+
+    /**
+     * 按VIN码批量加载车辆详情，不存在的车辆不在结果中
+     */
+    private List<VehicleDTO> loadVehicles(Collection<String> vins) {
+        return vehicleRepository.findDtosByVins(vins);
+    }
+
+    @Override
+    @Transactional
+    public String createVehicle(VehicleDTO vehicleDTO) {
+        // 验证VIN码和车牌号
+        VehicleValidationUtil.validateVinAndPlate(vehicleDTO);
+
+        // 创建新车辆
+        Vehicle vehicle = VehicleMapper.toEntity(vehicleDTO);
+        LocalDateTime now = LocalDateTime.now();
+        vehicle.setLastUpdateTime(now);
+        vehicle.setCreatedAt(now);
+        vehicle.setUpdatedAt(now);
+        vehicle.setVersion(0L);
         
-        if (vehicleDTO.getStatus() != null) {
-            existingVehicle.setStatus(vehicleDTO.getStatus());
+        // 统计数据由vehicle_stats汇总表维护，新车辆在上报行驶数据后才有记录
+
+        // 一条INSERT ... ON CONFLICT DO NOTHING写入，VIN码或车牌号已存在时不插入，再查询冲突原因
+        if (vehicleBatchRepository.insertNew(List.of(vehicle)).isEmpty()) {
+            if (!vehicleBatchRepository.findExistingVins(List.of(vehicle.getVin())).isEmpty()) {
+                throw new ApiException(409, "VIN码已存在");
+            }
+            throw new ApiException(409, "车牌号已存在");
         }
+        // 提交后再登记，事务回滚时不留下不存在的VIN码
+        TransactionUtil.afterCommit(() -> vehicleVinRegistry.register(vehicle.getVin()));
+        vehicleCache.vehicleChanged(vehicle.getVin(), vehicle.getStatus());
+        fleetStateService.vehicleSaved(vehicle.getVin(), vehicle.getStatus(), vehicle.getLastUpdateTime());
+        vehicleSearchService.vehicleSaved(vehicle.getVin(), vehicle.getLicensePlate());
+        liveEventService.publish(LiveEventDTO.TYPE_VEHICLE_CREATED, vehicle.getVin(),
+                "vehicle:" + vehicle.getVin(), VehicleMapper.toDTO(vehicle, null));
+        return vehicle.getVin();
+    }
 
-        // 更新时间
-        existingVehicle.setLastUpdateTime(LocalDateTime.now());
-        existingVehicle.setUpdatedAt(LocalDateTime.now());
+    @Override
+    @Transactional
+    public VehicleDTO updateVehicle(String vin, VehicleDTO vehicleDTO, Long expectedVersion) {
+        // 一条UPDATE完成部分更新和版本号比对，只覆盖请求中给出的字段
+        vehicleDTO.setVin(vin);
+        vehicleDTO.setVersion(expectedVersion);
+        List<VehicleBatchRepository.UpdatedVehicle> updated;
+        try {
+            updated = vehicleBatchRepository.batchUpdate(List.of(vehicleDTO), LocalDateTime.now());
+        } catch (DataIntegrityViolationException e) {
+            // 新车牌号已被其他车辆使用
+            throw new ApiException(409, "车牌号已存在");
+        }
+        if (updated.isEmpty()) {
+            if (expectedVersion != null && vehicleRepository.existsById(vin)) {
+                throw new ApiException(412, "车辆已被修改，请刷新后重试");
+            }
+            throw new ApiException(404, "车辆不存在");
+        }
 
-        Vehicle updatedVehicle = vehicleRepository.save(existingVehicle);
-        return updatedVehicle.getVin();
+        VehicleBatchRepository.UpdatedVehicle updatedVehicle = updated.get(0);
+        vehicleCache.vehicleChanged(vin, updatedVehicle.getPreviousStatus(), updatedVehicle.getStatus());
+        VehicleDTO result = loadVehicle(vin);
+        if (!updatedVehicle.getPreviousStatus().equals(updatedVehicle.getStatus())) {
+            // 只同步手动修改的状态，实时状态中尚未回写的上报不被数据库中的旧状态覆盖
+            fleetStateService.vehicleSaved(vin, result.getStatus(), result.getLastUpdateTime());
+        }
+        if (vehicleDTO.getLicensePlate() != null) {
+            vehicleSearchService.vehicleSaved(vin, result.getLicensePlate());
+        }
+        liveEventService.publish(LiveEventDTO.TYPE_VEHICLE_UPDATED, vin, "vehicle:" + vin, result);
+        return result;
     }
 
     @Override
     @Transactional
     public void deleteVehicle(String vin) {
-        // 检查车辆是否存在
-        if (!vehicleRepository.existsById(vin)) {
+        // 删除车辆，不存在时没有返回行
+        List<VehicleBatchRepository.UpdatedVehicle> deleted = vehicleBatchRepository.deleteAll(List.of(vin));
+        if (deleted.isEmpty()) {
             throw new ApiException(404, "车辆不存在");
         }
-        
-        // 删除车辆
-        vehicleRepository.deleteById(vin);
+
+        vehicleStatsService.deleteStats(vin);
+        vehicleVinRegistry.unregister(vin);
+        vehicleCache.vehicleChanged(vin, deleted.get(0).getPreviousStatus());
+        fleetStateService.vehicleRemoved(vin);
+        vehicleSearchService.vehiclesRemoved(List.of(vin));
+        liveEventService.publish(LiveEventDTO.TYPE_VEHICLE_DELETED, vin, "vehicle:" + vin, null);
     }
 
     @Override
-    @Transactional
     public BatchImportResponse importVehicles(MultipartFile file) {
         if (file == null || file.isEmpty()) {
             throw new ApiException(400, "文件不能为空");
@@ -204,110 +370,45 @@ public class VehicleServiceImpl implements VehicleService {
 
         // 检查文件类型
         String originalFilename = file.getOriginalFilename();
-        if (originalFilename == null || !originalFilename.endsWith(".csv")) {
+        if (originalFilename == null
+                || !(originalFilename.endsWith(".csv") || originalFilename.endsWith(".csv.gz"))) {
             throw new ApiException(400, "仅支持CSV文件格式");
         }
 
-        try {
-            // 解析CSV文件
-            List<VehicleDTO> vehicleDTOs = CsvUtil.parseCsvToVehicles(file.getInputStream());
-            
-            // 存储导入结果
-            BatchImportResponse response = new BatchImportResponse();
-            response.setTotal(vehicleDTOs.size());
-            
-            List<BatchImportResponse.FailureRecord> failures = new ArrayList<>();
-            List<VehicleDTO> newVehicles = new ArrayList<>();
-            
-            int successCount = 0;
-            
-            // 处理每一条记录
-            for (int i = 0; i < vehicleDTOs.size(); i++) {
-                VehicleDTO dto = vehicleDTOs.get(i);
-                int lineNum = i + 2; // CSV头部占一行，所以行号从2开始
-                
-                try {
-                    // 验证并创建车辆
-                    if (!VIN_PATTERN.matcher(dto.getVin()).matches()) {
-                        throw new ApiException("VIN码格式不正确");
-                    }
-                    
-                    if (!LICENSE_PLATE_PATTERN.matcher(dto.getLicensePlate()).matches()) {
-                        throw new ApiException("车牌号格式不正确");
-                    }
-                    
-                    // 检查VIN码是否已存在
-                    if (vehicleRepository.existsById(dto.getVin())) {
-                        throw new ApiException("VIN码已存在");
-                    }
-                    
-                    // 检查车牌号是否已存在
-                    if (vehicleRepository.existsByLicensePlate(dto.getLicensePlate())) {
-                        throw new ApiException("车牌号已存在");
-                    }
-                    
-                    // 创建车辆
-                    Vehicle vehicle = convertToEntity(dto);
-                    vehicle.setLastUpdateTime(LocalDateTime.now());
-                    vehicle.setCreatedAt(LocalDateTime.now());
-                    vehicle.setUpdatedAt(LocalDateTime.now());
-                    
-                    Vehicle savedVehicle = vehicleRepository.save(vehicle);
-                    
-                    // 添加到成功导入的列表
-                    VehicleDTO savedDto = convertToDTO(savedVehicle);
-                    newVehicles.add(savedDto);
-                    successCount++;
-                    
-                } catch (Exception e) {
-                    // 记录失败原因
-                    BatchImportResponse.FailureRecord failureRecord = 
-                        new BatchImportResponse.FailureRecord(
-                            lineNum,
-                            dto.getVin(),
-                            e.getMessage()
-                        );
-                    failures.add(failureRecord);
-                }
-            }
-            
-            // 设置导入结果
-            response.setSuccess(successCount);
-            response.setFailed(vehicleDTOs.size() - successCount);
-            response.setFailures(failures);
-            response.setNewVehicles(newVehicles);
-            
-            return response;
-            
+        // 流式解析CSV文件，分块校验、比对冲突并批量写入，每块单独提交
+        try (VehicleCsvReader reader = CsvUtil.openVehicleReader(file.getInputStream())) {
+            return vehicleImportEngine.importVehicles(reader);
+
+        } catch (ApiException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("导入车辆失败", e);
             throw new ApiException(500, "导入车辆失败: " + e.getMessage());
         }
     }
 
-    /**
-     * 将实体对象转换为DTO
-     */
-    private VehicleDTO convertToDTO(Vehicle vehicle) {
-        VehicleDTO dto = new VehicleDTO();
-        BeanUtils.copyProperties(vehicle, dto);
-        
-        // 设置统计数据，实际项目中可能会从其他表中查询
-        // 这里使用模拟数据
-        dto.setTotalMileage(BigDecimal.valueOf(12500));
-        dto.setTotalEnergy(BigDecimal.valueOf(2300));
-        dto.setTotalCarbonReduction(BigDecimal.valueOf(3750.5));
-        dto.setCarbonCredits(BigDecimal.valueOf(187.5));
-        
-        return dto;
+    @Override
+    public BulkOperationResponse createVehicles(List<VehicleDTO> vehicles) {
+        return vehicleBulkEngine.createVehicles(vehicles);
     }
-    
-    /**
-     * 将DTO转换为实体对象
-     */
-    private Vehicle convertToEntity(VehicleDTO dto) {
-        Vehicle vehicle = new Vehicle();
-        BeanUtils.copyProperties(dto, vehicle);
-        return vehicle;
+
+    @Override
+    public BulkOperationResponse updateVehicles(List<VehicleDTO> changes) {
+        return vehicleBulkEngine.updateVehicles(changes);
+    }
+
+    @Override
+    public BulkOperationResponse changeVehicleStatus(List<VehicleStatusChange> changes) {
+        return vehicleBulkEngine.changeStatus(changes);
+    }
+
+    @Override
+    public BulkOperationResponse deleteVehicles(List<String> vins) {
+        return vehicleBulkEngine.deleteVehicles(vins);
+    }
+
+    @Override
+    public List<CacheStatsDTO> getCacheStats() {
+        return vehicleCache.getStats();
     }
 }
@@ -0,0 +1,98 @@
+// backend/src/main/java/com/example/evcarbonmonitor/service/impl/VehicleStatsServiceImpl.java
+package com.example.evcarbonmonitor.service.impl;
+
+import com.example.evcarbonmonitor.domain.VehicleStats;
+import com.example.evcarbonmonitor.domain.VehicleStatsDelta;
+import com.example.evcarbonmonitor.exception.ApiException;
+import com.example.evcarbonmonitor.repository.VehicleStatsRepository;
+import com.example.evcarbonmonitor.service.VehicleStatsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+public class VehicleStatsServiceImpl implements VehicleStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VehicleStatsServiceImpl.class);
+
+    // 单次IN查询的VIN码数量上限
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+
+    private final VehicleStatsRepository vehicleStatsRepository;
+    private final VehicleCache vehicleCache;
+
+    @Autowired
+    public VehicleStatsServiceImpl(VehicleStatsRepository vehicleStatsRepository, VehicleCache vehicleCache) {
+        this.vehicleStatsRepository = vehicleStatsRepository;
+        this.vehicleCache = vehicleCache;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, VehicleStats> getStats(Collection<String> vins) {
+        Map<String, VehicleStats> result = new HashMap<>();
+        if (vins.isEmpty()) {
+            return result;
+        }
+
+        List<String> vinList = new ArrayList<>(vins);
+        for (int from = 0; from < vinList.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = vinList.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, vinList.size()));
+            for (VehicleStats stats : vehicleStatsRepository.findAllById(chunk)) {
+                result.put(stats.getVin(), stats);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional
+    public void applyDeltas(Collection<VehicleStatsDelta> deltas) {
+        // 同一车辆的增量先合并，并按VIN码排序，减少行锁冲突
+        Map<String, VehicleStatsDelta> merged = new TreeMap<>();
+        for (VehicleStatsDelta delta : deltas) {
+            merged.computeIfAbsent(delta.getVin(), VehicleStatsDelta::new).merge(delta);
+        }
+        vehicleStatsRepository.addDeltas(new ArrayList<>(merged.values()));
+        // 缓存的车辆详情包含统计数据
+        vehicleCache.statsChanged(new ArrayList<>(merged.keySet()));
+    }
+
+    @Override
+    @Transactional
+    public int rebuildAll() {
+        try {
+            int updated = vehicleStatsRepository.rebuildAll();
+            vehicleCache.invalidateAll();
+            logger.info("车辆统计数据重建完成，共{}辆车", updated);
+            return updated;
+        } catch (DataAccessException e) {
+            logger.error("车辆统计数据重建失败", e);
+            throw new ApiException(500, "车辆统计数据重建失败: " + e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    @Override
+    @Transactional
+    public void deleteStats(String vin) {
+        vehicleStatsRepository.deleteByVin(vin);
+    }
+
+    @Override
+    @Transactional
+    public void deleteStats(Collection<String> vins) {
+        if (!vins.isEmpty()) {
+            vehicleStatsRepository.deleteByVinIn(vins);
+        }
+    }
+}
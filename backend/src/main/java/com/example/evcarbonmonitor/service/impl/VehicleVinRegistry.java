@@ -0,0 +1,149 @@
+// backend/src/main/java/com/example/evcarbonmonitor/service/impl/VehicleVinRegistry.java
+package com.example.evcarbonmonitor.service.impl;
+
+import com.example.evcarbonmonitor.repository.VehicleBatchRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 已登记车辆VIN码的内存索引
+ * 启动时全量加载，车辆增删时同步维护；不在索引中的VIN码按批回查数据库，
+ * 兼容外部工具直接写入vehicles表的情况。
+ * 启用启动快照(startup.snapshot)时停止前写入排好序的VIN码，启动时从快照恢复后在后台与数据库核对
+ */
+@Component
+public class VehicleVinRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(VehicleVinRegistry.class);
+
+    private static final String SNAPSHOT_NAME = "vehicle-vins";
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private final VehicleBatchRepository vehicleBatchRepository;
+    private final CacheSnapshotStore snapshotStore;
+    private final Set<String> vins = ConcurrentHashMap.newKeySet();
+    // 加载完成后才写快照，启动失败时不覆盖上一次的快照
+    private volatile boolean loaded;
+
+    @Autowired
+    public VehicleVinRegistry(VehicleBatchRepository vehicleBatchRepository, CacheSnapshotStore snapshotStore) {
+        this.vehicleBatchRepository = vehicleBatchRepository;
+        this.snapshotStore = snapshotStore;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        String[] snapshot = snapshotStore.load(SNAPSHOT_NAME, SNAPSHOT_VERSION, VehicleVinRegistry::readSnapshot);
+        if (snapshot != null) {
+            Collections.addAll(vins, snapshot);
+            loaded = true;
+            logger.info("已从快照恢复{}个车辆VIN码", snapshot.length);
+            snapshotStore.reconcile(SNAPSHOT_NAME, () -> reconcile(snapshot));
+            return;
+        }
+        vehicleBatchRepository.forEachVin(vins::add);
+        loaded = true;
+        logger.info("已加载{}个车辆VIN码", vins.size());
+    }
+
+    @PreDestroy
+    public void saveSnapshot() {
+        if (!loaded) {
+            return;
+        }
+        snapshotStore.save(SNAPSHOT_NAME, SNAPSHOT_VERSION, out -> {
+            String[] sorted = vins.toArray(new String[0]);
+            Arrays.sort(sorted);
+            out.writeInt(sorted.length);
+            for (String vin : sorted) {
+                out.writeUTF(vin);
+            }
+        });
+    }
+
+    private static String[] readSnapshot(DataInputStream in) throws IOException {
+        String[] snapshot = new String[in.readInt()];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = in.readUTF();
+            if (i > 0 && snapshot[i - 1].compareTo(snapshot[i]) >= 0) {
+                throw new IOException("VIN码未按顺序排列");
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * 补入快照之后新增的VIN码，移除已删除的
+     * 只移除快照中有、数据库中没有的VIN码；核对期间新登记的车辆不在快照中，不受影响，
+     * 被误移除的VIN码下次出现时也会从数据库补回
+     */
+    private void reconcile(String[] snapshot) {
+        BitSet found = new BitSet(snapshot.length);
+        vehicleBatchRepository.forEachVin(vin -> {
+            int index = Arrays.binarySearch(snapshot, vin);
+            if (index >= 0) {
+                found.set(index);
+            } else {
+                vins.add(vin);
+            }
+        });
+        for (int i = found.nextClearBit(0); i < snapshot.length; i = found.nextClearBit(i + 1)) {
+            vins.remove(snapshot[i]);
+        }
+    }
+
+    /**
+     * 返回给定VIN码中已登记的部分，索引未命中的VIN码合并为一次数据库查询
+     */
+    public Set<String> resolveKnown(Collection<String> candidates) {
+        Set<String> known = new HashSet<>();
+        List<String> unknown = new ArrayList<>();
+        for (String vin : candidates) {
+            if (vins.contains(vin)) {
+                known.add(vin);
+            } else {
+                unknown.add(vin);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            Set<String> found = vehicleBatchRepository.findExistingVins(unknown);
+            vins.addAll(found);
+            known.addAll(found);
+        }
+        return known;
+    }
+
+    public void register(String vin) {
+        vins.add(vin);
+    }
+
+    public void registerAll(Collection<String> newVins) {
+        vins.addAll(newVins);
+    }
+
+    public void unregister(String vin) {
+        vins.remove(vin);
+    }
+
+    public void unregisterAll(Collection<String> removedVins) {
+        // 逐个删除：KeySetView.removeAll会遍历整个集合
+        removedVins.forEach(vins::remove);
+    }
+}
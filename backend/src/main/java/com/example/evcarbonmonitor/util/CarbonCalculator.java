@@ -0,0 +1,83 @@
+// backend/src/main/java/com/example/evcarbonmonitor/util/CarbonCalculator.java
+package com.example.evcarbonmonitor.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * 碳减排量计算，与CarbonCalculator合约的calculateCarbonReduction使用相同的定点整数运算，
+ * 保证链下计算结果与链上一致
+ */
+public class CarbonCalculator {
+
+    // 计算精度，与合约PRECISION一致
+    public static final long PRECISION = 1_000_000L;
+
+    // 电网碳排放因子(g CO2/kWh * 10^6)，默认854.7
+    public static final long DEFAULT_GRID_EMISSION_FACTOR = 854_700_000L;
+
+    // 传统燃油车排放因子(g CO2/km * 10^6)，默认196
+    public static final long DEFAULT_TRADITIONAL_VEHICLE_EMISSION_FACTOR = 196_000_000L;
+
+    // 汽油CO2排放系数(kg CO2/L)，用于计算等效燃油
+    private static final BigDecimal FUEL_EMISSION_FACTOR = new BigDecimal("2.3");
+
+    private final long gridEmissionFactor;
+    private final long traditionalVehicleEmissionFactor;
+
+    public CarbonCalculator(long gridEmissionFactor, long traditionalVehicleEmissionFactor) {
+        this.gridEmissionFactor = gridEmissionFactor;
+        this.traditionalVehicleEmissionFactor = traditionalVehicleEmissionFactor;
+    }
+
+    /**
+     * 计算碳减排量
+     * @param mileageMeters 行驶里程(m)
+     * @param energyWh 能耗(Wh)
+     * @return 碳减排量(g)，电动车排放高于燃油车时为0
+     */
+    public long calculateCarbonReduction(long mileageMeters, long energyWh) {
+        // 与合约一致：先截断为整千米、整千瓦时再乘排放因子
+        long mileageInKm = mileageMeters / 1000;
+        long energyInKwh = energyWh / 1000;
+
+        long evEmission = energyInKwh * gridEmissionFactor / PRECISION;
+        long traditionalEmission = mileageInKm * traditionalVehicleEmissionFactor / PRECISION;
+
+        return traditionalEmission > evEmission ? traditionalEmission - evEmission : 0L;
+    }
+
+    /**
+     * 按数据库中的千米、千瓦时计算碳减排量
+     * @param mileageKm 行驶里程(km)
+     * @param energyKwh 能耗(kWh)
+     * @return 碳减排量(kg)，保留两位小数
+     */
+    public BigDecimal calculateCarbonReductionKg(BigDecimal mileageKm, BigDecimal energyKwh) {
+        long grams = calculateCarbonReduction(toThousandths(mileageKm), toThousandths(energyKwh));
+        return fromThousandths(grams);
+    }
+
+    /**
+     * 千米转米、千瓦时转瓦时，与上链时的单位换算一致
+     */
+    public static long toThousandths(BigDecimal value) {
+        return value.movePointRight(3).setScale(0, RoundingMode.DOWN).longValueExact();
+    }
+
+    /**
+     * 米转千米、瓦时转千瓦时、克转千克，保留两位小数
+     */
+    public static BigDecimal fromThousandths(long value) {
+        return BigDecimal.valueOf(value, 3).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * 计算等效燃油量
+     * @param carbonReductionKg 碳减排量(kg)
+     * @return 等效燃油(L)，保留两位小数
+     */
+    public static BigDecimal calculateEquivalentFuel(BigDecimal carbonReductionKg) {
+        return carbonReductionKg.divide(FUEL_EMISSION_FACTOR, 2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,242 @@
+// backend/src/main/java/com/example/evcarbonmonitor/util/CarbonContractAbi.java
+package com.example.evcarbonmonitor.util;
+
+import org.web3j.abi.EventEncoder;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.FunctionReturnDecoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.datatypes.Event;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Bytes32;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.utils.Numeric;
+
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * CarbonCalculator和CreditsGenerator合约的调用编码与事件解码
+ */
+public class CarbonContractAbi {
+
+    public static final Event CARBON_REDUCTION_CALCULATED = new Event("CarbonReductionCalculated", Arrays.asList(
+            new TypeReference<Bytes32>() {},
+            new TypeReference<Utf8String>() {},
+            new TypeReference<Uint256>() {},
+            new TypeReference<Uint256>() {},
+            new TypeReference<Uint256>() {},
+            new TypeReference<Uint256>() {}));
+
+    public static final Event CALCULATION_VERIFIED = new Event("CalculationVerified",
+            Collections.singletonList(new TypeReference<Bytes32>() {}));
+
+    public static final Event CREDITS_GENERATED = new Event("CreditsGenerated", Arrays.asList(
+            new TypeReference<Bytes32>() {},
+            new TypeReference<Bytes32>() {},
+            new TypeReference<Utf8String>() {},
+            new TypeReference<Uint256>() {},
+            new TypeReference<Uint256>() {}));
+
+    public static final String CARBON_REDUCTION_CALCULATED_TOPIC = EventEncoder.encode(CARBON_REDUCTION_CALCULATED);
+    public static final String CALCULATION_VERIFIED_TOPIC = EventEncoder.encode(CALCULATION_VERIFIED);
+    public static final String CREDITS_GENERATED_TOPIC = EventEncoder.encode(CREDITS_GENERATED);
+
+    private static final long SECONDS_PER_DAY = 86_400L;
+
+    private CarbonContractAbi() {
+    }
+
+    /**
+     * CarbonReductionCalculated事件，里程单位为m，能耗单位为Wh，减排量单位为g
+     */
+    public static class CarbonReductionCalculatedEvent {
+        private final String calculationId;
+        private final String vin;
+        private final BigInteger date;
+        private final BigInteger mileage;
+        private final BigInteger energyConsumption;
+        private final BigInteger carbonReduction;
+
+        public CarbonReductionCalculatedEvent(String calculationId, String vin, BigInteger date, BigInteger mileage,
+                                              BigInteger energyConsumption, BigInteger carbonReduction) {
+            this.calculationId = calculationId;
+            this.vin = vin;
+            this.date = date;
+            this.mileage = mileage;
+            this.energyConsumption = energyConsumption;
+            this.carbonReduction = carbonReduction;
+        }
+
+        public String getCalculationId() {
+            return calculationId;
+        }
+
+        public String getVin() {
+            return vin;
+        }
+
+        public BigInteger getDate() {
+            return date;
+        }
+
+        public BigInteger getMileage() {
+            return mileage;
+        }
+
+        public BigInteger getEnergyConsumption() {
+            return energyConsumption;
+        }
+
+        public BigInteger getCarbonReduction() {
+            return carbonReduction;
+        }
+    }
+
+    /**
+     * CreditsGenerated事件
+     */
+    public static class CreditsGeneratedEvent {
+        private final String creditId;
+        private final String calculationId;
+        private final String vin;
+        private final BigInteger amount;
+
+        public CreditsGeneratedEvent(String creditId, String calculationId, String vin, BigInteger amount) {
+            this.creditId = creditId;
+            this.calculationId = calculationId;
+            this.vin = vin;
+            this.amount = amount;
+        }
+
+        public String getCreditId() {
+            return creditId;
+        }
+
+        public String getCalculationId() {
+            return calculationId;
+        }
+
+        public String getVin() {
+            return vin;
+        }
+
+        public BigInteger getAmount() {
+            return amount;
+        }
+    }
+
+    /**
+     * 合约中的日期为当日0点(UTC)的Unix时间戳(秒)
+     */
+    public static long toContractDate(LocalDate date) {
+        return date.atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+    }
+
+    public static LocalDate fromContractDate(BigInteger date) {
+        return LocalDate.ofEpochDay(Math.floorDiv(date.longValueExact(), SECONDS_PER_DAY));
+    }
+
+    /**
+     * CarbonCalculator.calculateCarbonReduction(vin, date, mileage(m), energyConsumption(Wh))
+     */
+    public static String encodeCalculateCarbonReduction(String vin, long dateEpochSeconds, long mileageMeters, long energyWh) {
+        return FunctionEncoder.encode(new Function("calculateCarbonReduction",
+                Arrays.asList(new Utf8String(vin), new Uint256(dateEpochSeconds),
+                        new Uint256(mileageMeters), new Uint256(energyWh)),
+                Collections.singletonList(new TypeReference<Bytes32>() {})));
+    }
+
+    /**
+     * CarbonCalculator.verifyCalculation(calculationId)
+     */
+    public static String encodeVerifyCalculation(String calculationId) {
+        return FunctionEncoder.encode(new Function("verifyCalculation",
+                Collections.singletonList(new Bytes32(Numeric.hexStringToByteArray(calculationId))),
+                Collections.emptyList()));
+    }
+
+    /**
+     * CreditsGenerator.generateCredits(calculationId)
+     */
+    public static String encodeGenerateCredits(String calculationId) {
+        return FunctionEncoder.encode(new Function("generateCredits",
+                Collections.singletonList(new Bytes32(Numeric.hexStringToByteArray(calculationId))),
+                Collections.singletonList(new TypeReference<Bytes32>() {})));
+    }
+
+    /**
+     * 从回执中读取CarbonReductionCalculated事件的计算ID
+     */
+    public static Optional<String> findCalculationId(TransactionReceipt receipt, String contractAddress) {
+        return findLog(receipt, contractAddress, CARBON_REDUCTION_CALCULATED_TOPIC)
+                .map(log -> decodeCarbonReductionCalculated(log).getCalculationId());
+    }
+
+    /**
+     * 从回执中读取CreditsGenerated事件
+     */
+    public static Optional<CreditsGeneratedEvent> findCreditsGenerated(TransactionReceipt receipt, String contractAddress) {
+        return findLog(receipt, contractAddress, CREDITS_GENERATED_TOPIC)
+                .map(CarbonContractAbi::decodeCreditsGenerated);
+    }
+
+    public static CarbonReductionCalculatedEvent decodeCarbonReductionCalculated(Log log) {
+        List<Type<?>> values = decodeData(log, CARBON_REDUCTION_CALCULATED);
+        return new CarbonReductionCalculatedEvent(
+                Numeric.toHexString(((Bytes32) values.get(0)).getValue()),
+                ((Utf8String) values.get(1)).getValue(),
+                ((Uint256) values.get(2)).getValue(),
+                ((Uint256) values.get(3)).getValue(),
+                ((Uint256) values.get(4)).getValue(),
+                ((Uint256) values.get(5)).getValue());
+    }
+
+    /**
+     * @return CalculationVerified事件中的计算ID
+     */
+    public static String decodeCalculationVerified(Log log) {
+        List<Type<?>> values = decodeData(log, CALCULATION_VERIFIED);
+        return Numeric.toHexString(((Bytes32) values.get(0)).getValue());
+    }
+
+    public static CreditsGeneratedEvent decodeCreditsGenerated(Log log) {
+        List<Type<?>> values = decodeData(log, CREDITS_GENERATED);
+        return new CreditsGeneratedEvent(
+                Numeric.toHexString(((Bytes32) values.get(0)).getValue()),
+                Numeric.toHexString(((Bytes32) values.get(1)).getValue()),
+                ((Utf8String) values.get(2)).getValue(),
+                ((Uint256) values.get(3)).getValue());
+    }
+
+    /**
+     * 解码事件日志中的非索引参数
+     */
+    private static List<Type<?>> decodeData(Log log, Event event) {
+        List<Type<?>> values = new ArrayList<>(event.getNonIndexedParameters().size());
+        for (Type<?> value : FunctionReturnDecoder.decode(log.getData(), event.getNonIndexedParameters())) {
+            values.add(value);
+        }
+        return values;
+    }
+
+    private static Optional<Log> findLog(TransactionReceipt receipt, String contractAddress, String topic) {
+        if (receipt.getLogs() == null) {
+            return Optional.empty();
+        }
+        return receipt.getLogs().stream()
+                .filter(log -> log.getAddress() != null && log.getAddress().equalsIgnoreCase(contractAddress))
+                .filter(log -> log.getTopics() != null && !log.getTopics().isEmpty()
+                        && topic.equalsIgnoreCase(log.getTopics().get(0)))
+                .findFirst();
+    }
+}
@@ -0,0 +1,74 @@
+// backend/src/main/java/com/example/evcarbonmonitor/util/CursorUtil.java
+package com.example.evcarbonmonitor.util;
+
+import com.example.evcarbonmonitor.exception.ApiException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 分页游标编解码
+ * 游标对客户端不透明，内容为"排序字段|排序方向|最后一条的排序键|最后一条的VIN码"的Base64编码
+ */
+public class CursorUtil {
+
+    private static final String SEPARATOR = "|";
+
+    private CursorUtil() {
+    }
+
+    /**
+     * 解码后的游标
+     */
+    public static class Cursor {
+        private final String sort;
+        private final String order;
+        private final String value;
+        private final String vin;
+
+        public Cursor(String sort, String order, String value, String vin) {
+            this.sort = sort;
+            this.order = order;
+            this.value = value;
+            this.vin = vin;
+        }
+
+        public String getSort() {
+            return sort;
+        }
+
+        public String getOrder() {
+            return order;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public String getVin() {
+            return vin;
+        }
+    }
+
+    public static String encode(Cursor cursor) {
+        String raw = String.join(SEPARATOR, cursor.getSort(), cursor.getOrder(), cursor.getValue(), cursor.getVin());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decode(String encoded) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            // 排序键值中可能含有分隔符，VIN码中不会，所以从两端切分
+            int first = raw.indexOf(SEPARATOR);
+            int second = raw.indexOf(SEPARATOR, first + 1);
+            int last = raw.lastIndexOf(SEPARATOR);
+            if (first < 0 || second < 0 || last <= second) {
+                throw new ApiException(400, "分页游标无效");
+            }
+            return new Cursor(raw.substring(0, first), raw.substring(first + 1, second),
+                    raw.substring(second + 1, last), raw.substring(last + 1));
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(400, "分页游标无效");
+        }
+    }
+}
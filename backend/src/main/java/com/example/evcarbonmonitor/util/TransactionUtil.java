@@ -0,0 +1,34 @@
+// backend/src/main/java/com/example/evcarbonmonitor/util/TransactionUtil.java
+package com.example.evcarbonmonitor.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 事务回调工具
+ */
+public class TransactionUtil {
+
+    private TransactionUtil() {
+    }
+
+    /**
+     * 有事务时在提交后执行，回滚时不执行；没有事务时立即执行
+     * 使用afterCompletion而不是afterCommit：在其他同步回调的afterCommit中注册时(如车辆实时状态发布事件)，
+     * 新注册的afterCommit不会再被调用，afterCompletion仍会被调用
+     */
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        action.run();
+                    }
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,236 @@
+// backend/src/main/java/com/example/evcarbonmonitor/util/VehicleCsvReader.java
+package com.example.evcarbonmonitor.util;
+
+import com.example.evcarbonmonitor.dto.VehicleDTO;
+import com.example.evcarbonmonitor.exception.ApiException;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 车辆CSV流式读取器
+ * 逐条解析记录，内存占用与文件大小无关；格式错误的记录作为失败行返回，不会中断整个文件。
+ * 支持gzip压缩的上传文件（按文件头魔数识别）
+ */
+public class VehicleCsvReader implements Iterator<VehicleCsvReader.Row>, Closeable {
+
+    private static final int GZIP_MAGIC_FIRST = 0x1f;
+    private static final int GZIP_MAGIC_SECOND = 0x8b;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final CSVParser csvParser;
+    private final Iterator<CSVRecord> records;
+
+    // 预先解析的列下标，-1表示该列不存在
+    private final int vinIndex;
+    private final int modelIndex;
+    private final int licensePlateIndex;
+    private final int manufacturerIndex;
+    private final int productionYearIndex;
+    private final int batteryCapacityIndex;
+    private final int maxRangeIndex;
+    private final int registerDateIndex;
+    private final int statusIndex;
+
+    /**
+     * 一条解析结果：成功时vehicle不为空，失败时error不为空
+     */
+    public static class Row {
+        private final int line;
+        private final String vin;
+        private final VehicleDTO vehicle;
+        private final String error;
+
+        private Row(int line, String vin, VehicleDTO vehicle, String error) {
+            this.line = line;
+            this.vin = vin;
+            this.vehicle = vehicle;
+            this.error = error;
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+        public String getVin() {
+            return vin;
+        }
+
+        public VehicleDTO getVehicle() {
+            return vehicle;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public boolean isValid() {
+            return error == null;
+        }
+    }
+
+    public VehicleCsvReader(InputStream inputStream) throws IOException {
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(decompressIfNeeded(inputStream), StandardCharsets.UTF_8), READ_BUFFER_SIZE);
+        this.csvParser = new CSVParser(reader, CSVFormat.DEFAULT.builder()
+                .setHeader()
+                .setSkipHeaderRecord(true)
+                .setIgnoreHeaderCase(true)
+                .setTrim(true)
+                .build());
+
+        Map<String, Integer> headerMap = csvParser.getHeaderMap();
+        this.vinIndex = requiredColumn(headerMap, "vin");
+        this.modelIndex = requiredColumn(headerMap, "model");
+        this.licensePlateIndex = requiredColumn(headerMap, "licensePlate");
+        this.manufacturerIndex = requiredColumn(headerMap, "manufacturer");
+        this.productionYearIndex = requiredColumn(headerMap, "productionYear");
+        this.batteryCapacityIndex = requiredColumn(headerMap, "batteryCapacity");
+        this.maxRangeIndex = requiredColumn(headerMap, "maxRange");
+        this.registerDateIndex = requiredColumn(headerMap, "registerDate");
+        this.statusIndex = column(headerMap, "status");
+
+        this.records = csvParser.iterator();
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            return records.hasNext();
+        } catch (IllegalStateException | UncheckedIOException e) {
+            throw new ApiException(400, "读取CSV文件失败: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Row next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        CSVRecord record;
+        try {
+            record = records.next();
+        } catch (IllegalStateException | UncheckedIOException e) {
+            throw new ApiException(400, "读取CSV文件失败: " + e.getMessage());
+        }
+        // CSV头部占一行，所以行号从2开始
+        int line = (int) record.getRecordNumber() + 1;
+        String vin = value(record, vinIndex);
+
+        try {
+            VehicleDTO vehicle = new VehicleDTO();
+            vehicle.setVin(requiredValue(record, vinIndex, "vin"));
+            vehicle.setModel(requiredValue(record, modelIndex, "model"));
+            vehicle.setLicensePlate(requiredValue(record, licensePlateIndex, "licensePlate"));
+            vehicle.setManufacturer(requiredValue(record, manufacturerIndex, "manufacturer"));
+            vehicle.setProductionYear(Integer.parseInt(requiredValue(record, productionYearIndex, "productionYear")));
+            vehicle.setBatteryCapacity(new BigDecimal(requiredValue(record, batteryCapacityIndex, "batteryCapacity")));
+            vehicle.setMaxRange(Integer.parseInt(requiredValue(record, maxRangeIndex, "maxRange")));
+            vehicle.setRegisterDate(LocalDate.parse(
+                    requiredValue(record, registerDateIndex, "registerDate"), DateTimeFormatter.ISO_DATE));
+
+            String status = value(record, statusIndex);
+            vehicle.setStatus(status != null && !status.isEmpty() ? status : "offline");
+
+            return new Row(line, vin, vehicle, null);
+        } catch (NumberFormatException e) {
+            return new Row(line, vin, null, "数值格式不正确: " + e.getMessage());
+        } catch (DateTimeParseException e) {
+            return new Row(line, vin, null, "日期格式不正确，应为YYYY-MM-DD: " + e.getMessage());
+        } catch (ApiException e) {
+            return new Row(line, vin, null, e.getMessage());
+        }
+    }
+
+    /**
+     * 以Stream形式返回剩余记录，关闭Stream时关闭读取器
+     */
+    public Stream<Row> stream() {
+        return StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    @Override
+    public void close() throws IOException {
+        csvParser.close();
+    }
+
+    /**
+     * gzip文件按魔数识别并解压，其余按原样读取
+     */
+    private static InputStream decompressIfNeeded(InputStream inputStream) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(inputStream, READ_BUFFER_SIZE);
+        buffered.mark(2);
+        int first = buffered.read();
+        int second = buffered.read();
+        buffered.reset();
+        if (first == GZIP_MAGIC_FIRST && second == GZIP_MAGIC_SECOND) {
+            return new GZIPInputStream(buffered, READ_BUFFER_SIZE);
+        }
+        return buffered;
+    }
+
+    private static int column(Map<String, Integer> headerMap, String name) {
+        for (Map.Entry<String, Integer> entry : headerMap.entrySet()) {
+            if (entry.getKey().toLowerCase(Locale.ROOT).equals(name.toLowerCase(Locale.ROOT))) {
+                return entry.getValue();
+            }
+        }
+        return -1;
+    }
+
+    private static int requiredColumn(Map<String, Integer> headerMap, String name) {
+        int index = column(headerMap, name);
+        if (index < 0) {
+            throw new ApiException(400, "CSV文件缺少列: " + name);
+        }
+        return index;
+    }
+
+    private static String value(CSVRecord record, int index) {
+        if (index < 0 || index >= record.size()) {
+            return null;
+        }
+        return record.get(index);
+    }
+
+    /**
+     * 获取必填字段值
+     */
+    private static String requiredValue(CSVRecord record, int index, String fieldName) {
+        String value = value(record, index);
+        if (value == null || value.trim().isEmpty()) {
+            throw new ApiException(fieldName + "不能为空");
+        }
+        return value.trim();
+    }
+}
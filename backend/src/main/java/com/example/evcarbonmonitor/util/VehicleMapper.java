@@ -0,0 +1,96 @@
+// backend/src/main/java/com/example/evcarbonmonitor/util/VehicleMapper.java
+package com.example.evcarbonmonitor.util;
+
+import com.example.evcarbonmonitor.domain.Vehicle;
+import com.example.evcarbonmonitor.domain.VehicleStats;
+import com.example.evcarbonmonitor.dto.VehicleDTO;
+
+import java.math.BigDecimal;
+
+/**
+ * 车辆实体与DTO之间的转换
+ * 逐字段赋值，不使用BeanUtils等基于反射的属性拷贝；新增字段时需同步修改这里和VehicleDTO的投影构造函数
+ */
+public class VehicleMapper {
+
+    private VehicleMapper() {
+    }
+
+    /**
+     * 将实体对象转换为DTO
+     * @param stats 车辆统计数据，没有统计数据时为null，此时统计字段为0
+     */
+    public static VehicleDTO toDTO(Vehicle vehicle, VehicleStats stats) {
+        VehicleDTO dto = new VehicleDTO();
+        dto.setVin(vehicle.getVin());
+        dto.setModel(vehicle.getModel());
+        dto.setLicensePlate(vehicle.getLicensePlate());
+        dto.setManufacturer(vehicle.getManufacturer());
+        dto.setProductionYear(vehicle.getProductionYear());
+        dto.setBatteryCapacity(vehicle.getBatteryCapacity());
+        dto.setMaxRange(vehicle.getMaxRange());
+        dto.setRegisterDate(vehicle.getRegisterDate());
+        dto.setStatus(vehicle.getStatus());
+        dto.setLastUpdateTime(vehicle.getLastUpdateTime());
+        dto.setVersion(vehicle.getVersion());
+
+        // 统计数据来自vehicle_stats汇总表，尚无行驶数据的车辆为0
+        if (stats != null) {
+            dto.setTotalMileage(stats.getTotalMileage());
+            dto.setTotalEnergy(stats.getTotalEnergy());
+            dto.setTotalCarbonReduction(stats.getTotalCarbonReduction());
+            dto.setCarbonCredits(stats.getCarbonCredits());
+        } else {
+            dto.setTotalMileage(BigDecimal.ZERO);
+            dto.setTotalEnergy(BigDecimal.ZERO);
+            dto.setTotalCarbonReduction(BigDecimal.ZERO);
+            dto.setCarbonCredits(BigDecimal.ZERO);
+        }
+        return dto;
+    }
+
+    /**
+     * 将DTO转换为新的实体对象，统计字段、时间戳和版本号不复制
+     */
+    public static Vehicle toEntity(VehicleDTO dto) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setVin(dto.getVin());
+        vehicle.setModel(dto.getModel());
+        vehicle.setLicensePlate(dto.getLicensePlate());
+        vehicle.setManufacturer(dto.getManufacturer());
+        vehicle.setProductionYear(dto.getProductionYear());
+        vehicle.setBatteryCapacity(dto.getBatteryCapacity());
+        vehicle.setMaxRange(dto.getMaxRange());
+        vehicle.setRegisterDate(dto.getRegisterDate());
+        vehicle.setStatus(dto.getStatus());
+        return vehicle;
+    }
+
+    /**
+     * 部分更新：把DTO中的非空字段写入实体
+     * VIN码不可修改，车牌号需要先做唯一性检查，两者都不在这里处理
+     */
+    public static void applyUpdate(VehicleDTO changes, Vehicle vehicle) {
+        if (changes.getModel() != null) {
+            vehicle.setModel(changes.getModel());
+        }
+        if (changes.getManufacturer() != null) {
+            vehicle.setManufacturer(changes.getManufacturer());
+        }
+        if (changes.getProductionYear() != null) {
+            vehicle.setProductionYear(changes.getProductionYear());
+        }
+        if (changes.getBatteryCapacity() != null) {
+            vehicle.setBatteryCapacity(changes.getBatteryCapacity());
+        }
+        if (changes.getMaxRange() != null) {
+            vehicle.setMaxRange(changes.getMaxRange());
+        }
+        if (changes.getRegisterDate() != null) {
+            vehicle.setRegisterDate(changes.getRegisterDate());
+        }
+        if (changes.getStatus() != null) {
+            vehicle.setStatus(changes.getStatus());
+        }
+    }
+}
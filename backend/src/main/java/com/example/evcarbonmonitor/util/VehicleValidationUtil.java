@@ -0,0 +1,149 @@
+// backend/src/main/java/com/example/evcarbonmonitor/util/VehicleValidationUtil.java
+package com.example.evcarbonmonitor.util;
+
+import com.example.evcarbonmonitor.dto.VehicleDTO;
+import com.example.evcarbonmonitor.exception.ApiException;
+
+import java.math.BigDecimal;
+import java.util.regex.Pattern;
+
+public class VehicleValidationUtil {
+
+    // VIN码正则表达式模式
+    public static final Pattern VIN_PATTERN = Pattern.compile("[A-HJ-NPR-Z0-9]{17}");
+
+    // 车牌号正则表达式模式
+    public static final Pattern LICENSE_PLATE_PATTERN = Pattern.compile("^[\\u4e00-\\u9fa5][A-Z][A-Z0-9]{5}$");
+
+    // 车辆状态正则表达式模式
+    public static final Pattern STATUS_PATTERN = Pattern.compile("^(online|offline|error)$");
+
+    private static final int MAX_TEXT_LENGTH = 100;
+
+    private VehicleValidationUtil() {
+    }
+
+    /**
+     * 校验VIN码和车牌号格式
+     */
+    public static void validateVinAndPlate(VehicleDTO dto) {
+        if (dto.getVin() == null || !VIN_PATTERN.matcher(dto.getVin()).matches()) {
+            throw new ApiException(400, "VIN码格式不正确");
+        }
+
+        if (dto.getLicensePlate() == null || dto.getLicensePlate().isBlank()) {
+            throw new ApiException(400, "车牌号不能为空");
+        }
+        if (!LICENSE_PLATE_PATTERN.matcher(dto.getLicensePlate()).matches()) {
+            throw new ApiException(400, "车牌号格式不正确");
+        }
+    }
+
+    /**
+     * 校验一条待导入的车辆记录
+     * 导入路径不经过@Valid，这里需要覆盖数据库约束，避免整批写入失败；错误信息与VehicleDTO的校验注解一致
+     */
+    public static void validateForImport(VehicleDTO dto) {
+        validateVinAndPlate(dto);
+
+        requireText(dto.getModel(), "车型");
+        requireText(dto.getManufacturer(), "制造商");
+
+        if (dto.getProductionYear() == null) {
+            throw new ApiException(400, "生产年份不能为空");
+        }
+        validateProductionYear(dto.getProductionYear());
+
+        if (dto.getBatteryCapacity() == null) {
+            throw new ApiException(400, "电池容量不能为空");
+        }
+        validateBatteryCapacity(dto.getBatteryCapacity());
+
+        if (dto.getMaxRange() == null) {
+            throw new ApiException(400, "最大续航里程不能为空");
+        }
+        validateMaxRange(dto.getMaxRange());
+
+        if (dto.getRegisterDate() == null) {
+            throw new ApiException(400, "注册日期不能为空");
+        }
+
+        if (dto.getStatus() == null || dto.getStatus().isBlank()) {
+            throw new ApiException(400, "状态不能为空");
+        }
+        validateStatus(dto.getStatus());
+    }
+
+    /**
+     * 校验一条部分更新，只校验给出的字段，规则与新增相同
+     */
+    public static void validateForUpdate(VehicleDTO dto) {
+        validateVin(dto.getVin());
+        if (dto.getLicensePlate() != null && !LICENSE_PLATE_PATTERN.matcher(dto.getLicensePlate()).matches()) {
+            throw new ApiException(400, "车牌号格式不正确");
+        }
+        if (dto.getModel() != null) {
+            requireText(dto.getModel(), "车型");
+        }
+        if (dto.getManufacturer() != null) {
+            requireText(dto.getManufacturer(), "制造商");
+        }
+        if (dto.getProductionYear() != null) {
+            validateProductionYear(dto.getProductionYear());
+        }
+        if (dto.getBatteryCapacity() != null) {
+            validateBatteryCapacity(dto.getBatteryCapacity());
+        }
+        if (dto.getMaxRange() != null) {
+            validateMaxRange(dto.getMaxRange());
+        }
+        if (dto.getStatus() != null) {
+            validateStatus(dto.getStatus());
+        }
+    }
+
+    public static void validateVin(String vin) {
+        if (vin == null || !VIN_PATTERN.matcher(vin).matches()) {
+            throw new ApiException(400, "VIN码格式不正确");
+        }
+    }
+
+    public static void validateStatus(String status) {
+        if (status == null || !STATUS_PATTERN.matcher(status).matches()) {
+            throw new ApiException(400, "状态只能是online、offline或error");
+        }
+    }
+
+    private static void validateProductionYear(int productionYear) {
+        if (productionYear < 2000) {
+            throw new ApiException(400, "生产年份不能早于2000年");
+        }
+        if (productionYear > 2100) {
+            throw new ApiException(400, "生产年份不能晚于2100年");
+        }
+    }
+
+    private static void validateBatteryCapacity(BigDecimal batteryCapacity) {
+        if (batteryCapacity.signum() <= 0) {
+            throw new ApiException(400, "电池容量必须大于0");
+        }
+        if (batteryCapacity.precision() - batteryCapacity.scale() > 8 || batteryCapacity.scale() > 2) {
+            throw new ApiException(400, "电池容量格式不正确");
+        }
+    }
+
+    private static void validateMaxRange(int maxRange) {
+        if (maxRange < 0) {
+            throw new ApiException(400, "最大续航里程不能小于0");
+        }
+    }
+
+    private static void requireText(String value, String fieldName) {
+        if (value == null || value.isBlank()) {
+            throw new ApiException(400, fieldName + "不能为空");
+        }
+        if (value.length() > MAX_TEXT_LENGTH) {
+            throw new ApiException(400, fieldName + "长度不能超过100个字符");
+        }
+    }
+}
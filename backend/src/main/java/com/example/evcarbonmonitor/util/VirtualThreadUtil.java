@@ -0,0 +1,70 @@
+// backend/src/main/java/com/example/evcarbonmonitor/util/VirtualThreadUtil.java
+package com.example.evcarbonmonitor.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 虚拟线程工具
+ * 项目按Java 17编译，虚拟线程API(Java 21)通过MethodHandle在运行时查找，只在启动时调用
+ */
+public class VirtualThreadUtil {
+
+    private static final int REQUIRED_JAVA_VERSION = 21;
+
+    private VirtualThreadUtil() {
+    }
+
+    /**
+     * 当前JVM是否支持虚拟线程
+     */
+    public static boolean isSupported() {
+        return Runtime.version().feature() >= REQUIRED_JAVA_VERSION;
+    }
+
+    /**
+     * 创建虚拟线程工厂，线程名为prefix加序号
+     * @throws IllegalStateException 运行在Java 21以下时
+     */
+    public static ThreadFactory threadFactory(String prefix) {
+        checkSupported();
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Class<?> virtualBuilderClass = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            MethodHandle ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(virtualBuilderClass));
+            MethodHandle name = lookup.findVirtual(virtualBuilderClass, "name",
+                    MethodType.methodType(virtualBuilderClass, String.class, long.class));
+            MethodHandle factory = lookup.findVirtual(builderClass, "factory", MethodType.methodType(ThreadFactory.class));
+            return (ThreadFactory) factory.invoke(name.invoke(ofVirtual.invoke(), prefix, 0L));
+        } catch (Throwable e) {
+            throw new IllegalStateException("无法创建虚拟线程工厂", e);
+        }
+    }
+
+    /**
+     * 创建每个任务一个虚拟线程的执行器
+     * @throws IllegalStateException 运行在Java 21以下时
+     */
+    public static ExecutorService newExecutor(String prefix) {
+        ThreadFactory threadFactory = threadFactory(prefix);
+        try {
+            MethodHandle newExecutor = MethodHandles.publicLookup().findStatic(Executors.class,
+                    "newThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class, ThreadFactory.class));
+            return (ExecutorService) newExecutor.invoke(threadFactory);
+        } catch (Throwable e) {
+            throw new IllegalStateException("无法创建虚拟线程执行器", e);
+        }
+    }
+
+    private static void checkSupported() {
+        if (!isSupported()) {
+            throw new IllegalStateException("虚拟线程需要Java " + REQUIRED_JAVA_VERSION + "及以上，当前为Java "
+                    + Runtime.version().feature());
+        }
+    }
+}
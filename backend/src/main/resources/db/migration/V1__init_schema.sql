@@ -0,0 +1,121 @@
+-- 初始表结构，与此前由Hibernate ddl-auto生成的表一致
+-- 已有数据库(ddl-auto创建)以版本0为基线执行本脚本，已存在的表和索引会跳过
+-- driving_records和carbon_records在V2中创建为分区表
+
+CREATE TABLE IF NOT EXISTS vehicles (
+    vin VARCHAR(17) NOT NULL,
+    model VARCHAR(100) NOT NULL,
+    license_plate VARCHAR(20) NOT NULL UNIQUE,
+    manufacturer VARCHAR(100) NOT NULL,
+    production_year INTEGER NOT NULL,
+    battery_capacity NUMERIC(10, 2) NOT NULL,
+    max_range INTEGER NOT NULL,
+    register_date DATE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    last_update_time TIMESTAMP(6) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (vin)
+);
+CREATE INDEX IF NOT EXISTS idx_vehicles_status_vin ON vehicles (status, vin);
+CREATE INDEX IF NOT EXISTS idx_vehicles_last_update_time_vin ON vehicles (last_update_time, vin);
+
+CREATE TABLE IF NOT EXISTS vehicle_stats (
+    vin VARCHAR(17) NOT NULL,
+    total_mileage NUMERIC(16, 2) NOT NULL,
+    total_energy NUMERIC(16, 2) NOT NULL,
+    total_carbon_reduction NUMERIC(16, 2) NOT NULL,
+    carbon_credits NUMERIC(16, 2) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (vin)
+);
+
+CREATE TABLE IF NOT EXISTS carbon_credits (
+    id BIGSERIAL NOT NULL,
+    carbon_record_id BIGINT,
+    vin VARCHAR(17) NOT NULL,
+    credit_amount NUMERIC(10, 2) NOT NULL,
+    credit_date DATE NOT NULL,
+    blockchain_tx_hash VARCHAR(66) UNIQUE,
+    status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+CREATE INDEX IF NOT EXISTS idx_carbon_credits_vin_date ON carbon_credits (vin, credit_date);
+
+CREATE TABLE IF NOT EXISTS blockchain_tx (
+    tx_hash VARCHAR(66) NOT NULL,
+    block_number BIGINT,
+    block_hash VARCHAR(66),
+    from_address VARCHAR(42),
+    to_address VARCHAR(42) NOT NULL,
+    data_type VARCHAR(50) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    gas_used BIGINT,
+    timestamp TIMESTAMP(6) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (tx_hash)
+);
+CREATE INDEX IF NOT EXISTS idx_blockchain_tx_block_number ON blockchain_tx (block_number);
+CREATE INDEX IF NOT EXISTS idx_blockchain_tx_type_time ON blockchain_tx (data_type, timestamp);
+
+CREATE TABLE IF NOT EXISTS blockchain_outbox (
+    id BIGSERIAL NOT NULL,
+    operation VARCHAR(50) NOT NULL,
+    reference_id BIGINT NOT NULL,
+    vin VARCHAR(17) NOT NULL,
+    calculation_date DATE,
+    mileage_meters BIGINT,
+    energy_wh BIGINT,
+    calculation_id VARCHAR(66),
+    status VARCHAR(20) NOT NULL,
+    nonce BIGINT,
+    tx_hash VARCHAR(66),
+    raw_transaction TEXT,
+    attempts INTEGER NOT NULL,
+    last_error VARCHAR(500),
+    submitted_at TIMESTAMP(6),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+CREATE INDEX IF NOT EXISTS idx_blockchain_outbox_status_id ON blockchain_outbox (status, id);
+CREATE INDEX IF NOT EXISTS idx_blockchain_outbox_reference ON blockchain_outbox (reference_id);
+
+CREATE TABLE IF NOT EXISTS import_jobs (
+    id VARCHAR(36) NOT NULL,
+    file_name VARCHAR(255) NOT NULL,
+    spool_path VARCHAR(1024) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    bytes_total BIGINT NOT NULL,
+    bytes_read BIGINT NOT NULL,
+    rows_parsed INTEGER NOT NULL,
+    rows_accepted INTEGER NOT NULL,
+    rows_failed INTEGER NOT NULL,
+    elapsed_millis BIGINT NOT NULL,
+    message VARCHAR(500),
+    created_at TIMESTAMP(6) NOT NULL,
+    started_at TIMESTAMP(6),
+    finished_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS import_job_failures (
+    id BIGSERIAL NOT NULL,
+    job_id VARCHAR(36) NOT NULL,
+    line INTEGER NOT NULL,
+    vin VARCHAR(100),
+    reason VARCHAR(500),
+    PRIMARY KEY (id)
+);
+CREATE INDEX IF NOT EXISTS idx_import_job_failures_job_line ON import_job_failures (job_id, line);
+
+CREATE TABLE IF NOT EXISTS processing_checkpoints (
+    name VARCHAR(100) NOT NULL,
+    position BIGINT NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (name)
+);
@@ -0,0 +1,107 @@
+-- 行驶记录按record_time每月一个分区，碳减排记录按calculation_date每季度一个分区
+-- 分区键必须包含在主键和唯一约束中：主键为(id, 分区键)，碳减排记录的交易哈希改为普通索引
+-- 分区名为<表名>_yYYYYmMM和<表名>_yYYYYqN，与PartitionedTable一致；默认分区接收尚未建分区的数据，
+-- 由分区维护任务(PartitionMaintenanceService)预建后续分区并把默认分区中的数据移入对应分区
+-- 已有的普通表先移到partition_legacy模式，按数据覆盖的时间范围建分区后迁入，再删除
+
+CREATE SCHEMA IF NOT EXISTS partition_legacy;
+
+DO $$
+BEGIN
+    IF to_regclass('driving_records') IS NOT NULL THEN
+        ALTER TABLE driving_records SET SCHEMA partition_legacy;
+    END IF;
+    IF to_regclass('carbon_records') IS NOT NULL THEN
+        ALTER TABLE carbon_records SET SCHEMA partition_legacy;
+    END IF;
+END $$;
+
+CREATE TABLE driving_records (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    vin VARCHAR(17) NOT NULL,
+    record_time TIMESTAMP(6) NOT NULL,
+    mileage NUMERIC(10, 2) NOT NULL,
+    speed NUMERIC(10, 2) NOT NULL,
+    battery_level INTEGER NOT NULL,
+    energy_consumption NUMERIC(10, 2) NOT NULL,
+    latitude NUMERIC(10, 6) NOT NULL,
+    longitude NUMERIC(10, 6) NOT NULL,
+    status_code VARCHAR(20) NOT NULL,
+    is_abnormal BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id, record_time)
+) PARTITION BY RANGE (record_time);
+-- 按车辆和时间范围查询时先按record_time裁剪分区，再在分区内走该索引
+CREATE INDEX idx_driving_records_vin_time ON driving_records (vin, record_time);
+CREATE TABLE driving_records_default PARTITION OF driving_records DEFAULT;
+
+CREATE TABLE carbon_records (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    vin VARCHAR(17) NOT NULL,
+    calculation_date DATE NOT NULL,
+    mileage NUMERIC(10, 2) NOT NULL,
+    energy_consumption NUMERIC(10, 2) NOT NULL,
+    carbon_reduction NUMERIC(10, 2) NOT NULL,
+    equivalent_fuel NUMERIC(10, 2) NOT NULL,
+    calculation_method VARCHAR(50) NOT NULL,
+    verification_status VARCHAR(20) NOT NULL,
+    blockchain_tx_hash VARCHAR(66),
+    calculation_id VARCHAR(66),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id, calculation_date),
+    CONSTRAINT uk_carbon_records_vin_date UNIQUE (vin, calculation_date)
+) PARTITION BY RANGE (calculation_date);
+CREATE INDEX idx_carbon_records_tx_hash ON carbon_records (blockchain_tx_hash);
+CREATE INDEX idx_carbon_records_calculation_id ON carbon_records (calculation_id);
+CREATE TABLE carbon_records_default PARTITION OF carbon_records DEFAULT;
+
+DO $$
+DECLARE
+    range_start DATE;
+    range_end DATE;
+BEGIN
+    IF to_regclass('partition_legacy.driving_records') IS NOT NULL THEN
+        SELECT date_trunc('month', MIN(record_time))::date, MAX(record_time)::date
+        INTO range_start, range_end FROM partition_legacy.driving_records;
+        WHILE range_start <= range_end LOOP
+            EXECUTE format('CREATE TABLE %I PARTITION OF driving_records FOR VALUES FROM (%L) TO (%L)',
+                    'driving_records_y' || to_char(range_start, 'YYYY') || 'm' || to_char(range_start, 'MM'),
+                    range_start, (range_start + INTERVAL '1 month')::date);
+            range_start := (range_start + INTERVAL '1 month')::date;
+        END LOOP;
+
+        INSERT INTO driving_records (id, vin, record_time, mileage, speed, battery_level, energy_consumption,
+                latitude, longitude, status_code, is_abnormal, created_at)
+        SELECT id, vin, record_time, mileage, speed, battery_level, energy_consumption,
+                latitude, longitude, status_code, is_abnormal, created_at
+        FROM partition_legacy.driving_records;
+        -- 保留原ID，碳减排计算的水位线按行驶记录ID推进
+        PERFORM setval(pg_get_serial_sequence('driving_records', 'id'),
+                (SELECT COALESCE(MAX(id), 0) + 1 FROM driving_records), false);
+    END IF;
+
+    IF to_regclass('partition_legacy.carbon_records') IS NOT NULL THEN
+        SELECT date_trunc('quarter', MIN(calculation_date))::date, MAX(calculation_date)
+        INTO range_start, range_end FROM partition_legacy.carbon_records;
+        WHILE range_start <= range_end LOOP
+            EXECUTE format('CREATE TABLE %I PARTITION OF carbon_records FOR VALUES FROM (%L) TO (%L)',
+                    'carbon_records_y' || to_char(range_start, 'YYYY') || 'q' || to_char(range_start, 'Q'),
+                    range_start, (range_start + INTERVAL '3 months')::date);
+            range_start := (range_start + INTERVAL '3 months')::date;
+        END LOOP;
+
+        INSERT INTO carbon_records (id, vin, calculation_date, mileage, energy_consumption, carbon_reduction,
+                equivalent_fuel, calculation_method, verification_status, blockchain_tx_hash, calculation_id,
+                created_at, updated_at)
+        SELECT id, vin, calculation_date, mileage, energy_consumption, carbon_reduction,
+                equivalent_fuel, calculation_method, verification_status, blockchain_tx_hash, calculation_id,
+                created_at, updated_at
+        FROM partition_legacy.carbon_records;
+        -- carbon_credits.carbon_record_id引用原ID
+        PERFORM setval(pg_get_serial_sequence('carbon_records', 'id'),
+                (SELECT COALESCE(MAX(id), 0) + 1 FROM carbon_records), false);
+    END IF;
+END $$;
+
+DROP SCHEMA partition_legacy CASCADE;
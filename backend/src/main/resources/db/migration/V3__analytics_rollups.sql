@@ -0,0 +1,28 @@
+-- 分析用的时间桶汇总，每车一份、全车队一份(vin为'*')
+-- granularity为hour/day/month；行驶指标由汇总任务按行驶记录ID增量累加，
+-- 碳减排量由碳减排计算按车辆日的变化量累加(只有day和month)
+CREATE TABLE analytics_rollups (
+    granularity VARCHAR(5) NOT NULL,
+    vin VARCHAR(17) NOT NULL,
+    bucket_start TIMESTAMP(6) NOT NULL,
+    record_count BIGINT NOT NULL DEFAULT 0,
+    mileage NUMERIC(18, 2) NOT NULL DEFAULT 0,
+    energy_consumption NUMERIC(18, 2) NOT NULL DEFAULT 0,
+    speed_sum NUMERIC(20, 2) NOT NULL DEFAULT 0,
+    abnormal_count BIGINT NOT NULL DEFAULT 0,
+    carbon_reduction NUMERIC(18, 2) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (granularity, vin, bucket_start)
+);
+
+-- 已有碳减排记录的汇总；已有行驶记录由汇总任务从水位线0开始补齐
+INSERT INTO analytics_rollups (granularity, vin, bucket_start, carbon_reduction, updated_at)
+SELECT 'day', vin, calculation_date, SUM(carbon_reduction), now() FROM carbon_records GROUP BY vin, calculation_date
+UNION ALL
+SELECT 'day', '*', calculation_date, SUM(carbon_reduction), now() FROM carbon_records GROUP BY calculation_date
+UNION ALL
+SELECT 'month', vin, date_trunc('month', CAST(calculation_date AS TIMESTAMP)), SUM(carbon_reduction), now()
+FROM carbon_records GROUP BY vin, date_trunc('month', CAST(calculation_date AS TIMESTAMP))
+UNION ALL
+SELECT 'month', '*', date_trunc('month', CAST(calculation_date AS TIMESTAMP)), SUM(carbon_reduction), now()
+FROM carbon_records GROUP BY date_trunc('month', CAST(calculation_date AS TIMESTAMP));
@@ -0,0 +1,3 @@
+-- 车辆乐观锁版本号：修改车辆信息时加1，修改接口用If-Match或请求中的version比对
+-- 实时状态回写(状态、最后更新时间)不改变版本号
+ALTER TABLE vehicles ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,18 @@
+-- 车辆列表多条件筛选使用的索引，查询只拼接给出的条件(见VehicleFilter)
+-- 状态筛选使用V1中的(status, vin)
+
+-- 制造商等值，可加生产年份范围；只按生产年份筛选时使用单列索引
+CREATE INDEX idx_vehicles_manufacturer_year ON vehicles (manufacturer, production_year);
+CREATE INDEX idx_vehicles_production_year ON vehicles (production_year);
+
+-- 范围条件
+CREATE INDEX idx_vehicles_battery_capacity ON vehicles (battery_capacity);
+CREATE INDEX idx_vehicles_register_date ON vehicles (register_date);
+
+-- VIN码和车牌号前缀(LIKE 'x%')：varchar_pattern_ops按字节比较，与数据库排序规则无关
+CREATE INDEX idx_vehicles_vin_pattern ON vehicles (vin varchar_pattern_ops);
+CREATE INDEX idx_vehicles_license_plate_pattern ON vehicles (license_plate varchar_pattern_ops);
+
+-- 车型关键字(lower(model) LIKE '%x%')使用三元组索引
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX idx_vehicles_model_trgm ON vehicles USING gin (lower(model) gin_trgm_ops);
@@ -0,0 +1,12 @@
+-- 行驶数据死信：已接收但写入driving_records失败的数据点，写入线程拆分批次后仍失败的单条数据转存到这里
+-- payload为数据点的JSON，修正后可重新上报
+CREATE TABLE telemetry_dead_letters (
+    id BIGSERIAL NOT NULL,
+    vin VARCHAR(17) NOT NULL,
+    record_time TIMESTAMP(6),
+    payload TEXT NOT NULL,
+    reason VARCHAR(500) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+CREATE INDEX idx_telemetry_dead_letters_created_at ON telemetry_dead_letters (created_at);
@@ -0,0 +1,5 @@
+-- 区块重组时回滚索引写入的投影：verification_tx_hash为链上验证所在交易，
+-- from_chain标记由事件索引补录、本地没有行驶数据的记录，本地计算写入同一车辆日后清除
+ALTER TABLE carbon_records ADD COLUMN verification_tx_hash VARCHAR(66);
+ALTER TABLE carbon_records ADD COLUMN from_chain BOOLEAN NOT NULL DEFAULT FALSE;
+CREATE INDEX idx_carbon_records_verification_tx_hash ON carbon_records (verification_tx_hash);
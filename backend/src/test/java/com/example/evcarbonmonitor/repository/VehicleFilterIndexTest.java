@@ -0,0 +1,155 @@
+// backend/src/test/java/com/example/evcarbonmonitor/repository/VehicleFilterIndexTest.java
+package com.example.evcarbonmonitor.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 车辆筛选条件的执行计划回归测试
+ * 在嵌入式PostgreSQL上执行V1起的全部迁移，写入5万辆车并ANALYZE，
+ * 对VehicleFilter拼出的每个单一条件和每两个条件的组合执行EXPLAIN (FORMAT JSON)，
+ * 断言计划中没有对vehicles的顺序扫描，并且至少有一个条件使用了为它建立的索引
+ */
+class VehicleFilterIndexTest {
+
+    private static final int VEHICLES = 50_000;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static EmbeddedPostgres postgres;
+    private static NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * 一个筛选条件及其应当使用的索引；条件的取值都只命中不到1%的车辆
+     */
+    private record Criterion(String name, Consumer<VehicleFilter> apply, Set<String> indexes) {
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private static final List<Criterion> CRITERIA = List.of(
+            new Criterion("status", f -> f.setStatus("error"),
+                    Set.of("idx_vehicles_status_vin")),
+            new Criterion("manufacturer", f -> f.setManufacturer("manufacturer-42"),
+                    Set.of("idx_vehicles_manufacturer_year")),
+            // md5('123')的前10位
+            new Criterion("model", f -> f.setModel("202CB962AC"),
+                    Set.of("idx_vehicles_model_trgm")),
+            new Criterion("productionYear", f -> {
+                f.setProductionYearFrom(2010);
+                f.setProductionYearTo(2010);
+            }, Set.of("idx_vehicles_production_year", "idx_vehicles_manufacturer_year")),
+            new Criterion("batteryCapacity", f -> {
+                f.setBatteryCapacityMin(new BigDecimal("100.00"));
+                f.setBatteryCapacityMax(new BigDecimal("101.00"));
+            }, Set.of("idx_vehicles_battery_capacity")),
+            new Criterion("registerDate", f -> {
+                f.setRegisterDateFrom(LocalDate.of(2021, 3, 1));
+                f.setRegisterDateTo(LocalDate.of(2021, 3, 10));
+            }, Set.of("idx_vehicles_register_date")),
+            // 排序规则为C时主键和唯一约束的索引同样支持前缀匹配
+            new Criterion("vinPrefix", f -> f.setVinPrefix("LSV000000000123"),
+                    Set.of("idx_vehicles_vin_pattern", "vehicles_pkey")),
+            new Criterion("platePrefix", f -> f.setPlatePrefix("P00123"),
+                    Set.of("idx_vehicles_license_plate_pattern", "vehicles_license_plate_key")));
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        Flyway.configure()
+                .dataSource(postgres.getPostgresDatabase())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        JdbcTemplate jdbc = new JdbcTemplate(postgres.getPostgresDatabase());
+        // 每个字段的取值分布保证上面的条件足够有选择性；车型取1000种互不相同的字符串，避免所有车型共有同样的三元组
+        jdbc.update("INSERT INTO vehicles (vin, model, license_plate, manufacturer, production_year, " +
+                "battery_capacity, max_range, register_date, status, last_update_time, created_at, updated_at) " +
+                "SELECT 'LSV' || lpad(i::text, 14, '0'), upper(substr(md5((i % 1000)::text), 1, 10)), " +
+                "'P' || lpad(i::text, 7, '0'), 'manufacturer-' || (i % 200), 1990 + i % 100, " +
+                "round((i * 7919 % 50000) / 100.0, 2), 400, date '2015-01-01' + (i * 31 % 3650), " +
+                "CASE WHEN i % 200 = 0 THEN 'error' WHEN i % 2 = 0 THEN 'online' ELSE 'offline' END, " +
+                "now(), now(), now() FROM generate_series(1, ?) AS i", VEHICLES);
+        jdbc.execute("ANALYZE vehicles");
+        jdbcTemplate = new NamedParameterJdbcTemplate(jdbc);
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    static Stream<Arguments> combinations() {
+        List<Arguments> combinations = new ArrayList<>();
+        for (int i = 0; i < CRITERIA.size(); i++) {
+            combinations.add(Arguments.of(List.of(CRITERIA.get(i))));
+            for (int j = i + 1; j < CRITERIA.size(); j++) {
+                combinations.add(Arguments.of(List.of(CRITERIA.get(i), CRITERIA.get(j))));
+            }
+        }
+        return combinations.stream();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("combinations")
+    void filterUsesIndex(List<Criterion> criteria) throws IOException {
+        VehicleFilter filter = new VehicleFilter();
+        Set<String> expected = new HashSet<>();
+        for (Criterion criterion : criteria) {
+            criterion.apply().accept(filter);
+            expected.addAll(criterion.indexes());
+        }
+        // 与VehicleRepositoryImpl.estimateCount相同的拼接方式
+        Map<String, Object> parameters = new HashMap<>();
+        StringBuilder sql = new StringBuilder("EXPLAIN (FORMAT JSON) SELECT v.vin FROM vehicles v WHERE 1 = 1");
+        filter.appendConditions(sql, parameters, true);
+        String json = jdbcTemplate.queryForObject(sql.toString(), parameters, String.class);
+        JsonNode plan = objectMapper.readTree(json).get(0).get("Plan");
+
+        List<String> seqScans = new ArrayList<>();
+        Set<String> indexes = new HashSet<>();
+        collect(plan, seqScans, indexes);
+        assertThat(seqScans).as("顺序扫描, 计划: %s", plan).isEmpty();
+        assertThat(indexes).as("使用的索引, 计划: %s", plan).containsAnyElementsOf(expected);
+    }
+
+    private static void collect(JsonNode node, List<String> seqScans, Set<String> indexes) {
+        String type = node.path("Node Type").asText();
+        switch (type) {
+            case "Seq Scan" -> seqScans.add(node.path("Relation Name").asText());
+            case "Index Scan", "Index Only Scan", "Bitmap Index Scan" -> indexes.add(node.path("Index Name").asText());
+            default -> {
+            }
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collect(child, seqScans, indexes);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+// backend/src/test/java/com/example/evcarbonmonitor/service/impl/AnalyticsRollupServiceImplTest.java
+package com.example.evcarbonmonitor.service.impl;
+
+import com.example.evcarbonmonitor.domain.DrivingRecord;
+import com.example.evcarbonmonitor.dto.RollupResult;
+import com.example.evcarbonmonitor.repository.AnalyticsRollupRepository;
+import com.example.evcarbonmonitor.repository.DrivingRecordBatchRepository;
+import com.example.evcarbonmonitor.service.AnalyticsRollupService;
+import com.example.evcarbonmonitor.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 分析汇总的水位线测试，数据库为嵌入式PostgreSQL
+ * 提交较慢的行驶记录写入事务持有较小的ID时，水位线不能越过它，每条记录只累加一次
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "analytics.rollup.enabled=false",
+        "analytics.rollup.write-lock-timeout-ms=200"
+})
+class AnalyticsRollupServiceImplTest extends PostgresIntegrationTest {
+
+    private static final String SLOW_VIN = "LSVROLL0000000001";
+    private static final String FAST_VIN = "LSVROLL0000000002";
+    private static final LocalDate DATE = LocalDate.now().minusDays(1);
+
+    @Autowired
+    private AnalyticsRollupService analyticsRollupService;
+
+    @Autowired
+    private DrivingRecordBatchRepository drivingRecordBatchRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE TABLE driving_records, analytics_rollups");
+        jdbcTemplate.update("DELETE FROM processing_checkpoints WHERE name = 'analytics-rollup'");
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void watermarkDoesNotPassUncommittedWrite() throws Exception {
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        try {
+            // 先分配到较小ID、迟迟不提交的写入
+            Future<?> slowWrite = writer.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                drivingRecordBatchRepository.insert(List.of(record(SLOW_VIN)));
+                written.countDown();
+                try {
+                    commit.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertThat(written.await(10, TimeUnit.SECONDS)).isTrue();
+            // ID较大的记录已提交
+            write(FAST_VIN);
+
+            RollupResult skipped = analyticsRollupService.runIncremental();
+            assertThat(skipped.getToRecordId()).isEqualTo(skipped.getFromRecordId());
+            assertThat(fleetDayRecordCount()).isZero();
+
+            commit.countDown();
+            slowWrite.get(10, TimeUnit.SECONDS);
+            analyticsRollupService.runIncremental();
+            assertThat(fleetDayRecordCount()).isEqualTo(2);
+
+            // 再次执行不重复累加
+            analyticsRollupService.runIncremental();
+            assertThat(fleetDayRecordCount()).isEqualTo(2);
+        } finally {
+            commit.countDown();
+            writer.shutdownNow();
+        }
+    }
+
+    private void write(String vin) {
+        transactionTemplate.executeWithoutResult(status -> drivingRecordBatchRepository.insert(List.of(record(vin))));
+    }
+
+    /**
+     * 全车队当日汇总的记录数
+     */
+    private long fleetDayRecordCount() {
+        Long count = jdbcTemplate.queryForObject("SELECT COALESCE(SUM(record_count), 0) FROM analytics_rollups " +
+                "WHERE granularity = 'day' AND vin = ?", Long.class, AnalyticsRollupRepository.FLEET);
+        return count != null ? count : 0L;
+    }
+
+    private static DrivingRecord record(String vin) {
+        DrivingRecord record = new DrivingRecord();
+        record.setVin(vin);
+        record.setRecordTime(DATE.atTime(10, 0));
+        record.setMileage(new BigDecimal("12.50"));
+        record.setSpeed(new BigDecimal("45.00"));
+        record.setBatteryLevel(80);
+        record.setEnergyConsumption(new BigDecimal("2.10"));
+        record.setLatitude(new BigDecimal("39.909187"));
+        record.setLongitude(new BigDecimal("116.397451"));
+        record.setStatusCode("normal");
+        record.setAbnormal(false);
+        record.setCreatedAt(LocalDateTime.now());
+        return record;
+    }
+}
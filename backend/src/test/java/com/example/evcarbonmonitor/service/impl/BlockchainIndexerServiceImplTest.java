@@ -0,0 +1,187 @@
+// backend/src/test/java/com/example/evcarbonmonitor/service/impl/BlockchainIndexerServiceImplTest.java
+package com.example.evcarbonmonitor.service.impl;
+
+import com.example.evcarbonmonitor.domain.BlockchainTx;
+import com.example.evcarbonmonitor.domain.CarbonRecord;
+import com.example.evcarbonmonitor.dto.BlockchainIndexResult;
+import com.example.evcarbonmonitor.service.BlockchainIndexerService;
+import com.example.evcarbonmonitor.service.BlockchainSubmissionService;
+import com.example.evcarbonmonitor.support.FakeEthereumNode;
+import com.example.evcarbonmonitor.support.PostgresIntegrationTest;
+import com.example.evcarbonmonitor.util.CarbonContractAbi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.TransactionEncoder;
+import org.web3j.protocol.Web3j;
+import org.web3j.utils.Numeric;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 区块链事件索引测试，节点为进程内的FakeEthereumNode，数据库为嵌入式PostgreSQL
+ * 本地记录经上链提交流程打包，另一账户提交本地没有的计算；区块重组后索引撤销离开主链的事件写入，
+ * 交易重新打包后再次索引恢复原状
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "blockchain.submission.enabled=true",
+        "blockchain.submission.private-key=" + BlockchainIndexerServiceImplTest.PRIVATE_KEY,
+        "blockchain.submission.submit-interval-ms=3600000",
+        "blockchain.submission.receipt-poll-interval-ms=3600000",
+        "blockchain.contract-addresses.carbon-calculator=" + BlockchainIndexerServiceImplTest.CARBON_CALCULATOR,
+        "blockchain.contract-addresses.credits-generator=" + BlockchainIndexerServiceImplTest.CREDITS_GENERATOR,
+        "carbon.calculation.enabled=false"
+})
+class BlockchainIndexerServiceImplTest extends PostgresIntegrationTest {
+
+    static final String PRIVATE_KEY = "0xac0974bec39a17e36ba4a6b4d238ff944bacb478cbed5efcae784d7bf4f2ff80";
+    static final String CARBON_CALCULATOR = "0x1111111111111111111111111111111111111111";
+    static final String CREDITS_GENERATOR = "0x2222222222222222222222222222222222222222";
+
+    // 另一个提交方的账户
+    private static final Credentials OTHER =
+            Credentials.create("0x59c6995e998f97a5a0044966f0945389dc9e86dae88c7a8412f4603b6b78690d");
+    private static final String LOCAL_VIN = "LSVAU2180N0000010";
+    private static final String CHAIN_VIN = "LSVAU2180N0000011";
+    private static final LocalDate CALCULATION_DATE = LocalDate.now().minusDays(3);
+
+    @TestConfiguration
+    static class NodeConfig {
+
+        @Bean
+        FakeEthereumNode fakeEthereumNode() {
+            return new FakeEthereumNode();
+        }
+
+        @Bean
+        @Primary
+        Web3j fakeWeb3j(FakeEthereumNode node) {
+            return Web3j.build(node);
+        }
+    }
+
+    @Autowired
+    private BlockchainIndexerService indexerService;
+
+    @Autowired
+    private BlockchainSubmissionService submissionService;
+
+    @Autowired
+    private FakeEthereumNode node;
+
+    @Autowired
+    private Web3j web3j;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE TABLE carbon_records, blockchain_outbox, blockchain_tx, carbon_credits, " +
+                "vehicle_stats, analytics_rollups");
+        jdbcTemplate.update("DELETE FROM processing_checkpoints WHERE name = 'blockchain-indexer'");
+    }
+
+    @Test
+    void reorgRevertsOrphanedEventsAndReindexesThemAfterReplay() throws IOException {
+        jdbcTemplate.update("INSERT INTO carbon_records (vin, calculation_date, mileage, energy_consumption, " +
+                        "carbon_reduction, equivalent_fuel, calculation_method, verification_status, created_at, updated_at) " +
+                        "VALUES (?, ?, 120.125, 15.5, 0, 0, 'standard_v1', ?, now(), now())",
+                LOCAL_VIN, CALCULATION_DATE, CarbonRecord.VERIFICATION_PENDING);
+        submissionService.enqueueSettledRecords();
+
+        // 区块1：本地记录的计算
+        submitAndMine();
+        // 区块2：另一账户提交的计算，本地没有这条记录
+        sendExternalCalculation(CHAIN_VIN);
+        assertThat(node.mine()).isEqualTo(1);
+        // 区块3、4：本地记录的验证和积分
+        submitAndMine();
+        submitAndMine();
+
+        assertThat(indexerService.runIndexer().getEvents()).isEqualTo(4);
+        BigDecimal chainReduction = jdbcTemplate.queryForObject(
+                "SELECT carbon_reduction FROM carbon_records WHERE vin = ?", BigDecimal.class, CHAIN_VIN);
+        assertThat(chainReduction).isPositive();
+        assertThat(rollupReduction(CHAIN_VIN)).isEqualByComparingTo(chainReduction);
+        assertThat(stats(LOCAL_VIN, "carbon_credits")).isPositive();
+        Map<String, Object> indexed = snapshot();
+
+        // 区块2~4离开主链
+        node.reorg(3);
+        BlockchainIndexResult result = indexerService.runIndexer();
+
+        assertThat(result.getDetachedTransactions()).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM blockchain_tx WHERE status = ?", Long.class,
+                BlockchainTx.STATUS_PENDING)).isEqualTo(3);
+        // 补录的记录删除，本地记录的计算仍在主链上，只撤销验证
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM carbon_records WHERE vin = ?", Long.class,
+                CHAIN_VIN)).isZero();
+        assertThat(jdbcTemplate.queryForMap("SELECT verification_status, calculation_id, verification_tx_hash " +
+                "FROM carbon_records WHERE vin = ?", LOCAL_VIN))
+                .containsEntry("verification_status", CarbonRecord.VERIFICATION_SUBMITTED)
+                .containsEntry("verification_tx_hash", null)
+                .extractingByKey("calculation_id").isNotNull();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM carbon_credits", Long.class)).isZero();
+        assertThat(stats(CHAIN_VIN, "total_carbon_reduction")).isEqualByComparingTo("0");
+        assertThat(stats(LOCAL_VIN, "carbon_credits")).isEqualByComparingTo("0");
+        assertThat(rollupReduction(CHAIN_VIN)).isEqualByComparingTo("0");
+        assertThat(rollupReduction("*")).isEqualByComparingTo("0");
+
+        // 交易重新打包后再次索引，结果与重组前相同
+        assertThat(node.mine()).isEqualTo(3);
+        assertThat(indexerService.runIndexer().getEvents()).isEqualTo(4);
+        assertThat(snapshot()).isEqualTo(indexed);
+    }
+
+    private void submitAndMine() {
+        assertThat(submissionService.submitPending()).isEqualTo(1);
+        assertThat(node.mine()).isEqualTo(1);
+        assertThat(submissionService.pollReceipts()).isEqualTo(1);
+    }
+
+    private void sendExternalCalculation(String vin) throws IOException {
+        RawTransaction transaction = RawTransaction.createTransaction(
+                BigInteger.valueOf(node.getTransactionCount(OTHER.getAddress())), BigInteger.ONE,
+                BigInteger.valueOf(500_000), CARBON_CALCULATOR, CarbonContractAbi.encodeCalculateCarbonReduction(
+                        vin, CarbonContractAbi.toContractDate(CALCULATION_DATE), 98_250, 12_750));
+        String signed = Numeric.toHexString(TransactionEncoder.signMessage(transaction, 1337, OTHER));
+        assertThat(web3j.ethSendRawTransaction(signed).send().hasError()).isFalse();
+    }
+
+    /**
+     * 索引写入的各项投影，用于比较重组前后
+     */
+    private Map<String, Object> snapshot() {
+        return jdbcTemplate.queryForMap("SELECT " +
+                "(SELECT string_agg(vin || ':' || verification_status || ':' || carbon_reduction, ',' ORDER BY vin) " +
+                "  FROM carbon_records) AS records, " +
+                "(SELECT string_agg(vin || ':' || credit_amount, ',' ORDER BY vin) FROM carbon_credits) AS credits, " +
+                "(SELECT string_agg(vin || ':' || total_carbon_reduction || ':' || carbon_credits, ',' ORDER BY vin) " +
+                "  FROM vehicle_stats) AS stats, " +
+                "(SELECT string_agg(granularity || ':' || vin || ':' || carbon_reduction, ',' " +
+                "  ORDER BY granularity, vin) FROM analytics_rollups) AS rollups");
+    }
+
+    private BigDecimal stats(String vin, String column) {
+        return jdbcTemplate.queryForObject("SELECT " + column + " FROM vehicle_stats WHERE vin = ?", BigDecimal.class, vin);
+    }
+
+    private BigDecimal rollupReduction(String vin) {
+        return jdbcTemplate.queryForObject("SELECT carbon_reduction FROM analytics_rollups " +
+                "WHERE granularity = 'day' AND vin = ?", BigDecimal.class, vin);
+    }
+}
@@ -0,0 +1,405 @@
+// backend/src/test/java/com/example/evcarbonmonitor/service/impl/BlockchainSubmissionServiceImplTest.java
+package com.example.evcarbonmonitor.service.impl;
+
+import com.example.evcarbonmonitor.domain.BlockchainOutbox;
+import com.example.evcarbonmonitor.domain.BlockchainTx;
+import com.example.evcarbonmonitor.domain.CarbonRecord;
+import com.example.evcarbonmonitor.service.BlockchainSubmissionService;
+import com.example.evcarbonmonitor.support.FakeEthereumNode;
+import com.example.evcarbonmonitor.support.PostgresIntegrationTest;
+import com.example.evcarbonmonitor.util.CarbonCalculator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.TransactionEncoder;
+import org.web3j.protocol.Web3j;
+import org.web3j.utils.Numeric;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 上链提交流程测试，节点为进程内的FakeEthereumNode，数据库为嵌入式PostgreSQL
+ * 定时任务的间隔设为1小时，测试中直接调用入队、提交和回执轮询，每次提交后由测试决定何时打包。
+ * 节点和服务的nonce状态在测试之间保留，各测试结束时交易都已打包，nonce按测试开始时账户的交易数计算
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "blockchain.submission.enabled=true",
+        "blockchain.submission.private-key=" + BlockchainSubmissionServiceImplTest.PRIVATE_KEY,
+        "blockchain.submission.submit-interval-ms=3600000",
+        "blockchain.submission.receipt-poll-interval-ms=3600000",
+        "blockchain.submission.resubmit-after-seconds=60",
+        "blockchain.submission.max-attempts=3",
+        "blockchain.contract-addresses.carbon-calculator=" + BlockchainSubmissionServiceImplTest.CARBON_CALCULATOR,
+        "blockchain.contract-addresses.credits-generator=" + BlockchainSubmissionServiceImplTest.CREDITS_GENERATOR,
+        "carbon.calculation.enabled=false"
+})
+class BlockchainSubmissionServiceImplTest extends PostgresIntegrationTest {
+
+    static final String PRIVATE_KEY = "0xac0974bec39a17e36ba4a6b4d238ff944bacb478cbed5efcae784d7bf4f2ff80";
+    static final String CARBON_CALCULATOR = "0x1111111111111111111111111111111111111111";
+    static final String CREDITS_GENERATOR = "0x2222222222222222222222222222222222222222";
+
+    private static final Credentials CREDENTIALS = Credentials.create(PRIVATE_KEY);
+    private static final LocalDate CALCULATION_DATE = LocalDate.now().minusDays(3);
+
+    @TestConfiguration
+    static class NodeConfig {
+
+        @Bean
+        FakeEthereumNode fakeEthereumNode() {
+            return new FakeEthereumNode();
+        }
+
+        @Bean
+        @Primary
+        Web3j fakeWeb3j(FakeEthereumNode node) {
+            return Web3j.build(node);
+        }
+    }
+
+    @Autowired
+    private BlockchainSubmissionService submissionService;
+
+    @Autowired
+    private FakeEthereumNode node;
+
+    @Autowired
+    private Web3j web3j;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long baseNonce;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE TABLE carbon_records, blockchain_outbox, blockchain_tx, carbon_credits, vehicle_stats");
+        baseNonce = node.getTransactionCount(CREDENTIALS.getAddress());
+    }
+
+    @Test
+    void confirmedCalculationProgressesToVerificationAndCredits() {
+        insertRecords(3);
+
+        assertThat(submissionService.enqueueSettledRecords()).isEqualTo(3);
+        assertThat(verificationStatuses()).containsOnly(CarbonRecord.VERIFICATION_SUBMITTED);
+
+        // 计算
+        assertThat(submissionService.submitPending()).isEqualTo(3);
+        assertThat(node.mine()).isEqualTo(3);
+        assertThat(submissionService.pollReceipts()).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM carbon_records " +
+                "WHERE calculation_id IS NOT NULL AND blockchain_tx_hash IS NOT NULL", Long.class)).isEqualTo(3);
+        assertThat(outboxCount(BlockchainOutbox.OPERATION_VERIFY_CALCULATION, BlockchainOutbox.STATUS_PENDING)).isEqualTo(3);
+
+        // 验证
+        assertThat(submissionService.submitPending()).isEqualTo(3);
+        assertThat(node.mine()).isEqualTo(3);
+        assertThat(submissionService.pollReceipts()).isEqualTo(3);
+        assertThat(verificationStatuses()).containsOnly(CarbonRecord.VERIFICATION_VERIFIED);
+        assertThat(outboxCount(BlockchainOutbox.OPERATION_GENERATE_CREDITS, BlockchainOutbox.STATUS_PENDING)).isEqualTo(3);
+
+        // 生成积分
+        assertThat(submissionService.submitPending()).isEqualTo(3);
+        assertThat(node.mine()).isEqualTo(3);
+        assertThat(submissionService.pollReceipts()).isEqualTo(3);
+
+        assertThat(outboxCount(null, BlockchainOutbox.STATUS_CONFIRMED)).isEqualTo(9);
+        assertThat(jdbcTemplate.queryForList("SELECT DISTINCT status FROM blockchain_tx", String.class))
+                .containsExactly(BlockchainTx.STATUS_CONFIRMED);
+        assertThat(jdbcTemplate.queryForList("SELECT nonce FROM blockchain_outbox ORDER BY nonce", Long.class))
+                .containsExactlyElementsOf(nonces(baseNonce, 9));
+
+        // 积分按合约计算的减排量(克)换算为千克，并累加到车辆统计
+        List<Map<String, Object>> credits = jdbcTemplate.queryForList("SELECT c.credit_amount, r.mileage, r.energy_consumption " +
+                "FROM carbon_credits c JOIN carbon_records r ON r.id = c.carbon_record_id");
+        assertThat(credits).hasSize(3);
+        CarbonCalculator calculator = new CarbonCalculator(
+                CarbonCalculator.DEFAULT_GRID_EMISSION_FACTOR, CarbonCalculator.DEFAULT_TRADITIONAL_VEHICLE_EMISSION_FACTOR);
+        for (Map<String, Object> credit : credits) {
+            long grams = calculator.calculateCarbonReduction(
+                    CarbonCalculator.toThousandths((BigDecimal) credit.get("mileage")),
+                    CarbonCalculator.toThousandths((BigDecimal) credit.get("energy_consumption")));
+            assertThat((BigDecimal) credit.get("credit_amount")).isEqualByComparingTo(CarbonCalculator.fromThousandths(grams));
+        }
+        assertThat(jdbcTemplate.queryForObject("SELECT SUM(carbon_credits) FROM vehicle_stats", BigDecimal.class))
+                .isEqualByComparingTo(jdbcTemplate.queryForObject("SELECT SUM(credit_amount) FROM carbon_credits", BigDecimal.class));
+    }
+
+    @Test
+    void rejectedTransactionReleasesNonceForNextRound() {
+        insertRecords(3);
+        submissionService.enqueueSettledRecords();
+        node.rejectNext("insufficient funds for gas * price + value");
+
+        // 第一笔被拒绝，后两笔已进入交易池，但在空缺的nonce补上之前不会打包
+        assertThat(submissionService.submitPending()).isEqualTo(2);
+        Map<String, Object> rejected = jdbcTemplate.queryForMap(
+                "SELECT id, status, attempts, last_error FROM blockchain_outbox WHERE nonce = ?", baseNonce);
+        assertThat(rejected.get("status")).isEqualTo(BlockchainOutbox.STATUS_PENDING);
+        assertThat(rejected.get("attempts")).isEqualTo(1);
+        assertThat((String) rejected.get("last_error")).contains("insufficient funds");
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM blockchain_tx WHERE tx_hash = " +
+                "(SELECT tx_hash FROM blockchain_outbox WHERE id = ?)", String.class, rejected.get("id")))
+                .isEqualTo(BlockchainTx.STATUS_FAILED);
+        assertThat(node.mine()).isZero();
+
+        // 下一轮重新签名时复用归还的nonce
+        assertThat(submissionService.submitPending()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForMap("SELECT nonce, attempts FROM blockchain_outbox WHERE id = ?", rejected.get("id")))
+                .containsEntry("nonce", baseNonce)
+                .containsEntry("attempts", 2);
+        assertThat(node.mine()).isEqualTo(3);
+        assertThat(submissionService.pollReceipts()).isEqualTo(3);
+        assertThat(outboxCount(BlockchainOutbox.OPERATION_CALCULATE_CARBON_REDUCTION, BlockchainOutbox.STATUS_CONFIRMED))
+                .isEqualTo(3);
+        assertThat(node.getTransactionCount(CREDENTIALS.getAddress())).isEqualTo(baseNonce + 3);
+        drainFollowUps();
+    }
+
+    @Test
+    void repeatedRejectionMarksEntryFailedAndReturnsRecordToPending() {
+        insertRecords(1);
+        submissionService.enqueueSettledRecords();
+        node.rejectNext("rejected 1", "rejected 2", "rejected 3");
+
+        for (int attempt = 0; attempt < 3; attempt++) {
+            assertThat(submissionService.submitPending()).isZero();
+        }
+
+        assertThat(outboxCount(null, BlockchainOutbox.STATUS_FAILED)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT last_error FROM blockchain_outbox", String.class))
+                .isEqualTo("rejected 3");
+        assertThat(verificationStatuses()).containsOnly(CarbonRecord.VERIFICATION_PENDING);
+        assertThat(jdbcTemplate.queryForList("SELECT status FROM blockchain_tx", String.class))
+                .containsOnly(BlockchainTx.STATUS_FAILED);
+        // 被拒绝的交易没有占用nonce
+        assertThat(node.getTransactionCount(CREDENTIALS.getAddress())).isEqualTo(baseNonce);
+    }
+
+    @Test
+    void nonceConflictResyncsWithNode() throws IOException {
+        // 先完成一条记录的上链，服务已与节点同步过nonce
+        insertRecords(1);
+        submissionService.enqueueSettledRecords();
+        drainFollowUps();
+        setUp();
+
+        insertRecords(2);
+        submissionService.enqueueSettledRecords();
+        // 其他进程用同一账户占用了服务将要分配的nonce
+        sendExternalTransaction(baseNonce);
+        node.mine();
+
+        assertThat(submissionService.submitPending()).isEqualTo(1);
+        Map<String, Object> conflicted = jdbcTemplate.queryForMap(
+                "SELECT id, status, last_error FROM blockchain_outbox WHERE nonce = ?", baseNonce);
+        assertThat(conflicted.get("status")).isEqualTo(BlockchainOutbox.STATUS_PENDING);
+        assertThat((String) conflicted.get("last_error")).isEqualTo("nonce too low");
+
+        // 重新同步后从节点的pending交易数继续分配
+        assertThat(submissionService.submitPending()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT nonce FROM blockchain_outbox WHERE id = ?", Long.class,
+                conflicted.get("id"))).isEqualTo(baseNonce + 2);
+        assertThat(node.mine()).isEqualTo(2);
+        assertThat(submissionService.pollReceipts()).isEqualTo(2);
+        assertThat(outboxCount(BlockchainOutbox.OPERATION_CALCULATE_CARBON_REDUCTION, BlockchainOutbox.STATUS_CONFIRMED))
+                .isEqualTo(2);
+        drainFollowUps();
+    }
+
+    @Test
+    void unconfirmedTransactionIsRebroadcastWithSameHash() {
+        insertRecords(2);
+        submissionService.enqueueSettledRecords();
+        assertThat(submissionService.submitPending()).isEqualTo(2);
+        List<String> hashes = jdbcTemplate.queryForList("SELECT tx_hash FROM blockchain_outbox ORDER BY id", String.class);
+        node.dropPendingTransactions();
+
+        // 未到重新广播的时间
+        assertThat(submissionService.pollReceipts()).isZero();
+        assertThat(hashes).allSatisfy(hash -> assertThat(node.getBroadcastCount(hash)).isEqualTo(1));
+
+        jdbcTemplate.update("UPDATE blockchain_outbox SET submitted_at = submitted_at - INTERVAL '1 hour'");
+        assertThat(submissionService.pollReceipts()).isZero();
+        assertThat(hashes).allSatisfy(hash -> assertThat(node.getBroadcastCount(hash)).isEqualTo(2));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM blockchain_outbox " +
+                "WHERE submitted_at > now() - INTERVAL '1 minute'", Long.class)).isEqualTo(2);
+
+        assertThat(node.mine()).isEqualTo(2);
+        assertThat(submissionService.pollReceipts()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForList("SELECT tx_hash FROM blockchain_outbox " +
+                "WHERE status = 'confirmed' ORDER BY id", String.class)).isEqualTo(hashes);
+        drainFollowUps();
+    }
+
+    @Test
+    void minedTransactionReportedAsNonceTooLowIsConfirmedByReceipt() {
+        insertRecords(1);
+        submissionService.enqueueSettledRecords();
+        assertThat(submissionService.submitPending()).isEqualTo(1);
+        String hash = jdbcTemplate.queryForObject("SELECT tx_hash FROM blockchain_outbox", String.class);
+        // 其他测试可能以相同的nonce签过同样的交易，广播次数按增量计算
+        int broadcasts = node.getBroadcastCount(hash);
+        assertThat(node.mine()).isEqualTo(1);
+
+        // 轮询时节点还查不到回执，超时后重新广播，节点报告nonce too low
+        node.withholdReceipts(1);
+        jdbcTemplate.update("UPDATE blockchain_outbox SET submitted_at = submitted_at - INTERVAL '1 hour'");
+        assertThat(submissionService.pollReceipts()).isEqualTo(1);
+
+        // 按原交易哈希查到回执后直接确认，不重新签名
+        assertThat(node.getBroadcastCount(hash)).isEqualTo(broadcasts + 1);
+        assertThat(jdbcTemplate.queryForMap("SELECT status, attempts, tx_hash FROM blockchain_outbox " +
+                        "WHERE operation = ?", BlockchainOutbox.OPERATION_CALCULATE_CARBON_REDUCTION))
+                .containsEntry("status", BlockchainOutbox.STATUS_CONFIRMED)
+                .containsEntry("attempts", 1)
+                .containsEntry("tx_hash", hash);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM carbon_records WHERE calculation_id IS NOT NULL",
+                Long.class)).isEqualTo(1);
+        drainFollowUps();
+        assertThat(node.getTransactionCount(CREDENTIALS.getAddress())).isEqualTo(baseNonce + 3);
+    }
+
+    @Test
+    void receiptQueryErrorDoesNotTriggerRebroadcast() {
+        insertRecords(1);
+        submissionService.enqueueSettledRecords();
+        assertThat(submissionService.submitPending()).isEqualTo(1);
+        String hash = jdbcTemplate.queryForObject("SELECT tx_hash FROM blockchain_outbox", String.class);
+        int broadcasts = node.getBroadcastCount(hash);
+        jdbcTemplate.update("UPDATE blockchain_outbox SET submitted_at = submitted_at - INTERVAL '1 hour'");
+
+        // 查询出错不等于没有回执
+        node.failReceiptQueries(1);
+        assertThat(submissionService.pollReceipts()).isZero();
+        assertThat(node.getBroadcastCount(hash)).isEqualTo(broadcasts);
+        assertThat(outboxCount(null, BlockchainOutbox.STATUS_SUBMITTED)).isEqualTo(1);
+
+        assertThat(node.mine()).isEqualTo(1);
+        assertThat(submissionService.pollReceipts()).isEqualTo(1);
+        drainFollowUps();
+    }
+
+    @Test
+    void exhaustedEntryNonceGapIsFilled() {
+        insertRecords(3);
+        submissionService.enqueueSettledRecords();
+        node.rejectNext("rejected 1");
+        assertThat(submissionService.submitPending()).isEqualTo(2);
+        node.rejectNext("rejected 2");
+        assertThat(submissionService.submitPending()).isZero();
+        node.rejectNext("rejected 3");
+        assertThat(submissionService.submitPending()).isZero();
+        assertThat(outboxCount(null, BlockchainOutbox.STATUS_FAILED)).isEqualTo(1);
+        // 放弃的记录归还的nonce在已广播的两笔之前，两笔都无法打包
+        assertThat(node.mine()).isZero();
+
+        // 没有待签名的记录时用空转账补上空缺
+        assertThat(submissionService.submitPending()).isZero();
+        assertThat(node.mine()).isEqualTo(3);
+        assertThat(submissionService.pollReceipts()).isEqualTo(2);
+
+        while (submissionService.submitPending() > 0) {
+            node.mine();
+            submissionService.pollReceipts();
+        }
+        assertThat(outboxCount(null, BlockchainOutbox.STATUS_CONFIRMED)).isEqualTo(6);
+        assertThat(node.getTransactionCount(CREDENTIALS.getAddress())).isEqualTo(baseNonce + 7);
+    }
+
+    @Test
+    void lostBatchResponseKeepsTransactionsTrackable() {
+        insertRecords(2);
+        submissionService.enqueueSettledRecords();
+        node.dropNextBatchResponse();
+
+        // 节点已收到交易，但广播结果未知
+        assertThat(submissionService.submitPending()).isZero();
+        assertThat(outboxCount(null, BlockchainOutbox.STATUS_SUBMITTED)).isEqualTo(2);
+
+        assertThat(node.mine()).isEqualTo(2);
+        assertThat(submissionService.pollReceipts()).isEqualTo(2);
+        assertThat(outboxCount(BlockchainOutbox.OPERATION_CALCULATE_CARBON_REDUCTION, BlockchainOutbox.STATUS_CONFIRMED))
+                .isEqualTo(2);
+        drainFollowUps();
+    }
+
+    @Test
+    void revertedCalculationRejectsRecord() {
+        insertRecords(1);
+        submissionService.enqueueSettledRecords();
+        node.revertNext(1);
+
+        assertThat(submissionService.submitPending()).isEqualTo(1);
+        assertThat(node.mine()).isEqualTo(1);
+        assertThat(submissionService.pollReceipts()).isEqualTo(1);
+
+        assertThat(outboxCount(null, BlockchainOutbox.STATUS_FAILED)).isEqualTo(1);
+        assertThat(verificationStatuses()).containsOnly(CarbonRecord.VERIFICATION_REJECTED);
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM blockchain_tx", String.class))
+                .isEqualTo(BlockchainTx.STATUS_FAILED);
+        // 不再提交验证
+        assertThat(outboxCount(null, BlockchainOutbox.STATUS_PENDING)).isZero();
+    }
+
+    private void insertRecords(int count) {
+        for (int i = 0; i < count; i++) {
+            jdbcTemplate.update("INSERT INTO carbon_records (vin, calculation_date, mileage, energy_consumption, " +
+                            "carbon_reduction, equivalent_fuel, calculation_method, verification_status, created_at, updated_at) " +
+                            "VALUES (?, ?, ?, ?, 0, 0, 'standard_v1', ?, now(), now())",
+                    String.format("LSVAU2180N%07d", i), CALCULATION_DATE,
+                    new BigDecimal(120 + 37 * i + ".125"), new BigDecimal(15 + 4 * i + ".5"),
+                    CarbonRecord.VERIFICATION_PENDING);
+        }
+    }
+
+    /**
+     * 把自动生成的验证和积分操作提交并确认，测试结束时不留未打包的交易
+     */
+    private void drainFollowUps() {
+        while (submissionService.submitPending() > 0) {
+            node.mine();
+            submissionService.pollReceipts();
+        }
+        assertThat(outboxCount(null, BlockchainOutbox.STATUS_CONFIRMED))
+                .isEqualTo(outboxCount(null, null));
+    }
+
+    private void sendExternalTransaction(long nonce) throws IOException {
+        RawTransaction transaction = RawTransaction.createEtherTransaction(BigInteger.valueOf(nonce),
+                BigInteger.ONE, BigInteger.valueOf(21_000), CARBON_CALCULATOR, BigInteger.ZERO);
+        String signed = Numeric.toHexString(TransactionEncoder.signMessage(transaction, 1337, CREDENTIALS));
+        assertThat(web3j.ethSendRawTransaction(signed).send().hasError()).isFalse();
+    }
+
+    private List<String> verificationStatuses() {
+        return jdbcTemplate.queryForList("SELECT verification_status FROM carbon_records", String.class);
+    }
+
+    private long outboxCount(String operation, String status) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM blockchain_outbox " +
+                        "WHERE (CAST(? AS VARCHAR) IS NULL OR operation = ?) AND (CAST(? AS VARCHAR) IS NULL OR status = ?)",
+                Long.class, operation, operation, status, status);
+        return count != null ? count : 0;
+    }
+
+    private static List<Long> nonces(long from, int count) {
+        return LongStream.range(from, from + count).boxed().toList();
+    }
+}
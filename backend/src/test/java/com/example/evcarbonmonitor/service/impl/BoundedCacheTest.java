@@ -0,0 +1,41 @@
+// backend/src/test/java/com/example/evcarbonmonitor/service/impl/BoundedCacheTest.java
+package com.example.evcarbonmonitor.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 分段缓存测试：总容量不超过maxSize，失效期间读到的旧数据不写回
+ */
+class BoundedCacheTest {
+
+    @Test
+    void sizeStaysWithinMaxSizeAcrossSegments() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>("test", 1000, 60);
+        for (int i = 0; i < 5000; i++) {
+            cache.put(i, "v" + i, cache.stamp());
+        }
+
+        assertThat(cache.stats().getSize()).isLessThanOrEqualTo(1000);
+        assertThat(cache.stats().getEvictions()).isEqualTo(5000 - cache.stats().getSize());
+        // 最近写入的条目仍在缓存中
+        assertThat(cache.get(4999)).isEqualTo("v4999");
+    }
+
+    @Test
+    void putAfterInvalidationIsRejected() {
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 10, 60);
+        long stamp = cache.stamp();
+        cache.invalidate("a");
+
+        assertThat(cache.put("a", "stale", stamp)).isFalse();
+        assertThat(cache.put("b", "fresh", stamp)).isTrue();
+
+        stamp = cache.stamp();
+        cache.invalidateAll();
+        assertThat(cache.put("b", "stale", stamp)).isFalse();
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.stats().getRejectedPuts()).isEqualTo(2);
+    }
+}
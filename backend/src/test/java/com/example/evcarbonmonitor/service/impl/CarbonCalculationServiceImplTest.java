@@ -0,0 +1,132 @@
+// backend/src/test/java/com/example/evcarbonmonitor/service/impl/CarbonCalculationServiceImplTest.java
+package com.example.evcarbonmonitor.service.impl;
+
+import com.example.evcarbonmonitor.domain.DrivingRecord;
+import com.example.evcarbonmonitor.dto.CarbonCalculationResult;
+import com.example.evcarbonmonitor.repository.DrivingRecordBatchRepository;
+import com.example.evcarbonmonitor.service.CarbonCalculationService;
+import com.example.evcarbonmonitor.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 碳减排增量计算的水位线测试，数据库为嵌入式PostgreSQL
+ * 提交较慢的行驶记录写入事务持有较小的ID时，水位线不能越过它
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "carbon.calculation.enabled=false",
+        "carbon.calculation.write-lock-timeout-ms=200"
+})
+class CarbonCalculationServiceImplTest extends PostgresIntegrationTest {
+
+    private static final String SLOW_VIN = "LSVCALC0000000001";
+    private static final String FAST_VIN = "LSVCALC0000000002";
+    private static final LocalDate DATE = LocalDate.now().minusDays(1);
+
+    @Autowired
+    private CarbonCalculationService carbonCalculationService;
+
+    @Autowired
+    private DrivingRecordBatchRepository drivingRecordBatchRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE TABLE driving_records, carbon_records, vehicle_stats");
+        jdbcTemplate.update("DELETE FROM processing_checkpoints WHERE name = 'carbon-calculation'");
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void committedRecordsAreCalculatedInTheNextRun() {
+        write(FAST_VIN);
+
+        CarbonCalculationResult result = carbonCalculationService.runIncremental();
+
+        assertThat(result.getVehicleDays()).isEqualTo(1);
+        assertThat(calculatedVins()).containsExactly(FAST_VIN);
+    }
+
+    @Test
+    void watermarkDoesNotPassUncommittedWrite() throws Exception {
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        try {
+            // 先分配到较小ID、迟迟不提交的写入
+            Future<?> slowWrite = writer.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                drivingRecordBatchRepository.insert(List.of(record(SLOW_VIN)));
+                written.countDown();
+                try {
+                    commit.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertThat(written.await(10, TimeUnit.SECONDS)).isTrue();
+            // ID较大的记录已提交
+            write(FAST_VIN);
+
+            CarbonCalculationResult skipped = carbonCalculationService.runIncremental();
+            assertThat(skipped.getToRecordId()).isEqualTo(skipped.getFromRecordId());
+            assertThat(calculatedVins()).isEmpty();
+
+            commit.countDown();
+            slowWrite.get(10, TimeUnit.SECONDS);
+            CarbonCalculationResult result = carbonCalculationService.runIncremental();
+            assertThat(result.getVehicleDays()).isEqualTo(2);
+            assertThat(calculatedVins()).containsExactlyInAnyOrder(SLOW_VIN, FAST_VIN);
+        } finally {
+            commit.countDown();
+            writer.shutdownNow();
+        }
+    }
+
+    private void write(String vin) {
+        transactionTemplate.executeWithoutResult(status -> drivingRecordBatchRepository.insert(List.of(record(vin))));
+    }
+
+    private List<String> calculatedVins() {
+        return jdbcTemplate.queryForList("SELECT vin FROM carbon_records ORDER BY vin", String.class);
+    }
+
+    private static DrivingRecord record(String vin) {
+        DrivingRecord record = new DrivingRecord();
+        record.setVin(vin);
+        record.setRecordTime(DATE.atTime(10, 0));
+        record.setMileage(new BigDecimal("12.50"));
+        record.setSpeed(new BigDecimal("45.00"));
+        record.setBatteryLevel(80);
+        record.setEnergyConsumption(new BigDecimal("2.10"));
+        record.setLatitude(new BigDecimal("39.909187"));
+        record.setLongitude(new BigDecimal("116.397451"));
+        record.setStatusCode("normal");
+        record.setAbnormal(false);
+        record.setCreatedAt(LocalDateTime.now());
+        return record;
+    }
+}
@@ -0,0 +1,121 @@
+// backend/src/test/java/com/example/evcarbonmonitor/service/impl/LiveEventServiceImplTest.java
+package com.example.evcarbonmonitor.service.impl;
+
+import com.example.evcarbonmonitor.dto.LiveEventDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 实时推送测试，连接用可控的SseEmitter代替，不经过HTTP
+ * 写出线程只有一个，停滞的连接超过写出期限后被摘除，其他连接照常收到事件
+ */
+class LiveEventServiceImplTest {
+
+    private final Deque<SseEmitter> emitters = new ArrayDeque<>();
+    private LiveEventServiceImpl service;
+
+    /**
+     * 与SseEmitter一样写出和关闭互斥，stall后的写出阻塞到release
+     */
+    private static class StallingEmitter extends SseEmitter {
+        private final CountDownLatch stalled = new CountDownLatch(1);
+        private final CountDownLatch released = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private volatile boolean stall;
+
+        @Override
+        public synchronized void send(SseEventBuilder builder) throws IOException {
+            if (stall) {
+                stalled.countDown();
+                try {
+                    released.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IOException("broken pipe");
+            }
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed.countDown();
+        }
+    }
+
+    /**
+     * 记录收到的事件
+     */
+    private static class RecordingEmitter extends SseEmitter {
+        private final CountDownLatch received = new CountDownLatch(1);
+
+        @Override
+        public synchronized void send(SseEventBuilder builder) {
+            if (builder.build().stream().anyMatch(
+                    data -> String.valueOf(data.getData()).contains(LiveEventDTO.TYPE_CREDIT_RECORD))) {
+                received.countDown();
+            }
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        service = new LiveEventServiceImpl(new ObjectMapper().findAndRegisterModules(), 1000, 1) {
+            @Override
+            SseEmitter newEmitter(long timeoutMs) {
+                return emitters.poll();
+            }
+        };
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "maxSubscribers", 10);
+        ReflectionTestUtils.setField(service, "pushIntervalMs", 20L);
+        ReflectionTestUtils.setField(service, "maxPendingPerSubscriber", 1000);
+        ReflectionTestUtils.setField(service, "heartbeatSeconds", 15L);
+        ReflectionTestUtils.setField(service, "connectionTimeoutMs", 60000L);
+        ReflectionTestUtils.setField(service, "retryMs", 3000L);
+        ReflectionTestUtils.setField(service, "writeTimeoutMs", 200L);
+        service.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void stalledSubscriberIsEvictedWithoutBlockingOthers() throws InterruptedException {
+        StallingEmitter stalled = new StallingEmitter();
+        RecordingEmitter healthy = new RecordingEmitter();
+        emitters.add(stalled);
+        emitters.add(healthy);
+        service.subscribe(LiveEventDTO.TYPE_VEHICLE_STATUS, null);
+        service.subscribe(LiveEventDTO.TYPE_CREDIT_RECORD, null);
+
+        // 停滞的连接占住唯一的写出线程
+        stalled.stall = true;
+        service.publish(LiveEventDTO.TYPE_VEHICLE_STATUS, "LSVAU2180N0000001", "status:1", "online");
+        assertThat(stalled.stalled.await(5, TimeUnit.SECONDS)).isTrue();
+
+        service.publish(LiveEventDTO.TYPE_CREDIT_RECORD, "LSVAU2180N0000001", "credit:1", "1.00");
+        assertThat(healthy.received.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(service.getStats().getStalledDisconnects()).isEqualTo(1);
+        assertThat(service.getStats().getSubscribers()).isEqualTo(1);
+        // 写出仍阻塞时不关闭连接
+        assertThat(stalled.completed.getCount()).isEqualTo(1);
+
+        // 阻塞的写出返回后由写出线程关闭连接
+        stalled.released.countDown();
+        assertThat(stalled.completed.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+}
@@ -0,0 +1,118 @@
+// backend/src/test/java/com/example/evcarbonmonitor/service/impl/NonceManagerTest.java
+package com.example.evcarbonmonitor.service.impl;
+
+import com.example.evcarbonmonitor.support.FakeEthereumNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.TransactionEncoder;
+import org.web3j.protocol.Web3j;
+import org.web3j.utils.Numeric;
+
+import java.io.IOException;
+import java.math.BigInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NonceManagerTest {
+
+    private static final Credentials CREDENTIALS =
+            Credentials.create("0x59c6995e998f97a5a0044966f0945389dc9e86dae88c7a8412f4603b6b78690d");
+
+    private FakeEthereumNode node;
+    private Web3j web3j;
+    private NonceManager nonceManager;
+
+    @BeforeEach
+    void setUp() {
+        node = new FakeEthereumNode();
+        web3j = Web3j.build(node);
+        nonceManager = new NonceManager(web3j, CREDENTIALS.getAddress());
+    }
+
+    @Test
+    void firstAcquireSyncsWithPendingCountThenIncrementsLocally() throws IOException {
+        sendTransaction(0);
+        sendTransaction(1);
+        node.mine();
+        // 交易池中未打包的交易也计入
+        sendTransaction(2);
+
+        assertThat(nonceManager.acquire()).isEqualTo(3);
+        assertThat(nonceManager.acquire()).isEqualTo(4);
+        assertThat(nonceManager.acquire()).isEqualTo(5);
+    }
+
+    @Test
+    void releasedNoncesAreReusedSmallestFirst() throws IOException {
+        for (int i = 0; i < 4; i++) {
+            nonceManager.acquire();
+        }
+        nonceManager.release(2);
+        nonceManager.release(1);
+
+        assertThat(nonceManager.acquire()).isEqualTo(1);
+        assertThat(nonceManager.acquire()).isEqualTo(2);
+        assertThat(nonceManager.acquire()).isEqualTo(4);
+    }
+
+    @Test
+    void releasingTrailingNoncesLeavesNoGap() throws IOException {
+        for (int i = 0; i < 3; i++) {
+            nonceManager.acquire();
+        }
+        nonceManager.release(1);
+
+        // 2之后没有已分配的nonce，连同之前归还的1一起回退
+        nonceManager.release(2);
+        assertThat(nonceManager.pollReleased()).isNull();
+        assertThat(nonceManager.acquire()).isEqualTo(1);
+    }
+
+    @Test
+    void pollReleasedTakesGapOutOfReuse() throws IOException {
+        for (int i = 0; i < 3; i++) {
+            nonceManager.acquire();
+        }
+        nonceManager.release(0);
+
+        assertThat(nonceManager.pollReleased()).isEqualTo(0);
+        assertThat(nonceManager.pollReleased()).isNull();
+        assertThat(nonceManager.acquire()).isEqualTo(3);
+    }
+
+    @Test
+    void releaseIgnoresNoncesNotYetAllocated() throws IOException {
+        // 尚未与节点同步
+        nonceManager.release(0);
+        assertThat(nonceManager.acquire()).isEqualTo(0);
+
+        nonceManager.release(5);
+        assertThat(nonceManager.acquire()).isEqualTo(1);
+    }
+
+    @Test
+    void resetDropsReleasedNoncesAndResyncsWithNode() throws IOException {
+        nonceManager.acquire();
+        nonceManager.acquire();
+        nonceManager.release(0);
+        // 其他进程用同一账户发出了nonce 0~2的交易
+        sendTransaction(0);
+        sendTransaction(1);
+        sendTransaction(2);
+        node.mine();
+
+        nonceManager.reset();
+
+        assertThat(nonceManager.acquire()).isEqualTo(3);
+        assertThat(nonceManager.acquire()).isEqualTo(4);
+    }
+
+    private void sendTransaction(long nonce) throws IOException {
+        RawTransaction transaction = RawTransaction.createEtherTransaction(BigInteger.valueOf(nonce),
+                BigInteger.ONE, BigInteger.valueOf(21_000), "0x0000000000000000000000000000000000000001", BigInteger.ONE);
+        String signed = Numeric.toHexString(TransactionEncoder.signMessage(transaction, 1337, CREDENTIALS));
+        assertThat(web3j.ethSendRawTransaction(signed).send().hasError()).isFalse();
+    }
+}
@@ -0,0 +1,112 @@
+// backend/src/test/java/com/example/evcarbonmonitor/service/impl/TelemetryIngestServiceImplTest.java
+package com.example.evcarbonmonitor.service.impl;
+
+import com.example.evcarbonmonitor.dto.DrivingDataDTO;
+import com.example.evcarbonmonitor.dto.TelemetryIngestResponse;
+import com.example.evcarbonmonitor.exception.ApiException;
+import com.example.evcarbonmonitor.service.TelemetryIngestService;
+import com.example.evcarbonmonitor.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 行驶数据接收测试，数据库为嵌入式PostgreSQL
+ * 超出列精度的数据在接收时拒绝；写入时出错的单条数据转入死信表，不影响同批其他数据
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class TelemetryIngestServiceImplTest extends PostgresIntegrationTest {
+
+    private static final String GOOD_VIN = "LSVTELE0000000001";
+    private static final String FULL_VIN = "LSVTELE0000000002";
+
+    @Autowired
+    private TelemetryIngestService telemetryIngestService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE TABLE driving_records, vehicle_stats, telemetry_dead_letters");
+        jdbcTemplate.update("DELETE FROM vehicles WHERE vin IN (?, ?)", GOOD_VIN, FULL_VIN);
+        for (String vin : List.of(GOOD_VIN, FULL_VIN)) {
+            jdbcTemplate.update("INSERT INTO vehicles (vin, model, license_plate, manufacturer, production_year, " +
+                    "battery_capacity, max_range, register_date, status, last_update_time, created_at, updated_at) " +
+                    "VALUES (?, 'model', ?, 'manufacturer', 2024, 60, 500, current_date, 'online', now(), now(), now())",
+                    vin, "P" + vin.substring(12));
+        }
+    }
+
+    @Test
+    void valuesBeyondColumnPrecisionAreRejected() throws InterruptedException {
+        DrivingDataDTO overflow = point(GOOD_VIN, "99999999.995");
+
+        TelemetryIngestResponse response = telemetryIngestService.ingest(List.of(point(GOOD_VIN, "99999999.99"), overflow));
+
+        assertThat(response.getAccepted()).isEqualTo(1);
+        assertThat(response.getRejected()).isEqualTo(1);
+        assertThat(response.getFailures().get(0).getReason()).isEqualTo("行驶里程超出范围");
+        assertThatThrownBy(() -> telemetryIngestService.ingestSingle(GOOD_VIN, point(GOOD_VIN, "1E+8")))
+                .isInstanceOf(ApiException.class)
+                .hasMessage("行驶里程超出范围");
+
+        // 边界值可以写入
+        awaitDrivingRecords(1);
+        assertThat(count("telemetry_dead_letters")).isZero();
+    }
+
+    @Test
+    void failedPointIsDeadLetteredWithoutDroppingTheBatch() throws InterruptedException {
+        // 累计里程已接近vehicle_stats的上限，这辆车的数据点累加统计时溢出
+        jdbcTemplate.update("INSERT INTO vehicle_stats (vin, total_mileage, total_energy, total_carbon_reduction, " +
+                "carbon_credits, updated_at) VALUES (?, 99999999999999.00, 0, 0, 0, now())", FULL_VIN);
+
+        TelemetryIngestResponse response = telemetryIngestService.ingest(List.of(
+                point(GOOD_VIN, "10.00"), point(FULL_VIN, "10.00"), point(GOOD_VIN, "20.00")));
+        assertThat(response.getAccepted()).isEqualTo(3);
+
+        awaitDrivingRecords(2);
+        assertThat(jdbcTemplate.queryForList("SELECT vin FROM telemetry_dead_letters", String.class))
+                .containsExactly(FULL_VIN);
+        assertThat(jdbcTemplate.queryForList("SELECT vin FROM driving_records", String.class))
+                .containsExactly(GOOD_VIN, GOOD_VIN);
+        assertThat(jdbcTemplate.queryForObject("SELECT total_mileage FROM vehicle_stats WHERE vin = ?",
+                BigDecimal.class, GOOD_VIN)).isEqualByComparingTo("30.00");
+    }
+
+    /**
+     * 等待写入线程写完，坏数据在好数据之前转入死信表
+     */
+    private void awaitDrivingRecords(long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (count("driving_records") < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+    }
+
+    private long count(String table) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+        return count != null ? count : 0L;
+    }
+
+    private static DrivingDataDTO point(String vin, String mileage) {
+        DrivingDataDTO point = new DrivingDataDTO();
+        point.setVin(vin);
+        point.setTimestamp(LocalDate.now().minusDays(1).atTime(10, 0).toString());
+        point.setMileage(new BigDecimal(mileage));
+        point.setEnergyConsumption(new BigDecimal("2.10"));
+        point.setSpeed(new BigDecimal("45.00"));
+        point.setBatteryLevel(80);
+        return point;
+    }
+}
@@ -0,0 +1,90 @@
+// backend/src/test/java/com/example/evcarbonmonitor/service/impl/VehicleImportEngineTest.java
+package com.example.evcarbonmonitor.service.impl;
+
+import com.example.evcarbonmonitor.dto.BatchImportResponse;
+import com.example.evcarbonmonitor.support.PostgresIntegrationTest;
+import com.example.evcarbonmonitor.util.CsvUtil;
+import com.example.evcarbonmonitor.util.VehicleCsvReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 批量导入引擎的测试，数据库为嵌入式PostgreSQL
+ * 监听器在每块的写入事务中保存进度，保存失败时本块的写入一同回滚
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "vehicle.import.chunk-size=2")
+class VehicleImportEngineTest extends PostgresIntegrationTest {
+
+    private static final String VIN_PREFIX = "LSVCHNK00000000";
+
+    @Autowired
+    private VehicleImportEngine vehicleImportEngine;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM vehicles WHERE vin LIKE ?", VIN_PREFIX + "%");
+    }
+
+    @Test
+    void progressIsSavedInTheChunkTransaction() throws IOException {
+        List<Boolean> inTransaction = new ArrayList<>();
+        List<Long> visibleVehicles = new ArrayList<>();
+
+        try (VehicleCsvReader reader = reader(4)) {
+            assertThatThrownBy(() -> vehicleImportEngine.importVehicles(reader, new VehicleImportEngine.ImportListener() {
+                @Override
+                public boolean isCancelled() {
+                    return false;
+                }
+
+                @Override
+                public void onChunkCompleted(int rows, int accepted, List<BatchImportResponse.FailureRecord> failures) {
+                    inTransaction.add(TransactionSynchronizationManager.isActualTransactionActive());
+                    visibleVehicles.add(countVehicles());
+                    if (visibleVehicles.size() == 2) {
+                        // 模拟第二块保存进度失败
+                        throw new IllegalStateException("保存进度失败");
+                    }
+                }
+            })).hasMessage("保存进度失败");
+        }
+
+        assertThat(inTransaction).containsExactly(true, true);
+        // 回调时本块的写入在同一事务中可见
+        assertThat(visibleVehicles).containsExactly(2L, 4L);
+        // 第二块随进度一起回滚，恢复时从第三行继续不会把已写入的记录当作重复
+        assertThat(countVehicles()).isEqualTo(2);
+    }
+
+    private long countVehicles() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM vehicles WHERE vin LIKE ?", Long.class,
+                VIN_PREFIX + "%");
+        return count != null ? count : 0L;
+    }
+
+    private static VehicleCsvReader reader(int rows) throws IOException {
+        StringBuilder csv = new StringBuilder(
+                "vin,model,licensePlate,manufacturer,productionYear,batteryCapacity,maxRange,registerDate,status\n");
+        for (int i = 1; i <= rows; i++) {
+            csv.append(VIN_PREFIX).append(String.format("%02d", i)).append(",Model,京C0000").append(i)
+                    .append(",BYD,2022,60.5,500,2022-06-15,online\n");
+        }
+        return CsvUtil.openVehicleReader(new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+}
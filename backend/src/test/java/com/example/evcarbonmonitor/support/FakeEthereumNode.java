@@ -0,0 +1,490 @@
+// backend/src/test/java/com/example/evcarbonmonitor/support/FakeEthereumNode.java
+package com.example.evcarbonmonitor.support;
+
+import com.example.evcarbonmonitor.util.CarbonCalculator;
+import com.example.evcarbonmonitor.util.CarbonContractAbi;
+import io.reactivex.Flowable;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.FunctionReturnDecoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.Utils;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Bytes32;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.crypto.Hash;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.SignedRawTransaction;
+import org.web3j.crypto.TransactionDecoder;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.request.EthFilter;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.EthLog;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.protocol.websocket.events.Notification;
+import org.web3j.utils.Numeric;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.SignatureException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 进程内的以太坊节点替身，实现Web3jService，不经过HTTP
+ * 支持上链提交用到的eth_getTransactionCount、eth_sendRawTransaction和eth_getTransactionReceipt，
+ * 以及事件索引用到的eth_blockNumber、eth_getLogs和eth_getBlockByNumber(均含批量请求)。
+ * 交易按发送账户和nonce进入交易池，调用mine()时按nonce连续打包，每笔交易一个区块；打包时模拟CarbonCalculator和
+ * CreditsGenerator合约，在回执中写入与合约相同编码的事件日志。reorg()模拟区块重组。
+ * 与geth一致，重新广播已打包的交易时报告nonce too low。
+ * 可以预设下几笔交易被拒绝、下一次批量请求的响应丢失、交易池被清空、交易执行失败和回执查询出错或暂时查不到，
+ * 用于测试各条异常路径
+ */
+public class FakeEthereumNode implements Web3jService {
+
+    private static final int ERROR_CODE = -32000;
+
+    private static final String CALCULATE_SELECTOR = selector(new Function("calculateCarbonReduction",
+            Arrays.asList(new Utf8String(""), Uint256.DEFAULT, Uint256.DEFAULT, Uint256.DEFAULT), Collections.emptyList()));
+    private static final String VERIFY_SELECTOR = selector(new Function("verifyCalculation",
+            Collections.singletonList(Bytes32.DEFAULT), Collections.emptyList()));
+    private static final String GENERATE_SELECTOR = selector(new Function("generateCredits",
+            Collections.singletonList(Bytes32.DEFAULT), Collections.emptyList()));
+
+    private final CarbonCalculator calculator = new CarbonCalculator(
+            CarbonCalculator.DEFAULT_GRID_EMISSION_FACTOR, CarbonCalculator.DEFAULT_TRADITIONAL_VEHICLE_EMISSION_FACTOR);
+
+    // 账户已打包的交易数
+    private final Map<String, Long> accountNonces = new HashMap<>();
+    // 交易池：账户 -> nonce -> 交易
+    private final Map<String, TreeMap<Long, PendingTransaction>> pool = new HashMap<>();
+    private final Map<String, TransactionReceipt> receipts = new HashMap<>();
+    private final Map<String, Calculation> calculations = new HashMap<>();
+    private final Map<String, Integer> broadcasts = new HashMap<>();
+    private final Deque<String> rejections = new ArrayDeque<>();
+    // 主链上的区块，下标为区块号，0为创世区块
+    private final List<Block> chain = new ArrayList<>();
+    private boolean dropNextBatchResponse;
+    private int revertNext;
+    private int failReceiptQueries;
+    private int withholdReceipts;
+    // 重组次数，参与计算区块哈希，重组后同一高度的区块哈希不同
+    private int forks;
+
+    private record PendingTransaction(String hash, String from, RawTransaction transaction) {
+    }
+
+    private record Block(long number, String hash, long timestamp, List<PendingTransaction> transactions) {
+    }
+
+    private static final class Calculation {
+        private final String vin;
+        private final long carbonReduction;
+        private boolean verified;
+        private boolean credited;
+
+        private Calculation(String vin, long carbonReduction) {
+            this.vin = vin;
+            this.carbonReduction = carbonReduction;
+        }
+    }
+
+    public FakeEthereumNode() {
+        chain.add(newBlock(Collections.emptyList()));
+    }
+
+    /**
+     * 之后按顺序收到的交易依次以给定的错误信息被拒绝
+     */
+    public synchronized void rejectNext(String... messages) {
+        rejections.addAll(Arrays.asList(messages));
+    }
+
+    /**
+     * 下一次批量请求照常处理，但响应丢失，调用方收到IOException
+     */
+    public synchronized void dropNextBatchResponse() {
+        dropNextBatchResponse = true;
+    }
+
+    /**
+     * 之后打包的count笔交易执行失败(回执status为0x0)
+     */
+    public synchronized void revertNext(int count) {
+        revertNext += count;
+    }
+
+    /**
+     * 之后的count次回执查询返回错误
+     */
+    public synchronized void failReceiptQueries(int count) {
+        failReceiptQueries += count;
+    }
+
+    /**
+     * 之后的count次回执查询查不到回执，模拟节点尚未索引到已打包的交易
+     */
+    public synchronized void withholdReceipts(int count) {
+        withholdReceipts += count;
+    }
+
+    /**
+     * 清空交易池，模拟节点重启后丢失未打包的交易
+     */
+    public synchronized void dropPendingTransactions() {
+        pool.clear();
+    }
+
+    /**
+     * 按nonce连续打包交易池中的交易
+     *
+     * @return 打包的交易数
+     */
+    public synchronized int mine() {
+        int mined = 0;
+        for (Map.Entry<String, TreeMap<Long, PendingTransaction>> account : pool.entrySet()) {
+            long nonce = accountNonces.getOrDefault(account.getKey(), 0L);
+            PendingTransaction pending;
+            while ((pending = account.getValue().remove(nonce)) != null) {
+                Block block = newBlock(Collections.singletonList(pending));
+                receipts.put(pending.hash(), execute(pending, block));
+                chain.add(block);
+                nonce++;
+                mined++;
+            }
+            accountNonces.put(account.getKey(), nonce);
+        }
+        return mined;
+    }
+
+    /**
+     * 区块重组：最近depth个区块离开主链，其中的交易回到交易池等待重新打包，
+     * 再在分叉点之后接上depth+1个空区块，新链比原链长
+     */
+    public synchronized void reorg(int depth) {
+        forks++;
+        List<Block> orphaned = new ArrayList<>(chain.subList(chain.size() - depth, chain.size()));
+        chain.subList(chain.size() - depth, chain.size()).clear();
+        for (Block block : orphaned) {
+            for (PendingTransaction pending : block.transactions()) {
+                long nonce = pending.transaction().getNonce().longValueExact();
+                receipts.remove(pending.hash());
+                pool.computeIfAbsent(pending.from(), k -> new TreeMap<>()).put(nonce, pending);
+                accountNonces.merge(pending.from(), nonce, Math::min);
+            }
+        }
+        // 按主链上剩余的交易重建合约状态
+        calculations.clear();
+        for (Block block : chain) {
+            for (PendingTransaction pending : block.transactions()) {
+                if (receipts.get(pending.hash()).isStatusOK()) {
+                    call(pending.transaction(), pending.hash(), block, new ArrayList<>());
+                }
+            }
+        }
+        for (int i = 0; i <= depth; i++) {
+            chain.add(newBlock(Collections.emptyList()));
+        }
+    }
+
+    public synchronized long getBlockNumber() {
+        return chain.size() - 1;
+    }
+
+    public synchronized long getTransactionCount(String address) {
+        return accountNonces.getOrDefault(address.toLowerCase(), 0L);
+    }
+
+    /**
+     * 同一笔交易(按哈希)被广播的次数，包括被拒绝的广播
+     */
+    public synchronized int getBroadcastCount(String txHash) {
+        return broadcasts.getOrDefault(txHash, 0);
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public synchronized <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        T response = newResponse(responseType);
+        String method = request.getMethod();
+        List<?> params = request.getParams();
+        switch (method) {
+            case "eth_getTransactionCount" -> setResult(response,
+                    Numeric.encodeQuantity(BigInteger.valueOf(transactionCount((String) params.get(0), (String) params.get(1)))));
+            case "eth_sendRawTransaction" -> sendRawTransaction((String) params.get(0), response);
+            case "eth_getTransactionReceipt" -> transactionReceipt((String) params.get(0), response);
+            case "eth_blockNumber" -> setResult(response, Numeric.encodeQuantity(BigInteger.valueOf(getBlockNumber())));
+            case "eth_getBlockByNumber" -> setResult(response, block((String) params.get(0)));
+            case "eth_getLogs" -> setResult(response, logs((EthFilter) params.get(0)));
+            default -> response.setError(new Response.Error(ERROR_CODE, "the method " + method + " does not exist"));
+        }
+        return response;
+    }
+
+    @Override
+    public synchronized BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        List<Response<?>> responses = new ArrayList<>(batchRequest.getRequests().size());
+        for (Request<?, ? extends Response<?>> request : batchRequest.getRequests()) {
+            responses.add(send(request, request.getResponseType()));
+        }
+        if (dropNextBatchResponse) {
+            dropNextBatchResponse = false;
+            throw new IOException("connection reset");
+        }
+        return new BatchResponse(batchRequest.getRequests(), responses);
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public <T extends Response> CompletableFuture<T> sendAsync(Request request, Class<T> responseType) {
+        try {
+            return CompletableFuture.completedFuture(send(request, responseType));
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        try {
+            return CompletableFuture.completedFuture(sendBatch(batchRequest));
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public <T extends Notification<?>> Flowable<T> subscribe(Request request, String unsubscribeMethod,
+                                                             Class<T> responseType) {
+        throw new UnsupportedOperationException("不支持订阅");
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private long transactionCount(String address, String block) {
+        String account = address.toLowerCase();
+        long nonce = accountNonces.getOrDefault(account, 0L);
+        if ("pending".equals(block)) {
+            // 与geth一致：已打包的交易数加上交易池中从该值起连续的nonce数
+            TreeMap<Long, PendingTransaction> pending = pool.getOrDefault(account, new TreeMap<>());
+            while (pending.containsKey(nonce)) {
+                nonce++;
+            }
+        }
+        return nonce;
+    }
+
+    private EthBlock.Block block(String number) {
+        long blockNumber = Numeric.decodeQuantity(number).longValueExact();
+        if (blockNumber >= chain.size()) {
+            return null;
+        }
+        Block block = chain.get((int) blockNumber);
+        EthBlock.Block result = new EthBlock.Block();
+        result.setNumber(Numeric.encodeQuantity(BigInteger.valueOf(block.number())));
+        result.setHash(block.hash());
+        result.setTimestamp(Numeric.encodeQuantity(BigInteger.valueOf(block.timestamp())));
+        return result;
+    }
+
+    private List<EthLog.LogResult> logs(EthFilter filter) {
+        long from = Numeric.decodeQuantity(filter.getFromBlock().getValue()).longValueExact();
+        long to = Math.min(Numeric.decodeQuantity(filter.getToBlock().getValue()).longValueExact(), getBlockNumber());
+        List<String> addresses = filter.getAddress().stream().map(String::toLowerCase).toList();
+        List<EthLog.LogResult> logs = new ArrayList<>();
+        for (long number = from; number <= to; number++) {
+            for (PendingTransaction pending : chain.get((int) number).transactions()) {
+                for (Log log : receipts.get(pending.hash()).getLogs()) {
+                    if (addresses.contains(log.getAddress().toLowerCase())) {
+                        logs.add((EthLog.LogObject) log);
+                    }
+                }
+            }
+        }
+        return logs;
+    }
+
+    private Block newBlock(List<PendingTransaction> transactions) {
+        long number = chain.size();
+        return new Block(number, Hash.sha3(Numeric.encodeQuantity(BigInteger.valueOf(number)) + ":" + forks),
+                Instant.now().getEpochSecond(), transactions);
+    }
+
+    private void transactionReceipt(String hash, Response<?> response) {
+        if (failReceiptQueries > 0) {
+            failReceiptQueries--;
+            response.setError(new Response.Error(ERROR_CODE, "header not found"));
+        } else if (withholdReceipts > 0) {
+            withholdReceipts--;
+            setResult(response, null);
+        } else {
+            setResult(response, receipts.get(hash));
+        }
+    }
+
+    private void sendRawTransaction(String signedHex, Response<?> response) {
+        String hash = Hash.sha3(signedHex);
+        broadcasts.merge(hash, 1, Integer::sum);
+        if (!rejections.isEmpty()) {
+            response.setError(new Response.Error(ERROR_CODE, rejections.poll()));
+            return;
+        }
+        SignedRawTransaction transaction = (SignedRawTransaction) TransactionDecoder.decode(signedHex);
+        String from;
+        try {
+            from = transaction.getFrom().toLowerCase();
+        } catch (SignatureException e) {
+            response.setError(new Response.Error(ERROR_CODE, "invalid sender"));
+            return;
+        }
+        long nonce = transaction.getNonce().longValueExact();
+        TreeMap<Long, PendingTransaction> pending = pool.computeIfAbsent(from, k -> new TreeMap<>());
+        if (pending.containsKey(nonce) && pending.get(nonce).hash().equals(hash)) {
+            response.setError(new Response.Error(ERROR_CODE, "already known"));
+        } else if (nonce < accountNonces.getOrDefault(from, 0L)) {
+            response.setError(new Response.Error(ERROR_CODE, "nonce too low"));
+        } else if (pending.containsKey(nonce)) {
+            response.setError(new Response.Error(ERROR_CODE, "replacement transaction underpriced"));
+        } else {
+            pending.put(nonce, new PendingTransaction(hash, from, transaction));
+            setResult(response, hash);
+        }
+    }
+
+    /**
+     * 按调用的函数模拟合约执行，生成回执
+     */
+    private TransactionReceipt execute(PendingTransaction pending, Block block) {
+        RawTransaction transaction = pending.transaction();
+        TransactionReceipt receipt = new TransactionReceipt();
+        receipt.setTransactionHash(pending.hash());
+        receipt.setTransactionIndex("0x0");
+        receipt.setBlockNumber(Numeric.encodeQuantity(BigInteger.valueOf(block.number())));
+        receipt.setBlockHash(block.hash());
+        receipt.setGasUsed("0x5208");
+        receipt.setCumulativeGasUsed("0x5208");
+        receipt.setFrom(pending.from());
+        receipt.setTo(transaction.getTo());
+
+        List<Log> logs = new ArrayList<>();
+        boolean success = revertNext == 0 && call(transaction, pending.hash(), block, logs);
+        if (revertNext > 0) {
+            revertNext--;
+        }
+        receipt.setStatus(success ? "0x1" : "0x0");
+        receipt.setLogs(success ? logs : Collections.emptyList());
+        return receipt;
+    }
+
+    private boolean call(RawTransaction transaction, String txHash, Block block, List<Log> logs) {
+        String data = Numeric.prependHexPrefix(transaction.getData());
+        if (data.length() < 10) {
+            // 普通转账
+            return true;
+        }
+        String selector = data.substring(0, 10);
+        String arguments = data.substring(10);
+        String contract = transaction.getTo();
+
+        if (CALCULATE_SELECTOR.equals(selector)) {
+            List<Type<?>> input = decode(arguments, Arrays.asList(new TypeReference<Utf8String>() {},
+                    new TypeReference<Uint256>() {}, new TypeReference<Uint256>() {}, new TypeReference<Uint256>() {}));
+            String vin = ((Utf8String) input.get(0)).getValue();
+            Uint256 date = (Uint256) input.get(1);
+            Uint256 mileage = (Uint256) input.get(2);
+            Uint256 energy = (Uint256) input.get(3);
+            long carbonReduction = calculator.calculateCarbonReduction(
+                    mileage.getValue().longValueExact(), energy.getValue().longValueExact());
+            byte[] calculationId = Hash.sha3((vin + ':' + date.getValue()).getBytes());
+            calculations.put(Numeric.toHexString(calculationId), new Calculation(vin, carbonReduction));
+            logs.add(log(contract, txHash, block, CarbonContractAbi.CARBON_REDUCTION_CALCULATED_TOPIC,
+                    FunctionEncoder.encodeConstructor(Arrays.asList(new Bytes32(calculationId), new Utf8String(vin),
+                            date, mileage, energy, new Uint256(carbonReduction)))));
+            return true;
+        }
+
+        if (VERIFY_SELECTOR.equals(selector) || GENERATE_SELECTOR.equals(selector)) {
+            Bytes32 calculationId = (Bytes32) decode(arguments,
+                    Collections.singletonList(new TypeReference<Bytes32>() {})).get(0);
+            Calculation calculation = calculations.get(Numeric.toHexString(calculationId.getValue()));
+            if (calculation == null) {
+                return false;
+            }
+            if (VERIFY_SELECTOR.equals(selector)) {
+                calculation.verified = true;
+                logs.add(log(contract, txHash, block, CarbonContractAbi.CALCULATION_VERIFIED_TOPIC,
+                        FunctionEncoder.encodeConstructor(Collections.singletonList(calculationId))));
+                return true;
+            }
+            if (!calculation.verified || calculation.credited) {
+                return false;
+            }
+            calculation.credited = true;
+            // 积分数量与减排量相同(克)，时间戳取区块号
+            logs.add(log(contract, txHash, block, CarbonContractAbi.CREDITS_GENERATED_TOPIC,
+                    FunctionEncoder.encodeConstructor(Arrays.asList(new Bytes32(Hash.sha3(calculationId.getValue())),
+                            calculationId, new Utf8String(calculation.vin), new Uint256(calculation.carbonReduction),
+                            new Uint256(block.number())))));
+            return true;
+        }
+        return false;
+    }
+
+    private Log log(String contract, String txHash, Block block, String topic, String data) {
+        EthLog.LogObject log = new EthLog.LogObject();
+        log.setAddress(contract);
+        log.setTopics(Collections.singletonList(topic));
+        log.setData(Numeric.prependHexPrefix(data));
+        log.setTransactionHash(txHash);
+        log.setBlockNumber(Numeric.encodeQuantity(BigInteger.valueOf(block.number())));
+        log.setBlockHash(block.hash());
+        log.setLogIndex("0x0");
+        return log;
+    }
+
+    private static List<Type<?>> decode(String data, List<TypeReference<?>> parameters) {
+        List<Type<?>> values = new ArrayList<>(parameters.size());
+        for (Type<?> value : FunctionReturnDecoder.decode(data, Utils.convert(parameters))) {
+            values.add(value);
+        }
+        return values;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void setResult(Response<?> response, T result) {
+        ((Response<T>) response).setResult(result);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static <T extends Response> T newResponse(Class<T> responseType) throws IOException {
+        try {
+            T response = responseType.getDeclaredConstructor().newInstance();
+            response.setJsonrpc("2.0");
+            return response;
+        } catch (ReflectiveOperationException e) {
+            throw new IOException("无法创建响应对象: " + responseType.getName(), e);
+        }
+    }
+
+    private static String selector(Function function) {
+        return FunctionEncoder.encode(function).substring(0, 10);
+    }
+}
@@ -0,0 +1,38 @@
+// backend/src/test/java/com/example/evcarbonmonitor/support/PostgresIntegrationTest.java
+package com.example.evcarbonmonitor.support;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * 启动完整应用上下文的集成测试基类，数据源指向嵌入式PostgreSQL，启动时由Flyway执行全部迁移
+ * 同一JVM中的测试共用一个数据库实例，进程退出时关闭；测试之间需要自行清理用到的表
+ */
+public abstract class PostgresIntegrationTest {
+
+    private static EmbeddedPostgres postgres;
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        EmbeddedPostgres database = database();
+        registry.add("spring.datasource.url",
+                () -> "jdbc:postgresql://localhost:" + database.getPort() + "/postgres?reWriteBatchedInserts=true");
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    private static synchronized EmbeddedPostgres database() {
+        if (postgres == null) {
+            try {
+                postgres = EmbeddedPostgres.start();
+            } catch (IOException e) {
+                throw new UncheckedIOException("嵌入式PostgreSQL启动失败", e);
+            }
+        }
+        return postgres;
+    }
+}
@@ -0,0 +1,79 @@
+// backend/src/test/java/com/example/evcarbonmonitor/util/TransactionUtilTest.java
+package com.example.evcarbonmonitor.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionUtilTest {
+
+    private final TransactionTemplate transactionTemplate = new TransactionTemplate(new NoOpTransactionManager());
+
+    @Test
+    void runsAfterCommit() {
+        List<String> calls = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            TransactionUtil.afterCommit(() -> calls.add("action"));
+            calls.add("body");
+        });
+        assertThat(calls).containsExactly("body", "action");
+    }
+
+    @Test
+    void skippedOnRollback() {
+        List<String> calls = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            TransactionUtil.afterCommit(() -> calls.add("action"));
+            status.setRollbackOnly();
+        });
+        assertThat(calls).isEmpty();
+    }
+
+    @Test
+    void runsImmediatelyWithoutTransaction() {
+        List<String> calls = new ArrayList<>();
+        TransactionUtil.afterCommit(() -> calls.add("action"));
+        assertThat(calls).containsExactly("action");
+    }
+
+    @Test
+    void runsWhenRegisteredFromAnotherAfterCommitCallback() {
+        // 如车辆实时状态在提交后回调中发布实时事件
+        List<String> calls = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> TransactionUtil.afterCommit(() -> {
+            calls.add("outer");
+            TransactionUtil.afterCommit(() -> calls.add("inner"));
+        }));
+        assertThat(calls).containsExactly("outer", "inner");
+    }
+
+    /**
+     * 只维护事务同步状态，不连接任何资源
+     */
+    private static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
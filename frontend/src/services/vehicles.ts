@@ -51,17 +51,6 @@ const vehicleAPI = {
     return api.delete(`${config.api.vehiclesUrl}/${vin}`);
   },
 
-  /**
-   * 调试: 获取所有车辆
-   * @returns 所有车辆列表
-   */
-  getAllVehiclesDebug: async () => {
-    console.log("调用调试API获取所有车辆");
-    const response = await api.get(`${config.api.vehiclesUrl}/debug/all`);
-    console.log("调试API响应:", response);
-    return response;
-  },
-  
   /**
    * 批量导入车辆
    * @param file CSV文件
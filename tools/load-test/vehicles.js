@@ -0,0 +1,224 @@
+// tools/load-test/vehicles.js
+// 车辆列表和详情接口的压测脚本，只使用Node内置模块
+// 每个并发连接循环发送请求(闭环)，统计吞吐量和延迟分位数，用于对比平台线程和虚拟线程模式
+//
+// 用法:
+//   node tools/load-test/vehicles.js --base-url http://localhost:8080/api --connections 50,400 --label platform
+// 参数:
+//   --base-url     后端地址(含context-path)，默认http://localhost:8080/api
+//   --scenarios    list,detail 的子集，默认两者都测
+//   --connections  并发连接数，逗号分隔可测多组，默认50,400
+//   --duration     每组的测量时长(秒)，默认30
+//   --warmup       每组测量前的预热时长(秒)，默认10，不计入结果
+//   --vin-sample   详情接口随机访问的车辆数，启动时从列表接口读取，默认2000
+//   --pages        列表接口随机访问的页数(每页20条)，默认50
+//   --label        结果表中的标签，如platform、virtual
+//   --output       把结果追加写入的JSON文件
+
+const http = require('http');
+const https = require('https');
+const fs = require('fs');
+const { URL } = require('url');
+
+const PAGE_SIZE = 20;
+
+function parseArgs(argv) {
+  const options = {
+    baseUrl: 'http://localhost:8080/api',
+    scenarios: ['list', 'detail'],
+    connections: [50, 400],
+    duration: 30,
+    warmup: 10,
+    vinSample: 2000,
+    pages: 50,
+    label: '',
+    output: null
+  };
+  for (let i = 2; i < argv.length; i += 2) {
+    const name = argv[i];
+    const value = argv[i + 1];
+    if (value === undefined) {
+      throw new Error(`参数${name}缺少取值`);
+    }
+    switch (name) {
+      case '--base-url': options.baseUrl = value.replace(/\/$/, ''); break;
+      case '--scenarios': options.scenarios = value.split(','); break;
+      case '--connections': options.connections = value.split(',').map(Number); break;
+      case '--duration': options.duration = Number(value); break;
+      case '--warmup': options.warmup = Number(value); break;
+      case '--vin-sample': options.vinSample = Number(value); break;
+      case '--pages': options.pages = Number(value); break;
+      case '--label': options.label = value; break;
+      case '--output': options.output = value; break;
+      default: throw new Error(`未知参数: ${name}`);
+    }
+  }
+  return options;
+}
+
+function request(agent, url) {
+  const client = url.protocol === 'https:' ? https : http;
+  return new Promise((resolve) => {
+    const req = client.get(url, { agent }, (res) => {
+      // 读完响应体，连接才能复用
+      res.on('data', () => {});
+      res.on('end', () => resolve(res.statusCode));
+    });
+    req.on('error', () => resolve(0));
+  });
+}
+
+async function getJson(agent, url) {
+  const client = url.protocol === 'https:' ? https : http;
+  return new Promise((resolve, reject) => {
+    client.get(url, { agent }, (res) => {
+      let body = '';
+      res.setEncoding('utf8');
+      res.on('data', (chunk) => { body += chunk; });
+      res.on('end', () => {
+        if (res.statusCode !== 200) {
+          reject(new Error(`${url} 返回${res.statusCode}: ${body}`));
+          return;
+        }
+        resolve(JSON.parse(body));
+      });
+    }).on('error', reject);
+  });
+}
+
+/**
+ * 按游标分页读取车辆VIN码，作为详情接口的访问样本
+ */
+async function loadVins(options, agent) {
+  const vins = [];
+  let cursor = null;
+  while (vins.length < options.vinSample) {
+    const url = new URL(`${options.baseUrl}/v1/vehicles`);
+    url.searchParams.set('pagination', 'keyset');
+    url.searchParams.set('size', '100');
+    url.searchParams.set('fields', 'vin');
+    url.searchParams.set('count', 'none');
+    if (cursor) {
+      url.searchParams.set('cursor', cursor);
+    }
+    const page = (await getJson(agent, url)).data;
+    page.items.forEach((item) => vins.push(item.vin));
+    cursor = page.nextCursor;
+    if (!cursor || page.items.length === 0) {
+      break;
+    }
+  }
+  if (vins.length === 0) {
+    throw new Error('数据库中没有车辆，先导入车辆数据');
+  }
+  return vins.slice(0, options.vinSample);
+}
+
+function nextUrl(scenario, options, vins) {
+  if (scenario === 'list') {
+    const page = 1 + Math.floor(Math.random() * options.pages);
+    return new URL(`${options.baseUrl}/v1/vehicles?page=${page}&size=${PAGE_SIZE}`);
+  }
+  const vin = vins[Math.floor(Math.random() * vins.length)];
+  return new URL(`${options.baseUrl}/v1/vehicles/${encodeURIComponent(vin)}`);
+}
+
+/**
+ * connections个并发连接在seconds秒内循环请求，返回每个成功请求的延迟(毫秒)和失败数
+ */
+async function run(scenario, connections, seconds, options, vins) {
+  const agent = new (options.baseUrl.startsWith('https') ? https : http).Agent({
+    keepAlive: true,
+    maxSockets: connections
+  });
+  const latencies = [];
+  const errors = {};
+  const deadline = process.hrtime.bigint() + BigInt(Math.round(seconds * 1e9));
+
+  async function worker() {
+    while (process.hrtime.bigint() < deadline) {
+      const start = process.hrtime.bigint();
+      const status = await request(agent, nextUrl(scenario, options, vins));
+      const elapsed = Number(process.hrtime.bigint() - start) / 1e6;
+      if (status >= 200 && status < 300) {
+        latencies.push(elapsed);
+      } else {
+        // 状态码0表示连接错误
+        errors[status] = (errors[status] || 0) + 1;
+      }
+    }
+  }
+
+  const startedAt = process.hrtime.bigint();
+  await Promise.all(Array.from({ length: connections }, worker));
+  const elapsedSeconds = Number(process.hrtime.bigint() - startedAt) / 1e9;
+  agent.destroy();
+  return { latencies, errors, elapsedSeconds };
+}
+
+function percentile(sorted, p) {
+  if (sorted.length === 0) {
+    return NaN;
+  }
+  const index = Math.min(sorted.length - 1, Math.ceil((p / 100) * sorted.length) - 1);
+  return sorted[Math.max(0, index)];
+}
+
+function summarize(scenario, connections, result, label) {
+  const sorted = Float64Array.from(result.latencies).sort();
+  return {
+    label,
+    scenario,
+    endpoint: scenario === 'list' ? 'GET /v1/vehicles' : 'GET /v1/vehicles/{vin}',
+    connections,
+    requests: sorted.length,
+    errors: Object.values(result.errors).reduce((sum, count) => sum + count, 0),
+    errorStatuses: result.errors,
+    rps: Math.round(sorted.length / result.elapsedSeconds),
+    p50: percentile(sorted, 50),
+    p90: percentile(sorted, 90),
+    p99: percentile(sorted, 99),
+    max: sorted.length > 0 ? sorted[sorted.length - 1] : NaN
+  };
+}
+
+function formatRow(summary) {
+  const ms = (value) => (Number.isNaN(value) ? '-' : value.toFixed(1));
+  const statuses = Object.entries(summary.errorStatuses).map(([status, count]) => `${status}: ${count}`).join(', ');
+  return `| ${summary.label} | ${summary.endpoint} | ${summary.connections} | ${summary.rps} | ` +
+    `${ms(summary.p50)} | ${ms(summary.p90)} | ${ms(summary.p99)} | ${ms(summary.max)} | ` +
+    `${summary.errors}${statuses ? ` (${statuses})` : ''} |`;
+}
+
+async function main() {
+  const options = parseArgs(process.argv);
+  const setupAgent = new http.Agent({ keepAlive: true });
+  const vins = options.scenarios.includes('detail') ? await loadVins(options, setupAgent) : [];
+  setupAgent.destroy();
+  console.log(`# ${options.baseUrl}, 预热${options.warmup}s, 测量${options.duration}s, 车辆样本${vins.length}`);
+  console.log('| 模式 | 接口 | 并发连接 | 请求/秒 | p50(ms) | p90(ms) | p99(ms) | max(ms) | 失败 |');
+  console.log('|---|---|---|---|---|---|---|---|---|');
+
+  const summaries = [];
+  for (const scenario of options.scenarios) {
+    for (const connections of options.connections) {
+      if (options.warmup > 0) {
+        await run(scenario, connections, options.warmup, options, vins);
+      }
+      const summary = summarize(scenario, connections,
+        await run(scenario, connections, options.duration, options, vins), options.label);
+      summaries.push(summary);
+      console.log(formatRow(summary));
+    }
+  }
+
+  if (options.output) {
+    const previous = fs.existsSync(options.output) ? JSON.parse(fs.readFileSync(options.output, 'utf8')) : [];
+    fs.writeFileSync(options.output, JSON.stringify(previous.concat(summaries), null, 2));
+  }
+}
+
+main().catch((error) => {
+  console.error(error.message);
+  process.exit(1);
+});